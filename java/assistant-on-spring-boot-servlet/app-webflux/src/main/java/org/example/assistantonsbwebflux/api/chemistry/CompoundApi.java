@@ -0,0 +1,24 @@
+package org.example.assistantonsbwebflux.api.chemistry;
+
+import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Mono;
+
+@RequestMapping("/api/v1/chemistry/compound")
+public interface CompoundApi {
+    @GetMapping(value = "/graph", params = "name")
+    Mono<ResponseEntity<ChemistryGraphResponse>> getCompoundGraphDataByName(
+        @RequestParam String name,
+        @RequestParam(defaultValue = "1") int page,
+        @RequestParam(defaultValue = "10") int pageSize
+    );
+
+    @GetMapping("/graph")
+    Mono<ResponseEntity<ChemistryGraphResponse>> getAllGraphs(
+        @RequestParam(defaultValue = "1") int page,
+        @RequestParam(defaultValue = "10") int pageSize
+    );
+}
@@ -0,0 +1,30 @@
+package org.example.assistantonsbwebflux.api.chemistry;
+
+import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
+import org.example.assistantonsbwebflux.chemistry.ReactivePubChemGraphService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class CompoundController implements CompoundApi {
+    private final ReactivePubChemGraphService graphService;
+
+    public CompoundController(ReactivePubChemGraphService graphService) {
+        this.graphService = graphService;
+    }
+
+    @Override
+    public Mono<ResponseEntity<ChemistryGraphResponse>> getCompoundGraphDataByName(
+        String name, int page, int pageSize
+    ) {
+        return graphService.getCompoundDataByName(name, page, pageSize)
+            .map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<ChemistryGraphResponse>> getAllGraphs(int page, int pageSize) {
+        return graphService.getAllGraphs(page, pageSize)
+            .map(ResponseEntity::ok);
+    }
+}
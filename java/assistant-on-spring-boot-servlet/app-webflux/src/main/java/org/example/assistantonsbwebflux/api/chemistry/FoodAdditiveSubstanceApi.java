@@ -0,0 +1,17 @@
+package org.example.assistantonsbwebflux.api.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+
+@RequestMapping("/api/v1/chemistry/food-additives")
+public interface FoodAdditiveSubstanceApi {
+    @GetMapping
+    ResponseEntity<Flux<FoodAdditiveSubstanceResponseDto>> getAll(
+        @RequestParam(defaultValue = "1") int page,
+        @RequestParam(defaultValue = "10") int pageSize
+    );
+}
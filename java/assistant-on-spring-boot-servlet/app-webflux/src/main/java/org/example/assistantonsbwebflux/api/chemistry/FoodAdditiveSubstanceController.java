@@ -0,0 +1,22 @@
+package org.example.assistantonsbwebflux.api.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.example.assistantonsbwebflux.chemistry.ReactivePubChemFdaApiFacade;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+public class FoodAdditiveSubstanceController implements FoodAdditiveSubstanceApi {
+    private final ReactivePubChemFdaApiFacade facade;
+
+    public FoodAdditiveSubstanceController(ReactivePubChemFdaApiFacade facade) {
+        this.facade = facade;
+    }
+
+    @Override
+    public ResponseEntity<Flux<FoodAdditiveSubstanceResponseDto>> getAll(int page, int pageSize) {
+        final var substanceDtoFlux = facade.getAll(page, pageSize);
+        return ResponseEntity.ok(substanceDtoFlux);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.assistantonsbwebflux.api.finance.stockmarket;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequestMapping("/api/v1/finance/stock-market")
+public interface FinanceStockMarketApi {
+    @GetMapping
+    Mono<ResponseEntity<StocksResponseDto>> getByTicker(
+        @RequestParam String ticker,
+        @RequestParam(defaultValue = "1") int page,
+        @RequestParam(defaultValue = "10") int pageSize
+    );
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<Flux<StockDto>> streamByTicker(@RequestParam String ticker);
+}
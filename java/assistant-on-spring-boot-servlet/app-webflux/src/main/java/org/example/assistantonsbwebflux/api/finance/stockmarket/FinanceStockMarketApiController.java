@@ -0,0 +1,30 @@
+package org.example.assistantonsbwebflux.api.finance.stockmarket;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbwebflux.finance.ReactiveStockMarketApiFacade;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+public class FinanceStockMarketApiController implements FinanceStockMarketApi {
+    private final ReactiveStockMarketApiFacade facade;
+
+    public FinanceStockMarketApiController(ReactiveStockMarketApiFacade facade) {
+        this.facade = facade;
+    }
+
+    @Override
+    public Mono<ResponseEntity<StocksResponseDto>> getByTicker(String ticker, int page, int pageSize) {
+        return facade.findByTicker(ticker, page, pageSize)
+            .map(ResponseEntity::ok);
+    }
+
+    @Override
+    public ResponseEntity<Flux<StockDto>> streamByTicker(String ticker) {
+        final var stocks = facade.streamByTicker(ticker);
+        return ResponseEntity.ok(stocks);
+    }
+}
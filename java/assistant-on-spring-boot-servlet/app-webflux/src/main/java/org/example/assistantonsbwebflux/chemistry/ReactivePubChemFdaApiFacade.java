@@ -0,0 +1,8 @@
+package org.example.assistantonsbwebflux.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import reactor.core.publisher.Flux;
+
+public sealed interface ReactivePubChemFdaApiFacade permits ReactivePubChemFdaFacade, ReactivePubChemFdaNoopFacade {
+    Flux<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize);
+}
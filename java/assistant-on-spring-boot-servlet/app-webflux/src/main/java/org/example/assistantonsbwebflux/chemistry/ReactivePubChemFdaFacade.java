@@ -0,0 +1,42 @@
+package org.example.assistantonsbwebflux.chemistry;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbwebflux.db.ReactiveFoodAdditiveSubstanceRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+@Component
+@ConditionalOnBooleanProperty("app.pubchem.r2dbc.enabled")
+public final class ReactivePubChemFdaFacade implements ReactivePubChemFdaApiFacade {
+    private final ConversionService appConversionService;
+    private final ReactiveFoodAdditiveSubstanceRepository repository;
+
+    public ReactivePubChemFdaFacade(ApplicationContext appContext, ReactiveFoodAdditiveSubstanceRepository repository) {
+        this.appConversionService = appContext.getBean("appConversionService", ConversionService.class);
+        this.repository = repository;
+    }
+
+    @Override
+    public Flux<FoodAdditiveSubstanceResponseDto> getAll(final int page, final int pageSize) {
+        final int offset = (page - 1) * pageSize;
+        return repository.findAll(offset, pageSize)
+            .map(foodAdditiveSubstance ->
+                appConversionService.convert(foodAdditiveSubstance, FoodAdditiveSubstanceResponseDto.class)
+            )
+            .onErrorMap(e -> !(e instanceof AppException), e -> new AppException(e, ErrorCode.UNKNOWN));
+    }
+}
+
+@Component
+@ConditionalOnBooleanProperty(value = "app.pubchem.r2dbc.enabled", havingValue = false)
+final class ReactivePubChemFdaNoopFacade implements ReactivePubChemFdaApiFacade {
+    @Override
+    public Flux<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize) {
+        throw new UnsupportedOperationException();
+    }
+}
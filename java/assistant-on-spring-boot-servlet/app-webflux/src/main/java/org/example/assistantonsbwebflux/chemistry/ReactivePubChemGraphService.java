@@ -0,0 +1,11 @@
+package org.example.assistantonsbwebflux.chemistry;
+
+import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
+import reactor.core.publisher.Mono;
+
+public sealed interface ReactivePubChemGraphService
+    permits ReactivePubChemGraphServiceImpl, ReactivePubChemGraphNoopService {
+    Mono<ChemistryGraphResponse> getAllGraphs(int page, int pageSize);
+
+    Mono<ChemistryGraphResponse> getCompoundDataByName(String compoundName, int page, int pageSize);
+}
@@ -0,0 +1,57 @@
+package org.example.assistantonsbwebflux.chemistry;
+
+import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbwebflux.db.ReactiveCompoundRepository;
+import org.example.db.pubchem.graph.model.CompoundDataProjection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnBooleanProperty("app.pubchem.r2dbc-pg-age-graph.enabled")
+public non-sealed class ReactivePubChemGraphServiceImpl implements ReactivePubChemGraphService {
+    private final ConversionService appConversionService;
+    private final ReactiveCompoundRepository repository;
+
+    public ReactivePubChemGraphServiceImpl(ApplicationContext appContext, ReactiveCompoundRepository repository) {
+        this.appConversionService = appContext.getBean("appConversionService", ConversionService.class);
+        this.repository = repository;
+    }
+
+    @Override
+    public Mono<ChemistryGraphResponse> getAllGraphs(int page, int pageSize) {
+        final int offset = (page - 1) * pageSize;
+        return toResponse(repository.findAll(offset, pageSize));
+    }
+
+    @Override
+    public Mono<ChemistryGraphResponse> getCompoundDataByName(String compoundName, int page, int pageSize) {
+        final int offset = (page - 1) * pageSize;
+        return toResponse(repository.findCompoundDataByName(offset, pageSize, compoundName));
+    }
+
+    private Mono<ChemistryGraphResponse> toResponse(Flux<CompoundDataProjection> compounds) {
+        return compounds.collectList()
+            .map(compoundList -> appConversionService.convert(compoundList, ChemistryGraphResponse.class))
+            .onErrorMap(e -> !(e instanceof AppException), e -> new AppException(e, ErrorCode.UNKNOWN));
+    }
+}
+
+@Service
+@ConditionalOnBooleanProperty(value = "app.pubchem.r2dbc-pg-age-graph.enabled", havingValue = false)
+non-sealed class ReactivePubChemGraphNoopService implements ReactivePubChemGraphService {
+    @Override
+    public Mono<ChemistryGraphResponse> getAllGraphs(int page, int pageSize) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Mono<ChemistryGraphResponse> getCompoundDataByName(String compoundName, int page, int pageSize) {
+        throw new UnsupportedOperationException();
+    }
+}
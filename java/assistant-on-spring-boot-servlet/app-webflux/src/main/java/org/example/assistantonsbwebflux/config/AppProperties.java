@@ -0,0 +1,13 @@
+package org.example.assistantonsbwebflux.config;
+
+import org.example.assistantonsbservlet.config.CorsProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+@ConfigurationProperties("app")
+public record AppProperties(
+    @NestedConfigurationProperty CorsProperties cors,
+    @NestedConfigurationProperty PubChemProperties pubChem,
+    @NestedConfigurationProperty StockMarketProperties stockMarket
+) {
+}
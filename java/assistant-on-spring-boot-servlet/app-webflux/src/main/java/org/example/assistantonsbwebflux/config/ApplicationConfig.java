@@ -0,0 +1,73 @@
+package org.example.assistantonsbwebflux.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.assistantonsbservlet.api.chemistry.ChemCalculatorController;
+import org.example.assistantonsbservlet.api.math.MathCalculatorController;
+import org.example.assistantonsbservlet.chemistry.ChemCalculatorFacade;
+import org.example.assistantonsbservlet.config.FormulaTimingProperties;
+import org.example.assistantonsbservlet.convert.CompoundDataProjectionListToDtoConverter;
+import org.example.assistantonsbservlet.convert.DoubleArrayJsonDeserializer;
+import org.example.assistantonsbservlet.convert.DoubleMatrixJsonDeserializer;
+import org.example.assistantonsbservlet.convert.FoodAdditiveSubstanceToDtoListConverter;
+import org.example.assistantonsbservlet.convert.StockToDtoConverter;
+import org.example.assistantonsbservlet.math.MathCalculatorFacade;
+import org.example.assistantonsbservlet.observability.FormulaTimer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.util.List;
+
+/**
+ * Picks the calculators and converters of the servlet app one by one instead of scanning its packages,
+ * which would also bring in its JPA facades and servlet only configuration.
+ */
+@Configuration
+@Import({
+    MathCalculatorController.class,
+    MathCalculatorFacade.class,
+    ChemCalculatorController.class,
+    ChemCalculatorFacade.class,
+    FormulaTimer.class,
+    StockToDtoConverter.class,
+    FoodAdditiveSubstanceToDtoListConverter.class,
+    CompoundDataProjectionListToDtoConverter.class
+})
+@EnableConfigurationProperties({AppProperties.class, FormulaTimingProperties.class})
+class ApplicationConfig {
+    @Bean
+    ObjectMapper objectMapper() {
+        final var numericArraysModule = new SimpleModule("numeric-arrays")
+            .addDeserializer(double[].class, new DoubleArrayJsonDeserializer())
+            .addDeserializer(double[][].class, new DoubleMatrixJsonDeserializer());
+
+        return new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(numericArraysModule)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true)
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true)
+            .configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, true);
+    }
+
+    @Bean
+    ConversionService appConversionService(List<Converter<?, ?>> converters) {
+        final var service = new DefaultConversionService();
+        converters.forEach(service::addConverter);
+        return service;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.assistantonsbwebflux.config;
+
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.pubchem")
+public record PubChemProperties(
+    @ConfigurationProperties
+    R2dbcProperties r2dbc,
+    @ConfigurationProperties
+    R2dbcProperties r2dbcPgAgeGraph
+) {
+}
@@ -0,0 +1,83 @@
+package org.example.assistantonsbwebflux.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * One connection pool per database, the same split as the Hikari pools of the servlet app.
+ * Pools are exposed as {@link ConnectionFactory} beans, so actuator health and the r2dbc pool metrics pick them up.
+ */
+@Configuration
+class R2dbcConfig {
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnBooleanProperty("app.pubchem.r2dbc.enabled")
+    ConnectionPool pubChemConnectionFactory(AppProperties properties) {
+        return createConnectionPool("pubchem-pool", properties.pubChem().r2dbc());
+    }
+
+    private static ConnectionPool createConnectionPool(String poolName, R2dbcProperties r2dbc) {
+        final var options = ConnectionFactoryOptions.parse(r2dbc.getUrl()).mutate()
+            .option(ConnectionFactoryOptions.USER, r2dbc.getUsername())
+            .option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword())
+            .build();
+
+        final var pool = r2dbc.getPool();
+        final var builder = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .name(poolName)
+            .initialSize(pool.getInitialSize())
+            .maxSize(pool.getMaxSize())
+            .validationDepth(pool.getValidationDepth());
+        final var map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(pool.getValidationQuery()).to(builder::validationQuery);
+        final var configuration = builder.build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    @ConditionalOnBooleanProperty("app.pubchem.r2dbc.enabled")
+    DatabaseClient pubChemDatabaseClient(@Qualifier("pubChemConnectionFactory") ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnBooleanProperty("app.stock-market.r2dbc.enabled")
+    ConnectionPool stockMarketConnectionFactory(AppProperties properties) {
+        return createConnectionPool("stock-market-pool", properties.stockMarket().r2dbc());
+    }
+
+    @Bean
+    @ConditionalOnBooleanProperty("app.stock-market.r2dbc.enabled")
+    DatabaseClient stockMarketDatabaseClient(
+        @Qualifier("stockMarketConnectionFactory") ConnectionFactory connectionFactory
+    ) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnBooleanProperty("app.pubchem.r2dbc-pg-age-graph.enabled")
+    ConnectionPool pubChemGraphConnectionFactory(AppProperties properties) {
+        return createConnectionPool("pubchem-graph-pool", properties.pubChem().r2dbcPgAgeGraph());
+    }
+
+    @Bean
+    @ConditionalOnBooleanProperty("app.pubchem.r2dbc-pg-age-graph.enabled")
+    DatabaseClient pubChemGraphDatabaseClient(
+        @Qualifier("pubChemGraphConnectionFactory") ConnectionFactory connectionFactory
+    ) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.assistantonsbwebflux.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+@EnableWebFluxSecurity
+@Configuration
+class SecurityConfig {
+    private final AppProperties appProperties;
+
+    SecurityConfig(AppProperties appProperties) {
+        this.appProperties = appProperties;
+    }
+
+    @Bean
+    CorsConfigurationSource corsConfigurationSource() {
+        final var source = new UrlBasedCorsConfigurationSource();
+
+        final var corsConfiguration = new CorsConfiguration();
+        final var cors = appProperties.cors();
+        corsConfiguration.setAllowedOriginPatterns(cors.accessControlAllowOriginPatterns());
+        corsConfiguration.setMaxAge(cors.accessControlMaxAge());
+        corsConfiguration.setAllowedHeaders(cors.accessControlAllowHeaders());
+        corsConfiguration.setAllowedMethods(cors.accessControlAllowMethods());
+
+        source.registerCorsConfiguration("/**", corsConfiguration);
+        return source;
+    }
+
+    @Bean
+    SecurityWebFilterChain filterChain(ServerHttpSecurity http) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .cors(Customizer.withDefaults())
+            .authorizeExchange(authorize -> authorize.anyExchange().permitAll())
+            .build();
+    }
+}
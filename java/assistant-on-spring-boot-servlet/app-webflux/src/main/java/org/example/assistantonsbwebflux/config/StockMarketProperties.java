@@ -0,0 +1,15 @@
+package org.example.assistantonsbwebflux.config;
+
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param streamFetchSize number of rows the driver requests from PostgreSQL per round trip while streaming
+ */
+@ConfigurationProperties(prefix = "app.stock-market")
+public record StockMarketProperties(
+    @ConfigurationProperties
+    R2dbcProperties r2dbc,
+    int streamFetchSize
+) {
+}
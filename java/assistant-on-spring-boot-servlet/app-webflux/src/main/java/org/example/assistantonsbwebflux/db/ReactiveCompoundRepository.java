@@ -0,0 +1,47 @@
+package org.example.assistantonsbwebflux.db;
+
+import io.r2dbc.spi.Readable;
+import org.example.db.pubchem.graph.model.CompoundDataProjection;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+@ConditionalOnBooleanProperty("app.pubchem.r2dbc-pg-age-graph.enabled")
+public class ReactiveCompoundRepository {
+    private final DatabaseClient client;
+
+    public ReactiveCompoundRepository(@Qualifier("pubChemGraphDatabaseClient") DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<CompoundDataProjection> findAll(int offset, int limit) {
+        return client.sql("SELECT * FROM find_all(:offset, :limit)")
+            .bind("offset", offset)
+            .bind("limit", limit)
+            .map(ReactiveCompoundRepository::toProjection)
+            .all();
+    }
+
+    public Flux<CompoundDataProjection> findCompoundDataByName(int offset, int limit, String compoundName) {
+        return client.sql("SELECT * FROM get_compound_data_by_name(:name, :offset, :limit)")
+            .bind("name", compoundName)
+            .bind("offset", offset)
+            .bind("limit", limit)
+            .map(ReactiveCompoundRepository::toProjection)
+            .all();
+    }
+
+    private static CompoundDataProjection toProjection(Readable row) {
+        return new CompoundDataProjection(
+            row.get("total_compounds", Long.class),
+            row.get("total_elements", Long.class),
+            row.get("total_edges", Long.class),
+            row.get("compound", String.class),
+            row.get("element", String.class),
+            row.get("relationship", String.class)
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.assistantonsbwebflux.db;
+
+import io.r2dbc.spi.Readable;
+import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Repository
+@ConditionalOnBooleanProperty("app.pubchem.r2dbc.enabled")
+public class ReactiveFoodAdditiveSubstanceRepository {
+    private static final String FIND_ALL = """
+        SELECT *
+        FROM food_additive_substance
+        ORDER BY compound_cid
+        OFFSET :offset
+        LIMIT :limit
+        """;
+
+    private final DatabaseClient client;
+
+    public ReactiveFoodAdditiveSubstanceRepository(@Qualifier("pubChemDatabaseClient") DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<FoodAdditiveSubstance> findAll(int offset, int limit) {
+        return client.sql(FIND_ALL)
+            .bind("offset", offset)
+            .bind("limit", limit)
+            .map(ReactiveFoodAdditiveSubstanceRepository::toFoodAdditiveSubstance)
+            .all();
+    }
+
+    private static FoodAdditiveSubstance toFoodAdditiveSubstance(Readable row) {
+        final var substance = new FoodAdditiveSubstance();
+        substance.setCompoundCid(row.get("compound_cid", Integer.class));
+        substance.setName(row.get("name", String.class));
+        substance.setSynonyms(row.get("synonyms", String.class));
+        substance.setMolecularWeight(row.get("molecular_weight", Double.class));
+        substance.setMolecularFormula(row.get("molecular_formula", String.class));
+        substance.setPolarArea(row.get("polar_area", Double.class));
+        substance.setComplexity(row.get("complexity", Double.class));
+        substance.setXlogp(row.get("xlogp", Double.class));
+        substance.setHeavyAtomCount(row.get("heavy_atom_count", Integer.class));
+        substance.setHBondDonorCount(row.get("h_bond_donor_count", Integer.class));
+        substance.setHBondAcceptorCount(row.get("h_bond_acceptor_count", Integer.class));
+        substance.setRotatableBondCount(row.get("rotatable_bond_count", Integer.class));
+        substance.setInchi(row.get("inchi", String.class));
+        substance.setSmiles(row.get("smiles", String.class));
+        substance.setInchiKey(row.get("inchi_key", String.class));
+        substance.setIupacName(row.get("iupac_name", String.class));
+        substance.setExactMass(row.get("exact_mass", Double.class));
+        substance.setMonoisotopicMass(row.get("monoisotopic_mass", Double.class));
+        substance.setCharge(row.get("charge", Integer.class));
+        substance.setCovalentUnitCount(row.get("covalent_unit_count", Integer.class));
+        substance.setIsotopicAtomCount(row.get("isotopic_atom_count", Integer.class));
+        substance.setTotalAtomStereoCount(row.get("total_atom_stereo_count", Integer.class));
+        substance.setDefinedAtomStereoCount(row.get("defined_atom_stereo_count", Integer.class));
+        substance.setUndefinedAtomStereoCount(row.get("undefined_atom_stereo_count", Integer.class));
+        substance.setTotalBondStereoCount(row.get("total_bond_stereo_count", Integer.class));
+        substance.setDefinedBondStereoCount(row.get("defined_bond_stereo_count", Integer.class));
+        substance.setUndefinedBondStereoCount(row.get("undefined_bond_stereo_count", Integer.class));
+        substance.setLinkedPubChemLiteratureCount(row.get("linked_pubchem_literature_count", Integer.class));
+        substance.setLinkedPubChemPatentCount(row.get("linked_pubchem_patent_count", Integer.class));
+        substance.setLinkedPubChemPatentFamilyCount(row.get("linked_pubchem_patent_family_count", Integer.class));
+        substance.setMeshHeadings(row.get("mesh_headings", String.class));
+        substance.setAnnotationContent(row.get("annotation_content", String.class));
+        substance.setAnnotationTypeCount(row.get("annotation_type_count", Integer.class));
+        substance.setLinkedBioAssays(row.get("linked_bioassays", Integer.class));
+        substance.setCreateDate(row.get("create_date", LocalDate.class));
+        substance.setDataSource(row.get("data_source", String.class));
+        substance.setDataSourceCategory(row.get("data_source_category", String.class));
+        substance.setTaggedByPubChem(row.get("tagged_by_pubchem", String.class));
+        return substance;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.assistantonsbwebflux.db;
+
+import io.r2dbc.spi.Readable;
+import org.example.db.stockmarket.model.Stock;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Repository
+@ConditionalOnBooleanProperty("app.stock-market.r2dbc.enabled")
+public class ReactiveStockRepository {
+    private static final String STOCK_COLUMNS = """
+        ticker, date_at, open, high, low, close, adjusted_close, volume, dividends, stock_splits, capital_gains
+        """;
+    private static final String FIND_BY_TICKER = """
+        SELECT COUNT(*) OVER () AS total_count, %s
+        FROM stock
+        WHERE ticker = :ticker
+        ORDER BY date_at DESC
+        OFFSET :offset
+        LIMIT :limit
+        """.formatted(STOCK_COLUMNS);
+    private static final String STREAM_BY_TICKER = """
+        SELECT %s
+        FROM stock
+        WHERE ticker = :ticker
+        ORDER BY date_at DESC
+        """.formatted(STOCK_COLUMNS);
+
+    private final DatabaseClient client;
+
+    public ReactiveStockRepository(@Qualifier("stockMarketDatabaseClient") DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<StockPageRow> findByTicker(String ticker, int offset, int limit) {
+        return client.sql(FIND_BY_TICKER)
+            .bind("ticker", ticker)
+            .bind("offset", offset)
+            .bind("limit", limit)
+            .map(row -> new StockPageRow(row.get("total_count", Long.class), toStock(row)))
+            .all();
+    }
+
+    /**
+     * Emits every row of the ticker, newest first. The driver pulls {@code fetchSize} rows per round trip
+     * and asks for the next batch only when the subscriber has requested more.
+     */
+    public Flux<Stock> streamByTicker(String ticker, int fetchSize) {
+        return client.sql(STREAM_BY_TICKER)
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("ticker", ticker)
+            .map(ReactiveStockRepository::toStock)
+            .all();
+    }
+
+    private static Stock toStock(Readable row) {
+        final var stock = new Stock();
+        stock.setId(new Stock.StockId(row.get("ticker", String.class), row.get("date_at", OffsetDateTime.class)));
+        stock.setOpen(toBigDecimal(row, "open"));
+        stock.setHigh(toBigDecimal(row, "high"));
+        stock.setLow(toBigDecimal(row, "low"));
+        stock.setClose(toBigDecimal(row, "close"));
+        stock.setAdjustedClose(toBigDecimal(row, "adjusted_close"));
+        final var volume = row.get("volume", Long.class);
+        stock.setVolume(volume != null ? volume : 0);
+        stock.setDividends(toBigDecimal(row, "dividends"));
+        stock.setStockSplits(toBigDecimal(row, "stock_splits"));
+        stock.setCapitalGains(toBigDecimal(row, "capital_gains"));
+        return stock;
+    }
+
+    private static BigDecimal toBigDecimal(Readable row, String column) {
+        final var value = row.get(column, Double.class);
+        return value != null ? BigDecimal.valueOf(value) : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.assistantonsbwebflux.db;
+
+import org.example.db.stockmarket.model.Stock;
+
+public record StockPageRow(
+    long totalCount,
+    Stock stock
+) {
+}
@@ -0,0 +1,19 @@
+package org.example.assistantonsbwebflux.exception;
+
+import org.example.assistantonsbservlet.api.AppErrorResponse;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(AppException.class)
+    public ResponseEntity<AppErrorResponse> handleAppException(AppException e) {
+        final var errorCode = e.getErrorCode();
+        final var body = new AppErrorResponse(errorCode.getCode());
+        logger.error(e.getMessage(), e);
+        return ResponseEntity.status(errorCode.getHttpStatus()).body(body);
+    }
+}
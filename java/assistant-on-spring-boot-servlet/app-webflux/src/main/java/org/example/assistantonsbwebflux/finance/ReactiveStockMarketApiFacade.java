@@ -0,0 +1,12 @@
+package org.example.assistantonsbwebflux.finance;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public sealed interface ReactiveStockMarketApiFacade permits ReactiveStockMarketFacade, ReactiveStockMarketNoopFacade {
+    Mono<StocksResponseDto> findByTicker(String ticker, int page, int pageSize);
+
+    Flux<StockDto> streamByTicker(String ticker);
+}
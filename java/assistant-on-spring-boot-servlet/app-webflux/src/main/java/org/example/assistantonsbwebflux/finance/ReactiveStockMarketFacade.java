@@ -0,0 +1,74 @@
+package org.example.assistantonsbwebflux.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbwebflux.config.AppProperties;
+import org.example.assistantonsbwebflux.db.ReactiveStockRepository;
+import org.example.assistantonsbwebflux.db.StockPageRow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+@ConditionalOnBooleanProperty("app.stock-market.r2dbc.enabled")
+public final class ReactiveStockMarketFacade implements ReactiveStockMarketApiFacade {
+    private final ConversionService appConversionService;
+    private final ReactiveStockRepository repository;
+    private final int streamFetchSize;
+
+    public ReactiveStockMarketFacade(
+        ApplicationContext appContext,
+        ReactiveStockRepository repository,
+        AppProperties properties
+    ) {
+        this.appConversionService = appContext.getBean("appConversionService", ConversionService.class);
+        this.repository = repository;
+        this.streamFetchSize = properties.stockMarket().streamFetchSize();
+    }
+
+    @Override
+    public Mono<StocksResponseDto> findByTicker(String ticker, int page, int pageSize) {
+        final int offset = (page - 1) * pageSize;
+        return repository.findByTicker(ticker, offset, pageSize)
+            .collectList()
+            .map(this::toResponse)
+            .onErrorMap(e -> !(e instanceof AppException), e -> new AppException(e, ErrorCode.UNKNOWN));
+    }
+
+    private StocksResponseDto toResponse(List<StockPageRow> rows) {
+        final var stockDtoList = rows.stream()
+            .map(row -> appConversionService.convert(row.stock(), StockDto.class))
+            .toList();
+        final long totalCount = rows.isEmpty() ? 0 : rows.getFirst().totalCount();
+        return new StocksResponseDto(totalCount, stockDtoList, null);
+    }
+
+    @Override
+    public Flux<StockDto> streamByTicker(String ticker) {
+        return repository.streamByTicker(ticker, streamFetchSize)
+            .map(stock -> appConversionService.convert(stock, StockDto.class))
+            .limitRate(streamFetchSize)
+            .onErrorMap(e -> !(e instanceof AppException), e -> new AppException(e, ErrorCode.UNKNOWN));
+    }
+}
+
+@Component
+@ConditionalOnBooleanProperty(value = "app.stock-market.r2dbc.enabled", havingValue = false)
+final class ReactiveStockMarketNoopFacade implements ReactiveStockMarketApiFacade {
+    @Override
+    public Mono<StocksResponseDto> findByTicker(String ticker, int page, int pageSize) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Flux<StockDto> streamByTicker(String ticker) {
+        throw new UnsupportedOperationException();
+    }
+}
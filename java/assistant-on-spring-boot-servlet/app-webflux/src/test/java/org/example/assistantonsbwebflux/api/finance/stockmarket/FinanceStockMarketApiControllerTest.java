@@ -0,0 +1,95 @@
+package org.example.assistantonsbwebflux.api.finance.stockmarket;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbwebflux.finance.ReactiveStockMarketFacade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class FinanceStockMarketApiControllerTest {
+    private AutoCloseable mockCloser;
+
+    @Mock
+    private ReactiveStockMarketFacade facadeMock;
+    private FinanceStockMarketApiController controller;
+
+    @BeforeEach
+    void setUp() {
+        mockCloser = MockitoAnnotations.openMocks(this);
+        controller = new FinanceStockMarketApiController(facadeMock);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockCloser.close();
+    }
+
+    private static StockDto newStockDto(int day) {
+        final var dateAt = OffsetDateTime.of(2025, 1, day, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new StockDto("KO", dateAt, 60, 61, 59, 60.5, 60.5, 1_000_000, 0, 0, 0);
+    }
+
+    @Test
+    void testGetByTickerAndNoData() {
+        // given
+        Mockito.when(facadeMock.findByTicker("KO", 1, 10))
+            .thenReturn(Mono.just(new StocksResponseDto(0L, List.of(), null)));
+
+        // when
+        final var response = controller.getByTicker("KO", 1, 10);
+
+        // then
+        StepVerifier.create(response)
+            .assertNext(responseEntity -> {
+                assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+                final var body = responseEntity.getBody();
+                assertNotNull(body);
+                assertEquals(0L, body.total());
+                assertTrue(body.stocks().isEmpty());
+            })
+            .verifyComplete();
+        Mockito.verify(facadeMock, Mockito.only()).findByTicker("KO", 1, 10);
+    }
+
+    @Test
+    void testStreamByTickerHonoursDemand() {
+        // given
+        final var stocks = Flux.range(1, 3).map(FinanceStockMarketApiControllerTest::newStockDto);
+        Mockito.when(facadeMock.streamByTicker("KO"))
+            .thenReturn(stocks);
+
+        // when
+        final var responseEntity = controller.streamByTicker("KO");
+
+        // then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        final var body = responseEntity.getBody();
+        assertNotNull(body);
+        StepVerifier.create(body, 1)
+            .assertNext(stock -> assertEquals(1, stock.dateAt().getDayOfMonth()))
+            .expectNoEvent(Duration.ofMillis(10))
+            .thenRequest(2)
+            .expectNextCount(2)
+            .verifyComplete();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of {@link FoodAdditiveSearchIndex#search} over random queries of one to six characters,
+ * against an index of random substances with 40 synonyms each, no database needed:
+ * <pre>
+ * ./gradlew :app:jmh -PjmhIncludes=FoodAdditiveSearchBenchmark
+ * </pre>
+ * The sample mode reports the p99 and p99.9 along with the mean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FoodAdditiveSearchBenchmark {
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz -,()0123456789";
+    private static final int SYNONYMS = 40;
+    private static final int QUERIES = 4_096;
+
+    @Param({"1000", "10000"})
+    private int substances;
+
+    @Param("10")
+    private int limit;
+
+    private FoodAdditiveSearchIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(42);
+        final var rows = new ArrayList<FoodAdditiveSearchIndex.Substance>(substances);
+        for (int cid = 1; cid <= substances; cid++) {
+            final var synonyms = new StringJoiner("|");
+            for (int i = 0; i < SYNONYMS; i++) {
+                synonyms.add(word(random, 5 + random.nextInt(25)));
+            }
+            rows.add(substance(cid, word(random, 12), synonyms.toString(), word(random, 60)));
+        }
+        index = new FoodAdditiveSearchIndex(rows);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = word(random, 1 + random.nextInt(6));
+        }
+    }
+
+    @Benchmark
+    public List<FoodAdditiveSearchHitDto> search() {
+        next = (next + 1) % QUERIES;
+        return index.search(queries[next], limit);
+    }
+
+    private static FoodAdditiveSearchIndex.Substance substance(int cid, String name, String synonyms,
+                                                               String iupacName) {
+        return new FoodAdditiveSearchIndex.Substance(cid, name, synonyms, iupacName);
+    }
+
+    private static String word(Random random, int length) {
+        final var word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(i == 0 ? 26 : ALPHABET.length())));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.assistantonsbservlet.finance;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Tuple;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbservlet.convert.StockToDtoConverter;
+import org.example.assistantonsbservlet.datasource.ReadOnlyTransactions;
+import org.example.db.stockmarket.model.Stock;
+import org.example.db.stockmarket.repo.StockRepositoryImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the page read through managed {@link Stock} entities in {@code Tuple}s with the read-only
+ * {@code StockBar} projection, both against the stock market database of the environment:
+ * <pre>
+ * APP_STOCK_MARKET_DS_URL=jdbc:postgresql://localhost:5432/assistant_datahub?currentSchema=stock_market \
+ * APP_STOCK_MARKET_DS_USERNAME=... APP_STOCK_MARKET_DS_PASSWORD=... \
+ *   ./gradlew :app:jmh -PjmhIncludes=StockReadPathBenchmark
+ * </pre>
+ * The entity path is the read the facade used before the projection, kept here as the baseline only: it also
+ * counts the rows of the ticker with a window function, the facade takes that count from its cache on the
+ * projection path. Run it with {@code -prof gc} to also compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StockReadPathBenchmark {
+    private static final String ENTITY_TUPLES_QUERY = """
+        SELECT COUNT(s.id) OVER () AS totalCount, s
+        FROM stock s
+        WHERE s.id.ticker = :ticker
+        ORDER BY s.id.dateAt DESC
+        """;
+
+    @Param("KO")
+    private String ticker;
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private StockToDtoConverter stockConverter;
+
+    @Setup
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("APP_STOCK_MARKET_DS_URL"));
+        dataSource.setUsername(System.getenv("APP_STOCK_MARKET_DS_USERNAME"));
+        dataSource.setPassword(System.getenv("APP_STOCK_MARKET_DS_PASSWORD"));
+        final var configuration = new Configuration().addAnnotatedClass(Stock.class);
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        sessionFactory = configuration.buildSessionFactory();
+        stockConverter = new StockToDtoConverter();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public StocksResponseDto entityTuples() {
+        try (var em = sessionFactory.createEntityManager()) {
+            final var tx = em.getTransaction();
+            tx.begin();
+            final var tuples = em.createQuery(ENTITY_TUPLES_QUERY, Tuple.class)
+                .setParameter("ticker", ticker)
+                .setMaxResults(pageSize)
+                .getResultList();
+            final var stocks = toResponse(tuples);
+            tx.commit();
+            return stocks;
+        }
+    }
+
+    private StocksResponseDto toResponse(List<Tuple> tuples) {
+        final var stockDtoList = tuples.stream()
+            .map(tuple -> stockConverter.convert(tuple.get(1, Stock.class)))
+            .toList();
+        final long totalCount = tuples.isEmpty() ? 0 : tuples.getFirst().get("totalCount", Long.class);
+        return new StocksResponseDto(totalCount, stockDtoList, null);
+    }
+
+    @Benchmark
+    public List<StockDto> readOnlyProjection() {
+        try (var em = sessionFactory.createEntityManager()) {
+            ReadOnlyTransactions.readOnly(em);
+            final var tx = em.getTransaction();
+            tx.begin();
+            final var bars = new StockRepositoryImpl(em).findBarsByTicker(ticker, 0, pageSize);
+            final var stocks = StockMarketFacade.toDtoList(ticker, bars);
+            tx.commit();
+            return stocks;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import org.springframework.http.HttpStatus;
 public enum ErrorCode {
     UNKNOWN(-1, HttpStatus.INTERNAL_SERVER_ERROR),
     ENTITY_NOT_FOUND(1, HttpStatus.NOT_FOUND),
-    INVALID_INPUT(2, HttpStatus.BAD_REQUEST);
+    INVALID_INPUT(2, HttpStatus.BAD_REQUEST),
+    SERVICE_OVERLOADED(3, HttpStatus.SERVICE_UNAVAILABLE),
+    INDEX_LOADING(4, HttpStatus.SERVICE_UNAVAILABLE);
 
     private final int code;
     private final HttpStatus httpStatus;
@@ -3,26 +3,38 @@ package org.example.assistantonsbservlet.api.chemistry;
 import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
 import org.example.assistantonsbservlet.api.chemistry.model.CompoundSDFDataResponse;
 import org.example.assistantonsbservlet.chemistry.PubChemApiFacade;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.example.assistantonsbservlet.resilience.RequestCoalescer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class CompoundController implements CompoundApi {
+    private static final String LIMITER = "pubchem-graph";
+
     private final PubChemApiFacade facade;
+    private final RequestCoalescer coalescer;
+    private final ConcurrencyLimiters limiters;
 
-    public CompoundController(PubChemApiFacade facade) {
+    public CompoundController(PubChemApiFacade facade, RequestCoalescer coalescer,
+                              ConcurrencyLimiters limiters) {
         this.facade = facade;
+        this.coalescer = coalescer;
+        this.limiters = limiters;
     }
 
     @Override
     public ResponseEntity<ChemistryGraphResponse> getCompoundGraphDataByName(String name, int page, int pageSize) {
-        final var graphResponse = facade.getCompoundDataByName(name, page, pageSize);
+        final var graphResponse = coalescer.execute(
+            new CompoundNameKey(name, page, pageSize),
+            () -> limiters.execute(LIMITER, () -> facade.getCompoundDataByName(name, page, pageSize))
+        );
         return ResponseEntity.ok(graphResponse);
     }
 
     @Override
     public ResponseEntity<ChemistryGraphResponse> getAllGraphs(int page, int pageSize) {
-        final var graphResponse = facade.getAllGraphs(page, pageSize);
+        final var graphResponse = limiters.execute(LIMITER, () -> facade.getAllGraphs(page, pageSize));
         return ResponseEntity.ok(graphResponse);
     }
 
@@ -31,4 +43,7 @@ public class CompoundController implements CompoundApi {
         final var response = facade.getCompoundSDFDataByCid(cid);
         return ResponseEntity.ok(response);
     }
+
+    private record CompoundNameKey(String name, int page, int pageSize) {
+    }
 }
@@ -1,8 +1,11 @@
 package org.example.assistantonsbservlet.api.chemistry;
 
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
 import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -10,9 +13,50 @@ import java.util.List;
 
 @RequestMapping("/api/v1/chemistry/food-additives")
 public interface FoodAdditiveSubstanceApi {
+    /**
+     * Substances ordered by compound CID. With {@code afterCid}, the compound CID of the last substance
+     * of the previous page, the page seeks past it and {@code page} is ignored, otherwise the rows are skipped
+     * with an offset. {@code fields} selects only these columns, e.g. {@code fields=name,molecularFormula},
+     * the compound CID is always returned.
+     */
     @GetMapping
     ResponseEntity<List<FoodAdditiveSubstanceResponseDto>> getAll(
         @RequestParam(defaultValue = "1") int page,
-        @RequestParam(defaultValue = "10") int pageSize
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) List<String> fields,
+        @RequestParam(required = false) Integer afterCid
+    );
+
+    /**
+     * Autocomplete over the names, synonyms and IUPAC names, e.g. {@code q=ascorb}. Substances with a term
+     * starting with {@code q} come first, names before synonyms before IUPAC names, then the ones with a term
+     * containing it. Each substance is returned once with the term that matched.
+     */
+    @GetMapping("/search")
+    ResponseEntity<List<FoodAdditiveSearchHitDto>> search(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "10") int limit
+    );
+
+    /**
+     * The {@code k} substances most similar in structure to the substance {@code cid}, most similar first,
+     * by the Tanimoto coefficient of their ECFP4 fingerprints. {@code minSimilarity} from 0 to 1 drops the less
+     * similar ones, e.g. {@code minSimilarity=0.7} for close analogues.
+     */
+    @GetMapping("/{cid}/similar")
+    ResponseEntity<List<FoodAdditiveSimilarityHitDto>> similar(
+        @PathVariable int cid,
+        @RequestParam(defaultValue = "10") int k,
+        @RequestParam(defaultValue = "0") double minSimilarity
+    );
+
+    /**
+     * Like {@link #similar} for any structure, e.g. {@code smiles=CCO}.
+     */
+    @GetMapping("/similar")
+    ResponseEntity<List<FoodAdditiveSimilarityHitDto>> similarToSmiles(
+        @RequestParam String smiles,
+        @RequestParam(defaultValue = "10") int k,
+        @RequestParam(defaultValue = "0") double minSimilarity
     );
 }
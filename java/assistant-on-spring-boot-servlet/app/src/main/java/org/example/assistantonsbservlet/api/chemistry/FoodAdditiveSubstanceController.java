@@ -1,7 +1,11 @@
 package org.example.assistantonsbservlet.api.chemistry;
 
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
 import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
 import org.example.assistantonsbservlet.chemistry.PubChemFdaApiFacade;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.example.assistantonsbservlet.resilience.RequestCoalescer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -9,15 +13,62 @@ import java.util.List;
 
 @RestController
 public class FoodAdditiveSubstanceController implements FoodAdditiveSubstanceApi {
+    private static final String LIMITER = "pubchem-fda";
+
     private final PubChemFdaApiFacade facade;
+    private final RequestCoalescer coalescer;
+    private final ConcurrencyLimiters limiters;
 
-    public FoodAdditiveSubstanceController(PubChemFdaApiFacade facade) {
+    public FoodAdditiveSubstanceController(PubChemFdaApiFacade facade, RequestCoalescer coalescer,
+                                           ConcurrencyLimiters limiters) {
         this.facade = facade;
+        this.coalescer = coalescer;
+        this.limiters = limiters;
     }
 
     @Override
-    public ResponseEntity<List<FoodAdditiveSubstanceResponseDto>> getAll(int page, int pageSize) {
-        final var substanceDtoList = facade.getAll(page, pageSize);
+    public ResponseEntity<List<FoodAdditiveSubstanceResponseDto>> getAll(int page, int pageSize,
+                                                                        List<String> fields, Integer afterCid) {
+        final var substanceDtoList = coalescer.execute(
+            new PageKey(page, pageSize, fields, afterCid),
+            () -> limiters.execute(LIMITER, () -> facade.getAll(page, pageSize, fields, afterCid))
+        );
         return ResponseEntity.ok(substanceDtoList);
     }
+
+    /**
+     * Served from memory in microseconds, neither coalesced nor limited.
+     */
+    @Override
+    public ResponseEntity<List<FoodAdditiveSearchHitDto>> search(String q, int limit) {
+        return ResponseEntity.ok(facade.search(q, limit));
+    }
+
+    /**
+     * Scanned in memory without the database, coalesced but not limited.
+     */
+    @Override
+    public ResponseEntity<List<FoodAdditiveSimilarityHitDto>> similar(int cid, int k, double minSimilarity) {
+        final var hits = coalescer.execute(
+            new SimilarKey(cid, null, k, minSimilarity),
+            () -> facade.similar(cid, k, minSimilarity)
+        );
+        return ResponseEntity.ok(hits);
+    }
+
+    @Override
+    public ResponseEntity<List<FoodAdditiveSimilarityHitDto>> similarToSmiles(String smiles, int k,
+                                                                             double minSimilarity) {
+        final var hits = coalescer.execute(
+            new SimilarKey(null, smiles, k, minSimilarity),
+            () -> facade.similarToSmiles(smiles, k, minSimilarity)
+        );
+        return ResponseEntity.ok(hits);
+    }
+
+    private record PageKey(int page, int pageSize, List<String> fields, Integer afterCid) {
+    }
+
+    private record SimilarKey(Integer cid, String smiles, int k, double minSimilarity) {
+    }
 }
@@ -0,0 +1,10 @@
+package org.example.assistantonsbservlet.api.chemistry.model;
+
+/**
+ * Attribute of a food additive a search term comes from, in ranking order.
+ */
+public enum FoodAdditiveSearchField {
+    NAME,
+    SYNONYM,
+    IUPAC_NAME
+}
@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.api.chemistry.model;
+
+/**
+ * @param term  name, synonym or IUPAC name that matched the query, as stored
+ * @param field where {@code term} comes from
+ */
+public record FoodAdditiveSearchHitDto(
+    int compoundCid,
+    String name,
+    String term,
+    FoodAdditiveSearchField field
+) {
+}
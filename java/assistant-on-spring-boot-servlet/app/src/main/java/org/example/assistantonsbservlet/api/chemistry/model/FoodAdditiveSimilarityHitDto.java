@@ -0,0 +1,12 @@
+package org.example.assistantonsbservlet.api.chemistry.model;
+
+/**
+ * @param similarity Tanimoto coefficient of the fingerprints, from 0 to 1 for identical ones
+ */
+public record FoodAdditiveSimilarityHitDto(
+    int compoundCid,
+    String name,
+    String smiles,
+    double similarity
+) {
+}
@@ -0,0 +1,18 @@
+package org.example.assistantonsbservlet.api.finance.projection;
+
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloResponseDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@RequestMapping("/api/v1/finance/projection")
+public interface FinanceProjectionApi {
+    /**
+     * Projects an investment with reinvested dividends over random returns and dividend yields
+     * and returns the percentile bands of its value at the end of every year.
+     */
+    @PostMapping("/monte-carlo")
+    ResponseEntity<MonteCarloResponseDto> monteCarlo(@RequestBody MonteCarloRequestDto body);
+}
@@ -0,0 +1,27 @@
+package org.example.assistantonsbservlet.api.finance.projection;
+
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloResponseDto;
+import org.example.assistantonsbservlet.finance.FinanceProjectionApiFacade;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class FinanceProjectionApiController implements FinanceProjectionApi {
+    private static final String MONTE_CARLO_LIMITER = "finance-projection-monte-carlo";
+
+    private final FinanceProjectionApiFacade facade;
+    private final ConcurrencyLimiters limiters;
+
+    public FinanceProjectionApiController(FinanceProjectionApiFacade facade, ConcurrencyLimiters limiters) {
+        this.facade = facade;
+        this.limiters = limiters;
+    }
+
+    @Override
+    public ResponseEntity<MonteCarloResponseDto> monteCarlo(MonteCarloRequestDto body) {
+        final var response = limiters.execute(MONTE_CARLO_LIMITER, () -> facade.monteCarlo(body));
+        return ResponseEntity.ok(response);
+    }
+}
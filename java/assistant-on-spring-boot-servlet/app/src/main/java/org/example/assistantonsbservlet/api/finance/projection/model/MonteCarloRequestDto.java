@@ -0,0 +1,33 @@
+package org.example.assistantonsbservlet.api.finance.projection.model;
+
+import org.example.assistantonsbservlet.finance.FinanceCalculator.Frequency;
+
+import java.util.List;
+
+/**
+ * Rates are fractions, 0.07 for 7%.
+ *
+ * @param initialValue       money invested at year 0
+ * @param expectedReturn     mean annual price return
+ * @param volatility         standard deviation of the annual price return
+ * @param dividendYield      mean annual dividend yield, reinvested every period, defaults to 0
+ * @param dividendVolatility standard deviation of the dividend yield of a year, defaults to 0
+ * @param frequency          compounding periods per year, defaults to {@link Frequency#MONTHLY}
+ * @param years              length of the projection
+ * @param paths              simulated paths, defaults to 100000
+ * @param seed               makes the projection reproducible, a random one is used when {@code null}
+ * @param percentiles        bands to return, between 0 and 100, defaults to 5, 25, 50, 75 and 95
+ */
+public record MonteCarloRequestDto(
+    Double initialValue,
+    Double expectedReturn,
+    Double volatility,
+    Double dividendYield,
+    Double dividendVolatility,
+    Frequency frequency,
+    Integer years,
+    Integer paths,
+    Long seed,
+    List<Double> percentiles
+) {
+}
@@ -0,0 +1,22 @@
+package org.example.assistantonsbservlet.api.finance.projection.model;
+
+import java.util.List;
+
+/**
+ * Arrays hold one value per year, index 0 is the initial value.
+ *
+ * @param seed              replays the same projection when sent back
+ * @param deterministic     compound interest at the expected return plus the dividend yield
+ * @param mean              mean value over the paths
+ * @param bands             percentiles over the paths
+ * @param probabilityOfLoss share of the paths ending below the initial value
+ */
+public record MonteCarloResponseDto(
+    long seed,
+    int paths,
+    double[] deterministic,
+    double[] mean,
+    List<PercentileBandDto> bands,
+    double probabilityOfLoss
+) {
+}
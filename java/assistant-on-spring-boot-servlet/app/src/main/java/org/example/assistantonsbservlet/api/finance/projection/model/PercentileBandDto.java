@@ -0,0 +1,11 @@
+package org.example.assistantonsbservlet.api.finance.projection.model;
+
+/**
+ * @param percentile between 0 and 100
+ * @param values     value of the percentile at the end of every year, index 0 is the initial value
+ */
+public record PercentileBandDto(
+    double percentile,
+    double[] values
+) {
+}
@@ -1,17 +1,96 @@
 package org.example.assistantonsbservlet.api.finance.stockmarket;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorsResponseDto;
 import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbservlet.finance.StockExportFormat;
+import org.example.assistantonsbservlet.finance.StockResolution;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RequestMapping("/api/v1/finance/stock-market")
 public interface FinanceStockMarketApi {
+    /**
+     * Without a {@code cursor} and with {@code page} above 1 the rows are skipped with an offset,
+     * otherwise the page seeks from the {@code nextCursor} of the previous response.
+     */
     @GetMapping
     ResponseEntity<StocksResponseDto> getByTicker(
         @RequestParam String ticker,
         @RequestParam(defaultValue = "1") int page,
-        @RequestParam(defaultValue = "10") int pageSize
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "true") boolean withTotal
+    );
+
+    /**
+     * Whole history of the ticker as a CSV or NDJSON attachment, oldest first, streamed as it is read.
+     * Written to the response from an async task, which is cancelled after {@code app.stock-market.export-timeout}.
+     */
+    @GetMapping("/export")
+    WebAsyncTask<Void> export(
+        @RequestParam String ticker,
+        @RequestParam(defaultValue = "CSV") StockExportFormat format,
+        HttpServletResponse response
     );
+
+    /**
+     * Rows between two dates, both inclusive and optional, oldest first.
+     */
+    @GetMapping("/range")
+    ResponseEntity<StocksResponseDto> getRange(
+        @RequestParam String ticker,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    );
+
+    /**
+     * OHLCV bars of a coarser resolution between two dates, both inclusive and optional, oldest first.
+     */
+    @GetMapping("/resample")
+    ResponseEntity<StocksResponseDto> getResampled(
+        @RequestParam String ticker,
+        @RequestParam StockResolution resolution,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    );
+
+    /**
+     * Technical indicators between two dates, both inclusive and optional, computed in one pass
+     * over the history of the ticker, for example {@code indicator=sma:50&indicator=rsi:14}.
+     */
+    @GetMapping("/indicators")
+    ResponseEntity<IndicatorsResponseDto> getIndicators(
+        @RequestParam String ticker,
+        @RequestParam("indicator") List<String> indicators,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    );
+
+    /**
+     * Replays the daily bars of a universe of tickers through a strategy and returns the equity curve,
+     * its drawdowns and the return metrics of the portfolio and of every ticker.
+     */
+    @PostMapping("/backtest")
+    ResponseEntity<BacktestResponseDto> backtest(@RequestBody BacktestRequestDto body);
+
+    /**
+     * Covariance and correlation matrices of the daily returns of the tickers over the dates they all traded,
+     * with the principal components of the correlation matrix.
+     */
+    @PostMapping("/correlation")
+    ResponseEntity<CorrelationResponseDto> correlation(@RequestBody CorrelationRequestDto body);
 }
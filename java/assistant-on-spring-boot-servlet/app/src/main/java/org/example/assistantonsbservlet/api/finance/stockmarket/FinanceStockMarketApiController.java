@@ -1,21 +1,148 @@
 package org.example.assistantonsbservlet.api.finance.stockmarket;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorsResponseDto;
 import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbservlet.config.AppProperties;
 import org.example.assistantonsbservlet.finance.StockMarketApiFacade;
+import org.example.assistantonsbservlet.finance.StockExportFormat;
+import org.example.assistantonsbservlet.finance.StockResolution;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.example.assistantonsbservlet.resilience.RequestCoalescer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 public class FinanceStockMarketApiController implements FinanceStockMarketApi {
+    private static final String LIMITER = "stock-market";
+    // Exports run for as long as the history takes to send, keep their latency out of the page limiter
+    private static final String EXPORT_LIMITER = "stock-market-export";
+    // Correlations run on the fork-join pool of the backtests, they share its limiter too
+    private static final String BACKTEST_LIMITER = "stock-market-backtest";
+
     private final StockMarketApiFacade facade;
+    private final RequestCoalescer coalescer;
+    private final ConcurrencyLimiters limiters;
+    private final long exportTimeoutMillis;
 
-    public FinanceStockMarketApiController(StockMarketApiFacade facade) {
+    public FinanceStockMarketApiController(StockMarketApiFacade facade, RequestCoalescer coalescer,
+                                           ConcurrencyLimiters limiters, AppProperties appProperties) {
         this.facade = facade;
+        this.coalescer = coalescer;
+        this.limiters = limiters;
+        this.exportTimeoutMillis = appProperties.stockMarket().exportTimeout().toMillis();
+    }
+
+    @Override
+    public ResponseEntity<StocksResponseDto> getByTicker(String ticker, int page, int pageSize,
+                                                         String cursor, boolean withTotal) {
+        final StocksResponseDto stocksResponse;
+        if (cursor == null && page > 1) {
+            stocksResponse = coalescer.execute(
+                new TickerPageKey(ticker, page, pageSize),
+                () -> limiters.execute(LIMITER, () -> facade.findByTicker(ticker, page, pageSize))
+            );
+        } else {
+            stocksResponse = coalescer.execute(
+                new TickerCursorKey(ticker, cursor, pageSize, withTotal),
+                () -> limiters.execute(LIMITER, () -> facade.findByTicker(ticker, cursor, pageSize, withTotal))
+            );
+        }
+        return ResponseEntity.ok(stocksResponse);
+    }
+
+    @Override
+    public WebAsyncTask<Void> export(String ticker, StockExportFormat format, HttpServletResponse response) {
+        final var contentDisposition = ContentDisposition.attachment()
+            .filename(ticker + "." + format.getFileExtension())
+            .build();
+        response.setContentType(format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
+        // The timeout of this export alone, on timeout the task is interrupted and stops after its current page
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            final var out = response.getOutputStream();
+            return limiters.execute(EXPORT_LIMITER, () -> {
+                facade.export(ticker, format, out);
+                return null;
+            });
+        });
     }
 
     @Override
-    public ResponseEntity<StocksResponseDto> getByTicker(String ticker, int page, int pageSize) {
-        final var stocksResponse = facade.findByTicker(ticker, page, pageSize);
+    public ResponseEntity<StocksResponseDto> getRange(String ticker, LocalDate from, LocalDate to) {
+        final var stocksResponse = coalescer.execute(
+            new TickerRangeKey(ticker, from, to),
+            () -> limiters.execute(LIMITER, () -> facade.findRange(ticker, from, to))
+        );
         return ResponseEntity.ok(stocksResponse);
     }
+
+    @Override
+    public ResponseEntity<StocksResponseDto> getResampled(String ticker, StockResolution resolution,
+                                                          LocalDate from, LocalDate to) {
+        final var stocksResponse = coalescer.execute(
+            new TickerResampleKey(ticker, resolution, from, to),
+            () -> limiters.execute(LIMITER, () -> facade.findResampled(ticker, resolution, from, to))
+        );
+        return ResponseEntity.ok(stocksResponse);
+    }
+
+    @Override
+    public ResponseEntity<IndicatorsResponseDto> getIndicators(String ticker, List<String> indicators,
+                                                               LocalDate from, LocalDate to) {
+        final var indicatorsResponse = coalescer.execute(
+            new TickerIndicatorsKey(ticker, List.copyOf(indicators), from, to),
+            () -> limiters.execute(LIMITER, () -> facade.findIndicators(ticker, indicators, from, to))
+        );
+        return ResponseEntity.ok(indicatorsResponse);
+    }
+
+    @Override
+    public ResponseEntity<BacktestResponseDto> backtest(BacktestRequestDto body) {
+        final var backtestResponse = coalescer.execute(
+            new BacktestKey(body),
+            () -> limiters.execute(BACKTEST_LIMITER, () -> facade.backtest(body))
+        );
+        return ResponseEntity.ok(backtestResponse);
+    }
+
+    @Override
+    public ResponseEntity<CorrelationResponseDto> correlation(CorrelationRequestDto body) {
+        final var correlationResponse = coalescer.execute(
+            new CorrelationKey(body),
+            () -> limiters.execute(BACKTEST_LIMITER, () -> facade.correlation(body))
+        );
+        return ResponseEntity.ok(correlationResponse);
+    }
+
+    private record TickerPageKey(String ticker, int page, int pageSize) {
+    }
+
+    private record TickerCursorKey(String ticker, String cursor, int pageSize, boolean withTotal) {
+    }
+
+    private record TickerRangeKey(String ticker, LocalDate from, LocalDate to) {
+    }
+
+    private record TickerResampleKey(String ticker, StockResolution resolution, LocalDate from, LocalDate to) {
+    }
+
+    private record TickerIndicatorsKey(String ticker, List<String> indicators, LocalDate from, LocalDate to) {
+    }
+
+    private record BacktestKey(BacktestRequestDto request) {
+    }
+
+    private record CorrelationKey(CorrelationRequestDto request) {
+    }
 }
@@ -0,0 +1,18 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+/**
+ * @param totalReturn          final equity / initial capital - 1
+ * @param annualizedReturn     compound annual growth rate
+ * @param maxDrawdown          largest fall from a peak of the equity, as a fraction of the peak
+ * @param annualizedVolatility standard deviation of the daily returns scaled to 252 trading days
+ * @param sharpeRatio          annualized, with a zero risk-free rate
+ */
+public record BacktestMetricsDto(
+    double finalEquity,
+    double totalReturn,
+    double annualizedReturn,
+    double maxDrawdown,
+    double annualizedVolatility,
+    double sharpeRatio
+) {
+}
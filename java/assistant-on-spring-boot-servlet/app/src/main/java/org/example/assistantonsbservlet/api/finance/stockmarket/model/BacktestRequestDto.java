@@ -0,0 +1,22 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param tickers        universe, the initial capital is split equally between them
+ * @param strategy       {@code hold}, {@code sma-cross:fast:slow} or {@code rsi:period:oversold:overbought}
+ * @param from           first trading date, inclusive, earlier bars only warm the strategy up
+ * @param to             last trading date, inclusive
+ * @param initialCapital defaults to 10000
+ * @param costBps        cost of a trade in basis points of the traded amount, defaults to 0
+ */
+public record BacktestRequestDto(
+    List<String> tickers,
+    String strategy,
+    LocalDate from,
+    LocalDate to,
+    Double initialCapital,
+    Double costBps
+) {
+}
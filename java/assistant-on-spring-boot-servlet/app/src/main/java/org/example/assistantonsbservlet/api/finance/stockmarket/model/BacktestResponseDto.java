@@ -0,0 +1,20 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param dates    days on which at least one ticker traded
+ * @param equity   portfolio value on each date, a ticker carries its last value over the days it did not trade
+ * @param drawdown fall of the portfolio from its previous peak on each date
+ * @param tickers  in the order requested
+ */
+public record BacktestResponseDto(
+    String strategy,
+    List<LocalDate> dates,
+    double[] equity,
+    double[] drawdown,
+    BacktestMetricsDto metrics,
+    List<BacktestTickerDto> tickers
+) {
+}
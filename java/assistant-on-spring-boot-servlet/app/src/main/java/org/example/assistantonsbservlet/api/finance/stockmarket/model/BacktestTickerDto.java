@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+/**
+ * @param bars   bars of the ticker within the range, a ticker without any keeps its allocation in cash
+ * @param trades changes of the position
+ */
+public record BacktestTickerDto(
+    String ticker,
+    int bars,
+    int trades,
+    BacktestMetricsDto metrics
+) {
+}
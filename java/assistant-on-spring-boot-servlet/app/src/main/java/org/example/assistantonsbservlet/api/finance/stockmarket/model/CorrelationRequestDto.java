@@ -0,0 +1,20 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param tickers    at least two, the rows and columns of the matrices follow their order
+ * @param from       first trading date, inclusive, {@code null} for the oldest common date
+ * @param to         last trading date, inclusive, {@code null} for the latest common date
+ * @param window     keep only the latest returns of the range, {@code null} for the whole range
+ * @param components principal components of the correlation matrix to return, defaults to 5
+ */
+public record CorrelationRequestDto(
+    List<String> tickers,
+    LocalDate from,
+    LocalDate to,
+    Integer window,
+    Integer components
+) {
+}
@@ -0,0 +1,24 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param from         first date of the returns, the day every ticker traded before it is their base
+ * @param observations daily returns every ticker has in common
+ * @param volatility   standard deviation of the daily returns of every ticker
+ * @param covariance   of the daily returns
+ * @param correlation  of the daily returns, a ticker whose price did not move is uncorrelated to the others
+ * @param components   of the correlation matrix, largest eigenvalue first
+ */
+public record CorrelationResponseDto(
+    List<String> tickers,
+    LocalDate from,
+    LocalDate to,
+    int observations,
+    double[] volatility,
+    double[][] covariance,
+    double[][] correlation,
+    List<PrincipalComponentDto> components
+) {
+}
@@ -0,0 +1,14 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+/**
+ * @param name   indicator output, for example {@code sma(20)} or {@code macd(12,26,9).signal}
+ * @param start  index into {@link IndicatorsResponseDto#dateAt()} of the first value,
+ *               earlier dates fall within the warm-up of the indicator
+ * @param values one value per date from {@code start} on
+ */
+public record IndicatorSeriesDto(
+    String name,
+    int start,
+    double[] values
+) {
+}
@@ -0,0 +1,15 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * @param dateAt     dates of the rows within the requested range, oldest first
+ * @param indicators one series per indicator output, in the order requested
+ */
+public record IndicatorsResponseDto(
+    String ticker,
+    List<OffsetDateTime> dateAt,
+    List<IndicatorSeriesDto> indicators
+) {
+}
@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.api.finance.stockmarket.model;
+
+/**
+ * @param eigenvalue        variance of the returns along the component, in units of one ticker's variance
+ * @param explainedVariance share of the total variance carried by the component
+ * @param loadings          weight of every ticker, in the order requested, signed so that they sum up to a positive
+ */
+public record PrincipalComponentDto(
+    double eigenvalue,
+    double explainedVariance,
+    double[] loadings
+) {
+}
@@ -2,8 +2,13 @@ package org.example.assistantonsbservlet.api.finance.stockmarket.model;
 
 import java.util.List;
 
+/**
+ * @param total      rows of the ticker, {@code null} unless requested
+ * @param nextCursor token of the next page, {@code null} on the last page
+ */
 public record StocksResponseDto(
-    long total,
-    List<StockDto> stocks
+    Long total,
+    List<StockDto> stocks,
+    String nextCursor
 ) {
 }
@@ -3,33 +3,42 @@ package org.example.assistantonsbservlet.chemistry;
 import org.example.assistantonsbservlet.api.chemistry.model.req.ChemCalculateMolarMassReq;
 import org.example.assistantonsbservlet.api.chemistry.model.req.ChemCalculateMoleReq;
 import org.example.assistantonsbservlet.api.model.resp.CalculatorScalarResponse;
+import org.example.assistantonsbservlet.observability.FormulaTimer;
 import org.springframework.stereotype.Component;
 
 @Component
 public final class ChemCalculatorFacade implements ChemCalculatorApiFacade {
+    private final FormulaTimer formulaTimer;
+
+    public ChemCalculatorFacade(FormulaTimer formulaTimer) {
+        this.formulaTimer = formulaTimer;
+    }
+
     @Override
     public CalculatorScalarResponse calculate(ChemCalculateMolarMassReq body) {
         final var calc = new MolarMassCalc();
         calc.setStrategy(body.strategy());
         if (body.formula() != null) {
             calc.setInputType(Constants.FORMULA_IN_TYPE);
-            return calc.calculate(body.formula());
+            return formulaTimer.record("molar_mass", Constants.FORMULA_IN_TYPE, () -> calc.calculate(body.formula()));
         } else {
             calc.setInputType(Constants.SMILES_IN_TYPE);
-            return calc.calculate(body.smiles());
+            return formulaTimer.record("molar_mass", Constants.SMILES_IN_TYPE, () -> calc.calculate(body.smiles()));
         }
     }
 
     @Override
     public CalculatorScalarResponse calculate(ChemCalculateMoleReq body) {
         final var calc = new MoleCalc();
+        final String inputType;
         if (body.formula() != null) {
-            calc.setInputType(Constants.FORMULA_IN_TYPE);
+            inputType = Constants.FORMULA_IN_TYPE;
         } else if (body.smiles() != null) {
-            calc.setInputType(Constants.SMILES_IN_TYPE);
+            inputType = Constants.SMILES_IN_TYPE;
         } else {
-            calc.setInputType(Constants.UNKNOWN_SUBSTANCE);
+            inputType = Constants.UNKNOWN_SUBSTANCE;
         }
-        return calc.calculate(body);
+        calc.setInputType(inputType);
+        return formulaTimer.record("mole", inputType, () -> calc.calculate(body));
     }
 }
@@ -0,0 +1,289 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable Tanimoto top-k search over the {@link Fingerprints} of the food additives.
+ * <p>
+ * The fingerprints are ordered by bit count and packed one after the other in a single {@code long[]}.
+ * A fingerprint of {@code c} bits is at most {@code min(q, c) / max(q, c)} similar to a query of {@code q} bits,
+ * so with a minimum similarity {@code t} only the range of bit counts from {@code t * q} to {@code q / t} is
+ * scanned, found by binary search. The range is split into fork-join tasks that keep their own k best
+ * and also skip the fingerprints whose bound is under their current k-th best.
+ */
+final class FingerprintIndex {
+    static final int MAX_HITS = 100;
+    // Excludes no substance from the results
+    static final int NO_CID = -1;
+    // Widens the range of bit counts, t * q and q / t are rounded, e.g. 0.55 * 100 is just above 55
+    private static final double BOUND_TOLERANCE = 1e-9;
+
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+    // Fingerprint i is words[i * WORDS] until words[(i + 1) * WORDS], ordered by bit count
+    private final long[] words;
+    private final int[] counts;
+    private final int[] cids;
+    private final String[] names;
+    private final String[] smiles;
+    // Ascending CIDs and the position of each
+    private final int[] sortedCids;
+    private final int[] cidPositions;
+
+    /**
+     * @param partitionSize fingerprints scanned by one fork-join task
+     */
+    FingerprintIndex(List<Entry> entries, ForkJoinPool pool, int partitionSize) {
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+        final var ordered = entries.stream()
+            .sorted(Comparator.comparingInt((Entry entry) -> count(entry.fingerprint()))
+                .thenComparingInt(Entry::compoundCid))
+            .toList();
+        words = new long[ordered.size() * Fingerprints.WORDS];
+        counts = new int[ordered.size()];
+        cids = new int[ordered.size()];
+        names = new String[ordered.size()];
+        smiles = new String[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            final var entry = ordered.get(i);
+            System.arraycopy(entry.fingerprint(), 0, words, i * Fingerprints.WORDS, Fingerprints.WORDS);
+            counts[i] = count(entry.fingerprint());
+            cids[i] = entry.compoundCid();
+            names[i] = entry.name();
+            smiles[i] = entry.smiles();
+        }
+        cidPositions = IntStream.range(0, cids.length)
+            .boxed()
+            .sorted(Comparator.comparingInt(position -> cids[position]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        sortedCids = Arrays.stream(cidPositions).map(position -> cids[position]).toArray();
+    }
+
+    int size() {
+        return cids.length;
+    }
+
+    /**
+     * @return null when the substance has no fingerprint
+     */
+    long[] fingerprint(int cid) {
+        final int index = Arrays.binarySearch(sortedCids, cid);
+        if (index < 0) {
+            return null;
+        }
+        final int start = cidPositions[index] * Fingerprints.WORDS;
+        return Arrays.copyOfRange(words, start, start + Fingerprints.WORDS);
+    }
+
+    /**
+     * @param k             up to {@value #MAX_HITS}
+     * @param minSimilarity from 0 to 1, substances sharing no bit with the query are never returned
+     * @param excludedCid   substance left out of the results, usually the one the query comes from,
+     *                      or {@link #NO_CID}
+     * @return at most {@code k} substances, most similar first and then by CID
+     */
+    List<FoodAdditiveSimilarityHitDto> similar(long[] query, int k, double minSimilarity, int excludedCid) {
+        final int queryCount = count(query);
+        if (queryCount == 0 || cids.length == 0) {
+            return List.of();
+        }
+        final int from;
+        final int to;
+        if (minSimilarity > 0) {
+            final double maxCount = Math.floor(queryCount / minSimilarity + BOUND_TOLERANCE);
+            from = lowerBound((int) Math.ceil(minSimilarity * queryCount - BOUND_TOLERANCE));
+            to = lowerBound((int) Math.min(Fingerprints.BITS, maxCount) + 1);
+        } else {
+            from = 0;
+            to = cids.length;
+        }
+        final var task = new ScanTask(query, queryCount, k, minSimilarity, excludedCid, from, to);
+        final var best = to - from <= partitionSize ? task.compute() : pool.invoke(task);
+        return best.hits();
+    }
+
+    private int lowerBound(int count) {
+        int low = 0;
+        int high = counts.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (counts[mid] < count) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int count(long[] fingerprint) {
+        int count = 0;
+        for (var word : fingerprint) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private final class ScanTask extends RecursiveTask<Best> {
+        private final long[] query;
+        private final int queryCount;
+        private final int k;
+        private final double minSimilarity;
+        private final int excludedCid;
+        private final int from;
+        private final int to;
+
+        ScanTask(long[] query, int queryCount, int k, double minSimilarity, int excludedCid, int from, int to) {
+            this.query = query;
+            this.queryCount = queryCount;
+            this.k = k;
+            this.minSimilarity = minSimilarity;
+            this.excludedCid = excludedCid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Best compute() {
+            if (to - from <= partitionSize) {
+                return scan();
+            }
+            final int mid = (from + to) >>> 1;
+            final var left = new ScanTask(query, queryCount, k, minSimilarity, excludedCid, from, mid);
+            left.fork();
+            final var right = new ScanTask(query, queryCount, k, minSimilarity, excludedCid, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Best scan() {
+            final var best = new Best(k);
+            for (int i = from; i < to; i++) {
+                final int count = counts[i];
+                final double bound = (double) Math.min(queryCount, count) / Math.max(queryCount, count);
+                if (bound < minSimilarity || bound < best.worstScore() || cids[i] == excludedCid) {
+                    continue;
+                }
+                final int offset = i * Fingerprints.WORDS;
+                int common = 0;
+                for (int word = 0; word < Fingerprints.WORDS; word++) {
+                    common += Long.bitCount(words[offset + word] & query[word]);
+                }
+                final double similarity = (double) common / (queryCount + count - common);
+                if (common > 0 && similarity >= minSimilarity) {
+                    best.offer(similarity, i);
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * The k best positions so far in a binary min-heap whose root is the worst of them, most similar
+     * and then lowest CID being best.
+     */
+    private final class Best {
+        private final double[] scores;
+        private final int[] positions;
+        private int size;
+
+        Best(int k) {
+            this.scores = new double[k];
+            this.positions = new int[k];
+        }
+
+        /**
+         * @return the score a position has to reach to enter, 0 until there are k of them
+         */
+        double worstScore() {
+            return size < scores.length ? 0 : scores[0];
+        }
+
+        void offer(double score, int position) {
+            if (size < scores.length) {
+                scores[size] = score;
+                positions[size] = position;
+                siftUp(size++);
+            } else if (better(score, position, scores[0], positions[0])) {
+                scores[0] = score;
+                positions[0] = position;
+                siftDown(0);
+            }
+        }
+
+        Best merge(Best other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.scores[i], other.positions[i]);
+            }
+            return this;
+        }
+
+        List<FoodAdditiveSimilarityHitDto> hits() {
+            return IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -scores[i]).thenComparingInt(i -> cids[positions[i]]))
+                .map(i -> new FoodAdditiveSimilarityHitDto(
+                    cids[positions[i]], names[positions[i]], smiles[positions[i]], scores[i]
+                ))
+                .toList();
+        }
+
+        private boolean better(double score, int position, double otherScore, int otherPosition) {
+            return score > otherScore || score == otherScore && cids[position] < cids[otherPosition];
+        }
+
+        private void siftUp(int index) {
+            int child = index;
+            while (child > 0) {
+                final int parent = (child - 1) >>> 1;
+                if (!better(scores[parent], positions[parent], scores[child], positions[child])) {
+                    break;
+                }
+                swap(parent, child);
+                child = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            int parent = index;
+            while (true) {
+                final int left = 2 * parent + 1;
+                if (left >= size) {
+                    break;
+                }
+                final int right = left + 1;
+                final boolean rightIsWorse = right < size
+                    && better(scores[left], positions[left], scores[right], positions[right]);
+                final int worse = rightIsWorse ? right : left;
+                if (!better(scores[parent], positions[parent], scores[worse], positions[worse])) {
+                    break;
+                }
+                swap(parent, worse);
+                parent = worse;
+            }
+        }
+
+        private void swap(int a, int b) {
+            final double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            final int position = positions[a];
+            positions[a] = positions[b];
+            positions[b] = position;
+        }
+    }
+
+    /**
+     * @param fingerprint {@value Fingerprints#WORDS} longs
+     */
+    record Entry(int compoundCid, String name, String smiles, long[] fingerprint) {
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.ChemistryApiException;
+import org.openscience.cdk.DefaultChemObjectBuilder;
+import org.openscience.cdk.exception.CDKException;
+import org.openscience.cdk.fingerprint.CircularFingerprinter;
+import org.openscience.cdk.smiles.SmilesParser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@value #BITS}-bit ECFP4 fingerprints of SMILES from CDK, packed in {@value #WORDS} longs.
+ */
+final class Fingerprints {
+    static final int BITS = 1024;
+    static final int WORDS = BITS / Long.SIZE;
+    // Stored with every persisted fingerprint, a change of the algorithm or size makes them all stale
+    static final String FINGERPRINTER = "cdk-ecfp4-" + BITS;
+
+    private Fingerprints() {
+    }
+
+    /**
+     * The parser and the fingerprinter keep state, a new pair is used per call so it can run on any thread.
+     *
+     * @throws ChemistryApiException with {@link ErrorCode#INVALID_INPUT} on a SMILES CDK cannot parse
+     */
+    static long[] ecfp4(String smiles) {
+        try {
+            final var molecule = new SmilesParser(DefaultChemObjectBuilder.getInstance()).parseSmiles(smiles);
+            final var fingerprint = new CircularFingerprinter(CircularFingerprinter.CLASS_ECFP4, BITS)
+                .getBitFingerprint(molecule);
+            // The bit set drops its trailing zero words
+            return Arrays.copyOf(fingerprint.asBitSet().toLongArray(), WORDS);
+        } catch (CDKException e) {
+            throw new ChemistryApiException(e, ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    static byte[] toBytes(long[] words) {
+        final var buffer = ByteBuffer.allocate(WORDS * Long.BYTES);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    /**
+     * @return null when {@code bytes} is not a fingerprint of {@value #WORDS} longs
+     */
+    static long[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != WORDS * Long.BYTES) {
+            return null;
+        }
+        final long[] words = new long[WORDS];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(words);
+        return words;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.config.AppProperties;
+import org.example.assistantonsbservlet.config.SearchIndexProperties;
+import org.example.assistantonsbservlet.datasource.ReadOnlyTransactions;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.db.pubchem.fda.repo.FoodAdditiveSubstanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the {@link FoodAdditiveSearchIndex} of {@code pubchem.food_additive_substance}.
+ * <p>
+ * The table is read once the application is ready, then every {@code refreshInterval} only the rows with a CID
+ * above the last loaded one are read and a new index replaces the previous one. Rows updated or deleted
+ * in place are only seen by {@link #reload()}, called when the second-level cache is evicted. Loads run one
+ * at a time on a single daemon thread, searches read the latest index without locking.
+ */
+@Component
+@ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
+public final class FoodAdditiveSearch implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodAdditiveSearch.class);
+
+    private final ApplicationContext appContext;
+    private final EntityManagerFactory emf;
+    private final SearchIndexProperties properties;
+    private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("food-additive-search").factory()
+    );
+    // Only read and written by the loader
+    private List<FoodAdditiveSearchIndex.Substance> substances = List.of();
+    // Null until the first load completes
+    private volatile FoodAdditiveSearchIndex index;
+
+    public FoodAdditiveSearch(ApplicationContext appContext,
+                              @Qualifier("pubChemEntityManagerFactory") EntityManagerFactory emf,
+                              AppProperties appProperties) {
+        this.appContext = appContext;
+        this.emf = emf;
+        this.properties = appProperties.pubChem().search();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        final long interval = properties.refreshInterval().toMillis();
+        loader.execute(this::load);
+        loader.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INDEX_LOADING} until the first load completes
+     */
+    public List<FoodAdditiveSearchHitDto> search(String query, int limit) {
+        final var current = index;
+        if (current == null) {
+            throw new AppException(ErrorCode.INDEX_LOADING);
+        }
+        return current.search(query, limit);
+    }
+
+    /**
+     * Queues a load of the whole table, the current index keeps serving until it completes.
+     */
+    public void reload() {
+        loader.execute(this::load);
+    }
+
+    private void load() {
+        try {
+            final long start = System.nanoTime();
+            substances = List.copyOf(read(0));
+            index = new FoodAdditiveSearchIndex(substances);
+            LOGGER.info("Indexed {} food additives in {} ms", substances.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            // Searches keep the previous index, a failure must not cancel the next refreshes
+            LOGGER.warn("Food additives were not indexed", e);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private void refresh() {
+        try {
+            final int lastCid = substances.isEmpty() ? 0 : substances.getLast().compoundCid();
+            final var added = read(lastCid);
+            if (!added.isEmpty()) {
+                final var updated = new ArrayList<>(substances);
+                updated.addAll(added);
+                substances = List.copyOf(updated);
+                index = new FoodAdditiveSearchIndex(substances);
+                LOGGER.info("Indexed {} new food additives after CID {}", added.size(), lastCid);
+            }
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            LOGGER.warn("New food additives were not indexed", e);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * @return rows with a CID above {@code afterCid}, ordered by CID
+     */
+    private List<FoodAdditiveSearchIndex.Substance> read(int afterCid) {
+        final var rows = new ArrayList<FoodAdditiveSearchIndex.Substance>();
+        final var em = emf.createEntityManager();
+        final var tx = em.getTransaction();
+        try (em) {
+            ReadOnlyTransactions.readOnly(em);
+            tx.begin();
+            final var repository = appContext.getBean(FoodAdditiveSubstanceRepository.class, em);
+            List<Tuple> batch;
+            int lastCid = afterCid;
+            do {
+                batch = repository.findSearchTerms(lastCid, properties.batchSize());
+                batch.stream().map(FoodAdditiveSearch::substance).forEach(rows::add);
+                if (!batch.isEmpty()) {
+                    lastCid = rows.getLast().compoundCid();
+                }
+            } while (batch.size() == properties.batchSize());
+            tx.commit();
+            return rows;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private static FoodAdditiveSearchIndex.Substance substance(Tuple row) {
+        return new FoodAdditiveSearchIndex.Substance(
+            row.get("compoundCid", Integer.class),
+            row.get("name", String.class),
+            row.get("synonyms", String.class),
+            row.get("iupacName", String.class)
+        );
+    }
+
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+}
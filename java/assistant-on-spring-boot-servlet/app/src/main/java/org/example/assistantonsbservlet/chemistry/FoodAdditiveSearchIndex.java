@@ -0,0 +1,401 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchField;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable autocomplete index over the names, synonyms and IUPAC names of the food additives.
+ * <p>
+ * The terms are normalized to lower case without accents and kept in a sorted dictionary, the terms starting
+ * with a query are a range of it found by binary search. The completions of the one and two character prefixes,
+ * the widest ranges, are ranked when the index is built. Queries of at least three characters also match inside
+ * the terms through an inverted index from each trigram to the ascending substances that contain it, stored
+ * as one flat array of substances with an offset per trigram. The substances of the rarest trigram of the query
+ * are probed in the other posting lists and then checked against their terms.
+ * <p>
+ * Substances whose names start with the query come first, then the ones with a matching synonym and then
+ * IUPAC name, shorter terms first. Substances matching only inside a term follow in CID order.
+ */
+final class FoodAdditiveSearchIndex {
+    static final int MAX_HITS = 100;
+
+    private static final int GRAM = 3;
+    // Up to this length the completions are ranked once at build time, like in the nodes of a completion trie
+    private static final int SHORT_PREFIX = 2;
+    private static final int[] NO_TERMS = new int[0];
+    // PubChem exports the synonyms of a compound separated by '|', older rows by new lines
+    private static final Pattern SYNONYM_SEPARATOR = Pattern.compile("[|\\r\\n]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final FoodAdditiveSearchField[] FIELDS = FoodAdditiveSearchField.values();
+    static final FoodAdditiveSearchIndex EMPTY = new FoodAdditiveSearchIndex(List.of());
+
+    // Per substance, ordered by CID
+    private final int[] cids;
+    private final String[] names;
+    // Terms of substance i are firstTerms[i] until firstTerms[i + 1]
+    private final int[] firstTerms;
+    // Per term, grouped by substance and ordered by field
+    private final String[] keys;
+    private final String[] terms;
+    private final byte[] fields;
+    private final int[] termSubstances;
+    // Terms ordered by key
+    private final int[] dictionary;
+    // Best terms of the distinct substances completing each prefix of one or two characters
+    private final String[] shortPrefixes;
+    private final int[][] shortPrefixTerms;
+    // Substances of grams[i] are postings[postingOffsets[i]] until postings[postingOffsets[i + 1]]
+    private final long[] grams;
+    private final int[] postingOffsets;
+    private final int[] postings;
+
+    FoodAdditiveSearchIndex(List<Substance> substances) {
+        final var ordered = substances.stream()
+            .sorted(Comparator.comparingInt(Substance::compoundCid))
+            .toList();
+        cids = new int[ordered.size()];
+        names = new String[ordered.size()];
+        firstTerms = new int[ordered.size() + 1];
+        final var termList = new ArrayList<Term>();
+        final var substanceKeys = new HashSet<String>();
+        for (int i = 0; i < ordered.size(); i++) {
+            final var substance = ordered.get(i);
+            cids[i] = substance.compoundCid();
+            names[i] = substance.name();
+            firstTerms[i] = termList.size();
+            substanceKeys.clear();
+            addTerm(termList, substanceKeys, substance.name(), FoodAdditiveSearchField.NAME, i);
+            if (substance.synonyms() != null) {
+                for (var synonym : SYNONYM_SEPARATOR.split(substance.synonyms())) {
+                    addTerm(termList, substanceKeys, synonym, FoodAdditiveSearchField.SYNONYM, i);
+                }
+            }
+            addTerm(termList, substanceKeys, substance.iupacName(), FoodAdditiveSearchField.IUPAC_NAME, i);
+        }
+        firstTerms[ordered.size()] = termList.size();
+
+        keys = new String[termList.size()];
+        terms = new String[termList.size()];
+        fields = new byte[termList.size()];
+        termSubstances = new int[termList.size()];
+        for (int i = 0; i < termList.size(); i++) {
+            final var term = termList.get(i);
+            keys[i] = term.key();
+            terms[i] = term.value();
+            fields[i] = (byte) term.field().ordinal();
+            termSubstances[i] = term.substance();
+        }
+        dictionary = IntStream.range(0, keys.length)
+            .boxed()
+            .sorted(Comparator.<Integer, String>comparing(term -> keys[term]).thenComparingInt(term -> term))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        shortPrefixes = shortPrefixes(keys);
+        shortPrefixTerms = new int[shortPrefixes.length][];
+        for (int i = 0; i < shortPrefixes.length; i++) {
+            final int from = lowerBound(shortPrefixes[i]);
+            shortPrefixTerms[i] = rankPrefixMatches(from, lowerBound(shortPrefixes[i] + Character.MAX_VALUE), MAX_HITS);
+        }
+
+        grams = distinctGrams(keys);
+        postingOffsets = new int[grams.length + 1];
+        postings = new int[countPostings()];
+        fillPostings();
+    }
+
+    int size() {
+        return cids.length;
+    }
+
+    /**
+     * @param limit up to {@value #MAX_HITS}
+     * @return at most {@code limit} substances, each once with its best matching term
+     */
+    List<FoodAdditiveSearchHitDto> search(String query, int limit) {
+        final var key = normalize(query);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        final var hits = new ArrayList<FoodAdditiveSearchHitDto>(Math.min(limit, cids.length));
+        final var found = new BitSet(cids.length);
+        addPrefixMatches(key, limit, hits, found);
+        if (hits.size() < limit && key.length() >= GRAM) {
+            addInfixMatches(key, limit, hits, found);
+        }
+        return hits;
+    }
+
+    private void addPrefixMatches(String key, int limit, List<FoodAdditiveSearchHitDto> hits, BitSet found) {
+        final int[] ranked;
+        if (key.length() <= SHORT_PREFIX) {
+            final int prefix = Arrays.binarySearch(shortPrefixes, key);
+            ranked = prefix >= 0 ? shortPrefixTerms[prefix] : NO_TERMS;
+        } else {
+            ranked = rankPrefixMatches(lowerBound(key), lowerBound(key + Character.MAX_VALUE), limit);
+        }
+        for (int i = 0; i < ranked.length && hits.size() < limit; i++) {
+            addHit(ranked[i], hits, found);
+        }
+    }
+
+    /**
+     * Keeps the best {@code limit} substances seen so far in a sorted array while scanning the whole range,
+     * a term ranked below the last of a full array is skipped with one comparison.
+     *
+     * @return the best term of each substance among the dictionary entries {@code from} until {@code to},
+     * best first, at most {@code limit} of them
+     */
+    private int[] rankPrefixMatches(int from, int to, int limit) {
+        // Field, then key length, then position in the dictionary, compared as one primitive key
+        final long[] top = new long[Math.min(limit, to - from)];
+        final var topSubstances = new BitSet(cids.length);
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            final int term = dictionary[i];
+            final long length = Math.min(keys[term].length(), 0xFFFF);
+            final long rank = (long) fields[term] << 48 | length << 32 | i;
+            if (size == top.length && rank >= top[size - 1]) {
+                continue;
+            }
+            final int substance = termSubstances[term];
+            if (topSubstances.get(substance)) {
+                final int current = indexOfSubstance(top, size, substance);
+                if (rank >= top[current]) {
+                    continue;
+                }
+                System.arraycopy(top, current + 1, top, current, size - current - 1);
+                size--;
+            } else if (size == top.length) {
+                topSubstances.clear(substanceOf(top[--size]));
+            }
+            int position = Arrays.binarySearch(top, 0, size, rank);
+            position = position < 0 ? -position - 1 : position;
+            System.arraycopy(top, position, top, position + 1, size - position);
+            top[position] = rank;
+            size++;
+            topSubstances.set(substance);
+        }
+        final int[] ranked = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = dictionary[(int) top[i]];
+        }
+        return ranked;
+    }
+
+    private int indexOfSubstance(long[] top, int size, int substance) {
+        for (int i = 0; i < size; i++) {
+            if (substanceOf(top[i]) == substance) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Substance " + substance + " is not ranked");
+    }
+
+    private int substanceOf(long rank) {
+        return termSubstances[dictionary[(int) rank]];
+    }
+
+    private void addInfixMatches(String key, int limit, List<FoodAdditiveSearchHitDto> hits, BitSet found) {
+        final int[] queryGrams = new int[key.length() - GRAM + 1];
+        int rarest = -1;
+        for (int i = 0; i < queryGrams.length; i++) {
+            final int gram = Arrays.binarySearch(grams, gram(key, i));
+            if (gram < 0) {
+                return;
+            }
+            queryGrams[i] = gram;
+            if (rarest < 0 || postingCount(gram) < postingCount(rarest)) {
+                rarest = gram;
+            }
+        }
+        for (int i = postingOffsets[rarest]; i < postingOffsets[rarest + 1] && hits.size() < limit; i++) {
+            final int substance = postings[i];
+            if (!found.get(substance) && containsAll(queryGrams, substance)) {
+                final int term = infixTerm(substance, key);
+                if (term >= 0) {
+                    addHit(term, hits, found);
+                }
+            }
+        }
+    }
+
+    private boolean containsAll(int[] queryGrams, int substance) {
+        for (var gram : queryGrams) {
+            if (Arrays.binarySearch(postings, postingOffsets[gram], postingOffsets[gram + 1], substance) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The trigrams may come from different terms, the first term holding the whole query wins.
+     *
+     * @return -1 when no term of the substance contains the query
+     */
+    private int infixTerm(int substance, String key) {
+        for (int term = firstTerms[substance]; term < firstTerms[substance + 1]; term++) {
+            if (keys[term].contains(key)) {
+                return term;
+            }
+        }
+        return -1;
+    }
+
+    private void addHit(int term, List<FoodAdditiveSearchHitDto> hits, BitSet found) {
+        final int substance = termSubstances[term];
+        if (!found.get(substance)) {
+            found.set(substance);
+            hits.add(new FoodAdditiveSearchHitDto(
+                cids[substance], names[substance], terms[term], FIELDS[fields[term]]
+            ));
+        }
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = dictionary.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[dictionary[mid]].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int postingCount(int gram) {
+        return postingOffsets[gram + 1] - postingOffsets[gram];
+    }
+
+    /**
+     * Counts each substance once per trigram and turns the counts into offsets.
+     *
+     * @return total number of postings
+     */
+    private int countPostings() {
+        final int[] lastSubstance = new int[grams.length];
+        Arrays.fill(lastSubstance, -1);
+        for (int term = 0; term < keys.length; term++) {
+            final int substance = termSubstances[term];
+            for (int i = 0; i + GRAM <= keys[term].length(); i++) {
+                final int gram = Arrays.binarySearch(grams, gram(keys[term], i));
+                if (lastSubstance[gram] != substance) {
+                    lastSubstance[gram] = substance;
+                    postingOffsets[gram + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < grams.length; i++) {
+            postingOffsets[i + 1] += postingOffsets[i];
+        }
+        return postingOffsets[grams.length];
+    }
+
+    /**
+     * The terms are grouped by ascending substance, so every posting list comes out sorted.
+     */
+    private void fillPostings() {
+        final int[] next = Arrays.copyOf(postingOffsets, grams.length);
+        final int[] lastSubstance = new int[grams.length];
+        Arrays.fill(lastSubstance, -1);
+        for (int term = 0; term < keys.length; term++) {
+            final int substance = termSubstances[term];
+            for (int i = 0; i + GRAM <= keys[term].length(); i++) {
+                final int gram = Arrays.binarySearch(grams, gram(keys[term], i));
+                if (lastSubstance[gram] != substance) {
+                    lastSubstance[gram] = substance;
+                    postings[next[gram]++] = substance;
+                }
+            }
+        }
+    }
+
+    private static String[] shortPrefixes(String[] keys) {
+        final var prefixes = new TreeSet<String>();
+        for (var key : keys) {
+            for (int length = 1; length <= Math.min(SHORT_PREFIX, key.length()); length++) {
+                prefixes.add(key.substring(0, length));
+            }
+        }
+        return prefixes.toArray(String[]::new);
+    }
+
+    private static long[] distinctGrams(String[] keys) {
+        int total = 0;
+        for (var key : keys) {
+            total += Math.max(0, key.length() - GRAM + 1);
+        }
+        final long[] all = new long[total];
+        int size = 0;
+        for (var key : keys) {
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                all[size++] = gram(key, i);
+            }
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    private static long gram(String key, int start) {
+        return (long) key.charAt(start) << 32 | (long) key.charAt(start + 1) << 16 | key.charAt(start + 2);
+    }
+
+    /**
+     * A term equal to an earlier term of the same substance once normalized is skipped, PubChem repeats
+     * the name among the synonyms.
+     */
+    private static void addTerm(List<Term> termList, Set<String> substanceKeys, String value,
+                                FoodAdditiveSearchField field, int substance) {
+        final var key = normalize(value);
+        if (!key.isEmpty() && substanceKeys.add(key)) {
+            termList.add(new Term(key, value.strip(), field, substance));
+        }
+    }
+
+    /**
+     * Lower case without accents and with single spaces, e.g. {@code "  Ascorbic  Acid "} and
+     * {@code "ascorbic acid"} are the same key.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        final var decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        final var unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(unaccented.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Searchable columns of a row of {@code pubchem.food_additive_substance}.
+     *
+     * @param synonyms separated by {@code |}, may be null
+     */
+    record Substance(int compoundCid, String name, String synonyms, String iupacName) {
+    }
+
+    private record Term(String key, String value, FoodAdditiveSearchField field, int substance) {
+    }
+}
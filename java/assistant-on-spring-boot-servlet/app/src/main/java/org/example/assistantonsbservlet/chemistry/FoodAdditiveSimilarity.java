@@ -0,0 +1,239 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Tuple;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
+import org.example.assistantonsbservlet.config.AppProperties;
+import org.example.assistantonsbservlet.config.SimilaritySearchProperties;
+import org.example.assistantonsbservlet.datasource.ReadOnlyTransactions;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.db.pubchem.fda.model.FoodAdditiveFingerprint;
+import org.example.db.pubchem.fda.repo.FoodAdditiveFingerprintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the {@link FingerprintIndex} of {@code pubchem.food_additive_substance}.
+ * <p>
+ * Once the application is ready the substances are read with their stored fingerprints. Only the ones without
+ * a fingerprint of the current {@link Fingerprints#FINGERPRINTER} for their current SMILES are fingerprinted,
+ * and written to {@code pubchem.food_additive_fingerprint} so the next start reads them instead.
+ * {@link #reload()} does the same again, it is called when the second-level cache is evicted after an ingestion.
+ * Loads run one at a time on a single daemon thread, queries read the latest index without locking.
+ */
+@Component
+@ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
+public final class FoodAdditiveSimilarity implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodAdditiveSimilarity.class);
+
+    private final ApplicationContext appContext;
+    private final EntityManagerFactory emf;
+    private final SimilaritySearchProperties properties;
+    private final ForkJoinPool pool;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().daemon().name("food-additive-similarity").factory()
+    );
+    // Null until the first load completes
+    private volatile FingerprintIndex index;
+
+    public FoodAdditiveSimilarity(ApplicationContext appContext,
+                                  @Qualifier("pubChemEntityManagerFactory") EntityManagerFactory emf,
+                                  AppProperties appProperties) {
+        this.appContext = appContext;
+        this.emf = emf;
+        this.properties = appProperties.pubChem().similarity();
+        final int parallelism = properties.parallelism() > 0
+            ? properties.parallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+    }
+
+    /**
+     * Queues a load of the whole table, the current index keeps serving until it completes.
+     */
+    public void reload() {
+        loader.execute(this::load);
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#ENTITY_NOT_FOUND} when the substance has no fingerprint,
+     *                      with {@link ErrorCode#INDEX_LOADING} until the first load completes
+     */
+    public List<FoodAdditiveSimilarityHitDto> similarTo(int cid, int k, double minSimilarity) {
+        final var current = loaded();
+        final var fingerprint = current.fingerprint(cid);
+        if (fingerprint == null) {
+            throw new AppException(ErrorCode.ENTITY_NOT_FOUND);
+        }
+        return current.similar(fingerprint, k, minSimilarity, cid);
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on a SMILES CDK cannot parse,
+     *                      with {@link ErrorCode#INDEX_LOADING} until the first load completes
+     */
+    public List<FoodAdditiveSimilarityHitDto> similarToSmiles(String smiles, int k, double minSimilarity) {
+        final var current = loaded();
+        return current.similar(Fingerprints.ecfp4(smiles), k, minSimilarity, FingerprintIndex.NO_CID);
+    }
+
+    private FingerprintIndex loaded() {
+        final var current = index;
+        if (current == null) {
+            throw new AppException(ErrorCode.INDEX_LOADING);
+        }
+        return current;
+    }
+
+    private void load() {
+        try {
+            final long start = System.nanoTime();
+            final var rows = read();
+            final var entries = new ArrayList<FingerprintIndex.Entry>(rows.size());
+            final var computed = new ArrayList<FoodAdditiveFingerprint>();
+            for (var row : rows) {
+                if (row.fingerprint() != null) {
+                    entries.add(row);
+                    continue;
+                }
+                final var fingerprint = fingerprint(row.smiles());
+                if (fingerprint != null) {
+                    entries.add(entry(row.compoundCid(), row.name(), row.smiles(), fingerprint));
+                    computed.add(stored(row.compoundCid(), row.smiles(), fingerprint));
+                }
+            }
+            write(computed);
+            index = new FingerprintIndex(entries, pool, properties.partitionSize());
+            LOGGER.info("Indexed the fingerprints of {} food additives in {} ms, {} computed, {} invalid SMILES",
+                entries.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), computed.size(),
+                rows.size() - entries.size());
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            // Queries keep the previous index
+            LOGGER.warn("Food additive fingerprints were not indexed", e);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * @return every substance with a SMILES ordered by CID, with a null fingerprint when it has no current one
+     */
+    private List<FingerprintIndex.Entry> read() {
+        final var rows = new ArrayList<FingerprintIndex.Entry>();
+        final var em = emf.createEntityManager();
+        final var tx = em.getTransaction();
+        try (em) {
+            ReadOnlyTransactions.readOnly(em);
+            tx.begin();
+            final var repository = appContext.getBean(FoodAdditiveFingerprintRepository.class, em);
+            List<Tuple> batch;
+            int lastCid = 0;
+            do {
+                batch = repository.findSmilesWithBits(Fingerprints.FINGERPRINTER, lastCid, properties.batchSize());
+                batch.stream().map(FoodAdditiveSimilarity::entry).forEach(rows::add);
+                if (!batch.isEmpty()) {
+                    lastCid = rows.getLast().compoundCid();
+                }
+            } while (batch.size() == properties.batchSize());
+            tx.commit();
+            return rows;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * A failed batch does not fail the load, its fingerprints are computed again by the next one.
+     */
+    private void write(List<FoodAdditiveFingerprint> computed) {
+        for (int from = 0; from < computed.size(); from += properties.batchSize()) {
+            final var batch = computed.subList(from, Math.min(computed.size(), from + properties.batchSize()));
+            final var em = emf.createEntityManager();
+            final var tx = em.getTransaction();
+            try (em) {
+                tx.begin();
+                appContext.getBean(FoodAdditiveFingerprintRepository.class, em).saveAll(batch);
+                tx.commit();
+                // CHECKSTYLE:OFF: IllegalCatch
+            } catch (RuntimeException e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                LOGGER.warn("{} food additive fingerprints were not stored", batch.size(), e);
+            }
+            // CHECKSTYLE:ON: IllegalCatch
+        }
+    }
+
+    /**
+     * A structure CDK fails on in any other way is skipped too, one row must not keep the index from loading.
+     *
+     * @return null on a SMILES CDK cannot parse or fingerprint
+     */
+    private static long[] fingerprint(String smiles) {
+        try {
+            return Fingerprints.ecfp4(smiles);
+        } catch (AppException e) {
+            LOGGER.debug("Skipped the SMILES {}", smiles, e);
+            return null;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            LOGGER.warn("Skipped the SMILES {}, it could not be fingerprinted", smiles, e);
+            return null;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private static FoodAdditiveFingerprint stored(int cid, String smiles, long[] fingerprint) {
+        final var stored = new FoodAdditiveFingerprint();
+        stored.setCompoundCid(cid);
+        stored.setFingerprinter(Fingerprints.FINGERPRINTER);
+        stored.setSmiles(smiles);
+        stored.setBits(Fingerprints.toBytes(fingerprint));
+        return stored;
+    }
+
+    private static FingerprintIndex.Entry entry(Tuple row) {
+        return entry(
+            row.get("compoundCid", Integer.class),
+            row.get("name", String.class),
+            row.get("smiles", String.class),
+            Fingerprints.fromBytes(row.get("bits", byte[].class))
+        );
+    }
+
+    private static FingerprintIndex.Entry entry(int cid, String name, String smiles, long[] fingerprint) {
+        return new FingerprintIndex.Entry(cid, name, smiles, fingerprint);
+    }
+
+    @Override
+    public void close() {
+        loader.shutdownNow();
+        pool.shutdownNow();
+    }
+}
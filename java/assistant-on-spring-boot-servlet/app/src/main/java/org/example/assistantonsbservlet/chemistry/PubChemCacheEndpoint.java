@@ -0,0 +1,83 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
+import org.example.db.pubchem.fda.repo.FoodAdditiveSubstanceRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/pubchemcache}: {@code GET} shows the hits, misses and puts of the food additive regions
+ * of the second-level cache and {@code DELETE} evicts them. The ingestion jobs update the table outside
+ * of Hibernate, they call {@code DELETE} once they are done so the next reads see their rows, it also reloads
+ * the {@link FoodAdditiveSearch} and {@link FoodAdditiveSimilarity} indexes.
+ * Disabled unless {@code management.endpoint.pubchemcache.access} is set.
+ */
+@Component
+@ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
+@WebEndpoint(id = "pubchemcache", defaultAccess = Access.NONE)
+public final class PubChemCacheEndpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PubChemCacheEndpoint.class);
+    private static final List<String> REGIONS = List.of(
+        FoodAdditiveSubstance.CACHE_REGION,
+        FoodAdditiveSubstanceRepository.PAGE_CACHE_REGION
+    );
+
+    private final SessionFactory sessionFactory;
+    private final FoodAdditiveSearch search;
+    private final FoodAdditiveSimilarity similarity;
+
+    public PubChemCacheEndpoint(@Qualifier("pubChemEntityManagerFactory") EntityManagerFactory emf,
+                                FoodAdditiveSearch search, FoodAdditiveSimilarity similarity) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.search = search;
+        this.similarity = similarity;
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        final var statistics = sessionFactory.getStatistics();
+        final var regions = new LinkedHashMap<String, Object>();
+        for (var region : REGIONS) {
+            final var regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, counts(regionStatistics));
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Evicts the cached substances and pages, also called by code that updates the table in this process.
+     */
+    @DeleteOperation
+    public void evict() {
+        final var cache = sessionFactory.getCache();
+        cache.evictEntityData(FoodAdditiveSubstance.class);
+        cache.evictQueryRegion(FoodAdditiveSubstanceRepository.PAGE_CACHE_REGION);
+        LOGGER.info("Evicted the second-level cache regions {}", REGIONS);
+        search.reload();
+        similarity.reload();
+    }
+
+    private static Map<String, Long> counts(CacheRegionStatistics statistics) {
+        return Map.of(
+            "hits", statistics.getHitCount(),
+            "misses", statistics.getMissCount(),
+            "puts", statistics.getPutCount()
+        );
+    }
+}
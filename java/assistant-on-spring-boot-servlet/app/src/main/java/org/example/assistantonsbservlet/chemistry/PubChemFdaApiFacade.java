@@ -1,6 +1,10 @@
 package org.example.assistantonsbservlet.chemistry;
 
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
 import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.example.assistantonsbservlet.exception.AppException;
 
 import java.util.List;
 
@@ -8,5 +12,45 @@ public sealed interface PubChemFdaApiFacade permits PubChemFdaFacade, PubChemFda
     /**
      * @param page 1-based page
      */
-    List<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize);
+    default List<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize) {
+        return getAll(page, pageSize, null, null);
+    }
+
+    /**
+     * Substances ordered by compound CID.
+     *
+     * @param page     1-based page, ignored with {@code afterCid}
+     * @param fields   attributes to select, the compound CID is always selected, null for all of them
+     * @param afterCid compound CID of the last substance of the previous page, null to page with {@code page}
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on an unknown field
+     */
+    List<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize, List<String> fields, Integer afterCid);
+
+    /**
+     * Substances whose name, synonyms or IUPAC name start with or contain {@code query}, from an in-memory index.
+     *
+     * @param limit 1 to {@value PubChemFdaFacade#MAX_SEARCH_LIMIT}
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on a blank query or a limit out of range,
+     *                      with {@link ErrorCode#INDEX_LOADING} until the index is loaded
+     */
+    List<FoodAdditiveSearchHitDto> search(String query, int limit);
+
+    /**
+     * Substances most similar in structure to the substance {@code cid}, by the Tanimoto coefficient
+     * of their ECFP4 fingerprints, without the substance itself.
+     *
+     * @param k             1 to {@value PubChemFdaFacade#MAX_SIMILAR}
+     * @param minSimilarity 0 to 1
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on {@code k} or {@code minSimilarity} out of range,
+     *                      with {@link ErrorCode#ENTITY_NOT_FOUND} when the substance has no SMILES,
+     *                      with {@link ErrorCode#INDEX_LOADING} until the fingerprints are loaded
+     */
+    List<FoodAdditiveSimilarityHitDto> similar(int cid, int k, double minSimilarity);
+
+    /**
+     * Like {@link #similar(int, int, double)} for a structure that may not be a food additive.
+     *
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} also on a SMILES that cannot be parsed
+     */
+    List<FoodAdditiveSimilarityHitDto> similarToSmiles(String smiles, int k, double minSimilarity);
 }
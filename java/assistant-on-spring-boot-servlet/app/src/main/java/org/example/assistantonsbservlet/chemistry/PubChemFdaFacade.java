@@ -3,8 +3,13 @@ package org.example.assistantonsbservlet.chemistry;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceUnit;
 import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
 import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.example.assistantonsbservlet.datasource.ReadOnlyTransactions;
 import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.observability.FacadeCallEvent;
+import org.example.assistantonsbservlet.observability.RepositoryQueryEvent;
 import org.example.db.pubchem.fda.repo.FoodAdditiveSubstanceRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
@@ -12,11 +17,16 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Component
 @ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
 public final class PubChemFdaFacade implements PubChemFdaApiFacade {
+    public static final int MAX_SEARCH_LIMIT = FoodAdditiveSearchIndex.MAX_HITS;
+    public static final int MAX_SIMILAR = FingerprintIndex.MAX_HITS;
+    private static final String COMPOUND_CID = "compoundCid";
+
     private final ApplicationContext appContext;
     private final ConversionService appConversionService;
     private EntityManagerFactory emf;
@@ -32,22 +42,40 @@ public final class PubChemFdaFacade implements PubChemFdaApiFacade {
     }
 
     @Override
-    public List<FoodAdditiveSubstanceResponseDto> getAll(final int page, final int pageSize) {
+    public List<FoodAdditiveSubstanceResponseDto> getAll(final int page, final int pageSize,
+                                                         final List<String> fields, final Integer afterCid) {
+        final var selectedFields = fields != null ? selectedFields(fields) : null;
+        final var event = new FacadeCallEvent("PubChemFdaFacade", "getAll");
         final var em = emf.createEntityManager();
         final var tx = em.getTransaction();
         try (em) {
+            ReadOnlyTransactions.readOnly(em);
             tx.begin();
             final var repository = appContext.getBean(FoodAdditiveSubstanceRepository.class, em);
             final int offset = (page - 1) * pageSize;
-            final var responseDtoList = repository.findAll(offset, pageSize).stream()
-                .map(foodAdditiveSubstance ->
-                    appConversionService.convert(foodAdditiveSubstance, FoodAdditiveSubstanceResponseDto.class)
-                )
-                .toList();
+            final List<FoodAdditiveSubstanceResponseDto> responseDtoList;
+            if (selectedFields != null) {
+                final var queryEvent = new RepositoryQueryEvent("FoodAdditiveSubstanceRepository", "findFields");
+                final var rows = repository.findFields(selectedFields, afterCid, offset, pageSize);
+                queryEvent.complete(rows.size());
+                responseDtoList = convert(rows);
+            } else if (afterCid != null) {
+                final var queryEvent = new RepositoryQueryEvent("FoodAdditiveSubstanceRepository", "findAllAfter");
+                final var substances = repository.findAllAfter(afterCid, pageSize);
+                queryEvent.complete(substances.size());
+                responseDtoList = convert(substances);
+            } else {
+                final var queryEvent = new RepositoryQueryEvent("FoodAdditiveSubstanceRepository", "findAll");
+                final var substances = repository.findAll(offset, pageSize);
+                queryEvent.complete(substances.size());
+                responseDtoList = convert(substances);
+            }
             tx.commit();
+            event.complete(responseDtoList.size());
             return responseDtoList;
             // CHECKSTYLE:OFF: IllegalCatch
         } catch (Exception e) {
+            event.fail();
             if (tx.isActive()) {
                 tx.rollback();
             }
@@ -55,13 +83,111 @@ public final class PubChemFdaFacade implements PubChemFdaApiFacade {
         }
         // CHECKSTYLE:ON: IllegalCatch
     }
+
+    @Override
+    public List<FoodAdditiveSearchHitDto> search(final String query, final int limit) {
+        if (query == null || query.isBlank() || limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final var event = new FacadeCallEvent("PubChemFdaFacade", "search");
+        try {
+            final var hits = appContext.getBean(FoodAdditiveSearch.class).search(query, limit);
+            event.complete(hits.size());
+            return hits;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public List<FoodAdditiveSimilarityHitDto> similar(final int cid, final int k, final double minSimilarity) {
+        validateSimilar(k, minSimilarity);
+        final var event = new FacadeCallEvent("PubChemFdaFacade", "similar");
+        try {
+            final var hits = appContext.getBean(FoodAdditiveSimilarity.class).similarTo(cid, k, minSimilarity);
+            event.complete(hits.size());
+            return hits;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public List<FoodAdditiveSimilarityHitDto> similarToSmiles(final String smiles, final int k,
+                                                              final double minSimilarity) {
+        if (smiles == null || smiles.isBlank()) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        validateSimilar(k, minSimilarity);
+        final var event = new FacadeCallEvent("PubChemFdaFacade", "similarToSmiles");
+        try {
+            final var hits = appContext.getBean(FoodAdditiveSimilarity.class)
+                .similarToSmiles(smiles, k, minSimilarity);
+            event.complete(hits.size());
+            return hits;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private static void validateSimilar(int k, double minSimilarity) {
+        if (k < 1 || k > MAX_SIMILAR || !(minSimilarity >= 0 && minSimilarity <= 1)) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    /**
+     * The compound CID comes first whether it was asked for or not, it is the key of the next page.
+     */
+    private static List<String> selectedFields(List<String> fields) {
+        final var selected = new LinkedHashSet<String>();
+        selected.add(COMPOUND_CID);
+        for (var field : fields) {
+            if (!FoodAdditiveSubstanceRepository.FIELDS.contains(field)) {
+                throw new AppException(ErrorCode.INVALID_INPUT);
+            }
+            selected.add(field);
+        }
+        return List.copyOf(selected);
+    }
+
+    private List<FoodAdditiveSubstanceResponseDto> convert(List<?> rows) {
+        return rows.stream()
+            .map(row -> appConversionService.convert(row, FoodAdditiveSubstanceResponseDto.class))
+            .toList();
+    }
 }
 
 @Component
 @ConditionalOnBooleanProperty(value = "app.pubchem.ds.enabled", havingValue = false)
 final class PubChemFdaNoopFacade implements PubChemFdaApiFacade {
     @Override
-    public List<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize) {
+    public List<FoodAdditiveSubstanceResponseDto> getAll(int page, int pageSize, List<String> fields,
+                                                         Integer afterCid) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<FoodAdditiveSearchHitDto> search(String query, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<FoodAdditiveSimilarityHitDto> similar(int cid, int k, double minSimilarity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<FoodAdditiveSimilarityHitDto> similarToSmiles(String smiles, int k, double minSimilarity) {
         throw new UnsupportedOperationException();
     }
 }
@@ -6,6 +6,8 @@ import jakarta.persistence.PersistenceUnit;
 import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
 import org.example.assistantonsbservlet.api.ErrorCode;
 import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.observability.FacadeCallEvent;
+import org.example.assistantonsbservlet.observability.RepositoryQueryEvent;
 import org.example.db.pubchem.graph.CompoundRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
@@ -33,6 +35,7 @@ public non-sealed class PubChemGraphServiceImpl implements PubChemGraphService {
     @Override
     @WithSpan(value = "PubChemGraphServiceImpl.getAllGraphs")
     public ChemistryGraphResponse getAllGraphs(int page, int pageSize) {
+        final var event = new FacadeCallEvent("PubChemGraphServiceImpl", "getAllGraphs");
         final int offset = (page - 1) * pageSize;
 
         final var em = emf.createEntityManager();
@@ -40,12 +43,16 @@ public non-sealed class PubChemGraphServiceImpl implements PubChemGraphService {
         try (em) {
             tx.begin();
             final var repository = appContext.getBean(CompoundRepository.class, em);
+            final var queryEvent = new RepositoryQueryEvent("CompoundRepository", "findAll");
             final var compoundList = repository.findAll(offset, pageSize);
+            queryEvent.complete(compoundList.size());
             final var response = appConversionService.convert(compoundList, ChemistryGraphResponse.class);
             tx.commit();
+            event.complete(response.nodes().size());
             return response;
             // CHECKSTYLE:OFF: IllegalCatch
         } catch (Exception e) {
+            event.fail();
             if (tx.isActive()) {
                 tx.rollback();
             }
@@ -56,17 +63,22 @@ public non-sealed class PubChemGraphServiceImpl implements PubChemGraphService {
 
     @Override
     public ChemistryGraphResponse getCompoundDataByName(String compoundName, int page, int pageSize) {
+        final var event = new FacadeCallEvent("PubChemGraphServiceImpl", "getCompoundDataByName");
         final var em = emf.createEntityManager();
         final var tx = em.getTransaction();
         try (em) {
             tx.begin();
             final var repository = appContext.getBean(CompoundRepository.class, em);
+            final var queryEvent = new RepositoryQueryEvent("CompoundRepository", "findCompoundDataByName");
             final var compound = repository.findCompoundDataByName(page, pageSize, compoundName);
+            queryEvent.complete(compound.size());
             final var response = appConversionService.convert(compound, ChemistryGraphResponse.class);
             tx.commit();
+            event.complete(response.nodes().size());
             return response;
             // CHECKSTYLE:OFF: IllegalCatch
         } catch (Exception e) {
+            event.fail();
             if (tx.isActive()) {
                 tx.rollback();
             }
@@ -7,6 +7,11 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 public record AppProperties(
     @NestedConfigurationProperty CorsProperties cors,
     @NestedConfigurationProperty PubChemProperties pubChem,
-    @NestedConfigurationProperty StockMarketProperties stockMarket
+    @NestedConfigurationProperty StockMarketProperties stockMarket,
+    @NestedConfigurationProperty LogbookSinkProperties logbookSink,
+    @NestedConfigurationProperty PersistenceProperties persistence,
+    @NestedConfigurationProperty CoalescingProperties coalescing,
+    @NestedConfigurationProperty ConcurrencyLimitProperties concurrencyLimit,
+    @NestedConfigurationProperty MonteCarloProperties monteCarlo
 ) {
 }
@@ -6,7 +6,15 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.assistantonsbservlet.convert.DoubleArrayJsonDeserializer;
+import org.example.assistantonsbservlet.convert.DoubleMatrixJsonDeserializer;
+import org.example.assistantonsbservlet.observability.AsyncSamplingSink;
+import org.example.assistantonsbservlet.observability.JfrConversionService;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.example.assistantonsbservlet.resilience.RequestCoalescer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -15,12 +23,14 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.zalando.logbook.Logbook;
+import org.zalando.logbook.Sink;
 import org.zalando.logbook.autoconfigure.LogbookProperties;
 import org.zalando.logbook.core.Conditions;
 import org.zalando.logbook.core.DefaultHttpLogFormatter;
 import org.zalando.logbook.core.DefaultHttpLogWriter;
 import org.zalando.logbook.core.DefaultSink;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -28,12 +38,17 @@ import java.util.List;
     "org.example.assistantonsbservlet",
     "org.example.db",
 })
-@EnableConfigurationProperties({AppProperties.class})
+@EnableConfigurationProperties({AppProperties.class, FormulaTimingProperties.class})
 class ApplicationConfig {
     @Bean
     ObjectMapper objectMapper() {
+        final var numericArraysModule = new SimpleModule("numeric-arrays")
+            .addDeserializer(double[].class, new DoubleArrayJsonDeserializer())
+            .addDeserializer(double[][].class, new DoubleMatrixJsonDeserializer());
+
         return new ObjectMapper()
             .registerModule(new JavaTimeModule())
+            .registerModule(numericArraysModule)
             .setSerializationInclusion(JsonInclude.Include.NON_NULL)
             .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
@@ -47,11 +62,39 @@ class ApplicationConfig {
     ConversionService appConversionService(List<Converter<?, ?>> converters) {
         final var service = new DefaultConversionService();
         converters.forEach(service::addConverter);
-        return service;
+        return new JfrConversionService(service);
+    }
+
+    @Bean
+    Sink logbookSink(AppProperties appProperties, MeterRegistry meterRegistry) {
+        final var sinkProperties = appProperties.logbookSink();
+        if (sinkProperties != null && sinkProperties.async()) {
+            return new AsyncSamplingSink(sinkProperties, meterRegistry);
+        }
+        return new DefaultSink(
+            new DefaultHttpLogFormatter(),
+            new DefaultHttpLogWriter()
+        );
     }
 
     @Bean
-    Logbook logbook(LogbookProperties logbookProperties) {
+    RequestCoalescer requestCoalescer(AppProperties appProperties, MeterRegistry meterRegistry) {
+        final var coalescing = appProperties.coalescing() != null
+            ? appProperties.coalescing()
+            : new CoalescingProperties(false, Duration.ZERO);
+        return new RequestCoalescer(coalescing, meterRegistry);
+    }
+
+    @Bean
+    ConcurrencyLimiters concurrencyLimiters(AppProperties appProperties, MeterRegistry meterRegistry) {
+        final var concurrencyLimit = appProperties.concurrencyLimit() != null
+            ? appProperties.concurrencyLimit()
+            : ConcurrencyLimitProperties.disabled();
+        return new ConcurrencyLimiters(concurrencyLimit, meterRegistry);
+    }
+
+    @Bean
+    Logbook logbook(LogbookProperties logbookProperties, Sink logbookSink) {
         final var excludePredicates = logbookProperties.getExclude().stream()
             .map(Conditions::requestTo)
             .toList();
@@ -60,12 +103,7 @@ class ApplicationConfig {
             .condition(
                 Conditions.exclude(excludePredicates)
             )
-            .sink(
-                new DefaultSink(
-                    new DefaultHttpLogFormatter(),
-                    new DefaultHttpLogWriter()
-                )
-            )
+            .sink(logbookSink)
             .build();
     }
 }
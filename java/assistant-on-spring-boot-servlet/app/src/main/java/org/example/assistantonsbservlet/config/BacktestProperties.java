@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.config;
+
+/**
+ * @param parallelism   threads of the fork-join pool that runs the backtests, 0 for the number of processors
+ * @param partitionSize tickers simulated by one fork-join task
+ * @param maxTickers    largest universe of one backtest
+ */
+public record BacktestProperties(
+    int parallelism,
+    int partitionSize,
+    int maxTickers
+) {
+}
@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.config;
+
+import java.time.Duration;
+
+/**
+ * @param enabled  share one in-flight call between concurrent requests with the same key
+ * @param ttl      how long a completed result keeps being served to new requests, zero to drop it right away
+ */
+public record CoalescingProperties(
+    boolean enabled,
+    Duration ttl
+) {
+}
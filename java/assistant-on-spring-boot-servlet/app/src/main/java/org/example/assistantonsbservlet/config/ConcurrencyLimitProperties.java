@@ -0,0 +1,27 @@
+package org.example.assistantonsbservlet.config;
+
+/**
+ * @param enabled       admit database backed requests through an adaptive limit per facade
+ * @param initialLimit  concurrent calls admitted before any latency has been measured
+ * @param minLimit      the limit never drops below this
+ * @param maxLimit      the limit never grows above this, at most the connection pool size
+ * @param smoothing     weight of a new limit estimate against the current one, from 0.0 to 1.0
+ * @param rttTolerance  how much the latest latency may exceed the long term average before the limit shrinks
+ * @param longWindow    number of samples the long term latency average spans
+ */
+public record ConcurrencyLimitProperties(
+    boolean enabled,
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    double smoothing,
+    double rttTolerance,
+    int longWindow
+) {
+    /**
+     * The defaults of {@code application.yml} with the limit turned off, for a config without the block.
+     */
+    public static ConcurrencyLimitProperties disabled() {
+        return new ConcurrencyLimitProperties(false, 20, 5, 100, 0.2, 1.5, 600);
+    }
+}
@@ -1,29 +1,91 @@
 package org.example.assistantonsbservlet.config;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.SharedCacheMode;
 import liquibase.integration.spring.SpringLiquibase;
+import org.example.assistantonsbservlet.datasource.ReadReplicaDataSource;
+import org.example.assistantonsbservlet.datasource.ReplicaRoutingDataSource;
+import org.example.assistantonsbservlet.observability.SlowQueryStatisticsFactory;
+import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
+import org.example.db.pubchem.fda.repo.FoodAdditiveSubstanceRepository;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 class DbConfig {
+    // One entry per table space written through the unit
+    private static final long MAX_UPDATE_TIMESTAMPS = 1_000;
+
     @Bean
     @ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
     DataSource pubChemDataSource(AppProperties properties) {
         final var pubChemProps = properties.pubChem();
         final var ds = pubChemProps.ds();
         final var hikari = pubChemProps.hikari();
-        return createHikariDataSource(ds, hikari);
+        return createDataSource(ds, hikari, pubChemProps.replicas());
+    }
+
+    /**
+     * @return the pool of the primary, behind a {@link ReadReplicaDataSource} when replicas are configured
+     */
+    private static DataSource createDataSource(DataSourceProperties ds, HikariProperties hikari,
+                                               ReplicaProperties replicas) {
+        final var primary = createHikariDataSource(ds, hikari);
+        if (replicas == null || replicas.urls() == null || replicas.urls().isEmpty()) {
+            return primary;
+        }
+        final var index = new AtomicInteger();
+        final var replicaPools = replicas.urls().stream()
+            .map(url -> createReplicaDataSource(ds, hikari, replicas, url, index.incrementAndGet()))
+            .toList();
+        final var router = new ReplicaRoutingDataSource(
+            hikari.poolName(),
+            primary,
+            replicaPools,
+            replicas.selection(),
+            replicas.healthCheckInterval(),
+            replicas.maxLag()
+        );
+        router.start();
+        return new ReadReplicaDataSource(primary, router);
+    }
+
+    /**
+     * Same credentials and pool settings as the primary, with a short connection timeout so a replica that is
+     * down falls back quickly, and without failing the startup when the replica is not reachable yet.
+     */
+    private static HikariDataSource createReplicaDataSource(DataSourceProperties ds, HikariProperties hikari,
+                                                            ReplicaProperties replicas, String url, int index) {
+        final var dataSource = createHikariDataSource(ds, hikari);
+        dataSource.setJdbcUrl(url);
+        dataSource.setPoolName(hikari.poolName() + "-replica-" + index);
+        dataSource.setConnectionTimeout(replicas.connectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
     }
 
     private static HikariDataSource createHikariDataSource(DataSourceProperties ds, HikariProperties hikari) {
@@ -57,32 +119,100 @@ class DbConfig {
         return liquibase;
     }
 
+    /**
+     * Runs after the Liquibase migrations so the second-level cache never holds rows from before them.
+     */
     @Bean
     @ConditionalOnBooleanProperty("app.pubchem.ds.enabled")
+    @DependsOn("pubChemLiquibase")
     LocalContainerEntityManagerFactoryBean pubChemEntityManagerFactory(
-        @Qualifier("pubChemDataSource") DataSource ds
+        @Qualifier("pubChemDataSource") DataSource ds,
+        @Qualifier("pubChemCacheManager") ObjectProvider<CacheManager> cacheManager,
+        AppProperties properties
     ) {
         final var factoryBean = new LocalContainerEntityManagerFactoryBean();
         factoryBean.setPersistenceUnitName("pubchem-unit");
         factoryBean.setPackagesToScan("org.example.db.pubchem.fda.model");
         factoryBean.setDataSource(ds);
-        final var jpaVendorAdapter = newHibernateJpaVendorAdapter();
+        final var persistence = properties.persistence();
+        final var jpaVendorAdapter = newHibernateJpaVendorAdapter(persistence);
         factoryBean.setJpaVendorAdapter(jpaVendorAdapter);
-        factoryBean.setJpaPropertyMap(jpaPropertyMap());
+        final var jpaPropertyMap = jpaPropertyMap(factoryBean.getPersistenceUnitName(), persistence);
+        cacheManager.ifAvailable(manager -> jpaPropertyMap.putAll(secondLevelCacheProperties(manager)));
+        factoryBean.setJpaPropertyMap(jpaPropertyMap);
         return factoryBean;
     }
 
-    private static Map<String, Object> jpaPropertyMap() {
+    /**
+     * Local in-memory JCache regions of the PubChem unit, bounded by entries and by age. Hibernate stores
+     * immutable disassembled state, so entries are kept by reference and not copied on every read.
+     */
+    @Bean
+    @ConditionalOnBooleanProperty({"app.pubchem.ds.enabled", "app.pubchem.cache.enabled"})
+    CacheManager pubChemCacheManager(AppProperties properties) {
+        final var cache = properties.pubChem().cache();
+        final var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        createCache(cacheManager, FoodAdditiveSubstance.CACHE_REGION, cache.maxEntities(), cache.timeToLive());
+        createCache(
+            cacheManager, FoodAdditiveSubstanceRepository.PAGE_CACHE_REGION, cache.maxQueryPages(), cache.timeToLive()
+        );
+        createCache(
+            cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, cache.maxQueryPages(),
+            cache.timeToLive()
+        );
+        // Query results are checked against the last update of their tables, these must outlive them
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+            MAX_UPDATE_TIMESTAMPS, null);
+        return cacheManager;
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maxSize, Duration timeToLive) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        final var configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+
+    private static Map<String, Object> secondLevelCacheProperties(CacheManager cacheManager) {
+        return Map.of(
+            AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE,
+            AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+            AvailableSettings.USE_QUERY_CACHE, true,
+            AvailableSettings.CACHE_REGION_FACTORY, "jcache",
+            ConfigSettings.CACHE_MANAGER, cacheManager,
+            // Every region is created above, a missing one is a misconfigured region name
+            ConfigSettings.MISSING_CACHE_STRATEGY, "fail"
+        );
+    }
+
+    private static Map<String, Object> jpaPropertyMap(String persistenceUnitName, PersistenceProperties persistence) {
         final var jpaPropertyMap = new HashMap<String, Object>();
-        jpaPropertyMap.put("hibernate.format_sql", true);
-        jpaPropertyMap.put("hibernate.highlight_sql", true);
+        jpaPropertyMap.put("hibernate.format_sql", persistence.formatSql());
+        jpaPropertyMap.put("hibernate.highlight_sql", persistence.highlightSql());
         jpaPropertyMap.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        jpaPropertyMap.put(AvailableSettings.GENERATE_STATISTICS, persistence.generateStatistics());
+        // statistics are exported as metrics, per session summaries would only add console output
+        jpaPropertyMap.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        if (persistence.generateStatistics() && persistence.slowQueryThreshold() != null) {
+            jpaPropertyMap.put(
+                StatisticsInitiator.STATS_BUILDER,
+                new SlowQueryStatisticsFactory(persistenceUnitName, persistence.slowQueryThreshold())
+            );
+        }
         return jpaPropertyMap;
     }
 
-    private static HibernateJpaVendorAdapter newHibernateJpaVendorAdapter() {
+    private static HibernateJpaVendorAdapter newHibernateJpaVendorAdapter(PersistenceProperties persistence) {
         final var jpaVendorAdapter = new HibernateJpaVendorAdapter();
-        jpaVendorAdapter.setShowSql(true);
+        jpaVendorAdapter.setShowSql(persistence.showSql());
         return jpaVendorAdapter;
     }
 
@@ -92,21 +222,23 @@ class DbConfig {
         final var stockedMarketProps = properties.stockMarket();
         final var ds = stockedMarketProps.ds();
         final var hikari = stockedMarketProps.hikari();
-        return createHikariDataSource(ds, hikari);
+        return createDataSource(ds, hikari, stockedMarketProps.replicas());
     }
 
     @Bean
     @ConditionalOnBooleanProperty("app.stock-market.ds.enabled")
     LocalContainerEntityManagerFactoryBean stockMarketEntityManagerFactory(
-        @Qualifier("stockMarketDataSource") DataSource ds
+        @Qualifier("stockMarketDataSource") DataSource ds,
+        AppProperties properties
     ) {
         final var factoryBean = new LocalContainerEntityManagerFactoryBean();
         factoryBean.setPersistenceUnitName("stock-market-unit");
         factoryBean.setPackagesToScan("org.example.db.stockmarket");
         factoryBean.setDataSource(ds);
-        final var jpaVendorAdapter = newHibernateJpaVendorAdapter();
+        final var persistence = properties.persistence();
+        final var jpaVendorAdapter = newHibernateJpaVendorAdapter(persistence);
         factoryBean.setJpaVendorAdapter(jpaVendorAdapter);
-        factoryBean.setJpaPropertyMap(jpaPropertyMap());
+        factoryBean.setJpaPropertyMap(jpaPropertyMap(factoryBean.getPersistenceUnitName(), persistence));
         return factoryBean;
     }
 
@@ -122,15 +254,17 @@ class DbConfig {
     @Bean
     @ConditionalOnBooleanProperty("app.pubchem.pg-age-graph.enabled")
     LocalContainerEntityManagerFactoryBean pubChemGraphEntityManagerFactory(
-        @Qualifier("pubChemGraphDataSource") DataSource ds
+        @Qualifier("pubChemGraphDataSource") DataSource ds,
+        AppProperties properties
     ) {
         final var factoryBean = new LocalContainerEntityManagerFactoryBean();
         factoryBean.setPersistenceUnitName("pubchem-graph-unit");
         factoryBean.setPackagesToScan("org.example.db.pubchem.graph");
         factoryBean.setDataSource(ds);
-        final var jpaVendorAdapter = newHibernateJpaVendorAdapter();
+        final var persistence = properties.persistence();
+        final var jpaVendorAdapter = newHibernateJpaVendorAdapter(persistence);
         factoryBean.setJpaVendorAdapter(jpaVendorAdapter);
-        factoryBean.setJpaPropertyMap(jpaPropertyMap());
+        factoryBean.setJpaPropertyMap(jpaPropertyMap(factoryBean.getPersistenceUnitName(), persistence));
         return factoryBean;
     }
 }
@@ -0,0 +1,14 @@
+package org.example.assistantonsbservlet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param enabled     record a timer per calculator formula
+ * @param maxFormulas distinct formulas with their own timer, later ones are recorded as {@code other}
+ */
+@ConfigurationProperties(prefix = "app.formula-timing")
+public record FormulaTimingProperties(
+    boolean enabled,
+    int maxFormulas
+) {
+}
@@ -0,0 +1,21 @@
+package org.example.assistantonsbservlet.config;
+
+import java.util.List;
+
+/**
+ * @param async          hand exchanges to a background writer instead of writing them on the request thread
+ * @param queueCapacity  exchanges waiting for the writer, rounded up to a power of two; newer ones are dropped
+ * @param maxBodySize    bytes kept from each request and response body
+ * @param sampleRate     share of exchanges written when no route matches, from 0.0 to 1.0
+ * @param routes         per route sample rates, the first matching pattern wins
+ */
+public record LogbookSinkProperties(
+    boolean async,
+    int queueCapacity,
+    int maxBodySize,
+    double sampleRate,
+    List<RouteSampleRate> routes
+) {
+    public record RouteSampleRate(String pattern, double rate) {
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.assistantonsbservlet.config;
+
+/**
+ * @param parallelism  threads of the fork-join pool that runs the simulations, 0 for the number of processors
+ * @param pathsPerTask paths simulated by one fork-join task
+ * @param maxPaths     largest number of paths of one simulation
+ * @param maxSteps     largest number of paths times compounding periods of one simulation
+ */
+public record MonteCarloProperties(
+    int parallelism,
+    int pathsPerTask,
+    int maxPaths,
+    long maxSteps
+) {
+}
@@ -0,0 +1,22 @@
+package org.example.assistantonsbservlet.config;
+
+import java.time.Duration;
+
+/**
+ * Applied to every persistence unit.
+ *
+ * @param showSql            log every statement to the console
+ * @param formatSql          pretty print logged statements
+ * @param highlightSql       ANSI highlight logged statements
+ * @param generateStatistics collect Hibernate statistics, required by the metrics and the slow query log
+ * @param slowQueryThreshold queries running at least this long are logged with their fingerprint,
+ *                           null disables the slow query log
+ */
+public record PersistenceProperties(
+    boolean showSql,
+    boolean formatSql,
+    boolean highlightSql,
+    boolean generateStatistics,
+    Duration slowQueryThreshold
+) {
+}
@@ -9,6 +9,10 @@ public record PubChemProperties(
     DataSourceProperties ds,
     @ConfigurationProperties
     HikariProperties hikari,
+    ReplicaProperties replicas,
+    SecondLevelCacheProperties cache,
+    SearchIndexProperties search,
+    SimilaritySearchProperties similarity,
     @ConfigurationProperties
     DataSourceProperties pgAgeGraph,
     @ConfigurationProperties
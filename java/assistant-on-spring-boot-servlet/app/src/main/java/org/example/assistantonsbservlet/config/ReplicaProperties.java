@@ -0,0 +1,24 @@
+package org.example.assistantonsbservlet.config;
+
+import org.example.assistantonsbservlet.datasource.ReplicaSelection;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streaming replicas that serve the read-only transactions of a unit, they share the credentials
+ * and the pool settings of its primary.
+ *
+ * @param urls                JDBC URLs of the replicas, none to send every transaction to the primary
+ * @param healthCheckInterval period of the probe of every replica
+ * @param maxLag              replay lag above which a replica is skipped until it catches up
+ * @param connectionTimeout   wait for a connection of a replica before falling back to the next one
+ */
+public record ReplicaProperties(
+    List<String> urls,
+    ReplicaSelection selection,
+    Duration healthCheckInterval,
+    Duration maxLag,
+    Duration connectionTimeout
+) {
+}
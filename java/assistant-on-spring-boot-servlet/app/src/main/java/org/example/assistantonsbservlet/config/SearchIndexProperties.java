@@ -0,0 +1,15 @@
+package org.example.assistantonsbservlet.config;
+
+import java.time.Duration;
+
+/**
+ * In-memory search index of a table, loaded in full at startup and then extended with the new rows.
+ *
+ * @param refreshInterval period of the load of the rows added since the last one
+ * @param batchSize       rows read per query while loading
+ */
+public record SearchIndexProperties(
+    Duration refreshInterval,
+    int batchSize
+) {
+}
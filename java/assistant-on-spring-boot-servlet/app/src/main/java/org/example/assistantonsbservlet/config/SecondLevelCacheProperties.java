@@ -0,0 +1,19 @@
+package org.example.assistantonsbservlet.config;
+
+import java.time.Duration;
+
+/**
+ * In-memory second-level and query cache of a persistence unit.
+ *
+ * @param enabled       cache the cacheable entities and queries of the unit
+ * @param maxEntities   entities kept per entity region, the least used ones are evicted first
+ * @param maxQueryPages query results kept per query region
+ * @param timeToLive    an entry is reloaded at the latest this long after it was cached
+ */
+public record SecondLevelCacheProperties(
+    boolean enabled,
+    long maxEntities,
+    long maxQueryPages,
+    Duration timeToLive
+) {
+}
@@ -0,0 +1,13 @@
+package org.example.assistantonsbservlet.config;
+
+/**
+ * @param parallelism   threads of the fork-join pool that scans the fingerprints, 0 for the number of processors
+ * @param partitionSize fingerprints scanned by one fork-join task, smaller scans run on the calling thread
+ * @param batchSize     rows read or written per query while loading
+ */
+public record SimilaritySearchProperties(
+    int parallelism,
+    int partitionSize,
+    int batchSize
+) {
+}
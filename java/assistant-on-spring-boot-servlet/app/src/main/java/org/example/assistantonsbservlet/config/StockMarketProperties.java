@@ -2,12 +2,22 @@ package org.example.assistantonsbservlet.config;
 
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "app.stock-market")
 public record StockMarketProperties(
     @ConfigurationProperties
     DataSourceProperties ds,
     @ConfigurationProperties
-    HikariProperties hikari
+    HikariProperties hikari,
+    ReplicaProperties replicas,
+    Duration totalCountTtl,
+    DataSize seriesCacheBudget,
+    Duration seriesCacheTtl,
+    int seriesFetchSize,
+    Duration exportTimeout,
+    BacktestProperties backtest
 ) {
 }
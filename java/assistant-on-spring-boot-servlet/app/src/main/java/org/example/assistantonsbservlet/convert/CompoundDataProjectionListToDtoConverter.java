@@ -1,6 +1,9 @@
 package org.example.assistantonsbservlet.convert;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.assistantonsbservlet.api.ChemistryGraphResponse;
 import org.example.assistantonsbservlet.api.Edge;
@@ -10,16 +13,28 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.NavigableSet;
-import java.util.TreeSet;
+import java.util.Map;
 
+/**
+ * Reads the agtype text of the compound, element and relationship of every row token by token straight into
+ * {@link Node}s and {@link Edge}s, e.g. {@code {"id": 844424930131969, "label": "Compound", ...}::vertex}.
+ * <p>
+ * A compound comes back once per element and an element once per compound, so most vertices are repeats.
+ * They are deduplicated by graph id in a {@link LongHashSet}, and a repeat whose id comes first, as AGE
+ * writes it, is skipped without reading its properties. The lists are sorted by id once at the end.
+ */
 @Component
 @WritingConverter
 public class CompoundDataProjectionListToDtoConverter implements
     Converter<List<CompoundDataProjection>, ChemistryGraphResponse> {
+    private static final TypeReference<Map<String, Object>> PROPERTIES = new TypeReference<>() {
+    };
+
     private final ObjectMapper mapper;
 
     public CompoundDataProjectionListToDtoConverter(ObjectMapper mapper) {
@@ -35,32 +50,121 @@ public class CompoundDataProjectionListToDtoConverter implements
             );
         }
 
-        final NavigableSet<Node> seenNodes = new TreeSet<>();
-        final NavigableSet<Edge> seenEdges = new TreeSet<>();
-        source.forEach(data -> {
-            try {
-                final var compoundJsonNode = mapper.readTree(data.compound());
-                final var compoundNode = mapper.convertValue(compoundJsonNode, Node.class);
-                seenNodes.add(compoundNode);
-
-                final var elementJsonNode = mapper.readTree(data.element());
-                final var elementNode = mapper.convertValue(elementJsonNode, Node.class);
-                seenNodes.add(elementNode);
-
-                final var relationshipJsonNode = mapper.readTree(data.relationship());
-                final var relationship = mapper.convertValue(relationshipJsonNode, Edge.class);
-                seenEdges.add(relationship);
-            } catch (JsonProcessingException e) {
-                throw new UncheckedIOException(e);
+        final List<Node> nodes = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>(source.size());
+        final var seenNodes = new LongHashSet(source.size());
+        final var seenEdges = new LongHashSet(source.size());
+        try {
+            for (var data : source) {
+                addNode(data.compound(), seenNodes, nodes);
+                addNode(data.element(), seenNodes, nodes);
+                addEdge(data.relationship(), seenEdges, edges);
             }
-        });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // The order the graph pages have always had
+        Collections.sort(nodes);
+        Collections.sort(edges);
         final var dataProjection = source.getFirst();
         return new ChemistryGraphResponse(
             dataProjection.totalCompounds(),
             dataProjection.totalElements(),
             dataProjection.totalEdges(),
-            seenNodes.stream().toList(),
-            seenEdges.stream().toList()
+            nodes,
+            edges
         );
     }
+
+    private void addNode(String agtype, LongHashSet seen, List<Node> nodes) throws IOException {
+        if (agtype == null) {
+            return;
+        }
+        try (var p = startObject(agtype)) {
+            String id = null;
+            String label = null;
+            Map<String, Object> properties = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> {
+                        id = readId(p, seen);
+                        if (id == null) {
+                            return;
+                        }
+                    }
+                    case "label" -> label = p.getValueAsString();
+                    case "properties" -> properties = readProperties(p);
+                    default -> p.skipChildren();
+                }
+            }
+            nodes.add(new Node(requireId(p, id), label, properties));
+        }
+    }
+
+    private void addEdge(String agtype, LongHashSet seen, List<Edge> edges) throws IOException {
+        if (agtype == null) {
+            return;
+        }
+        try (var p = startObject(agtype)) {
+            String id = null;
+            String source = null;
+            String target = null;
+            String label = null;
+            Map<String, Object> properties = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "id" -> {
+                        id = readId(p, seen);
+                        if (id == null) {
+                            return;
+                        }
+                    }
+                    case "start_id", "source" -> source = p.getValueAsString();
+                    case "end_id", "target" -> target = p.getValueAsString();
+                    case "label" -> label = p.getValueAsString();
+                    case "properties" -> properties = readProperties(p);
+                    default -> p.skipChildren();
+                }
+            }
+            edges.add(new Edge(requireId(p, id), source, target, label, properties));
+        }
+    }
+
+    /**
+     * The {@code ::vertex} or {@code ::edge} suffix after the object is never read.
+     */
+    private JsonParser startObject(String agtype) throws IOException {
+        final var p = mapper.createParser(agtype);
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            p.close();
+            throw new JsonParseException(p, "Expected an agtype vertex or edge object");
+        }
+        return p;
+    }
+
+    /**
+     * @return the id as text, or null when it was seen already
+     */
+    private static String readId(JsonParser p, LongHashSet seen) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+            throw new JsonParseException(p, "Expected a numeric graph id but got " + p.currentToken());
+        }
+        final long id = p.getLongValue();
+        return seen.add(id) ? Long.toString(id) : null;
+    }
+
+    private static String requireId(JsonParser p, String id) throws JsonParseException {
+        if (id == null) {
+            throw new JsonParseException(p, "Graph object without an id");
+        }
+        return id;
+    }
+
+    private Map<String, Object> readProperties(JsonParser p) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : mapper.readValue(p, PROPERTIES);
+    }
 }
@@ -0,0 +1,93 @@
+package org.example.assistantonsbservlet.convert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads a JSON array of numbers token by token straight into a {@code double[]}.
+ * Elements never go through {@link java.math.BigDecimal}, even with
+ * {@link DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} enabled.
+ */
+public class DoubleArrayJsonDeserializer extends StdDeserializer<double[]> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    public DoubleArrayJsonDeserializer() {
+        super(double[].class);
+    }
+
+    @Override
+    public double[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.isExpectedStartArrayToken()) {
+            return readArray(p, ctxt, this);
+        }
+        final var token = p.currentToken();
+        if (isNumeric(token) && ctxt.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)) {
+            return new double[]{readElement(p, token, ctxt, this)};
+        }
+        return ctxt.reportInputMismatch(this, "Expected an array of numbers but got %s", token);
+    }
+
+    /**
+     * Reads the array the parser is positioned at when the number of elements is not known upfront.
+     */
+    static double[] readArray(JsonParser p, DeserializationContext ctxt, JsonDeserializer<?> src) throws IOException {
+        double[] buffer = new double[INITIAL_CAPACITY];
+        int size = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size << 1);
+            }
+            buffer[size++] = readElement(p, token, ctxt, src);
+        }
+        return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Reads the array the parser is positioned at into a preallocated array of exactly {@code length} elements.
+     */
+    static double[] readArray(JsonParser p, DeserializationContext ctxt, JsonDeserializer<?> src,
+                              int length, int rowIndex) throws IOException {
+        final double[] row = new double[length];
+        int size = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (size == length) {
+                return ctxt.reportInputMismatch(src,
+                    "Row %d has more than %d columns", rowIndex, length);
+            }
+            row[size++] = readElement(p, token, ctxt, src);
+        }
+        if (size != length) {
+            return ctxt.reportInputMismatch(src,
+                "Row %d has %d columns, expected %d", rowIndex, size, length);
+        }
+        return row;
+    }
+
+    private static boolean isNumeric(JsonToken token) {
+        return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    private static double readElement(JsonParser p, JsonToken token, DeserializationContext ctxt,
+                                      JsonDeserializer<?> src) throws IOException {
+        if (isNumeric(token)) {
+            return p.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(p.getText().trim());
+            } catch (NumberFormatException _) {
+                return ctxt.<Double>reportInputMismatch(src, "'%s' is not a number", p.getText());
+            }
+        }
+        return ctxt.<Double>reportInputMismatch(src, "Expected a number but got %s", token);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.assistantonsbservlet.convert;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads a JSON array of number arrays token by token straight into a {@code double[][]}.
+ * The first row fixes the number of columns, every following row is preallocated with that length,
+ * and a ragged row fails the request while it is being parsed.
+ */
+public class DoubleMatrixJsonDeserializer extends StdDeserializer<double[][]> {
+    private static final int INITIAL_ROWS = 8;
+
+    public DoubleMatrixJsonDeserializer() {
+        super(double[][].class);
+    }
+
+    @Override
+    public double[][] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartArrayToken()) {
+            return ctxt.reportInputMismatch(this, "Expected a matrix but got %s", p.currentToken());
+        }
+
+        double[][] rows = new double[INITIAL_ROWS][];
+        int rowCount = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_ARRAY) {
+                return ctxt.reportInputMismatch(this, "Row %d is not an array", rowCount);
+            }
+            final double[] row;
+            if (rowCount == 0) {
+                row = DoubleArrayJsonDeserializer.readArray(p, ctxt, this);
+            } else {
+                row = DoubleArrayJsonDeserializer.readArray(p, ctxt, this, rows[0].length, rowCount);
+            }
+            if (rowCount == rows.length) {
+                rows = Arrays.copyOf(rows, rowCount << 1);
+            }
+            rows[rowCount++] = row;
+        }
+        return rowCount == rows.length ? rows : Arrays.copyOf(rows, rowCount);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.assistantonsbservlet.convert;
+
+import jakarta.persistence.Tuple;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps a row of the selected columns aliased with their attribute names, the columns that were not selected
+ * are left {@code null} and are not serialized.
+ */
+@Component
+@WritingConverter
+public class FoodAdditiveSubstanceTupleToDtoConverter implements
+    Converter<Tuple, FoodAdditiveSubstanceResponseDto> {
+    @Override
+    public FoodAdditiveSubstanceResponseDto convert(Tuple source) {
+        final var elements = source.getElements();
+        final Map<String, Object> values = HashMap.newHashMap(elements.size());
+        for (var element : elements) {
+            values.put(element.getAlias(), source.get(element));
+        }
+        return new FoodAdditiveSubstanceResponseDto(
+            source.get("compoundCid", Integer.class),
+            value(values, "name", String.class),
+            value(values, "synonyms", String.class),
+            value(values, "molecularWeight", Double.class),
+            value(values, "molecularFormula", String.class),
+            value(values, "polarArea", Double.class),
+            value(values, "complexity", Double.class),
+            value(values, "xlogp", Double.class),
+            value(values, "heavyAtomCount", Integer.class),
+            value(values, "hBondDonorCount", Integer.class),
+            value(values, "hBondAcceptorCount", Integer.class),
+            value(values, "rotatableBondCount", Integer.class),
+            value(values, "inchi", String.class),
+            value(values, "smiles", String.class),
+            value(values, "inchiKey", String.class),
+            value(values, "iupacName", String.class),
+            value(values, "exactMass", Double.class),
+            value(values, "monoisotopicMass", Double.class),
+            value(values, "charge", Integer.class),
+            value(values, "covalentUnitCount", Integer.class),
+            value(values, "isotopicAtomCount", Integer.class),
+            value(values, "totalAtomStereoCount", Integer.class),
+            value(values, "definedAtomStereoCount", Integer.class),
+            value(values, "undefinedAtomStereoCount", Integer.class),
+            value(values, "totalBondStereoCount", Integer.class),
+            value(values, "definedBondStereoCount", Integer.class),
+            value(values, "undefinedBondStereoCount", Integer.class),
+            value(values, "linkedPubChemLiteratureCount", Integer.class),
+            value(values, "linkedPubChemPatentCount", Integer.class),
+            value(values, "linkedPubChemPatentFamilyCount", Integer.class),
+            value(values, "meshHeadings", String.class),
+            value(values, "annotationContent", String.class),
+            value(values, "annotationTypeCount", Integer.class),
+            value(values, "linkedBioAssays", Integer.class),
+            value(values, "createDate", LocalDate.class),
+            value(values, "dataSource", String.class),
+            value(values, "dataSourceCategory", String.class),
+            value(values, "taggedByPubChem", String.class)
+        );
+    }
+
+    private static <T> T value(Map<String, Object> values, String field, Class<T> type) {
+        return type.cast(values.get(field));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.assistantonsbservlet.convert;
+
+/**
+ * Set of {@code long}s in a single open-addressing array with linear probing, no boxing and no entries.
+ * <p>
+ * Graph ids of Apache AGE share their high bits per label and count up in the low ones, so the slot comes from
+ * a multiplicative hash that spreads every bit. 0 marks a free slot and is tracked apart. Not thread-safe.
+ */
+final class LongHashSet {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int shift;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * @param expectedSize number of keys that fit without growing
+     */
+    LongHashSet(int expectedSize) {
+        // At most half full
+        final int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        allocate(capacity);
+    }
+
+    /**
+     * @return whether the key was not in the set yet
+     */
+    boolean add(long key) {
+        if (key == 0) {
+            final boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        final int mask = keys.length - 1;
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > keys.length >>> 1) {
+            grow();
+        }
+        return true;
+    }
+
+    int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void grow() {
+        final long[] old = keys;
+        allocate(old.length << 1);
+        final int mask = keys.length - 1;
+        for (var key : old) {
+            if (key != 0) {
+                int slot = slot(key);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.assistantonsbservlet.convert;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.db.stockmarket.model.Stock;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.stereotype.Component;
+
+@Component
+@WritingConverter
+public class StockToDtoConverter implements Converter<Stock, StockDto> {
+    @Override
+    public StockDto convert(Stock source) {
+        return new StockDto(
+            source.getId().getTicker(),
+            source.getId().getDateAt(),
+            source.getOpen().doubleValue(),
+            source.getHigh().doubleValue(),
+            source.getLow().doubleValue(),
+            source.getClose().doubleValue(),
+            source.getAdjustedClose().doubleValue(),
+            source.getVolume(),
+            source.getDividends().doubleValue(),
+            source.getStockSplits().doubleValue(),
+            source.getCapitalGains().doubleValue()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.assistantonsbservlet.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+public final class ReadOnlyTransactions {
+    private ReadOnlyTransactions() {
+    }
+
+    /**
+     * Reads only project rows, so nothing is flushed and the connection runs a read-only transaction.
+     * Called before the transaction begins, the flag reaches {@link ReadReplicaDataSource} before it picks
+     * the physical connection, so the transaction runs on a replica when the unit has some.
+     * The pool resets the read-only flag when the connection is returned.
+     */
+    public static void readOnly(EntityManager em) {
+        final var session = em.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        session.doWork(connection -> connection.setReadOnly(true));
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.assistantonsbservlet.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Data source of a unit with replicas. The facades open resource-local transactions and mark the reads
+ * with {@link ReadOnlyTransactions#readOnly} before they begin, the connection handed to Hibernate only takes
+ * a physical connection at the first statement, from the replicas when the read-only flag is set by then
+ * and from the primary otherwise.
+ */
+public final class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReplicaRoutingDataSource replicas;
+
+    public ReadReplicaDataSource(DataSource primary, ReplicaRoutingDataSource replicas) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.replicas = replicas;
+    }
+
+    /**
+     * Called by the container on shutdown, closes the replicas and then the primary.
+     */
+    @Override
+    public void close() throws IOException {
+        replicas.close();
+        if (getTargetDataSource() instanceof Closeable primary) {
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.assistantonsbservlet.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out the connections of the read-only transactions of a unit from its streaming replicas.
+ * <p>
+ * A replica is picked among the healthy ones in turn or by the lowest probe latency. A replica is healthy once
+ * a probe has answered with a replay lag under {@code maxLag}, it is skipped from the first failed connection
+ * or probe until a later probe succeeds. When no replica hands out a connection the transaction runs
+ * on a read-only connection of the primary, so reads keep working while every replica is down or lagging.
+ */
+public final class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    // The lag is 0 while a replica has replayed everything it received, otherwise the age of the last replayed
+    // transaction. Both functions return null on a server that is not in recovery.
+    static final String LAG_QUERY = """
+        select coalesce(
+            case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+            else extract(epoch from now() - pg_last_xact_replay_timestamp()) end,
+            0
+        )""";
+    // Weight of the latest probe in the moving average of the latency of a replica
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private final String name;
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final Duration healthCheckInterval;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * @param name     prefix of the names of the replicas in the logs
+     * @param replicas pools of read-only connections, closed with this data source
+     */
+    public ReplicaRoutingDataSource(String name, DataSource primary, List<? extends DataSource> replicas,
+                                    ReplicaSelection selection, Duration healthCheckInterval, Duration maxLag) {
+        this.name = name;
+        this.primary = primary;
+        final var index = new AtomicInteger();
+        this.replicas = replicas.stream()
+            .map(replica -> new Replica(name + "-replica-" + index.incrementAndGet(), replica))
+            .toList();
+        this.selection = selection;
+        this.healthCheckInterval = healthCheckInterval;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    /**
+     * Probes the replicas right away and then every {@code healthCheckInterval}. Until its first probe succeeds
+     * a replica is not used.
+     */
+    public void start() {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name(name + "-replica-health").factory()
+        );
+        healthChecker.scheduleWithFixedDelay(
+            this::checkHealth, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS
+        );
+    }
+
+    void checkHealth() {
+        for (var replica : replicas) {
+            probe(replica);
+        }
+    }
+
+    private void probe(Replica replica) {
+        final long start = System.nanoTime();
+        try (var connection = replica.dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(LAG_QUERY)) {
+            final double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+            replica.sampleLatency(System.nanoTime() - start);
+            if (lag > maxLagSeconds) {
+                replica.markDown("replay lag of " + lag + " s");
+            } else {
+                replica.markUp();
+            }
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            // A failure must not cancel the next probes of the executor
+            replica.markDown(e.getMessage());
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            final var replica = choose();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        final var connection = primary.getConnection();
+        try {
+            connection.setReadOnly(true);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replicas share the credentials of the primary");
+    }
+
+    /**
+     * @return null when no replica is healthy
+     */
+    private Replica choose() {
+        return switch (selection) {
+            case ROUND_ROBIN -> nextHealthy();
+            case LEAST_LATENCY -> fastestHealthy();
+        };
+    }
+
+    private Replica nextHealthy() {
+        final int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            final var replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica fastestHealthy() {
+        Replica fastest = null;
+        for (var replica : replicas) {
+            if (replica.healthy && (fastest == null || replica.latencyNanos < fastest.latencyNanos)) {
+                fastest = replica;
+            }
+        }
+        return fastest;
+    }
+
+    boolean isHealthy(int index) {
+        return replicas.get(index).healthy;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Written by the health checker and by failed connections, read by every read-only transaction
+        private volatile boolean healthy;
+        private volatile double latencyNanos;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void sampleLatency(long nanos) {
+            latencyNanos = latencyNanos == 0 ? nanos : LATENCY_WEIGHT * nanos + (1 - LATENCY_WEIGHT) * latencyNanos;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                LOGGER.info("{} serves read-only transactions", name);
+            }
+            healthy = true;
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                LOGGER.warn("{} is skipped until its next successful probe: {}", name, reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.assistantonsbservlet.datasource;
+
+public enum ReplicaSelection {
+    /**
+     * Healthy replicas in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * Healthy replica with the lowest moving average of the probe latency.
+     */
+    LEAST_LATENCY
+}
@@ -22,7 +22,11 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     public ResponseEntity<AppErrorResponse> handleAppException(AppException e) {
         final var errorCode = e.getErrorCode();
         final var body = new AppErrorResponse(errorCode.getCode());
-        logger.error(e.getMessage(), e);
+        switch (errorCode) {
+            case SERVICE_OVERLOADED -> logger.warn("Request rejected by the concurrency limiter");
+            case INDEX_LOADING -> logger.warn("Request rejected until the in-memory index is loaded");
+            default -> logger.error(e.getMessage(), e);
+        }
         return ResponseEntity.status(errorCode.getHttpStatus()).body(body);
     }
 }
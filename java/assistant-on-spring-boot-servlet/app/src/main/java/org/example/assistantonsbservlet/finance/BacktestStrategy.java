@@ -0,0 +1,116 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Long only trading rule fed with the adjusted close of every bar, oldest first.
+ * The exposure decided at a close is held until the next close, so a rule never trades on a price it has not seen.
+ * An instance keeps the state of one ticker and is not thread safe.
+ * <p>
+ * Specs: {@code hold}, {@code sma-cross:fast:slow} (long while the fast SMA is above the slow one)
+ * and {@code rsi:period:oversold:overbought} (long from oversold until overbought).
+ */
+public sealed interface BacktestStrategy {
+    /**
+     * @return exposure to hold until the next bar, between 0 and 1
+     */
+    double position(double close);
+
+    /**
+     * @return a factory of fresh instances, one per ticker
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on an unknown name or a bad argument
+     */
+    static Supplier<BacktestStrategy> parse(String spec) {
+        final var parts = spec == null ? new String[]{""} : spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "hold" -> Hold::new;
+                case "sma-cross" -> {
+                    final int fast = argument(parts, 1, 20);
+                    final int slow = argument(parts, 2, 50);
+                    if (fast >= slow) {
+                        throw new AppException(ErrorCode.INVALID_INPUT);
+                    }
+                    yield () -> new SmaCross(fast, slow);
+                }
+                case "rsi" -> {
+                    final int period = argument(parts, 1, 14);
+                    final int oversold = argument(parts, 2, 30);
+                    final int overbought = argument(parts, 3, 70);
+                    if (oversold >= overbought || overbought >= 100) {
+                        throw new AppException(ErrorCode.INVALID_INPUT);
+                    }
+                    yield () -> new RsiReversion(period, oversold, overbought);
+                }
+                default -> throw new AppException(ErrorCode.INVALID_INPUT);
+            };
+        } catch (NumberFormatException e) {
+            throw new AppException(e, ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    private static int argument(String[] parts, int index, int defaultValue) {
+        final int value = index < parts.length ? Integer.parseInt(parts[index]) : defaultValue;
+        if (value < 1 || value > TechnicalIndicator.Sma.MAX_PERIOD) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return value;
+    }
+
+    final class Hold implements BacktestStrategy {
+        @Override
+        public double position(double close) {
+            return 1;
+        }
+    }
+
+    final class SmaCross implements BacktestStrategy {
+        private final TechnicalIndicator fast;
+        private final TechnicalIndicator slow;
+        private final double[] values = new double[2];
+
+        SmaCross(int fastPeriod, int slowPeriod) {
+            this.fast = new TechnicalIndicator.Sma(fastPeriod);
+            this.slow = new TechnicalIndicator.Sma(slowPeriod);
+        }
+
+        @Override
+        public double position(double close) {
+            fast.update(close, close, close, 0, values, 0);
+            if (!slow.update(close, close, close, 0, values, 1)) {
+                return 0;
+            }
+            return values[0] > values[1] ? 1 : 0;
+        }
+    }
+
+    final class RsiReversion implements BacktestStrategy {
+        private final TechnicalIndicator rsi;
+        private final double oversold;
+        private final double overbought;
+        private final double[] values = new double[1];
+        private double position;
+
+        RsiReversion(int period, double oversold, double overbought) {
+            this.rsi = new TechnicalIndicator.Rsi(period);
+            this.oversold = oversold;
+            this.overbought = overbought;
+        }
+
+        @Override
+        public double position(double close) {
+            if (rsi.update(close, close, close, 0, values, 0)) {
+                if (values[0] < oversold) {
+                    position = 1;
+                } else if (values[0] > overbought) {
+                    position = 0;
+                }
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestMetricsDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestTickerDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.EquityInvestment;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.TechnicalAnalysis;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Replays the daily bars of a universe of tickers through a {@link BacktestStrategy}.
+ * <p>
+ * The universe is split into partitions of tickers, each simulated by one fork-join task over the primitive
+ * columns of {@link StockSeries} without allocating per bar. A task adds the equity of its tickers into a
+ * calendar of one slot per day of the range, carrying a value over the days a ticker did not trade,
+ * and the calendars of the tasks are summed into the portfolio curve.
+ */
+public final class Backtester {
+    static final int TRADING_DAYS_PER_YEAR = 252;
+    static final double DEFAULT_INITIAL_CAPITAL = 10_000;
+    private static final double DAYS_PER_YEAR = 365.25;
+    private static final double BASIS_POINT = 0.0001;
+    private static final long MAX_DAYS = 100 * 366;
+
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+    private final int maxTickers;
+    private final Function<String, StockSeries> seriesLoader;
+
+    /**
+     * @param seriesLoader called from the tasks of the pool, once per ticker
+     */
+    public Backtester(ForkJoinPool pool, int partitionSize, int maxTickers,
+                      Function<String, StockSeries> seriesLoader) {
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+        this.maxTickers = maxTickers;
+        this.seriesLoader = seriesLoader;
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on an empty, duplicated or too large universe,
+     *                      a missing or reversed range, a bad strategy, capital or cost
+     */
+    public BacktestResponseDto run(BacktestRequestDto request) {
+        final var tickers = request.tickers();
+        if (tickers == null || tickers.isEmpty() || tickers.size() > maxTickers
+            || tickers.stream().anyMatch(Objects::isNull) || new HashSet<>(tickers).size() != tickers.size()) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final var from = request.from();
+        final var to = request.to();
+        if (from == null || to == null || from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final double initialCapital = request.initialCapital() != null
+            ? request.initialCapital()
+            : DEFAULT_INITIAL_CAPITAL;
+        final double cost = request.costBps() != null ? request.costBps() * BASIS_POINT : 0;
+        if (!(initialCapital > 0) || Double.isInfinite(initialCapital) || !(cost >= 0 && cost < 1)) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final var strategies = BacktestStrategy.parse(request.strategy());
+
+        final var simulation = new Simulation(
+            strategies, from.toEpochDay(), (int) ChronoUnit.DAYS.between(from, to) + 1,
+            initialCapital / tickers.size(), cost
+        );
+        final var partial = pool.invoke(new PartitionTask(simulation, tickers, 0, tickers.size()));
+        return portfolio(request.strategy(), from, initialCapital, partial);
+    }
+
+    private static BacktestResponseDto portfolio(String strategy, LocalDate from, double initialCapital,
+                                                 Partial partial) {
+        int days = 0;
+        for (boolean tradingDay : partial.tradingDays) {
+            days += tradingDay ? 1 : 0;
+        }
+        final List<LocalDate> dates = new ArrayList<>(days);
+        final double[] equity = new double[days];
+        final double[] drawdown = new double[days];
+        final var performance = new Performance(initialCapital);
+        int first = -1;
+        int last = -1;
+        for (int day = 0, i = 0; day < partial.tradingDays.length; day++) {
+            if (partial.tradingDays[day]) {
+                dates.add(from.plusDays(day));
+                equity[i] = partial.equity[day];
+                drawdown[i] = performance.add(equity[i]);
+                first = first < 0 ? day : first;
+                last = day;
+                i++;
+            }
+        }
+        final double finalEquity = days > 0 ? equity[days - 1] : initialCapital;
+        return new BacktestResponseDto(
+            strategy, dates, equity, drawdown,
+            performance.metrics(finalEquity, last - first), partial.tickers
+        );
+    }
+
+    /**
+     * Parameters shared by every task of one run.
+     */
+    private record Simulation(
+        Supplier<BacktestStrategy> strategies,
+        long fromEpochDay,
+        int days,
+        double allocation,
+        double cost
+    ) {
+    }
+
+    /**
+     * Equity summed over the tickers of a partition, one slot per day of the range.
+     */
+    private static final class Partial {
+        private final double[] equity;
+        private final boolean[] tradingDays;
+        private final List<BacktestTickerDto> tickers = new ArrayList<>();
+
+        Partial(int days) {
+            this.equity = new double[days];
+            this.tradingDays = new boolean[days];
+        }
+
+        Partial merge(Partial other) {
+            for (int day = 0; day < equity.length; day++) {
+                equity[day] += other.equity[day];
+                tradingDays[day] |= other.tradingDays[day];
+            }
+            tickers.addAll(other.tickers);
+            return this;
+        }
+    }
+
+    private final class PartitionTask extends RecursiveTask<Partial> {
+        private final transient Simulation simulation;
+        private final transient List<String> tickers;
+        private final int start;
+        private final int end;
+
+        PartitionTask(Simulation simulation, List<String> tickers, int start, int end) {
+            this.simulation = simulation;
+            this.tickers = tickers;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start <= partitionSize) {
+                final var partial = new Partial(simulation.days());
+                for (int i = start; i < end; i++) {
+                    final var ticker = tickers.get(i);
+                    partial.tickers.add(simulate(ticker, seriesLoader.apply(ticker), partial));
+                }
+                return partial;
+            }
+            final int middle = (start + end) >>> 1;
+            final var left = new PartitionTask(simulation, tickers, start, middle);
+            left.fork();
+            final var right = new PartitionTask(simulation, tickers, middle, end).compute();
+            return left.join().merge(right);
+        }
+
+        /**
+         * Bars before the range only warm the strategy up. The position taken at a close earns the return
+         * of the adjusted close until the next bar, minus the cost of changing it.
+         */
+        private BacktestTickerDto simulate(String ticker, StockSeries series, Partial partial) {
+            final var strategy = simulation.strategies().get();
+            final var performance = new Performance(simulation.allocation());
+            double equity = simulation.allocation();
+            double position = 0;
+            double previousClose = Double.NaN;
+            int filled = 0;
+            int firstDay = -1;
+            int lastDay = -1;
+            int bars = 0;
+            int trades = 0;
+            for (int i = 0; i < series.size(); i++) {
+                final long day = series.localEpochDay(i) - simulation.fromEpochDay();
+                if (day >= simulation.days()) {
+                    break;
+                }
+                if (day >= 0 && day < filled) {
+                    // A second bar on the same local day
+                    continue;
+                }
+                final double close = series.adjustedClose[i] > 0 ? series.adjustedClose[i] : series.close[i];
+                if (!(close > 0)) {
+                    continue;
+                }
+                final double target = Math.clamp(strategy.position(close), 0, 1);
+                if (day >= 0) {
+                    // Carry the value of the previous bar over the days without one
+                    for (; filled < day; filled++) {
+                        partial.equity[filled] += equity;
+                    }
+                    if (previousClose > 0) {
+                        equity *= 1 + position * (close / previousClose - 1);
+                    }
+                    if (target != position) {
+                        equity -= equity * Math.abs(target - position) * simulation.cost();
+                        position = target;
+                        trades++;
+                    }
+                    performance.add(equity);
+                    partial.equity[filled++] += equity;
+                    partial.tradingDays[(int) day] = true;
+                    firstDay = firstDay < 0 ? (int) day : firstDay;
+                    lastDay = (int) day;
+                    bars++;
+                }
+                previousClose = close;
+            }
+            for (; filled < simulation.days(); filled++) {
+                partial.equity[filled] += equity;
+            }
+            return new BacktestTickerDto(ticker, bars, trades, performance.metrics(equity, lastDay - firstDay));
+        }
+    }
+
+    /**
+     * Running peak, drawdown and moments of the returns of an equity curve.
+     */
+    private static final class Performance {
+        private final double initialValue;
+        private double previous;
+        private double peak;
+        private double maxDrawdown;
+        private double sumOfReturns;
+        private double sumOfSquaredReturns;
+        private int returns;
+
+        Performance(double initialValue) {
+            this.initialValue = initialValue;
+            this.previous = initialValue;
+            this.peak = initialValue;
+        }
+
+        /**
+         * @return drawdown of the value
+         */
+        double add(double value) {
+            final double periodReturn = value / previous - 1;
+            sumOfReturns += periodReturn;
+            sumOfSquaredReturns += periodReturn * periodReturn;
+            returns++;
+            previous = value;
+            peak = Math.max(peak, value);
+            final double drawdown = EquityInvestment.drawdown(peak, value);
+            maxDrawdown = Math.max(maxDrawdown, drawdown);
+            return drawdown;
+        }
+
+        BacktestMetricsDto metrics(double finalValue, int days) {
+            final double years = days / DAYS_PER_YEAR;
+            final double annualizedReturn = years > 0
+                ? EquityInvestment.compoundAnnualGrowthRate(initialValue, finalValue, years)
+                : 0;
+            double volatility = 0;
+            double sharpeRatio = 0;
+            if (returns > 1) {
+                final double deviation = TechnicalAnalysis.standardDeviation(
+                    sumOfReturns, sumOfSquaredReturns, returns
+                );
+                volatility = deviation * Math.sqrt(TRADING_DAYS_PER_YEAR);
+                sharpeRatio = EquityInvestment.sharpeRatio(sumOfReturns / returns, deviation, TRADING_DAYS_PER_YEAR);
+            }
+            return new BacktestMetricsDto(
+                finalValue, finalValue / initialValue - 1, annualizedReturn, maxDrawdown, volatility, sharpeRatio
+            );
+        }
+    }
+}
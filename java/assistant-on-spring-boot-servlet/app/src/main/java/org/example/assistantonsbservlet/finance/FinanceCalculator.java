@@ -148,5 +148,93 @@ public final class FinanceCalculator {
             final double frequency = compoundFrequency.getNumber();
             return initialValue * Math.pow((1 + interestRate / frequency), frequency * numberOfYears);
         }
+
+        /**
+         * Annual rate compounded once a year that grows the initial value into the final one,
+         * the inverse of {@link #compoundInterest} with m = 1.
+         *
+         * @return CAGR = (A / P)^(1/t) - 1
+         */
+        public static double compoundAnnualGrowthRate(double initialValue, double finalValue, double years) {
+            return Math.pow(finalValue / initialValue, 1 / years) - 1;
+        }
+
+        /**
+         * @return drawdown = 1 - value / peak
+         */
+        public static double drawdown(double peak, double value) {
+            return 1 - value / peak;
+        }
+
+        /**
+         * Sharpe ratio with a zero risk-free rate, annualized from per period returns.
+         *
+         * @return S = mean / σ * √(periods per year)
+         */
+        public static double sharpeRatio(double meanReturn, double standardDeviation, int periodsPerYear) {
+            return standardDeviation == 0 ? 0 : meanReturn / standardDeviation * Math.sqrt(periodsPerYear);
+        }
+    }
+
+    public static final class TechnicalAnalysis {
+        private TechnicalAnalysis() {
+        }
+
+        /**
+         * @return α = 2 / (n + 1)
+         */
+        public static double emaSmoothing(int period) {
+            return 2.0 / (period + 1);
+        }
+
+        /**
+         * @return EMAₜ = EMAₜ₋₁ + α(x - EMAₜ₋₁)
+         */
+        public static double exponentialMovingAverage(double previous, double value, double smoothing) {
+            return previous + smoothing * (value - previous);
+        }
+
+        /**
+         * Wilder's smoothing, an exponential moving average with α = 1 / n.
+         *
+         * @return avgₜ = (avgₜ₋₁ * (n - 1) + x) / n
+         */
+        public static double wilderAverage(double previous, double value, int period) {
+            return (previous * (period - 1) + value) / period;
+        }
+
+        /**
+         * @return RSI = 100 - 100 / (1 + average gain / average loss)
+         */
+        public static double relativeStrengthIndex(double averageGain, double averageLoss) {
+            if (averageLoss == 0) {
+                return averageGain == 0 ? 50 : 100;
+            }
+            return 100 - 100 / (1 + averageGain / averageLoss);
+        }
+
+        /**
+         * @return TR = max(high - low, |high - previous close|, |low - previous close|)
+         */
+        public static double trueRange(double high, double low, double previousClose) {
+            return Math.max(high - low, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+
+        /**
+         * @return typical price = (high + low + close) / 3
+         */
+        public static double typicalPrice(double high, double low, double close) {
+            return (high + low + close) / 3;
+        }
+
+        /**
+         * Population standard deviation from running sums.
+         *
+         * @return σ = √(Σx² / n - (Σx / n)²)
+         */
+        public static double standardDeviation(double sum, double sumOfSquares, int count) {
+            final double mean = sum / count;
+            return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+        }
     }
 }
@@ -0,0 +1,12 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloResponseDto;
+
+public sealed interface FinanceProjectionApiFacade permits FinanceProjectionFacade {
+    /**
+     * Simulates the compound growth with reinvested dividends over random paths in parallel,
+     * without keeping the paths in memory.
+     */
+    MonteCarloResponseDto monteCarlo(MonteCarloRequestDto request);
+}
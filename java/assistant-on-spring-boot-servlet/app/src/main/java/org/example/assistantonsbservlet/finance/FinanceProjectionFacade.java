@@ -0,0 +1,53 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloResponseDto;
+import org.example.assistantonsbservlet.config.AppProperties;
+import org.example.assistantonsbservlet.config.MonteCarloProperties;
+import org.example.assistantonsbservlet.observability.FacadeCallEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.util.concurrent.ForkJoinPool;
+
+@Component
+public final class FinanceProjectionFacade implements FinanceProjectionApiFacade, Closeable {
+    private final MonteCarloSimulator simulator;
+    private final ForkJoinPool pool;
+
+    public FinanceProjectionFacade(AppProperties appProperties) {
+        final var monteCarlo = appProperties.monteCarlo() != null
+            ? appProperties.monteCarlo()
+            : new MonteCarloProperties(0, 16_384, 1_000_000, 1_000_000_000L);
+        final int parallelism = monteCarlo.parallelism() > 0
+            ? monteCarlo.parallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.simulator = new MonteCarloSimulator(
+            pool, monteCarlo.pathsPerTask(), monteCarlo.maxPaths(), monteCarlo.maxSteps()
+        );
+    }
+
+    @Override
+    public MonteCarloResponseDto monteCarlo(MonteCarloRequestDto request) {
+        final var event = new FacadeCallEvent("FinanceProjectionFacade", "monteCarlo");
+        try {
+            final var response = simulator.run(request);
+            event.complete(response.paths());
+            return response;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * Stops the fork-join pool of the simulations, called by Spring on shutdown.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorSeriesDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorsResponseDto;
+import org.example.assistantonsbservlet.exception.AppException;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes several {@link TechnicalIndicator}s in a single pass over the columns of a {@link StockSeries}.
+ * The pass starts at the oldest row so the indicators are warmed up by the time the requested range begins.
+ */
+public final class IndicatorEngine {
+    static final int MAX_INDICATORS = 16;
+
+    private IndicatorEngine() {
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} if there is no spec, too many of them
+     *                      or one is not valid
+     */
+    public static List<TechnicalIndicator> parse(List<String> specs) {
+        if (specs == null || specs.isEmpty() || specs.size() > MAX_INDICATORS) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return specs.stream()
+            .map(TechnicalIndicator::parse)
+            .toList();
+    }
+
+    /**
+     * @param indicators fresh instances, they keep the state of this pass
+     * @param from       first date, inclusive, {@code null} for the oldest row
+     * @param to         last date, inclusive, {@code null} for the latest row
+     */
+    public static IndicatorsResponseDto compute(StockSeries series, List<TechnicalIndicator> indicators,
+                                                LocalDate from, LocalDate to) {
+        final int start = from != null ? series.indexOnOrAfter(from) : 0;
+        final int end = Math.max(start, to != null ? series.indexOnOrAfter(to.plusDays(1)) : series.size());
+        final int rows = end - start;
+
+        int width = 0;
+        for (var indicator : indicators) {
+            width += indicator.outputs().size();
+        }
+        final double[] bar = new double[width];
+        final double[][] values = new double[width][rows];
+        final int[] firstRow = new int[width];
+        Arrays.fill(firstRow, rows);
+
+        for (int i = 0; i < end; i++) {
+            int offset = 0;
+            for (var indicator : indicators) {
+                final int outputs = indicator.outputs().size();
+                final boolean ready = indicator.update(
+                    series.high[i], series.low[i], series.close[i], series.volume[i], bar, offset
+                );
+                if (ready && i >= start) {
+                    for (int j = offset; j < offset + outputs; j++) {
+                        values[j][i - start] = bar[j];
+                        firstRow[j] = Math.min(firstRow[j], i - start);
+                    }
+                }
+                offset += outputs;
+            }
+        }
+
+        final List<OffsetDateTime> dates = new ArrayList<>(rows);
+        for (int i = start; i < end; i++) {
+            dates.add(series.dateAt(i));
+        }
+        final List<IndicatorSeriesDto> result = new ArrayList<>(width);
+        int column = 0;
+        for (var indicator : indicators) {
+            for (var name : indicator.outputs()) {
+                result.add(new IndicatorSeriesDto(
+                    name, firstRow[column], Arrays.copyOfRange(values[column], firstRow[column], rows)
+                ));
+                column++;
+            }
+        }
+        return new IndicatorsResponseDto(series.ticker(), dates, result);
+    }
+}
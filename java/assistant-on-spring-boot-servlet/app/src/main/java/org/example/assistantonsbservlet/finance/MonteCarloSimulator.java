@@ -0,0 +1,283 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloResponseDto;
+import org.example.assistantonsbservlet.api.finance.projection.model.PercentileBandDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.EquityInvestment;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.Frequency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Projects {@link EquityInvestment#compoundInterest} with reinvested dividends over random paths.
+ * <p>
+ * Every compounding period of a path draws a normal return of mean {@code expectedReturn / m} and standard
+ * deviation {@code volatility / sqrt(m)}, every year draws its dividend yield, and the value grows by
+ * {@code 1 + return + yield / m}. Without volatility every path is the deterministic compound interest.
+ * <p>
+ * The paths are split into fork-join tasks. A task splits its {@link SplittableRandom} for the half it forks
+ * before forking it, so one seed gives the same projection however the tasks are scheduled. A path only keeps
+ * its current value, the value of every year goes into a histogram over the log of the growth,
+ * so memory depends on the number of years and not on the number of paths.
+ */
+public final class MonteCarloSimulator {
+    static final int DEFAULT_PATHS = 100_000;
+    static final int MAX_YEARS = 100;
+    static final int MAX_PERCENTILES = 16;
+    static final List<Double> DEFAULT_PERCENTILES = List.of(5.0, 25.0, 50.0, 75.0, 95.0);
+    private static final int BINS = 4096;
+    // A histogram spans this many standard deviations of the log growth around the deterministic growth,
+    // the values outside are counted in its first and last bins
+    private static final double SPAN_DEVIATIONS = 8;
+    private static final double MIN_SPAN = 0.5;
+
+    private final ForkJoinPool pool;
+    private final int pathsPerTask;
+    private final int maxPaths;
+    private final long maxSteps;
+
+    /**
+     * @param maxSteps largest number of paths times compounding periods of one simulation
+     */
+    public MonteCarloSimulator(ForkJoinPool pool, int pathsPerTask, int maxPaths, long maxSteps) {
+        this.pool = pool;
+        this.pathsPerTask = pathsPerTask;
+        this.maxPaths = maxPaths;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on a missing or out of range rate, value,
+     *                      number of years, paths or percentile, or on too many paths times periods
+     */
+    public MonteCarloResponseDto run(MonteCarloRequestDto request) {
+        final var frequency = request.frequency() != null ? request.frequency() : Frequency.MONTHLY;
+        final int years = request.years() != null ? request.years() : 0;
+        final int paths = request.paths() != null ? request.paths() : DEFAULT_PATHS;
+        if (years < 1 || years > MAX_YEARS || paths < 1 || paths > maxPaths
+            || (long) paths * years * frequency.getNumber() > maxSteps) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final var model = new Model(
+            above(request.initialValue(), 0),
+            above(request.expectedReturn(), -1),
+            atLeast(request.volatility(), 0),
+            atLeast(request.dividendYield() != null ? request.dividendYield() : 0.0, 0),
+            atLeast(request.dividendVolatility() != null ? request.dividendVolatility() : 0.0, 0),
+            frequency,
+            years
+        );
+        final var percentiles = percentiles(request.percentiles());
+        final long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+
+        final var summary = pool.invoke(new PathTask(model, paths, new SplittableRandom(seed)));
+        return response(model, seed, percentiles, summary);
+    }
+
+    private static double above(Double value, double min) {
+        if (value == null || !Double.isFinite(value) || value <= min) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return value;
+    }
+
+    private static double atLeast(Double value, double min) {
+        if (value == null || !Double.isFinite(value) || value < min) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return value;
+    }
+
+    private static List<Double> percentiles(List<Double> percentiles) {
+        if (percentiles == null) {
+            return DEFAULT_PERCENTILES;
+        }
+        if (percentiles.isEmpty() || percentiles.size() > MAX_PERCENTILES
+            || percentiles.stream().anyMatch(p -> p == null || !(p >= 0 && p <= 100))) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return percentiles;
+    }
+
+    private static MonteCarloResponseDto response(Model model, long seed, List<Double> percentiles,
+                                                  Summary summary) {
+        final int years = model.years();
+        final double[] deterministic = new double[years + 1];
+        final double[] mean = new double[years + 1];
+        for (int year = 0; year <= years; year++) {
+            deterministic[year] = EquityInvestment.compoundInterest(
+                model.initialValue(), model.expectedReturn() + model.dividendYield(), model.frequency(), year
+            );
+            mean[year] = year == 0 ? model.initialValue() : summary.sums[year - 1] / summary.paths;
+        }
+        final List<PercentileBandDto> bands = new ArrayList<>(percentiles.size());
+        for (double percentile : percentiles) {
+            bands.add(band(model, summary, percentile));
+        }
+        return new MonteCarloResponseDto(
+            seed, summary.paths, deterministic, mean, bands, (double) summary.losses / summary.paths
+        );
+    }
+
+    private static PercentileBandDto band(Model model, Summary summary, double percentile) {
+        final double[] values = new double[model.years() + 1];
+        values[0] = model.initialValue();
+        for (int year = 1; year <= model.years(); year++) {
+            values[year] = summary.percentile(model, year - 1, percentile / 100 * summary.paths);
+        }
+        return new PercentileBandDto(percentile, values);
+    }
+
+    /**
+     * Parameters shared by every task of one run, with the bounds of the histogram of every year.
+     */
+    private record Model(
+        double initialValue,
+        double expectedReturn,
+        double volatility,
+        double dividendYield,
+        double dividendVolatility,
+        Frequency frequency,
+        int years,
+        double periodReturn,
+        double periodVolatility,
+        double[] lowerBounds,
+        double[] binWidths
+    ) {
+        Model(double initialValue, double expectedReturn, double volatility, double dividendYield,
+              double dividendVolatility, Frequency frequency, int years) {
+            this(
+                initialValue, expectedReturn, volatility, dividendYield, dividendVolatility, frequency, years,
+                expectedReturn / frequency.getNumber(), volatility / Math.sqrt(frequency.getNumber()),
+                new double[years], new double[years]
+            );
+            final int periods = frequency.getNumber();
+            final double periodGrowth = Math.log1p((expectedReturn + dividendYield) / periods);
+            final double variance = volatility * volatility + dividendVolatility * dividendVolatility;
+            for (int year = 0; year < years; year++) {
+                final double center = (year + 1) * periods * periodGrowth;
+                final double span = SPAN_DEVIATIONS * Math.sqrt((year + 1) * variance) + MIN_SPAN;
+                lowerBounds[year] = center - span;
+                binWidths[year] = 2 * span / BINS;
+            }
+        }
+    }
+
+    /**
+     * Histograms of the log growth of every year over the paths of a task, one row of {@link #BINS} per year.
+     */
+    private static final class Summary {
+        private final int[] counts;
+        private final double[] sums;
+        private final double[] min;
+        private final double[] max;
+        private int paths;
+        private int losses;
+
+        Summary(int years) {
+            this.counts = new int[years * BINS];
+            this.sums = new double[years];
+            this.min = new double[years];
+            this.max = new double[years];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(Model model, int year, double value) {
+            // log(0) is -Infinity, it lands in the first bin
+            final double growth = Math.log(value / model.initialValue());
+            final int bin = (int) ((growth - model.lowerBounds()[year]) / model.binWidths()[year]);
+            counts[year * BINS + Math.clamp(bin, 0, BINS - 1)]++;
+            sums[year] += value;
+            min[year] = Math.min(min[year], value);
+            max[year] = Math.max(max[year], value);
+        }
+
+        /**
+         * Interpolates inside the bin holding the rank, the bins at the edges also hold the values
+         * outside the histogram so the result is kept between the smallest and the largest value.
+         */
+        double percentile(Model model, int year, double rank) {
+            final int offset = year * BINS;
+            long cumulative = 0;
+            int bin = 0;
+            while (bin < BINS - 1 && cumulative + counts[offset + bin] < rank) {
+                cumulative += counts[offset + bin];
+                bin++;
+            }
+            final int count = counts[offset + bin];
+            final double fraction = count > 0 ? Math.clamp((rank - cumulative) / count, 0, 1) : 0;
+            final double growth = model.lowerBounds()[year] + (bin + fraction) * model.binWidths()[year];
+            return Math.clamp(model.initialValue() * Math.exp(growth), min[year], max[year]);
+        }
+
+        Summary merge(Summary other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            for (int year = 0; year < sums.length; year++) {
+                sums[year] += other.sums[year];
+                min[year] = Math.min(min[year], other.min[year]);
+                max[year] = Math.max(max[year], other.max[year]);
+            }
+            paths += other.paths;
+            losses += other.losses;
+            return this;
+        }
+    }
+
+    private final class PathTask extends RecursiveTask<Summary> {
+        private final transient Model model;
+        private final int paths;
+        private final transient SplittableRandom random;
+
+        PathTask(Model model, int paths, SplittableRandom random) {
+            this.model = model;
+            this.paths = paths;
+            this.random = random;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (paths <= pathsPerTask) {
+                return simulate();
+            }
+            final int half = paths >>> 1;
+            final var left = new PathTask(model, half, random.split());
+            left.fork();
+            final var right = new PathTask(model, paths - half, random).compute();
+            return left.join().merge(right);
+        }
+
+        private Summary simulate() {
+            final var summary = new Summary(model.years());
+            final int periods = model.frequency().getNumber();
+            for (int path = 0; path < paths; path++) {
+                double value = model.initialValue();
+                for (int year = 0; year < model.years(); year++) {
+                    final double yield = model.dividendVolatility() > 0
+                        ? Math.max(0, model.dividendYield() + model.dividendVolatility() * random.nextGaussian())
+                        : model.dividendYield();
+                    for (int period = 0; period < periods; period++) {
+                        final double periodReturn = model.volatility() > 0
+                            ? model.periodReturn() + model.periodVolatility() * random.nextGaussian()
+                            : model.periodReturn();
+                        value = Math.max(0, value * (1 + periodReturn + yield / periods));
+                    }
+                    summary.add(model, year, value);
+                }
+                summary.losses += value < model.initialValue() ? 1 : 0;
+            }
+            summary.paths = paths;
+            return summary;
+        }
+    }
+}
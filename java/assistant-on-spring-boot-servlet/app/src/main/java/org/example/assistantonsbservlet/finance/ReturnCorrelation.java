@@ -0,0 +1,289 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.PrincipalComponentDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.math.MathCalc.LinearAlgebra;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Covariance and correlation matrices of the daily returns of a set of tickers, with the principal components
+ * of the correlation matrix.
+ * <p>
+ * The series are aligned by a merge join on their local dates: a date is kept when every ticker traded on it
+ * and a return spans two consecutive kept dates, so every pair is computed over the same observations
+ * and the matrices stay positive semi-definite. The returns of a ticker are centred once into a row of
+ * a primitive matrix, then the n(n+1)/2 dot products between the rows are split by rows into fork-join tasks.
+ */
+public final class ReturnCorrelation {
+    static final int MAX_TICKERS = 1_000;
+    static final int DEFAULT_COMPONENTS = 5;
+    private static final int ROWS_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+    private final Function<String, StockSeries> seriesLoader;
+
+    /**
+     * @param seriesLoader called from the tasks of the pool, once per ticker
+     */
+    public ReturnCorrelation(ForkJoinPool pool, Function<String, StockSeries> seriesLoader) {
+        this.pool = pool;
+        this.seriesLoader = seriesLoader;
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on fewer than two, duplicated or too many tickers,
+     *                      a reversed range, a window under two returns or too many components,
+     *                      with {@link ErrorCode#ENTITY_NOT_FOUND} when the tickers have fewer than two returns
+     *                      in common
+     */
+    public CorrelationResponseDto run(CorrelationRequestDto request) {
+        final var tickers = request.tickers();
+        if (tickers == null || tickers.size() < 2 || tickers.size() > MAX_TICKERS
+            || tickers.stream().anyMatch(Objects::isNull) || new HashSet<>(tickers).size() != tickers.size()) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        if (request.from() != null && request.to() != null && request.from().isAfter(request.to())) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        final int n = tickers.size();
+        final int components = request.components() != null
+            ? request.components()
+            : Math.min(DEFAULT_COMPONENTS, n);
+        if ((request.window() != null && request.window() < 2) || components < 0 || components > n) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+
+        final List<StockSeries> series = pool.submit(() -> tickers.parallelStream().map(seriesLoader).toList())
+            .join();
+        final var alignment = align(series, request.from(), request.to());
+        final int first = request.window() != null
+            ? Math.max(0, alignment.rows() - 1 - request.window())
+            : 0;
+        final int observations = alignment.rows() - first - 1;
+        if (observations < 2) {
+            throw new AppException(ErrorCode.ENTITY_NOT_FOUND);
+        }
+
+        final double[][] returns = new double[n][];
+        for (int i = 0; i < n; i++) {
+            returns[i] = centredReturns(series.get(i), alignment.indices()[i], first, observations);
+        }
+        final double[][] covariance = new double[n][n];
+        pool.invoke(new CovarianceTask(returns, covariance, 0, n));
+
+        final double[] volatility = new double[n];
+        for (int i = 0; i < n; i++) {
+            volatility[i] = Math.sqrt(covariance[i][i]);
+        }
+        final double[][] correlation = correlation(covariance, volatility);
+        final var anchor = series.getFirst();
+        final int[] anchorIndices = alignment.indices()[0];
+        return new CorrelationResponseDto(
+            tickers,
+            localDate(anchor, anchorIndices[first + 1]),
+            localDate(anchor, anchorIndices[first + observations]),
+            observations,
+            volatility,
+            covariance,
+            correlation,
+            components > 0 ? principalComponents(correlation, components) : List.of()
+        );
+    }
+
+    /**
+     * Merge join of the series over the range, advancing every cursor to the latest date under the cursors
+     * until they all stand on the same date. A date on which any series has no positive price is dropped,
+     * a return over it would be infinite or NaN.
+     */
+    static Alignment align(List<StockSeries> series, LocalDate from, LocalDate to) {
+        final int n = series.size();
+        final int[] cursors = new int[n];
+        final int[] ends = new int[n];
+        int capacity = Integer.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            final var s = series.get(i);
+            cursors[i] = from != null ? s.indexOnOrAfter(from) : 0;
+            ends[i] = to != null ? s.indexOnOrAfter(to.plusDays(1)) : s.size();
+            capacity = Math.min(capacity, Math.max(0, ends[i] - cursors[i]));
+        }
+        final int[][] indices = new int[n][capacity];
+        int rows = 0;
+        merge:
+        while (true) {
+            long day = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (cursors[i] >= ends[i]) {
+                    break merge;
+                }
+                day = Math.max(day, series.get(i).localEpochDay(cursors[i]));
+            }
+            boolean matched = true;
+            for (int i = 0; i < n; i++) {
+                final var s = series.get(i);
+                while (cursors[i] < ends[i] && s.localEpochDay(cursors[i]) < day) {
+                    cursors[i]++;
+                }
+                if (cursors[i] >= ends[i]) {
+                    break merge;
+                }
+                matched &= s.localEpochDay(cursors[i]) == day;
+            }
+            if (!matched) {
+                continue;
+            }
+            boolean priced = true;
+            for (int i = 0; i < n; i++) {
+                priced &= price(series.get(i), cursors[i]) > 0;
+            }
+            for (int i = 0; i < n; i++) {
+                if (priced) {
+                    indices[i][rows] = cursors[i];
+                }
+                cursors[i]++;
+            }
+            if (priced) {
+                rows++;
+            }
+        }
+        return new Alignment(indices, rows);
+    }
+
+    private static double[] centredReturns(StockSeries series, int[] indices, int first, int observations) {
+        final double[] returns = new double[observations];
+        double sum = 0;
+        double previous = price(series, indices[first]);
+        for (int t = 0; t < observations; t++) {
+            final double price = price(series, indices[first + t + 1]);
+            returns[t] = price / previous - 1;
+            sum += returns[t];
+            previous = price;
+        }
+        final double mean = sum / observations;
+        for (int t = 0; t < observations; t++) {
+            returns[t] -= mean;
+        }
+        return returns;
+    }
+
+    private static double price(StockSeries series, int index) {
+        return series.adjustedClose[index] > 0 ? series.adjustedClose[index] : series.close[index];
+    }
+
+    private static double[][] correlation(double[][] covariance, double[] volatility) {
+        final int n = covariance.length;
+        final double[][] correlation = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                final double scale = volatility[i] * volatility[j];
+                correlation[i][j] = scale > 0 ? Math.clamp(covariance[i][j] / scale, -1, 1) : 0;
+            }
+            correlation[i][i] = 1;
+        }
+        return correlation;
+    }
+
+    private static List<PrincipalComponentDto> principalComponents(double[][] correlation, int components) {
+        final var eigen = LinearAlgebra.symmetricEigenvaluesEigenvectors(correlation);
+        final double[] eigenvalues = eigen.getLeft();
+        final double[] explained = LinearAlgebra.explainedVarianceRatio(eigenvalues);
+        final List<PrincipalComponentDto> result = new ArrayList<>(components);
+        for (int c = 0; c < components; c++) {
+            result.add(component(eigenvalues[c], explained[c], eigen.getRight()[c]));
+        }
+        return result;
+    }
+
+    /**
+     * An eigenvector is only defined up to its sign, it is flipped so that the loadings sum up to a positive.
+     */
+    private static PrincipalComponentDto component(double eigenvalue, double explained, double[] eigenvector) {
+        final double[] loadings = Arrays.copyOf(eigenvector, eigenvector.length);
+        if (Arrays.stream(loadings).sum() < 0) {
+            for (int i = 0; i < loadings.length; i++) {
+                loadings[i] = -loadings[i];
+            }
+        }
+        return new PrincipalComponentDto(eigenvalue, explained, loadings);
+    }
+
+    private static LocalDate localDate(StockSeries series, int index) {
+        return LocalDate.ofEpochDay(series.localEpochDay(index));
+    }
+
+    /**
+     * Four partial sums keep the additions of one dot product independent of each other.
+     */
+    static double dot(double[] a, double[] b) {
+        double s0 = 0;
+        double s1 = 0;
+        double s2 = 0;
+        double s3 = 0;
+        int t = 0;
+        for (; t + 3 < a.length; t += 4) {
+            s0 += a[t] * b[t];
+            s1 += a[t + 1] * b[t + 1];
+            s2 += a[t + 2] * b[t + 2];
+            s3 += a[t + 3] * b[t + 3];
+        }
+        for (; t < a.length; t++) {
+            s0 += a[t] * b[t];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @param indices rows of every series kept by the join, {@code rows} of each are filled
+     */
+    record Alignment(int[][] indices, int rows) {
+    }
+
+    /**
+     * Fills the rows of the upper triangle in its range and mirrors them into the lower triangle.
+     */
+    private static final class CovarianceTask extends RecursiveAction {
+        private final transient double[][] returns;
+        private final transient double[][] covariance;
+        private final int start;
+        private final int end;
+
+        CovarianceTask(double[][] returns, double[][] covariance, int start, int end) {
+            this.returns = returns;
+            this.covariance = covariance;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= ROWS_PER_TASK) {
+                for (int i = start; i < end; i++) {
+                    final double[] row = returns[i];
+                    final double divisor = row.length - 1;
+                    for (int j = i; j < returns.length; j++) {
+                        final double value = dot(row, returns[j]) / divisor;
+                        covariance[i][j] = value;
+                        covariance[j][i] = value;
+                    }
+                }
+                return;
+            }
+            final int middle = (start + end) >>> 1;
+            invokeAll(
+                new CovarianceTask(returns, covariance, start, middle),
+                new CovarianceTask(returns, covariance, middle, end)
+            );
+        }
+    }
+}
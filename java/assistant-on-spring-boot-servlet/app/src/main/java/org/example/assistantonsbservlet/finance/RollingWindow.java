@@ -0,0 +1,50 @@
+package org.example.assistantonsbservlet.finance;
+
+/**
+ * Fixed size window over the latest values, backed by a ring buffer with running sums.
+ */
+final class RollingWindow {
+    private final double[] values;
+    private int next;
+    private int count;
+    private double sum;
+    private double sumOfSquares;
+
+    RollingWindow(int size) {
+        this.values = new double[size];
+    }
+
+    void add(double value) {
+        if (count == values.length) {
+            final double evicted = values[next];
+            sum -= evicted;
+            sumOfSquares -= evicted * evicted;
+        } else {
+            count++;
+        }
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        sum += value;
+        sumOfSquares += value * value;
+    }
+
+    boolean isFull() {
+        return count == values.length;
+    }
+
+    int count() {
+        return count;
+    }
+
+    double sum() {
+        return sum;
+    }
+
+    double mean() {
+        return sum / count;
+    }
+
+    double sumOfSquares() {
+        return sumOfSquares;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/stockcache}: {@code GET} shows how many series the {@link StockMarketFacade} keeps in memory
+ * and {@code DELETE} evicts them with the cached row counts. The stock ingestion writes with {@code COPY},
+ * it calls {@code DELETE} once it is done so the next reads see its rows before the series expire.
+ * Disabled unless {@code management.endpoint.stockcache.access} is set.
+ */
+@Component
+@ConditionalOnBooleanProperty("app.stock-market.ds.enabled")
+@WebEndpoint(id = "stockcache", defaultAccess = Access.NONE)
+public final class StockCacheEndpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockCacheEndpoint.class);
+
+    private final StockMarketFacade facade;
+
+    public StockCacheEndpoint(StockMarketFacade facade) {
+        this.facade = facade;
+    }
+
+    @ReadOperation
+    public Map<String, Long> size() {
+        return facade.seriesCacheSize();
+    }
+
+    @DeleteOperation
+    public void evict() {
+        facade.evictCaches();
+        LOGGER.info("Evicted the cached stock series and row counts");
+    }
+}
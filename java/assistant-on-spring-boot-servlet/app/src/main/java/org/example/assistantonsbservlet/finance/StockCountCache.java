@@ -0,0 +1,44 @@
+package org.example.assistantonsbservlet.finance;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Number of rows per ticker, kept for {@code ttl} so paging through a ticker does not count it on every page.
+ * Daily bars change once a day, a slightly stale total is fine for charts.
+ */
+final class StockCountCache {
+    private static final int MAX_TICKERS = 10_000;
+
+    private final long ttlNanos;
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+    StockCountCache(Duration ttl) {
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0;
+    }
+
+    long get(String ticker, ToLongFunction<String> loader) {
+        final long now = System.nanoTime();
+        final var entry = counts.get(ticker);
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return entry.count();
+        }
+        final long count = loader.applyAsLong(ticker);
+        if (ttlNanos > 0) {
+            if (counts.size() >= MAX_TICKERS) {
+                counts.clear();
+            }
+            counts.put(ticker, new Entry(count, now));
+        }
+        return count;
+    }
+
+    void evictAll() {
+        counts.clear();
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Continuation token of a stock page: the ticker and the {@code date_at} of the last row returned.
+ * The next page seeks past that row on the (ticker, date_at) primary key instead of skipping rows.
+ * Clients get the token as an opaque URL safe string.
+ */
+public record StockCursor(String ticker, OffsetDateTime dateAt) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        final var value = ticker + SEPARATOR + dateAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} if the token is malformed
+     *                      or was issued for another ticker
+     */
+    public static StockCursor decode(String token, String ticker) {
+        final String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(e, ErrorCode.INVALID_INPUT);
+        }
+        final int separatorIndex = value.lastIndexOf(SEPARATOR);
+        if (separatorIndex < 0 || !value.substring(0, separatorIndex).equals(ticker)) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        try {
+            return new StockCursor(ticker, OffsetDateTime.parse(value.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException e) {
+            throw new AppException(e, ErrorCode.INVALID_INPUT);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.assistantonsbservlet.finance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Row format of a stock history export. Rows are written one at a time through a fixed size buffer.
+ */
+public enum StockExportFormat {
+    CSV("text/csv", "csv") {
+        @Override
+        RowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write("ticker,date_at,open,high,low,close,adjusted_close,volume,dividends,stock_splits,"
+                + "capital_gains\n");
+            return new RowWriter() {
+                @Override
+                public void write(StockDto stock) throws IOException {
+                    writer.write(stock.ticker());
+                    writer.write(',');
+                    writer.write(stock.dateAt().toString());
+                    writeNumber(stock.open());
+                    writeNumber(stock.high());
+                    writeNumber(stock.low());
+                    writeNumber(stock.close());
+                    writeNumber(stock.adjustedClose());
+                    writer.write(',');
+                    writer.write(Long.toString(stock.volume()));
+                    writeNumber(stock.dividends());
+                    writeNumber(stock.stockSplits());
+                    writeNumber(stock.capitalGains());
+                    writer.write('\n');
+                }
+
+                @Override
+                public void close() throws IOException {
+                    writer.flush();
+                }
+
+                private void writeNumber(double value) throws IOException {
+                    writer.write(',');
+                    writer.write(Double.toString(value));
+                }
+            };
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        RowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            final SequenceWriter sequenceWriter = objectMapper.writerFor(StockDto.class)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+            return new RowWriter() {
+                private boolean empty = true;
+
+                @Override
+                public void write(StockDto stock) throws IOException {
+                    sequenceWriter.write(stock);
+                    empty = false;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    sequenceWriter.flush();
+                    if (!empty) {
+                        // The separator only goes between rows, end the last line too
+                        writer.write('\n');
+                    }
+                    writer.flush();
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    StockExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * The writer flushes on close but leaves the stream open, it belongs to the response.
+     */
+    abstract RowWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    interface RowWriter extends AutoCloseable {
+        void write(StockDto stock) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+}
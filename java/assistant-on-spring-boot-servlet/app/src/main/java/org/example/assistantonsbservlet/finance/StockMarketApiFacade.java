@@ -1,10 +1,73 @@
 package org.example.assistantonsbservlet.finance;
 
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorsResponseDto;
 import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
 public sealed interface StockMarketApiFacade permits StockMarketFacade, StockMarketNoopFacade {
     /**
+     * Pages with an offset, every page scans and counts all the rows before it.
+     *
      * @param page 1-based page
      */
     StocksResponseDto findByTicker(String ticker, int page, int pageSize);
+
+    /**
+     * Pages by seeking on (ticker, date_at), every page costs the same however deep it is.
+     *
+     * @param cursor    {@link StocksResponseDto#nextCursor()} of the previous page, {@code null} for the latest rows
+     * @param withTotal also return the number of rows of the ticker, counted at most once per cache ttl
+     */
+    StocksResponseDto findByTicker(String ticker, String cursor, int pageSize, boolean withTotal);
+
+    /**
+     * Writes the whole history of the ticker, oldest first, reading it in keyset pages of a short transaction each,
+     * so memory use does not depend on the number of rows and no connection is held while {@code out} blocks.
+     * A failing {@code out} or an interrupt, i.e. a client that went away or a timeout, ends the export quietly.
+     *
+     * @param out left open, it belongs to the caller
+     */
+    void export(String ticker, StockExportFormat format, OutputStream out);
+
+    /**
+     * Served from the in-memory {@link StockSeries} of the ticker, the database is only read on a cache miss.
+     *
+     * @param from first date, inclusive, {@code null} for the oldest row
+     * @param to   last date, inclusive, {@code null} for the latest row
+     * @return rows within the range oldest first, {@code total} is the number of rows of the ticker
+     */
+    StocksResponseDto findRange(String ticker, LocalDate from, LocalDate to);
+
+    /**
+     * Aggregates the cached {@link StockSeries} of the ticker into bars of the given resolution.
+     *
+     * @return bars within the range oldest first, {@code total} is the number of bars
+     */
+    StocksResponseDto findResampled(String ticker, StockResolution resolution, LocalDate from, LocalDate to);
+
+    /**
+     * Runs the indicators over the cached {@link StockSeries} of the ticker in one pass.
+     *
+     * @param indicators {@link TechnicalIndicator} specs such as {@code sma:50} or {@code macd:12:26:9}
+     * @return values within the range, warmed up on the rows before it
+     */
+    IndicatorsResponseDto findIndicators(String ticker, List<String> indicators, LocalDate from, LocalDate to);
+
+    /**
+     * Replays the daily bars of the tickers through the strategy, partitions of tickers run in parallel.
+     */
+    BacktestResponseDto backtest(BacktestRequestDto request);
+
+    /**
+     * Covariance and correlation of the daily returns the tickers have in common, pairs are computed in parallel,
+     * with the principal components of the correlation matrix.
+     */
+    CorrelationResponseDto correlation(CorrelationRequestDto request);
 }
@@ -1,27 +1,75 @@
 package org.example.assistantonsbservlet.finance;
 
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceUnit;
 import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.IndicatorsResponseDto;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
 import org.example.assistantonsbservlet.api.finance.stockmarket.model.StocksResponseDto;
+import org.example.assistantonsbservlet.config.AppProperties;
+import org.example.assistantonsbservlet.config.BacktestProperties;
+import org.example.assistantonsbservlet.datasource.ReadOnlyTransactions;
 import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.observability.FacadeCallEvent;
+import org.example.assistantonsbservlet.observability.RepositoryQueryEvent;
+import org.example.db.stockmarket.model.StockBar;
 import org.example.db.stockmarket.repo.StockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.context.ApplicationContext;
-import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Component;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 @Component
 @ConditionalOnBooleanProperty("app.stock-market.ds.enabled")
-public final class StockMarketFacade implements StockMarketApiFacade {
+public final class StockMarketFacade implements StockMarketApiFacade, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockMarketFacade.class);
+
     private final ApplicationContext appContext;
-    private final ConversionService appConversionService;
+    private final ObjectMapper objectMapper;
+    private final StockCountCache countCache;
+    private final StockSeriesCache seriesCache;
+    private final int seriesFetchSize;
+    private final Backtester backtester;
+    private final ReturnCorrelation returnCorrelation;
+    private final ForkJoinPool pool;
     private EntityManagerFactory emf;
 
-    public StockMarketFacade(ApplicationContext appContext) {
+    public StockMarketFacade(ApplicationContext appContext, AppProperties appProperties) {
         this.appContext = appContext;
-        this.appConversionService = appContext.getBean("appConversionService", ConversionService.class);
+        this.objectMapper = appContext.getBean(ObjectMapper.class);
+        final var stockMarket = appProperties.stockMarket();
+        this.countCache = new StockCountCache(stockMarket.totalCountTtl());
+        this.seriesCache = new StockSeriesCache(
+            stockMarket.seriesCacheBudget().toBytes(), stockMarket.seriesCacheTtl()
+        );
+        this.seriesFetchSize = stockMarket.seriesFetchSize();
+        final var backtest = stockMarket.backtest() != null
+            ? stockMarket.backtest()
+            : new BacktestProperties(0, 16, 10_000);
+        final int parallelism = backtest.parallelism() > 0
+            ? backtest.parallelism()
+            : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.backtester = new Backtester(pool, backtest.partitionSize(), backtest.maxTickers(), this::backtestSeries);
+        this.returnCorrelation = new ReturnCorrelation(pool, this::backtestSeries);
     }
 
     @PersistenceUnit(unitName = "stock-market-unit")
@@ -31,16 +79,236 @@ public final class StockMarketFacade implements StockMarketApiFacade {
 
     @Override
     public StocksResponseDto findByTicker(String ticker, int page, int pageSize) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "findByTicker");
         final var em = emf.createEntityManager();
         final var tx = em.getTransaction();
         try (em) {
+            ReadOnlyTransactions.readOnly(em);
             tx.begin();
             final var repository = appContext.getBean(StockRepository.class, em);
             final int offset = (page - 1) * pageSize;
-            final var tuples = repository.findByTicker(ticker, offset, pageSize);
-            final var stocks = appConversionService.convert(tuples, StocksResponseDto.class);
+            final var queryEvent = new RepositoryQueryEvent("StockRepository", "findBarsByTicker");
+            final var bars = repository.findBarsByTicker(ticker, offset, pageSize);
+            queryEvent.complete(bars.size());
+            final var stockDtoList = toDtoList(ticker, bars);
+            final long total = countCache.get(ticker, repository::countByTicker);
+            tx.commit();
+            event.complete(stockDtoList.size());
+            final boolean hasNext = !stockDtoList.isEmpty() && offset + stockDtoList.size() < total;
+            return new StocksResponseDto(total, stockDtoList, hasNext ? nextCursor(ticker, stockDtoList) : null);
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            event.fail();
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new AppException(e, ErrorCode.UNKNOWN);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public StocksResponseDto findByTicker(String ticker, String cursor, int pageSize, boolean withTotal) {
+        final var before = cursor != null ? StockCursor.decode(cursor, ticker).dateAt() : null;
+        final var event = new FacadeCallEvent("StockMarketFacade", "findByTickerBefore");
+        final var em = emf.createEntityManager();
+        final var tx = em.getTransaction();
+        try (em) {
+            ReadOnlyTransactions.readOnly(em);
+            tx.begin();
+            final var repository = appContext.getBean(StockRepository.class, em);
+            final var queryEvent = new RepositoryQueryEvent("StockRepository", "findBarsByTickerBefore");
+            // One extra row tells whether there is a next page without counting
+            final var bars = repository.findBarsByTickerBefore(ticker, before, pageSize + 1);
+            queryEvent.complete(bars.size());
+            final boolean hasNext = bars.size() > pageSize;
+            final var stockDtoList = toDtoList(ticker, hasNext ? bars.subList(0, pageSize) : bars);
+            final Long total = withTotal ? countCache.get(ticker, repository::countByTicker) : null;
+            tx.commit();
+            event.complete(stockDtoList.size());
+            return new StocksResponseDto(total, stockDtoList, hasNext ? nextCursor(ticker, stockDtoList) : null);
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            event.fail();
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new AppException(e, ErrorCode.UNKNOWN);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public void export(String ticker, StockExportFormat format, OutputStream out) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "export");
+        final int pageSize = Math.max(1, seriesFetchSize);
+        int rows = 0;
+        try (var writer = format.open(out, objectMapper)) {
+            OffsetDateTime after = null;
+            List<StockBar> bars;
+            // A connection is only held while a page is read, never while the client receives it
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export timed out");
+                }
+                bars = exportPage(ticker, after, pageSize);
+                for (var bar : bars) {
+                    writer.write(toDto(ticker, bar));
+                }
+                rows += bars.size();
+                if (!bars.isEmpty()) {
+                    after = bars.getLast().dateAt();
+                }
+            } while (bars.size() == pageSize);
+        } catch (JacksonException e) {
+            event.fail();
+            throw new AppException(e, ErrorCode.UNKNOWN);
+        } catch (IOException e) {
+            // The client went away or the export timed out, the rows sent so far are all it gets
+            event.cancel(rows);
+            LOGGER.debug("Export of {} cancelled after {} rows: {}", ticker, rows, e.toString());
+            return;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+        event.complete(rows);
+    }
+
+    @Override
+    public StocksResponseDto findRange(String ticker, LocalDate from, LocalDate to) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "findRange");
+        final var series = cachedSeries(ticker, event);
+        final var stocks = series.range(from, to);
+        event.complete(stocks.size());
+        return new StocksResponseDto((long) series.size(), stocks, null);
+    }
+
+    @Override
+    public StocksResponseDto findResampled(String ticker, StockResolution resolution, LocalDate from, LocalDate to) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "findResampled");
+        final var series = cachedSeries(ticker, event);
+        final var bars = StockResampler.resample(series, resolution, from, to);
+        event.complete(bars.size());
+        return new StocksResponseDto((long) bars.size(), bars, null);
+    }
+
+    @Override
+    public IndicatorsResponseDto findIndicators(String ticker, List<String> indicators,
+                                                LocalDate from, LocalDate to) {
+        final var technicalIndicators = IndicatorEngine.parse(indicators);
+        final var event = new FacadeCallEvent("StockMarketFacade", "findIndicators");
+        final var series = cachedSeries(ticker, event);
+        final var response = IndicatorEngine.compute(series, technicalIndicators, from, to);
+        event.complete(response.dateAt().size());
+        return response;
+    }
+
+    @Override
+    public BacktestResponseDto backtest(BacktestRequestDto request) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "backtest");
+        try {
+            final var response = backtester.run(request);
+            event.complete(response.tickers().size());
+            return response;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    @Override
+    public CorrelationResponseDto correlation(CorrelationRequestDto request) {
+        final var event = new FacadeCallEvent("StockMarketFacade", "correlation");
+        try {
+            final var response = returnCorrelation.run(request);
+            event.complete(response.tickers().size());
+            return response;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            event.fail();
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * Drops the cached series and row counts, the next reads load the rows of the database.
+     */
+    void evictCaches() {
+        seriesCache.evictAll();
+        countCache.evictAll();
+    }
+
+    /**
+     * @return number of cached series and the heap bytes they take
+     */
+    Map<String, Long> seriesCacheSize() {
+        return Map.of(
+            "series", (long) seriesCache.size(),
+            "bytes", seriesCache.sizeInBytes()
+        );
+    }
+
+    /**
+     * Backtests and correlations read whole universes, only the series already cached are taken from the cache
+     * so they do not evict the ones the other endpoints keep reading.
+     */
+    private StockSeries backtestSeries(String ticker) {
+        return seriesCache.contains(ticker) ? seriesCache.get(ticker, this::loadSeries) : loadSeries(ticker);
+    }
+
+    private StockSeries cachedSeries(String ticker, FacadeCallEvent event) {
+        try {
+            return seriesCache.get(ticker, this::loadSeries);
+        } catch (AppException e) {
+            event.fail();
+            throw e;
+        }
+    }
+
+    private List<StockBar> exportPage(String ticker, OffsetDateTime after, int pageSize) {
+        final var em = emf.createEntityManager();
+        final var tx = em.getTransaction();
+        try (em) {
+            ReadOnlyTransactions.readOnly(em);
+            tx.begin();
+            final var repository = appContext.getBean(StockRepository.class, em);
+            final var queryEvent = new RepositoryQueryEvent("StockRepository", "findBarsByTickerAfter");
+            final var bars = repository.findBarsByTickerAfter(ticker, after, pageSize);
+            queryEvent.complete(bars.size());
+            tx.commit();
+            return bars;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (Exception e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw new AppException(e, ErrorCode.UNKNOWN);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private StockSeries loadSeries(String ticker) {
+        final var em = emf.createEntityManager();
+        final var tx = em.getTransaction();
+        try (em) {
+            ReadOnlyTransactions.readOnly(em);
+            tx.begin();
+            final var repository = appContext.getBean(StockRepository.class, em);
+            final var queryEvent = new RepositoryQueryEvent("StockRepository", "streamBarsByTicker");
+            final var builder = StockSeries.builder(ticker);
+            try (var bars = repository.streamBarsByTicker(ticker, seriesFetchSize)) {
+                bars.forEach(builder::add);
+            }
+            final var series = builder.build();
+            queryEvent.complete(series.size());
             tx.commit();
-            return stocks;
+            return series;
             // CHECKSTYLE:OFF: IllegalCatch
         } catch (Exception e) {
             if (tx.isActive()) {
@@ -50,6 +318,40 @@ public final class StockMarketFacade implements StockMarketApiFacade {
         }
         // CHECKSTYLE:ON: IllegalCatch
     }
+
+    /**
+     * Stops the fork-join pool of the backtests and correlations, called by Spring on shutdown.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    static List<StockDto> toDtoList(String ticker, List<StockBar> bars) {
+        return bars.stream()
+            .map(bar -> toDto(ticker, bar))
+            .toList();
+    }
+
+    private static StockDto toDto(String ticker, StockBar bar) {
+        return new StockDto(
+            ticker,
+            bar.dateAt(),
+            bar.open(),
+            bar.high(),
+            bar.low(),
+            bar.close(),
+            bar.adjustedClose(),
+            bar.volume(),
+            bar.dividends(),
+            bar.stockSplits(),
+            bar.capitalGains()
+        );
+    }
+
+    private static String nextCursor(String ticker, List<StockDto> stocks) {
+        return new StockCursor(ticker, stocks.getLast().dateAt()).encode();
+    }
 }
 
 @Component
@@ -59,4 +361,40 @@ final class StockMarketNoopFacade implements StockMarketApiFacade {
     public StocksResponseDto findByTicker(String ticker, int page, int pageSize) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public StocksResponseDto findByTicker(String ticker, String cursor, int pageSize, boolean withTotal) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void export(String ticker, StockExportFormat format, OutputStream out) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public StocksResponseDto findRange(String ticker, LocalDate from, LocalDate to) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public StocksResponseDto findResampled(String ticker, StockResolution resolution, LocalDate from, LocalDate to) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IndicatorsResponseDto findIndicators(String ticker, List<String> indicators,
+                                                LocalDate from, LocalDate to) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BacktestResponseDto backtest(BacktestRequestDto request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CorrelationResponseDto correlation(CorrelationRequestDto request) {
+        throw new UnsupportedOperationException();
+    }
 }
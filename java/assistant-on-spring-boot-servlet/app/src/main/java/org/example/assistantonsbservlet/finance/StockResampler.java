@@ -0,0 +1,83 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates daily rows of a {@link StockSeries} into OHLCV bars of a coarser {@link StockResolution}
+ * in a single pass over the columns.
+ * <p>
+ * A bar is dated at its first row and takes the first open, the highest high, the lowest low, the last close
+ * and adjusted close, the summed volume, dividends and capital gains, and the product of the splits
+ * within the period, 0 when there was none.
+ */
+public final class StockResampler {
+    private StockResampler() {
+    }
+
+    /**
+     * @param from first date, inclusive, {@code null} for the oldest row
+     * @param to   last date, inclusive, {@code null} for the latest row
+     * @return bars oldest first
+     */
+    public static List<StockDto> resample(StockSeries series, StockResolution resolution,
+                                          LocalDate from, LocalDate to) {
+        final int start = from != null ? series.indexOnOrAfter(from) : 0;
+        final int end = to != null ? series.indexOnOrAfter(to.plusDays(1)) : series.size();
+        if (start >= end) {
+            return List.of();
+        }
+
+        final var bars = new ArrayList<StockDto>();
+        int first = start;
+        long period = resolution.period(LocalDate.ofEpochDay(series.localEpochDay(start)));
+        for (int i = start + 1; i < end; i++) {
+            final long rowPeriod = resolution.period(LocalDate.ofEpochDay(series.localEpochDay(i)));
+            if (rowPeriod != period) {
+                bars.add(aggregate(series, first, i));
+                first = i;
+                period = rowPeriod;
+            }
+        }
+        bars.add(aggregate(series, first, end));
+        return bars;
+    }
+
+    private static StockDto aggregate(StockSeries series, int start, int end) {
+        final int last = end - 1;
+        double high = series.high[start];
+        double low = series.low[start];
+        long volume = 0;
+        double dividends = 0;
+        double splits = 1;
+        boolean split = false;
+        double capitalGains = 0;
+        for (int i = start; i < end; i++) {
+            high = Math.max(high, series.high[i]);
+            low = Math.min(low, series.low[i]);
+            volume += series.volume[i];
+            dividends += series.dividends[i];
+            capitalGains += series.capitalGains[i];
+            if (series.stockSplits[i] != 0) {
+                splits *= series.stockSplits[i];
+                split = true;
+            }
+        }
+        return new StockDto(
+            series.ticker(),
+            series.dateAt(start),
+            series.open[start],
+            high,
+            low,
+            series.close[last],
+            series.adjustedClose[last],
+            volume,
+            dividends,
+            split ? splits : 0,
+            capitalGains
+        );
+    }
+}
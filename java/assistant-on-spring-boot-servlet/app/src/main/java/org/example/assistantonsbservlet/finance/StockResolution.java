@@ -0,0 +1,39 @@
+package org.example.assistantonsbservlet.finance;
+
+import java.time.LocalDate;
+
+/**
+ * Bar size of resampled stock data. Weeks start on Monday.
+ */
+public enum StockResolution {
+    WEEKLY {
+        @Override
+        long period(LocalDate date) {
+            // 1970-01-01 was a Thursday, shift by three days so every period starts on a Monday
+            return Math.floorDiv(date.toEpochDay() + 3, 7);
+        }
+    },
+    MONTHLY {
+        @Override
+        long period(LocalDate date) {
+            return date.getYear() * 12L + date.getMonthValue() - 1;
+        }
+    },
+    QUARTERLY {
+        @Override
+        long period(LocalDate date) {
+            return date.getYear() * 4L + (date.getMonthValue() - 1) / 3;
+        }
+    },
+    YEARLY {
+        @Override
+        long period(LocalDate date) {
+            return date.getYear();
+        }
+    };
+
+    /**
+     * @return number of the period the date falls in, increasing with the date
+     */
+    abstract long period(LocalDate date);
+}
@@ -0,0 +1,201 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.example.db.stockmarket.model.StockBar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Full history of one ticker held column by column in primitive arrays, oldest row first.
+ * <p>
+ * {@code date_at} is kept as epoch seconds plus the offset of each row, so a row converts back to the same
+ * {@link OffsetDateTime} the database returned. Rows are located by binary search on their local date.
+ * Instances are immutable once built.
+ */
+public final class StockSeries {
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int DOUBLE_COLUMNS = 8;
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    private final String ticker;
+    private final int size;
+    final long[] epochSeconds;
+    final int[] offsetSeconds;
+    final double[] open;
+    final double[] high;
+    final double[] low;
+    final double[] close;
+    final double[] adjustedClose;
+    final long[] volume;
+    final double[] dividends;
+    final double[] stockSplits;
+    final double[] capitalGains;
+
+    private StockSeries(Builder builder) {
+        this.ticker = builder.ticker;
+        this.size = builder.size;
+        this.epochSeconds = Arrays.copyOf(builder.epochSeconds, size);
+        this.offsetSeconds = Arrays.copyOf(builder.offsetSeconds, size);
+        this.open = Arrays.copyOf(builder.open, size);
+        this.high = Arrays.copyOf(builder.high, size);
+        this.low = Arrays.copyOf(builder.low, size);
+        this.close = Arrays.copyOf(builder.close, size);
+        this.adjustedClose = Arrays.copyOf(builder.adjustedClose, size);
+        this.volume = Arrays.copyOf(builder.volume, size);
+        this.dividends = Arrays.copyOf(builder.dividends, size);
+        this.stockSplits = Arrays.copyOf(builder.stockSplits, size);
+        this.capitalGains = Arrays.copyOf(builder.capitalGains, size);
+    }
+
+    public static Builder builder(String ticker) {
+        return new Builder(ticker);
+    }
+
+    public String ticker() {
+        return ticker;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Heap held by the columns, used to keep the cache under its budget.
+     */
+    public long sizeInBytes() {
+        final long bytesPerRow = Long.BYTES * 2 + Integer.BYTES + Double.BYTES * DOUBLE_COLUMNS;
+        return OBJECT_OVERHEAD_BYTES * (DOUBLE_COLUMNS + 4L) + bytesPerRow * size;
+    }
+
+    /**
+     * @return index of the first row dated on or after {@code date}, {@link #size()} if there is none
+     */
+    public int indexOnOrAfter(LocalDate date) {
+        final long epochDay = date.toEpochDay();
+        int left = 0;
+        int right = size;
+        while (left < right) {
+            final int mid = (left + right) >>> 1;
+            if (localEpochDay(mid) < epochDay) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * @param from first date, inclusive, {@code null} for the oldest row
+     * @param to   last date, inclusive, {@code null} for the latest row
+     * @return rows dated within the range, oldest first
+     */
+    public List<StockDto> range(LocalDate from, LocalDate to) {
+        final int start = from != null ? indexOnOrAfter(from) : 0;
+        final int end = to != null ? indexOnOrAfter(to.plusDays(1)) : size;
+        if (start >= end) {
+            return List.of();
+        }
+        final var dtos = new StockDto[end - start];
+        for (int i = start; i < end; i++) {
+            dtos[i - start] = toDto(i);
+        }
+        return Arrays.asList(dtos);
+    }
+
+    public OffsetDateTime dateAt(int index) {
+        return OffsetDateTime.ofInstant(
+            Instant.ofEpochSecond(epochSeconds[index]),
+            ZoneOffset.ofTotalSeconds(offsetSeconds[index])
+        );
+    }
+
+    public StockDto toDto(int index) {
+        return new StockDto(
+            ticker,
+            dateAt(index),
+            open[index],
+            high[index],
+            low[index],
+            close[index],
+            adjustedClose[index],
+            volume[index],
+            dividends[index],
+            stockSplits[index],
+            capitalGains[index]
+        );
+    }
+
+    long localEpochDay(int index) {
+        return Math.floorDiv(epochSeconds[index] + offsetSeconds[index], SECONDS_PER_DAY);
+    }
+
+    /**
+     * Collects rows in ascending {@code date_at} order into growing column arrays.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final String ticker;
+        private int size;
+        private long[] epochSeconds = new long[INITIAL_CAPACITY];
+        private int[] offsetSeconds = new int[INITIAL_CAPACITY];
+        private double[] open = new double[INITIAL_CAPACITY];
+        private double[] high = new double[INITIAL_CAPACITY];
+        private double[] low = new double[INITIAL_CAPACITY];
+        private double[] close = new double[INITIAL_CAPACITY];
+        private double[] adjustedClose = new double[INITIAL_CAPACITY];
+        private long[] volume = new long[INITIAL_CAPACITY];
+        private double[] dividends = new double[INITIAL_CAPACITY];
+        private double[] stockSplits = new double[INITIAL_CAPACITY];
+        private double[] capitalGains = new double[INITIAL_CAPACITY];
+
+        private Builder(String ticker) {
+            this.ticker = ticker;
+        }
+
+        public Builder add(StockBar bar) {
+            if (size == epochSeconds.length) {
+                grow();
+            }
+            final var dateAt = bar.dateAt();
+            epochSeconds[size] = dateAt.toEpochSecond();
+            offsetSeconds[size] = dateAt.getOffset().getTotalSeconds();
+            open[size] = bar.open();
+            high[size] = bar.high();
+            low[size] = bar.low();
+            close[size] = bar.close();
+            adjustedClose[size] = bar.adjustedClose();
+            volume[size] = bar.volume();
+            dividends[size] = bar.dividends();
+            stockSplits[size] = bar.stockSplits();
+            capitalGains[size] = bar.capitalGains();
+            size++;
+            return this;
+        }
+
+        public StockSeries build() {
+            return new StockSeries(this);
+        }
+
+        private void grow() {
+            final int capacity = size << 1;
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            offsetSeconds = Arrays.copyOf(offsetSeconds, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            adjustedClose = Arrays.copyOf(adjustedClose, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            dividends = Arrays.copyOf(dividends, capacity);
+            stockSplits = Arrays.copyOf(stockSplits, capacity);
+            capitalGains = Arrays.copyOf(capitalGains, capacity);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.assistantonsbservlet.finance;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Least recently used {@link StockSeries} per ticker, kept under a budget of heap bytes for at most {@code ttl}.
+ * <p>
+ * A ticker missing from the cache is loaded once, concurrent readers of the same ticker wait for that load.
+ * A series larger than the whole budget is returned to the caller but not kept. {@link #evictAll()} drops
+ * every series, a load that started before it is returned but not kept, so it cannot bring back old rows.
+ */
+final class StockSeriesCache {
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Entry> series = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<StockSeries>> loading = new ConcurrentHashMap<>();
+    private long bytes;
+    private long generation;
+
+    /**
+     * @param ttl null or zero keeps a series until it is evicted
+     */
+    StockSeriesCache(long maxBytes, Duration ttl) {
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0;
+    }
+
+    StockSeries get(String ticker, Function<String, StockSeries> loader) {
+        final long loadGeneration;
+        synchronized (lock) {
+            final var cached = live(ticker, System.nanoTime());
+            if (cached != null) {
+                return cached.series();
+            }
+            loadGeneration = generation;
+        }
+        final var future = new CompletableFuture<StockSeries>();
+        final var inFlight = loading.putIfAbsent(ticker, future);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+        try {
+            final long loadedAt = System.nanoTime();
+            final var loaded = loader.apply(ticker);
+            put(loaded, loadedAt, loadGeneration);
+            future.complete(loaded);
+            return loaded;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(ticker, future);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    long sizeInBytes() {
+        synchronized (lock) {
+            return bytes;
+        }
+    }
+
+    int size() {
+        synchronized (lock) {
+            return series.size();
+        }
+    }
+
+    boolean contains(String ticker) {
+        synchronized (lock) {
+            return live(ticker, System.nanoTime()) != null;
+        }
+    }
+
+    void evictAll() {
+        synchronized (lock) {
+            series.clear();
+            bytes = 0;
+            generation++;
+        }
+    }
+
+    /**
+     * Drops the entry of the ticker when it is past its ttl, must hold the lock.
+     */
+    private Entry live(String ticker, long now) {
+        final var entry = series.get(ticker);
+        if (entry == null || ttlNanos <= 0 || now - entry.loadedAt() < ttlNanos) {
+            return entry;
+        }
+        series.remove(ticker);
+        bytes -= entry.series().sizeInBytes();
+        return null;
+    }
+
+    private void put(StockSeries loaded, long loadedAt, long loadGeneration) {
+        final long loadedBytes = loaded.sizeInBytes();
+        if (loadedBytes > maxBytes) {
+            return;
+        }
+        synchronized (lock) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            final var previous = series.put(loaded.ticker(), new Entry(loaded, loadedAt));
+            if (previous != null) {
+                bytes -= previous.series().sizeInBytes();
+            }
+            bytes += loadedBytes;
+            final var iterator = series.values().iterator();
+            while (bytes > maxBytes && iterator.hasNext()) {
+                final var eldest = iterator.next().series();
+                if (!eldest.ticker().equals(loaded.ticker())) {
+                    bytes -= eldest.sizeInBytes();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static StockSeries join(CompletableFuture<StockSeries> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(StockSeries series, long loadedAt) {
+    }
+}
@@ -0,0 +1,347 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.TechnicalAnalysis;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Indicator updated bar by bar in O(1) time and memory bounded by its period.
+ * An instance keeps the state of one pass over one series and is not thread safe.
+ * <p>
+ * Specs have the form {@code name[:argument]*}, for example {@code sma:50}, {@code macd:12:26:9}
+ * or {@code bollinger:20:2}. Omitted arguments take the usual defaults.
+ */
+public sealed interface TechnicalIndicator {
+    /**
+     * @return names of the values written by {@link #update}, in order
+     */
+    List<String> outputs();
+
+    /**
+     * Feeds the next bar, oldest first.
+     *
+     * @param out receives {@link #outputs()} values starting at {@code offset} once warmed up
+     * @return whether the indicator has seen enough bars and {@code out} was written
+     */
+    boolean update(double high, double low, double close, long volume, double[] out, int offset);
+
+    /**
+     * @throws AppException with {@link ErrorCode#INVALID_INPUT} on an unknown name or a bad argument
+     */
+    static TechnicalIndicator parse(String spec) {
+        final var parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "sma" -> new Sma(period(parts, 1, 20));
+                case "ema" -> new Ema(period(parts, 1, 20));
+                case "rsi" -> new Rsi(period(parts, 1, 14));
+                case "macd" -> new Macd(period(parts, 1, 12), period(parts, 2, 26), period(parts, 3, 9));
+                case "bollinger" -> new Bollinger(period(parts, 1, 20), width(parts, 2, 2));
+                case "atr" -> new Atr(period(parts, 1, 14));
+                case "vwap" -> new Vwap(period(parts, 1, 20));
+                default -> throw new AppException(ErrorCode.INVALID_INPUT);
+            };
+        } catch (NumberFormatException e) {
+            throw new AppException(e, ErrorCode.INVALID_INPUT);
+        }
+    }
+
+    private static int period(String[] parts, int index, int defaultValue) {
+        final int value = index < parts.length ? Integer.parseInt(parts[index]) : defaultValue;
+        if (value < 1 || value > Sma.MAX_PERIOD) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return value;
+    }
+
+    private static double width(String[] parts, int index, double defaultValue) {
+        final double value = index < parts.length ? Double.parseDouble(parts[index]) : defaultValue;
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new AppException(ErrorCode.INVALID_INPUT);
+        }
+        return value;
+    }
+
+    /**
+     * Simple moving average of the close.
+     */
+    final class Sma implements TechnicalIndicator {
+        static final int MAX_PERIOD = 10_000;
+
+        private final RollingWindow window;
+        private final List<String> outputs;
+
+        Sma(int period) {
+            this.window = new RollingWindow(period);
+            this.outputs = List.of("sma(" + period + ")");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            window.add(close);
+            if (!window.isFull()) {
+                return false;
+            }
+            out[offset] = window.mean();
+            return true;
+        }
+    }
+
+    /**
+     * Exponential moving average of the close, seeded with the simple average of the first period.
+     */
+    final class Ema implements TechnicalIndicator {
+        private final int period;
+        private final double smoothing;
+        private final List<String> outputs;
+        private int count;
+        private double value;
+
+        Ema(int period) {
+            this.period = period;
+            this.smoothing = TechnicalAnalysis.emaSmoothing(period);
+            this.outputs = List.of("ema(" + period + ")");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            if (!add(close)) {
+                return false;
+            }
+            out[offset] = value;
+            return true;
+        }
+
+        boolean add(double x) {
+            if (count < period) {
+                count++;
+                value += (x - value) / count;
+                return count == period;
+            }
+            value = TechnicalAnalysis.exponentialMovingAverage(value, x, smoothing);
+            return true;
+        }
+
+        double value() {
+            return value;
+        }
+    }
+
+    /**
+     * Relative strength index of the close with Wilder's smoothing.
+     */
+    final class Rsi implements TechnicalIndicator {
+        private final int period;
+        private final List<String> outputs;
+        private int changes;
+        private double previousClose = Double.NaN;
+        private double averageGain;
+        private double averageLoss;
+
+        Rsi(int period) {
+            this.period = period;
+            this.outputs = List.of("rsi(" + period + ")");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            final double change = close - previousClose;
+            previousClose = close;
+            if (Double.isNaN(change)) {
+                return false;
+            }
+            final double gain = Math.max(change, 0);
+            final double loss = Math.max(-change, 0);
+            if (changes < period) {
+                changes++;
+                averageGain += (gain - averageGain) / changes;
+                averageLoss += (loss - averageLoss) / changes;
+                if (changes < period) {
+                    return false;
+                }
+            } else {
+                averageGain = TechnicalAnalysis.wilderAverage(averageGain, gain, period);
+                averageLoss = TechnicalAnalysis.wilderAverage(averageLoss, loss, period);
+            }
+            out[offset] = TechnicalAnalysis.relativeStrengthIndex(averageGain, averageLoss);
+            return true;
+        }
+    }
+
+    /**
+     * Moving average convergence divergence of the close: the line, its signal and their difference.
+     */
+    final class Macd implements TechnicalIndicator {
+        private final Ema fast;
+        private final Ema slow;
+        private final Ema signal;
+        private final List<String> outputs;
+
+        Macd(int fastPeriod, int slowPeriod, int signalPeriod) {
+            if (fastPeriod >= slowPeriod) {
+                throw new AppException(ErrorCode.INVALID_INPUT);
+            }
+            this.fast = new Ema(fastPeriod);
+            this.slow = new Ema(slowPeriod);
+            this.signal = new Ema(signalPeriod);
+            final var name = "macd(" + fastPeriod + "," + slowPeriod + "," + signalPeriod + ")";
+            this.outputs = List.of(name, name + ".signal", name + ".histogram");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            fast.add(close);
+            if (!slow.add(close)) {
+                return false;
+            }
+            final double line = fast.value() - slow.value();
+            if (!signal.add(line)) {
+                return false;
+            }
+            out[offset] = line;
+            out[offset + 1] = signal.value();
+            out[offset + 2] = line - signal.value();
+            return true;
+        }
+    }
+
+    /**
+     * Bollinger bands: the simple moving average of the close and a number of population standard deviations
+     * above and below it.
+     */
+    final class Bollinger implements TechnicalIndicator {
+        private final RollingWindow window;
+        private final double width;
+        private final List<String> outputs;
+
+        Bollinger(int period, double width) {
+            this.window = new RollingWindow(period);
+            this.width = width;
+            final var name = "bollinger(" + period + "," + format(width) + ")";
+            this.outputs = List.of(name, name + ".upper", name + ".lower");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            window.add(close);
+            if (!window.isFull()) {
+                return false;
+            }
+            final double middle = window.mean();
+            final double deviation = width
+                * TechnicalAnalysis.standardDeviation(window.sum(), window.sumOfSquares(), window.count());
+            out[offset] = middle;
+            out[offset + 1] = middle + deviation;
+            out[offset + 2] = middle - deviation;
+            return true;
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+        }
+    }
+
+    /**
+     * Average true range with Wilder's smoothing. The first bar has no previous close and counts its range.
+     */
+    final class Atr implements TechnicalIndicator {
+        private final int period;
+        private final List<String> outputs;
+        private int count;
+        private double previousClose = Double.NaN;
+        private double value;
+
+        Atr(int period) {
+            this.period = period;
+            this.outputs = List.of("atr(" + period + ")");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            final double trueRange = Double.isNaN(previousClose)
+                ? high - low
+                : TechnicalAnalysis.trueRange(high, low, previousClose);
+            previousClose = close;
+            if (count < period) {
+                count++;
+                value += (trueRange - value) / count;
+                if (count < period) {
+                    return false;
+                }
+            } else {
+                value = TechnicalAnalysis.wilderAverage(value, trueRange, period);
+            }
+            out[offset] = value;
+            return true;
+        }
+    }
+
+    /**
+     * Volume weighted average of the typical price over a rolling period. A window without volume
+     * takes the plain average of the typical price.
+     */
+    final class Vwap implements TechnicalIndicator {
+        private final RollingWindow priceVolume;
+        private final RollingWindow volumes;
+        private final RollingWindow prices;
+        private final List<String> outputs;
+
+        Vwap(int period) {
+            this.priceVolume = new RollingWindow(period);
+            this.volumes = new RollingWindow(period);
+            this.prices = new RollingWindow(period);
+            this.outputs = List.of("vwap(" + period + ")");
+        }
+
+        @Override
+        public List<String> outputs() {
+            return outputs;
+        }
+
+        @Override
+        public boolean update(double high, double low, double close, long volume, double[] out, int offset) {
+            final double typicalPrice = TechnicalAnalysis.typicalPrice(high, low, close);
+            priceVolume.add(typicalPrice * volume);
+            volumes.add(volume);
+            prices.add(typicalPrice);
+            if (!prices.isFull()) {
+                return false;
+            }
+            out[offset] = volumes.sum() > 0 ? priceVolume.sum() / volumes.sum() : prices.mean();
+            return true;
+        }
+    }
+}
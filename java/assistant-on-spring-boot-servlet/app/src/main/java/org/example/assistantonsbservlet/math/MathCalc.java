@@ -4557,6 +4557,221 @@ public final class MathCalc {
             return Pair.of(sortedEigenvalues, sortedEigenvectors);
         }
 
+        /**
+         * Eigen decomposition of a real symmetric matrix, such as a covariance or correlation matrix:
+         * Householder reduction to a tridiagonal matrix, then the implicit QL algorithm, O(n³) in total.
+         * Unlike {@link #eigenvaluesEigenvectors} it does not solve a linear system per eigenvalue,
+         * so it stays usable for matrices of hundreds of rows.
+         *
+         * @param matrix symmetric, only its lower triangle is read
+         * @return eigenvalues in descending order, and the unit eigenvector of every eigenvalue at the same index
+         */
+        public static Pair<double[], double[][]> symmetricEigenvaluesEigenvectors(double[][] matrix) {
+            final int n = matrix.length;
+            final double[][] v = new double[n][];
+            for (int i = 0; i < n; i++) {
+                v[i] = Arrays.copyOf(matrix[i], n);
+            }
+            final double[] d = new double[n];
+            final double[] e = new double[n];
+            householderTridiagonalize(v, d, e);
+            // Eigenvectors are the columns of v, rotate them as rows so the QL sweeps read contiguous memory
+            final double[][] eigenvectors = transposeMatrix(v);
+            tridiagonalQl(eigenvectors, d, e);
+
+            final var indices = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                indices[i] = i;
+            }
+            Arrays.sort(indices, Comparator.comparingDouble((Integer i) -> d[i]).reversed());
+            final double[] sortedEigenvalues = new double[n];
+            final double[][] sortedEigenvectors = new double[n][];
+            for (int i = 0; i < n; i++) {
+                sortedEigenvalues[i] = d[indices[i]];
+                sortedEigenvectors[i] = eigenvectors[indices[i]];
+            }
+            return Pair.of(sortedEigenvalues, sortedEigenvectors);
+        }
+
+        /**
+         * @return share of the total variance carried by every eigenvalue, λᵢ / Σλ
+         */
+        public static double[] explainedVarianceRatio(double[] eigenvalues) {
+            double total = 0;
+            for (double eigenvalue : eigenvalues) {
+                total += eigenvalue;
+            }
+            final double[] ratios = new double[eigenvalues.length];
+            for (int i = 0; i < eigenvalues.length; i++) {
+                ratios[i] = total != 0 ? eigenvalues[i] / total : 0;
+            }
+            return ratios;
+        }
+
+        /**
+         * Householder reduction of the symmetric matrix v, in place, to the tridiagonal matrix with diagonal d
+         * and subdiagonal e, v is left holding the orthogonal transformation.
+         */
+        private static void householderTridiagonalize(double[][] v, double[] d, double[] e) {
+            final int n = v.length;
+            System.arraycopy(v[n - 1], 0, d, 0, n);
+            for (int i = n - 1; i > 0; i--) {
+                double scale = 0;
+                double h = 0;
+                for (int k = 0; k < i; k++) {
+                    scale += Math.abs(d[k]);
+                }
+                if (scale == 0) {
+                    e[i] = d[i - 1];
+                    for (int j = 0; j < i; j++) {
+                        d[j] = v[i - 1][j];
+                        v[i][j] = 0;
+                        v[j][i] = 0;
+                    }
+                } else {
+                    for (int k = 0; k < i; k++) {
+                        d[k] /= scale;
+                        h += d[k] * d[k];
+                    }
+                    double f = d[i - 1];
+                    double g = f > 0 ? -Math.sqrt(h) : Math.sqrt(h);
+                    e[i] = scale * g;
+                    h -= f * g;
+                    d[i - 1] = f - g;
+                    Arrays.fill(e, 0, i, 0);
+                    for (int j = 0; j < i; j++) {
+                        f = d[j];
+                        v[j][i] = f;
+                        g = e[j] + v[j][j] * f;
+                        for (int k = j + 1; k < i; k++) {
+                            g += v[k][j] * d[k];
+                            e[k] += v[k][j] * f;
+                        }
+                        e[j] = g;
+                    }
+                    f = 0;
+                    for (int j = 0; j < i; j++) {
+                        e[j] /= h;
+                        f += e[j] * d[j];
+                    }
+                    final double hh = f / (h + h);
+                    for (int j = 0; j < i; j++) {
+                        e[j] -= hh * d[j];
+                    }
+                    for (int j = 0; j < i; j++) {
+                        f = d[j];
+                        g = e[j];
+                        for (int k = j; k < i; k++) {
+                            v[k][j] -= f * e[k] + g * d[k];
+                        }
+                        d[j] = v[i - 1][j];
+                        v[i][j] = 0;
+                    }
+                }
+                d[i] = h;
+            }
+            // Accumulate the transformations
+            for (int i = 0; i < n - 1; i++) {
+                v[n - 1][i] = v[i][i];
+                v[i][i] = 1;
+                final double h = d[i + 1];
+                if (h != 0) {
+                    for (int k = 0; k <= i; k++) {
+                        d[k] = v[k][i + 1] / h;
+                    }
+                    for (int j = 0; j <= i; j++) {
+                        double g = 0;
+                        for (int k = 0; k <= i; k++) {
+                            g += v[k][i + 1] * v[k][j];
+                        }
+                        for (int k = 0; k <= i; k++) {
+                            v[k][j] -= g * d[k];
+                        }
+                    }
+                }
+                for (int k = 0; k <= i; k++) {
+                    v[k][i + 1] = 0;
+                }
+            }
+            for (int j = 0; j < n; j++) {
+                d[j] = v[n - 1][j];
+                v[n - 1][j] = 0;
+            }
+            v[n - 1][n - 1] = 1;
+            e[0] = 0;
+        }
+
+        /**
+         * Implicit QL iterations on the tridiagonal matrix (d, e), d is left holding the eigenvalues
+         * and the rows of w, the transformation of {@link #householderTridiagonalize} transposed, the eigenvectors.
+         */
+        private static void tridiagonalQl(double[][] w, double[] d, double[] e) {
+            final int n = d.length;
+            System.arraycopy(e, 1, e, 0, n - 1);
+            e[n - 1] = 0;
+            final double eps = Math.ulp(1.0);
+            double f = 0;
+            double tst1 = 0;
+            for (int l = 0; l < n; l++) {
+                tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+                int m = l;
+                while (m < n - 1 && Math.abs(e[m]) > eps * tst1) {
+                    m++;
+                }
+                if (m > l) {
+                    do {
+                        double g = d[l];
+                        double p = (d[l + 1] - g) / (2 * e[l]);
+                        double r = Math.hypot(p, 1);
+                        if (p < 0) {
+                            r = -r;
+                        }
+                        d[l] = e[l] / (p + r);
+                        d[l + 1] = e[l] * (p + r);
+                        final double dl1 = d[l + 1];
+                        double h = g - d[l];
+                        for (int i = l + 2; i < n; i++) {
+                            d[i] -= h;
+                        }
+                        f += h;
+
+                        p = d[m];
+                        double c = 1;
+                        double c2 = c;
+                        double c3 = c;
+                        final double el1 = e[l + 1];
+                        double s = 0;
+                        double s2 = 0;
+                        for (int i = m - 1; i >= l; i--) {
+                            c3 = c2;
+                            c2 = c;
+                            s2 = s;
+                            g = c * e[i];
+                            h = c * p;
+                            r = Math.hypot(p, e[i]);
+                            e[i + 1] = s * r;
+                            s = e[i] / r;
+                            c = p / r;
+                            p = c * d[i] - s * g;
+                            d[i + 1] = h + s * (c * g + s * d[i]);
+                            final double[] row = w[i];
+                            final double[] nextRow = w[i + 1];
+                            for (int k = 0; k < n; k++) {
+                                h = nextRow[k];
+                                nextRow[k] = s * row[k] + c * h;
+                                row[k] = c * row[k] - s * h;
+                            }
+                        }
+                        p = -s * s2 * c3 * el1 * e[l] / dl1;
+                        e[l] = s * p;
+                        d[l] = c * p;
+                    } while (Math.abs(e[l]) > eps * tst1);
+                }
+                d[l] += f;
+                e[l] = 0;
+            }
+        }
+
         /**
          * Av = λv
          * <ul>
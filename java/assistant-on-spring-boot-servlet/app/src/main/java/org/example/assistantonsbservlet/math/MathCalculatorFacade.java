@@ -8,43 +8,57 @@ import org.example.assistantonsbservlet.api.math.model.CalculateSineReq;
 import org.example.assistantonsbservlet.api.math.model.CalculateTanReq;
 import org.example.assistantonsbservlet.api.model.resp.CalculatorMatrixResponse;
 import org.example.assistantonsbservlet.api.model.resp.CalculatorScalarResponse;
+import org.example.assistantonsbservlet.observability.FormulaTimer;
 import org.springframework.stereotype.Component;
 
 @Component
 public final class MathCalculatorFacade implements MathCalculatorApiFacade {
+    private final FormulaTimer formulaTimer;
+
+    public MathCalculatorFacade(FormulaTimer formulaTimer) {
+        this.formulaTimer = formulaTimer;
+    }
+
     @Override
     public CalculatorScalarResponse calculate(CalculateRightTriangleReq body) {
         final var calc = new RightTriangleCalc();
-        return calc.calculate(body);
+        final String formula = body.cathetusA() != null && body.cathetusB() != null
+            ? Constants.SIDES
+            : Constants.SIDE_AND_HYPOTENUSE;
+        return formulaTimer.record("right_triangle", formula, () -> calc.calculate(body));
     }
 
     @Override
     public CalculatorScalarResponse calculate(CalculateHypotenuseReq body) {
         final var calc = new HypotenuseCalc();
-        return calc.calculate(body);
+        return formulaTimer.record("hypotenuse", body.solveFor(), () -> calc.calculate(body));
     }
 
     @Override
     public CalculatorMatrixResponse calculate(CalculateMatrixAddReq body) {
         final var calc = new MatrixCalc();
-        return calc.calculate(body);
+        return formulaTimer.record("matrix", body.solveFor(), () -> calc.calculate(body));
     }
 
     @Override
     public CalculatorScalarResponse calculate(CalculateCosineReq body) {
         final var calc = new TrigCalc();
-        return calc.calculate(body);
+        return formulaTimer.record("cosine", trigFormula(body.solveFor()), () -> calc.calculate(body));
     }
 
     @Override
     public CalculatorScalarResponse calculate(CalculateSineReq body) {
         final var calc = new TrigCalc();
-        return calc.calculate(body);
+        return formulaTimer.record("sine", trigFormula(body.solveFor()), () -> calc.calculate(body));
     }
 
     @Override
     public CalculatorScalarResponse calculate(CalculateTanReq body) {
         final var calc = new TrigCalc();
-        return calc.calculate(body);
+        return formulaTimer.record("tan", trigFormula(body.solveFor()), () -> calc.calculate(body));
+    }
+
+    private static String trigFormula(String solveFor) {
+        return solveFor != null ? solveFor : Constants.ANGLE;
     }
 }
@@ -0,0 +1,216 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.assistantonsbservlet.config.LogbookSinkProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpHeaders;
+import org.zalando.logbook.HttpMessage;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Logbook;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.Sink;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logbook sink that keeps formatting and writing off the request thread.
+ * <p>
+ * The request thread only decides whether the exchange is sampled, copies at most {@code maxBodySize} bytes
+ * of each body and offers the snapshot to a {@link MpscRingBuffer}. A single writer thread formats and logs it.
+ * When the buffer is full the exchange is dropped and counted, the request never waits for the writer.
+ * An idle writer parks until a request thread hands it an exchange, or for at most 100 ms.
+ * Request and response are written as one entry once the response is complete.
+ */
+public final class AsyncSamplingSink implements Sink, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(Logbook.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MpscRingBuffer<Exchange> queue;
+    private final int maxBodySize;
+    private final double defaultSampleRate;
+    private final List<LogbookSinkProperties.RouteSampleRate> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter droppedCounter;
+    private final Counter sampledOutCounter;
+    private final Counter writtenCounter;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    public AsyncSamplingSink(LogbookSinkProperties properties, MeterRegistry meterRegistry) {
+        this.queue = new MpscRingBuffer<>(properties.queueCapacity());
+        this.maxBodySize = properties.maxBodySize();
+        this.defaultSampleRate = properties.sampleRate();
+        this.routes = properties.routes() != null ? List.copyOf(properties.routes()) : List.of();
+
+        this.droppedCounter = Counter.builder("logbook.sink.exchanges.dropped")
+            .description("HTTP exchanges not logged because the sink queue was full")
+            .register(meterRegistry);
+        this.sampledOutCounter = Counter.builder("logbook.sink.exchanges.sampled.out")
+            .description("HTTP exchanges skipped by the sample rate")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("logbook.sink.exchanges.written")
+            .description("HTTP exchanges written by the background writer")
+            .register(meterRegistry);
+        Gauge.builder("logbook.sink.queue.size", queue, MpscRingBuffer::size)
+            .description("HTTP exchanges waiting for the background writer")
+            .register(meterRegistry);
+
+        this.writer = Thread.ofPlatform()
+            .name("logbook-async-sink")
+            .daemon()
+            .start(this::drain);
+    }
+
+    @Override
+    public boolean isActive() {
+        return log.isTraceEnabled();
+    }
+
+    @Override
+    public void write(Precorrelation precorrelation, HttpRequest request) {
+        // the request is written together with its response
+    }
+
+    @Override
+    public void write(Correlation correlation, HttpRequest request, HttpResponse response) throws IOException {
+        if (!isSampled(request.getPath())) {
+            sampledOutCounter.increment();
+            return;
+        }
+
+        final var exchange = new Exchange(
+            correlation.getId(),
+            correlation.getDuration().toMillis(),
+            request.getMethod(),
+            request.getRequestUri(),
+            request.getProtocolVersion(),
+            request.getHeaders(),
+            snapshot(request),
+            response.getStatus(),
+            response.getHeaders(),
+            snapshot(response)
+        );
+        if (!queue.offer(exchange)) {
+            droppedCounter.increment();
+        } else if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean isSampled(String path) {
+        double rate = defaultSampleRate;
+        for (final var route : routes) {
+            if (pathMatcher.match(route.pattern(), path)) {
+                rate = route.rate();
+                break;
+            }
+        }
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Body snapshot(HttpMessage message) throws IOException {
+        final byte[] body = message.getBody();
+        final byte[] kept = body.length > maxBodySize ? Arrays.copyOf(body, maxBodySize) : body;
+        return new Body(kept, body.length, message.getCharset());
+    }
+
+    private void drain() {
+        while (running) {
+            final var exchange = queue.poll();
+            if (exchange == null) {
+                idle = true;
+                // An exchange offered before the flag was set is seen here, one offered after unparks the writer
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            } else {
+                writeExchange(exchange);
+            }
+        }
+        Exchange exchange;
+        while ((exchange = queue.poll()) != null) {
+            writeExchange(exchange);
+        }
+    }
+
+    private void writeExchange(Exchange exchange) {
+        // CHECKSTYLE:OFF: IllegalCatch
+        try {
+            log.trace(exchange.format());
+            writtenCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write HTTP exchange {}", exchange.correlationId(), e);
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    /**
+     * Stops the writer after it has written everything that is already queued.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(CLOSE_TIMEOUT);
+    }
+
+    private record Body(byte[] content, int originalLength, Charset charset) {
+        void appendTo(StringBuilder sb) {
+            if (content.length == 0) {
+                return;
+            }
+            sb.append("\n\n").append(new String(content, charset));
+            if (originalLength > content.length) {
+                sb.append("... (").append(originalLength - content.length).append(" bytes truncated)");
+            }
+        }
+    }
+
+    private record Exchange(
+        String correlationId,
+        long durationMillis,
+        String method,
+        String requestUri,
+        String protocolVersion,
+        HttpHeaders requestHeaders,
+        Body requestBody,
+        int status,
+        HttpHeaders responseHeaders,
+        Body responseBody
+    ) {
+        String format() {
+            final var sb = new StringBuilder(256)
+                .append("HTTP exchange: ").append(correlationId)
+                .append("\nDuration: ").append(durationMillis).append(" ms\n")
+                .append(method).append(' ').append(requestUri).append(' ').append(protocolVersion);
+            appendHeaders(sb, requestHeaders);
+            requestBody.appendTo(sb);
+            sb.append("\n\n").append(protocolVersion).append(' ').append(status);
+            appendHeaders(sb, responseHeaders);
+            responseBody.appendTo(sb);
+            return sb.toString();
+        }
+
+        private static void appendHeaders(StringBuilder sb, HttpHeaders headers) {
+            headers.entrySet().forEach(header ->
+                sb.append('\n').append(header.getKey()).append(": ").append(String.join(", ", header.getValue()))
+            );
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.assistantonsbservlet.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one {@code appConversionService} conversion.
+ */
+@Name("org.example.assistant.Conversion")
+@Label("Conversion")
+@Category({"Assistant", "Conversion"})
+@StackTrace(false)
+final class ConversionEvent extends Event {
+    @Label("Source Type")
+    String sourceType;
+
+    @Label("Target Type")
+    String targetType;
+
+    @Label("Source Items")
+    @Description("Number of elements of a collection, map or array source, 1 for any other value")
+    int sourceItems;
+}
@@ -0,0 +1,69 @@
+package org.example.assistantonsbservlet.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one facade call, from opening the entity manager to the converted response.
+ */
+@Name("org.example.assistant.FacadeCall")
+@Label("Facade Call")
+@Category({"Assistant", "Facade"})
+@StackTrace(false)
+public final class FacadeCallEvent extends Event {
+    @Label("Facade")
+    private final String facade;
+
+    @Label("Method")
+    private final String method;
+
+    @Label("Items")
+    @Description("Number of elements in the response, -1 if the call failed")
+    private int items;
+
+    @Label("Failed")
+    private boolean failed;
+
+    @Label("Cancelled")
+    @Description("The client went away or the call timed out before the response was complete")
+    private boolean cancelled;
+
+    public FacadeCallEvent(String facade, String method) {
+        this.facade = facade;
+        this.method = method;
+        begin();
+    }
+
+    public void complete(int items) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            commit();
+        }
+    }
+
+    /**
+     * @param items number of elements sent before the call stopped
+     */
+    public void cancel(int items) {
+        end();
+        if (shouldCommit()) {
+            this.items = items;
+            this.cancelled = true;
+            commit();
+        }
+    }
+
+    public void fail() {
+        end();
+        if (shouldCommit()) {
+            this.items = -1;
+            this.failed = true;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.assistantonsbservlet.config.FormulaTimingProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times calculator formulas with a {@code calculator.formula} timer per calculator and formula.
+ * <p>
+ * Formulas come from request fields such as {@code solveFor}, so the number of timers is capped:
+ * once {@code maxFormulas} timers exist, new formulas are recorded under {@code other}.
+ * A formula gets its timer only after a successful calculation, so rejected input never takes a slot.
+ * When disabled the calculation is called directly without reading the clock.
+ */
+@Component
+public final class FormulaTimer {
+    static final String METER_NAME = "calculator.formula";
+    static final String OTHER_FORMULA = "other";
+    private static final String NO_FORMULA = "none";
+
+    private final boolean enabled;
+    private final int maxFormulas;
+    private final MeterRegistry meterRegistry;
+    private final Map<FormulaKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public FormulaTimer(FormulaTimingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.maxFormulas = properties.maxFormulas();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String calculator, String formula, Supplier<T> calculation) {
+        if (!enabled) {
+            return calculation.get();
+        }
+        final long start = System.nanoTime();
+        final T result = calculation.get();
+        final long elapsed = System.nanoTime() - start;
+        timer(calculator, formula).record(elapsed, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Timer timer(String calculator, String formula) {
+        final var key = new FormulaKey(calculator, formula != null ? formula : NO_FORMULA);
+        final var timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        if (timers.size() >= maxFormulas) {
+            return timers.computeIfAbsent(new FormulaKey(calculator, OTHER_FORMULA), this::newTimer);
+        }
+        return timers.computeIfAbsent(key, this::newTimer);
+    }
+
+    private Timer newTimer(FormulaKey key) {
+        return Timer.builder(METER_NAME)
+            .description("Time spent in a calculator formula")
+            .tag("calculator", key.calculator())
+            .tag("formula", key.formula())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(100))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+    }
+
+    private record FormulaKey(String calculator, String formula) {
+    }
+}
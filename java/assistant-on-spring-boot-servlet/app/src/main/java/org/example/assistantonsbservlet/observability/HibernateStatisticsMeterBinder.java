@@ -0,0 +1,123 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Exports the Hibernate {@link Statistics} of every persistence unit, tagged with the unit name.
+ * Units running without {@code hibernate.generate_statistics} are skipped.
+ */
+@Component
+public class HibernateStatisticsMeterBinder implements MeterBinder {
+    private static final String UNIT_TAG = "unit";
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactories;
+
+    public HibernateStatisticsMeterBinder(ObjectProvider<EntityManagerFactory> entityManagerFactories) {
+        this.entityManagerFactories = entityManagerFactories;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        entityManagerFactories.orderedStream().forEach(emf -> {
+            final var statistics = emf.unwrap(SessionFactory.class).getStatistics();
+            if (statistics.isStatisticsEnabled()) {
+                bind(registry, statistics, Tags.of(UNIT_TAG, persistenceUnitName(emf)));
+            }
+        });
+    }
+
+    private static String persistenceUnitName(EntityManagerFactory emf) {
+        if (emf instanceof EntityManagerFactoryInfo info && info.getPersistenceUnitName() != null) {
+            return info.getPersistenceUnitName();
+        }
+        return String.valueOf(emf.getProperties().get("hibernate.persistenceUnitName"));
+    }
+
+    private static void bind(MeterRegistry registry, Statistics stats, Tags tags) {
+        counter(registry, "hibernate.sessions.open", stats, Statistics::getSessionOpenCount, tags);
+        counter(registry, "hibernate.sessions.closed", stats, Statistics::getSessionCloseCount, tags);
+        counter(registry, "hibernate.transactions", stats, Statistics::getSuccessfulTransactionCount,
+            tags.and("result", "success"));
+        counter(registry, "hibernate.transactions", stats,
+            s -> s.getTransactionCount() - s.getSuccessfulTransactionCount(), tags.and("result", "failure"));
+        counter(registry, "hibernate.optimistic.failures", stats, Statistics::getOptimisticFailureCount, tags);
+        counter(registry, "hibernate.flushes", stats, Statistics::getFlushCount, tags);
+        counter(registry, "hibernate.connections.obtained", stats, Statistics::getConnectCount, tags);
+        counter(registry, "hibernate.statements", stats, Statistics::getPrepareStatementCount,
+            tags.and("status", "prepared"));
+        counter(registry, "hibernate.statements", stats, Statistics::getCloseStatementCount,
+            tags.and("status", "closed"));
+
+        counter(registry, "hibernate.entities.loads", stats, Statistics::getEntityLoadCount, tags);
+        counter(registry, "hibernate.entities.fetches", stats, Statistics::getEntityFetchCount, tags);
+        counter(registry, "hibernate.entities.inserts", stats, Statistics::getEntityInsertCount, tags);
+        counter(registry, "hibernate.entities.updates", stats, Statistics::getEntityUpdateCount, tags);
+        counter(registry, "hibernate.entities.deletes", stats, Statistics::getEntityDeleteCount, tags);
+        counter(registry, "hibernate.collections.loads", stats, Statistics::getCollectionLoadCount, tags);
+        counter(registry, "hibernate.collections.fetches", stats, Statistics::getCollectionFetchCount, tags);
+
+        counter(registry, "hibernate.query.executions", stats, Statistics::getQueryExecutionCount, tags);
+        TimeGauge.builder("hibernate.query.executions.max", stats, TimeUnit.MILLISECONDS,
+                Statistics::getQueryExecutionMaxTime)
+            .description("Time of the slowest query since start")
+            .tags(tags)
+            .register(registry);
+        counter(registry, "hibernate.query.plan.cache.requests", stats, Statistics::getQueryPlanCacheHitCount,
+            tags.and("result", "hit"));
+        counter(registry, "hibernate.query.plan.cache.requests", stats, Statistics::getQueryPlanCacheMissCount,
+            tags.and("result", "miss"));
+
+        counter(registry, "hibernate.second.level.cache.requests", stats, Statistics::getSecondLevelCacheHitCount,
+            tags.and("result", "hit"));
+        counter(registry, "hibernate.second.level.cache.requests", stats, Statistics::getSecondLevelCacheMissCount,
+            tags.and("result", "miss"));
+        counter(registry, "hibernate.second.level.cache.puts", stats, Statistics::getSecondLevelCachePutCount, tags);
+        counter(registry, "hibernate.cache.query.requests", stats, Statistics::getQueryCacheHitCount,
+            tags.and("result", "hit"));
+        counter(registry, "hibernate.cache.query.requests", stats, Statistics::getQueryCacheMissCount,
+            tags.and("result", "miss"));
+        counter(registry, "hibernate.cache.query.puts", stats, Statistics::getQueryCachePutCount, tags);
+        for (var region : stats.getSecondLevelCacheRegionNames()) {
+            final var regionStats = stats.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                bindRegion(registry, regionStats, tags.and("region", region));
+            }
+        }
+    }
+
+    /**
+     * Entity and query regions of the second-level cache, tagged with the region name.
+     */
+    private static void bindRegion(MeterRegistry registry, CacheRegionStatistics stats, Tags tags) {
+        FunctionCounter.builder("hibernate.cache.region.requests", stats, CacheRegionStatistics::getHitCount)
+            .tags(tags.and("result", "hit"))
+            .register(registry);
+        FunctionCounter.builder("hibernate.cache.region.requests", stats, CacheRegionStatistics::getMissCount)
+            .tags(tags.and("result", "miss"))
+            .register(registry);
+        FunctionCounter.builder("hibernate.cache.region.puts", stats, CacheRegionStatistics::getPutCount)
+            .tags(tags)
+            .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, Statistics stats,
+                                ToDoubleFunction<Statistics> value, Tags tags) {
+        FunctionCounter.builder(name, stats, value)
+            .tags(tags)
+            .register(registry);
+    }
+}
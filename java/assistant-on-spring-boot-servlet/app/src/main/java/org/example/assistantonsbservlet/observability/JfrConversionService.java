@@ -0,0 +1,71 @@
+package org.example.assistantonsbservlet.observability;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Emits a {@link ConversionEvent} around every conversion of the wrapped service.
+ * Types and sizes are only looked at while a recording has the event enabled.
+ */
+public final class JfrConversionService implements ConversionService {
+    private final ConversionService delegate;
+
+    public JfrConversionService(ConversionService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return delegate.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public <T> T convert(Object source, Class<T> targetType) {
+        final var event = new ConversionEvent();
+        event.begin();
+        final T result = delegate.convert(source, targetType);
+        event.end();
+        if (event.shouldCommit()) {
+            commit(event, source, targetType.getName());
+        }
+        return result;
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        final var event = new ConversionEvent();
+        event.begin();
+        final Object result = delegate.convert(source, sourceType, targetType);
+        event.end();
+        if (event.shouldCommit()) {
+            commit(event, source, targetType.toString());
+        }
+        return result;
+    }
+
+    private static void commit(ConversionEvent event, Object source, String targetType) {
+        event.sourceType = source != null ? source.getClass().getName() : null;
+        event.targetType = targetType;
+        event.sourceItems = sizeOf(source);
+        event.commit();
+    }
+
+    static int sizeOf(Object value) {
+        return switch (value) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            case Object array when array.getClass().isArray() -> Array.getLength(array);
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.assistantonsbservlet.observability;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: {@code POST} starts a flight recording with the {@code default} or {@code profile}
+ * settings plus the assistant events, {@code GET} dumps what has been recorded so far
+ * and {@code DELETE} stops the recording.
+ * Disabled unless {@code management.endpoint.jfr.access} is set.
+ */
+@Component
+@WebEndpoint(id = "jfr", defaultAccess = Access.NONE)
+public final class JfrRecordingEndpoint {
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(30);
+
+    private final Object lock = new Object();
+    private Recording recording;
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String settings, @Nullable Duration maxAge) {
+        synchronized (lock) {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                return status(recording);
+            }
+            final Configuration configuration;
+            try {
+                configuration = Configuration.getConfiguration(settings != null ? settings : DEFAULT_SETTINGS);
+            } catch (IOException | ParseException e) {
+                throw new IllegalArgumentException("Unknown JFR settings " + settings, e);
+            }
+            closeRecording();
+            recording = new Recording(configuration);
+            recording.setName("assistant");
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge != null ? maxAge : DEFAULT_MAX_AGE);
+            recording.enable(FacadeCallEvent.class);
+            recording.enable(RepositoryQueryEvent.class);
+            recording.enable(ConversionEvent.class);
+            recording.start();
+            return status(recording);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() {
+        synchronized (lock) {
+            if (recording == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            try {
+                final Path file = Files.createTempFile("assistant-", ".jfr");
+                recording.dump(file);
+                return new WebEndpointResponse<>(new TemporaryFileResource(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        synchronized (lock) {
+            if (recording == null) {
+                return Map.of("state", RecordingState.CLOSED.name());
+            }
+            final var status = Map.<String, Object>of("state", RecordingState.STOPPED.name(),
+                "name", recording.getName());
+            closeRecording();
+            return status;
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> status(Recording recording) {
+        return Map.of(
+            "state", recording.getState().name(),
+            "name", recording.getName(),
+            "maxAge", recording.getMaxAge().toString()
+        );
+    }
+
+    /**
+     * Deletes the dumped recording once the response has been written.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+        private final Path path;
+
+        TemporaryFileResource(Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            };
+        }
+    }
+}
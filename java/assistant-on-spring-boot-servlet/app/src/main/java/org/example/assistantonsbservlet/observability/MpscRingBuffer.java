@@ -0,0 +1,84 @@
+package org.example.assistantonsbservlet.observability;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and exactly one consumer.
+ * <p>
+ * Producers claim a slot by advancing {@code producerIndex} with a CAS and then publish the element
+ * with a release store. The consumer reads a slot with an acquire load and treats an empty slot as
+ * "not published yet", so a producer that claimed a slot but was descheduled before publishing
+ * only delays the consumer instead of corrupting the order.
+ * {@link #offer(Object)} never blocks: it returns {@code false} when the buffer is full.
+ */
+public final class MpscRingBuffer<E> {
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + requestedCapacity);
+        }
+        final int capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Can be called from any thread.
+     *
+     * @return false if the buffer is full and the element was not added
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Null elements are not supported");
+        }
+        final long capacity = mask + 1L;
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.setRelease((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Must only be called from the single consumer thread.
+     *
+     * @return the oldest published element or null if there is none
+     */
+    public E poll() {
+        final long index = consumerIndex;
+        final int offset = (int) index & mask;
+        final E element = buffer.getAcquire(offset);
+        if (element == null) {
+            return null;
+        }
+        buffer.setPlain(offset, null);
+        // the volatile write orders the slot reset before any producer can observe the slot as free
+        consumerIndex = index + 1;
+        return element;
+    }
+
+    /**
+     * @return approximate number of claimed slots, exact only when producers are idle
+     */
+    public int size() {
+        final long size = producerIndex.get() - consumerIndex;
+        return (int) Math.clamp(size, 0, mask + 1L);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
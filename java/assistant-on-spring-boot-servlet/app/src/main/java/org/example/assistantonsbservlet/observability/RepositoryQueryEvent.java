@@ -0,0 +1,39 @@
+package org.example.assistantonsbservlet.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning one repository query and the rows it returned.
+ */
+@Name("org.example.assistant.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Assistant", "Database"})
+@StackTrace(false)
+public final class RepositoryQueryEvent extends Event {
+    @Label("Repository")
+    private final String repository;
+
+    @Label("Query")
+    private final String query;
+
+    @Label("Rows")
+    private int rows;
+
+    public RepositoryQueryEvent(String repository, String query) {
+        this.repository = repository;
+        this.query = query;
+        begin();
+    }
+
+    public void complete(int rows) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.assistantonsbservlet.observability;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Builds the regular Hibernate statistics with a slow query log on top.
+ * Hibernate reports the execution time of every HQL and native query to its statistics,
+ * queries reaching the threshold are logged once per execution with their {@link SqlFingerprint}.
+ * Registered through {@code hibernate.stats.factory}, so it only runs with {@code hibernate.generate_statistics}.
+ */
+public final class SlowQueryStatisticsFactory implements StatisticsFactory {
+    private final String persistenceUnitName;
+    private final long thresholdMillis;
+
+    public SlowQueryStatisticsFactory(String persistenceUnitName, Duration threshold) {
+        this.persistenceUnitName = persistenceUnitName;
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new SlowQueryStatistics(sessionFactory, persistenceUnitName, thresholdMillis);
+    }
+
+    private static final class SlowQueryStatistics extends StatisticsImpl {
+        private static final Logger log = LoggerFactory.getLogger(SlowQueryStatistics.class);
+
+        private final String persistenceUnitName;
+        private final long thresholdMillis;
+
+        SlowQueryStatistics(
+            SessionFactoryImplementor sessionFactory, String persistenceUnitName, long thresholdMillis
+        ) {
+            super(sessionFactory);
+            this.persistenceUnitName = persistenceUnitName;
+            this.thresholdMillis = thresholdMillis;
+        }
+
+        @Override
+        public void queryExecuted(String query, int rows, long time) {
+            super.queryExecuted(query, rows, time);
+            if (time >= thresholdMillis && log.isWarnEnabled()) {
+                final var fingerprint = SqlFingerprint.of(query);
+                log.warn(
+                    "Slow query in {}: {} ms, {} rows, fingerprint {}: {}",
+                    persistenceUnitName, time, rows, fingerprint.id(), fingerprint.normalizedSql()
+                );
+            }
+        }
+    }
+}
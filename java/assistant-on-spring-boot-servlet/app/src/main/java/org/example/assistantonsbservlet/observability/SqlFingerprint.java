@@ -0,0 +1,123 @@
+package org.example.assistantonsbservlet.observability;
+
+import java.util.regex.Pattern;
+
+/**
+ * Statement shape with literals, comments and whitespace differences removed, so that executions
+ * of the same query with different arguments share one fingerprint.
+ *
+ * @param id            FNV-1a 64-bit hash of {@code normalizedSql} in hex
+ * @param normalizedSql lower cased statement with every literal replaced by {@code ?}
+ *                      and every list of placeholders collapsed to {@code (?+)}
+ */
+public record SqlFingerprint(String id, String normalizedSql) {
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static SqlFingerprint of(String sql) {
+        final var normalized = PLACEHOLDER_LIST.matcher(normalize(sql)).replaceAll("(?+)");
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return new SqlFingerprint(Long.toHexString(hash), normalized);
+    }
+
+    private static String normalize(String sql) {
+        final int length = sql.length();
+        final var sb = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = !sb.isEmpty();
+                i++;
+                continue;
+            }
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipLineComment(sql, i);
+                pendingSpace = !sb.isEmpty();
+                continue;
+            }
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipBlockComment(sql, i);
+                pendingSpace = !sb.isEmpty();
+                continue;
+            }
+
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                sb.append('?');
+            } else if (c == '"') {
+                final int end = skipQuoted(sql, i, '"');
+                sb.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierPart(sb)) {
+                i = skipNumber(sql, i);
+                sb.append('?');
+            } else {
+                sb.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder sb) {
+        if (sb.isEmpty()) {
+            return false;
+        }
+        final char last = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    private static int skipLineComment(String sql, int start) {
+        final int end = sql.indexOf('\n', start);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    private static int skipBlockComment(String sql, int start) {
+        final int end = sql.indexOf("*/", start + 2);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    /**
+     * @return index right after the closing quote, a doubled quote is an escaped quote
+     */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipNumber(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length() && isNumberPart(sql.charAt(i), sql.charAt(i - 1))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNumberPart(char c, char previous) {
+        if (c == '+' || c == '-') {
+            return previous == 'e' || previous == 'E';
+        }
+        return Character.isDigit(c) || c == '.' || c == 'e' || c == 'E';
+    }
+}
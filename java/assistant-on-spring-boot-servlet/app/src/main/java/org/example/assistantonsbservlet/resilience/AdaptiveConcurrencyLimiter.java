@@ -0,0 +1,143 @@
+package org.example.assistantonsbservlet.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.config.ConcurrencyLimitProperties;
+import org.example.assistantonsbservlet.exception.AppException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of a connection pool, with a limit that follows the latency gradient.
+ * <p>
+ * Every successful call compares its latency with a long term average, as in Netflix's Gradient2:
+ * while the latest latency stays within {@code rttTolerance} of the average the limit grows by a small queue
+ * allowance, once latency climbs the limit shrinks by up to half. Calls over the limit are rejected at once
+ * with {@link ErrorCode#SERVICE_OVERLOADED} instead of waiting for a pooled connection.
+ * <p>
+ * A failed call, e.g. a query timeout or no pooled connection in time, cuts the limit by {@value #BACKOFF_RATIO}
+ * at once, so the limit falls while the database is failing. Only {@link ErrorCode#INVALID_INPUT} and
+ * {@link ErrorCode#ENTITY_NOT_FOUND} release their slot without changing it, they say nothing about the load.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    static final String LIMIT_METER_NAME = "concurrency.limiter.limit";
+    static final String IN_FLIGHT_METER_NAME = "concurrency.limiter.in.flight";
+    static final String REJECTED_METER_NAME = "concurrency.limiter.rejected";
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longRttFactor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final Object lock = new Object();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt;
+    private int samples;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimitProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.smoothing = properties.smoothing();
+        this.rttTolerance = properties.rttTolerance();
+        this.longRttFactor = 2.0 / (properties.longWindow() + 1);
+        this.estimatedLimit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+
+        Gauge.builder(LIMIT_METER_NAME, this, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Concurrent calls currently admitted")
+            .tag("limiter", name)
+            .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METER_NAME, inFlight, AtomicInteger::get)
+            .description("Calls currently running")
+            .tag("limiter", name)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME)
+            .description("Calls rejected because the limit was reached")
+            .tag("limiter", name)
+            .register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        final int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            rejectedCounter.increment();
+            throw new AppException(ErrorCode.SERVICE_OVERLOADED);
+        }
+        final long start = System.nanoTime();
+        try {
+            final T result = call.get();
+            onSample(System.nanoTime() - start, current);
+            return result;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException e) {
+            if (isOverloadSignal(e)) {
+                onFailure();
+            }
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onFailure() {
+        synchronized (lock) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    private static boolean isOverloadSignal(RuntimeException e) {
+        if (e instanceof AppException appException) {
+            final var errorCode = appException.getErrorCode();
+            return errorCode != ErrorCode.INVALID_INPUT && errorCode != ErrorCode.ENTITY_NOT_FOUND;
+        }
+        return true;
+    }
+
+    void onSample(long rttNanos, int inFlightAtStart) {
+        final double shortRtt = Math.max(1, rttNanos);
+        synchronized (lock) {
+            samples++;
+            if (samples <= WARMUP_SAMPLES) {
+                longRtt += (shortRtt - longRtt) / samples;
+            } else {
+                longRtt += (shortRtt - longRtt) * longRttFactor;
+            }
+            // A long average far above the latest latency comes from an earlier overload, let it recover faster
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+            // Calls that never came close to the limit say nothing about whether it could be higher
+            if (inFlightAtStart < estimatedLimit / 2) {
+                return;
+            }
+            final double gradient = Math.clamp(rttTolerance * longRtt / shortRtt, 0.5, 1.0);
+            final double queueSize = Math.sqrt(estimatedLimit);
+            final double newLimit = estimatedLimit * gradient + queueSize;
+            estimatedLimit = Math.clamp(
+                estimatedLimit * (1 - smoothing) + newLimit * smoothing, minLimit, maxLimit
+            );
+            limit = (int) estimatedLimit;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.assistantonsbservlet.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.assistantonsbservlet.config.ConcurrencyLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per facade, looked up by name.
+ * When disabled every call runs without admission control.
+ */
+public final class ConcurrencyLimiters {
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiters(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String name, Supplier<T> call) {
+        if (!properties.enabled()) {
+            return call.get();
+        }
+        return limiters.computeIfAbsent(name, this::newLimiter).execute(call);
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(String name) {
+        return new AdaptiveConcurrencyLimiter(name, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.assistantonsbservlet.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.assistantonsbservlet.config.CoalescingProperties;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads.
+ * <p>
+ * The first caller for a key runs the call on its own thread, concurrent callers with an equal key wait for
+ * the same {@link CompletableFuture} instead of opening another entity manager and running the same query.
+ * A failure is handed to every waiting caller and is never kept, a successful result is kept for {@code ttl}.
+ * Keys must implement {@code equals} and {@code hashCode}, records are the natural choice.
+ */
+public final class RequestCoalescer {
+    static final String COALESCED_METER_NAME = "request.coalescer.coalesced";
+
+    private final boolean enabled;
+    private final Executor evictionExecutor;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        final var ttl = properties.ttl() != null ? properties.ttl() : Duration.ZERO;
+        this.evictionExecutor = ttl.isPositive()
+            ? CompletableFuture.delayedExecutor(ttl.toNanos(), TimeUnit.NANOSECONDS)
+            : Runnable::run;
+        this.coalescedCounter = Counter.builder(COALESCED_METER_NAME)
+            .description("Requests served by a call started for an identical request")
+            .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        final var future = new CompletableFuture<Object>();
+        final var inFlight = calls.putIfAbsent(key, future);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            return (T) join(inFlight);
+        }
+
+        final T result;
+        try {
+            result = call.get();
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+        future.complete(result);
+        evictionExecutor.execute(() -> calls.remove(key, future));
+        return result;
+    }
+
+    int inFlightCount() {
+        return calls.size();
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
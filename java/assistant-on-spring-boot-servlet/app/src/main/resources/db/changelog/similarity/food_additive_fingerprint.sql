@@ -0,0 +1,8 @@
+-- No foreign key to food_additive_substance: the ingestion jobs reload that table, a fingerprint whose
+-- substance is gone is never joined and is replaced when its CID comes back
+CREATE TABLE food_additive_fingerprint (
+    compound_cid INT PRIMARY KEY NOT NULL,
+    fingerprinter VARCHAR(64) NOT NULL,
+    smiles TEXT NOT NULL,
+    bits BYTEA NOT NULL
+);
@@ -1,6 +1,15 @@
 package org.example.assistantonsbservlet.api.chemistry;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchField;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
 import org.example.assistantonsbservlet.chemistry.PubChemFdaFacade;
+import org.example.assistantonsbservlet.config.CoalescingProperties;
+import org.example.assistantonsbservlet.config.ConcurrencyLimitProperties;
+import org.example.assistantonsbservlet.resilience.ConcurrencyLimiters;
+import org.example.assistantonsbservlet.resilience.RequestCoalescer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +20,7 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -28,7 +38,12 @@ class FoodAdditiveSubstanceControllerTest {
     @BeforeEach
     void setUp() {
         mockCloser = MockitoAnnotations.openMocks(this);
-        controller = new FoodAdditiveSubstanceController(facadeMock);
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var coalescer = new RequestCoalescer(new CoalescingProperties(true, Duration.ZERO), meterRegistry);
+        final var limiters = new ConcurrencyLimiters(
+            new ConcurrencyLimitProperties(true, 20, 5, 100, 0.2, 1.5, 600), meterRegistry
+        );
+        controller = new FoodAdditiveSubstanceController(facadeMock, coalescer, limiters);
     }
 
     @AfterEach
@@ -39,14 +54,14 @@ class FoodAdditiveSubstanceControllerTest {
     @Test
     void testGetAllAndNoData() {
         // given
-        Mockito.when(facadeMock.getAll(1, 50))
+        Mockito.when(facadeMock.getAll(1, 50, null, null))
             .thenReturn(List.of());
 
         // when
-        final var responseEntity = controller.getAll(1, 50);
+        final var responseEntity = controller.getAll(1, 50, null, null);
 
         // then
-        Mockito.verify(facadeMock, Mockito.only()).getAll(1, 50);
+        Mockito.verify(facadeMock, Mockito.only()).getAll(1, 50, null, null);
         assertNotNull(responseEntity);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
 
@@ -54,4 +69,58 @@ class FoodAdditiveSubstanceControllerTest {
         assertNotNull(body);
         assertTrue(body.isEmpty());
     }
+
+    @Test
+    void testGetAllFieldsAfterCid() {
+        // given
+        final var fields = List.of("name", "molecularFormula");
+        final var substance = new FoodAdditiveSubstanceResponseDto(
+            42, "name", null, null, "H2O", null, null, null, null, null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+            null, null, null, null
+        );
+        Mockito.when(facadeMock.getAll(1, 50, fields, 41))
+            .thenReturn(List.of(substance));
+
+        // when
+        final var responseEntity = controller.getAll(1, 50, fields, 41);
+
+        // then
+        Mockito.verify(facadeMock, Mockito.only()).getAll(1, 50, fields, 41);
+        assertEquals(List.of(substance), responseEntity.getBody());
+    }
+
+    @Test
+    void testSearch() {
+        // given
+        final var hit = new FoodAdditiveSearchHitDto(54670067, "Ascorbic Acid", "Vitamin C",
+            FoodAdditiveSearchField.SYNONYM);
+        Mockito.when(facadeMock.search("vitamin c", 10))
+            .thenReturn(List.of(hit));
+
+        // when
+        final var responseEntity = controller.search("vitamin c", 10);
+
+        // then
+        Mockito.verify(facadeMock, Mockito.only()).search("vitamin c", 10);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(List.of(hit), responseEntity.getBody());
+    }
+
+    @Test
+    void testSimilar() {
+        // given
+        final var hit = new FoodAdditiveSimilarityHitDto(54675810, "Erythorbic Acid",
+            "C(C(C1C(=C(C(=O)O1)O)O)O)O", 1.0);
+        Mockito.when(facadeMock.similar(54670067, 5, 0.7))
+            .thenReturn(List.of(hit));
+
+        // when
+        final var responseEntity = controller.similar(54670067, 5, 0.7);
+
+        // then
+        Mockito.verify(facadeMock, Mockito.only()).similar(54670067, 5, 0.7);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(List.of(hit), responseEntity.getBody());
+    }
 }
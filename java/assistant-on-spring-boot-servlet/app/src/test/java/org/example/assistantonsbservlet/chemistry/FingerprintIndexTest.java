@@ -0,0 +1,143 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSimilarityHitDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintIndexTest {
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final FingerprintIndex index = new FingerprintIndex(List.of(
+        entry(1, 0b1111L),
+        entry(2, 0b0111L),
+        entry(3, 0b0011L),
+        entry(4, 0b1111_0000L),
+        entry(5, 0b1111L)
+    ), pool, 2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testMostSimilarFirstThenByCid() {
+        // when
+        final var hits = index.similar(fingerprint(0b1111L), 3, 0, FingerprintIndex.NO_CID);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSimilarityHitDto(1, "1", "C1", 1.0),
+            new FoodAdditiveSimilarityHitDto(5, "5", "C5", 1.0),
+            new FoodAdditiveSimilarityHitDto(2, "2", "C2", 0.75)
+        ), hits);
+    }
+
+    @Test
+    void testMinSimilarityAndExcludedCid() {
+        // when
+        final var hits = index.similar(index.fingerprint(1), 10, 0.5, 1);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSimilarityHitDto(5, "5", "C5", 1.0),
+            new FoodAdditiveSimilarityHitDto(2, "2", "C2", 0.75),
+            new FoodAdditiveSimilarityHitDto(3, "3", "C3", 0.5)
+        ), hits);
+    }
+
+    @Test
+    void testNoCommonBit() {
+        // when
+        final var hits = index.similar(fingerprint(0b1_0000_0000L), 10, 0, FingerprintIndex.NO_CID);
+
+        // then
+        assertTrue(hits.isEmpty());
+    }
+
+    @Test
+    void testPartitionsFindTheSameHitsAsOneScan() {
+        // given
+        final var entries = new ArrayList<FingerprintIndex.Entry>();
+        for (int cid = 1; cid <= 500; cid++) {
+            entries.add(entry(cid, cid * 0x9E3779B97F4A7C15L));
+        }
+        final var partitioned = new FingerprintIndex(entries, pool, 16);
+        final var sequential = new FingerprintIndex(entries, pool, entries.size());
+        final var query = partitioned.fingerprint(250);
+
+        // when
+        final var hits = partitioned.similar(query, 20, 0.3, 250);
+
+        // then
+        assertEquals(sequential.similar(query, 20, 0.3, 250), hits);
+        assertEquals(20, hits.size());
+    }
+
+    @Test
+    void testHitExactlyAtMinSimilarity() {
+        // given
+        final var atThreshold = new FingerprintIndex(List.of(
+            new FingerprintIndex.Entry(1, "1", "C1", firstBits(55)),
+            new FingerprintIndex.Entry(2, "2", "C2", firstBits(60))
+        ), pool, 2);
+
+        // when
+        final var belowQuery = atThreshold.similar(firstBits(100), 10, 0.55, FingerprintIndex.NO_CID);
+        final var aboveQuery = atThreshold.similar(firstBits(33), 10, 0.55, FingerprintIndex.NO_CID);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSimilarityHitDto(2, "2", "C2", 0.6),
+            new FoodAdditiveSimilarityHitDto(1, "1", "C1", 0.55)
+        ), belowQuery);
+        assertEquals(List.of(
+            new FoodAdditiveSimilarityHitDto(1, "1", "C1", 0.6),
+            new FoodAdditiveSimilarityHitDto(2, "2", "C2", 0.55)
+        ), aboveQuery);
+    }
+
+    @Test
+    void testUnknownCid() {
+        // then
+        assertNull(index.fingerprint(42));
+        assertArrayEquals(fingerprint(0b0011L), index.fingerprint(3));
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        // given
+        final var fingerprint = fingerprint(0b1010L);
+        fingerprint[Fingerprints.WORDS - 1] = Long.MIN_VALUE;
+
+        // then
+        assertArrayEquals(fingerprint, Fingerprints.fromBytes(Fingerprints.toBytes(fingerprint)));
+        assertNull(Fingerprints.fromBytes(new byte[3]));
+    }
+
+    private static FingerprintIndex.Entry entry(int cid, long firstWord) {
+        return new FingerprintIndex.Entry(cid, String.valueOf(cid), "C" + cid, fingerprint(firstWord));
+    }
+
+    private static long[] firstBits(int bits) {
+        final var fingerprint = new long[Fingerprints.WORDS];
+        for (int bit = 0; bit < bits; bit++) {
+            fingerprint[bit / Long.SIZE] |= 1L << bit;
+        }
+        return fingerprint;
+    }
+
+    private static long[] fingerprint(long firstWord) {
+        final var fingerprint = new long[Fingerprints.WORDS];
+        fingerprint[0] = firstWord;
+        return fingerprint;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.assistantonsbservlet.chemistry;
+
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchField;
+import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSearchHitDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FoodAdditiveSearchIndexTest {
+    private final FoodAdditiveSearchIndex index = new FoodAdditiveSearchIndex(List.of(
+        new FoodAdditiveSearchIndex.Substance(
+            54670067, "Ascorbic Acid", "Ascorbic acid|Vitamin C|L-Ascorbic acid|E300",
+            "(2R)-2-[(1S)-1,2-dihydroxyethyl]-3,4-dihydroxy-2H-furan-5-one"
+        ),
+        new FoodAdditiveSearchIndex.Substance(
+            23667548, "Sodium Ascorbate", "Sodium L-ascorbate|E301", "sodium;(2R)-2-[(1S)-1,2-dihydroxyethyl]"
+        ),
+        new FoodAdditiveSearchIndex.Substance(311, "Citric Acid", "Citric acid|E330\nCitronensäure", null),
+        new FoodAdditiveSearchIndex.Substance(14985, "Vitamin E", "alpha-Tocopherol|E307", null),
+        new FoodAdditiveSearchIndex.Substance(5280450, "Linoleic Acid", "Vitamin F", "octadeca-9,12-dienoic acid")
+    ));
+
+    @Test
+    void testNamePrefixBeforeSynonymPrefix() {
+        // when
+        final var hits = index.search("vitamin", 10);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSearchHitDto(14985, "Vitamin E", "Vitamin E", FoodAdditiveSearchField.NAME),
+            new FoodAdditiveSearchHitDto(54670067, "Ascorbic Acid", "Vitamin C", FoodAdditiveSearchField.SYNONYM),
+            new FoodAdditiveSearchHitDto(5280450, "Linoleic Acid", "Vitamin F", FoodAdditiveSearchField.SYNONYM)
+        ), hits);
+    }
+
+    @Test
+    void testPrefixMatchesBeforeInfixMatches() {
+        // when
+        final var hits = index.search("asc", 10);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSearchHitDto(54670067, "Ascorbic Acid", "Ascorbic Acid", FoodAdditiveSearchField.NAME),
+            new FoodAdditiveSearchHitDto(23667548, "Sodium Ascorbate", "Sodium Ascorbate",
+                FoodAdditiveSearchField.NAME)
+        ), hits);
+    }
+
+    @Test
+    void testShortQueryMatchesPrefixesOnly() {
+        // when
+        final var hits = index.search("E3", 10);
+
+        // then
+        final var cids = hits.stream()
+            .map(FoodAdditiveSearchHitDto::compoundCid)
+            .sorted()
+            .toList();
+        assertEquals(List.of(311, 14985, 23667548, 54670067), cids);
+        assertTrue(hits.stream().allMatch(hit -> hit.term().startsWith("E3")));
+    }
+
+    @Test
+    void testInfixMatchesInCidOrder() {
+        // when
+        final var hits = index.search("acid", 10);
+
+        // then
+        final var cids = hits.stream()
+            .map(FoodAdditiveSearchHitDto::compoundCid)
+            .toList();
+        assertEquals(List.of(311, 5280450, 54670067), cids);
+        assertTrue(hits.stream().allMatch(hit -> hit.field() == FoodAdditiveSearchField.NAME));
+    }
+
+    @Test
+    void testQueryIsNormalized() {
+        // when
+        final var hits = index.search("  CITRONENSAURE ", 10);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSearchHitDto(311, "Citric Acid", "Citronensäure", FoodAdditiveSearchField.SYNONYM)
+        ), hits);
+    }
+
+    @Test
+    void testSubstanceIsReturnedOnceUpToLimit() {
+        // when
+        final var hits = index.search("dihydroxyethyl", 1);
+
+        // then
+        assertEquals(List.of(new FoodAdditiveSearchHitDto(
+            23667548, "Sodium Ascorbate", "sodium;(2R)-2-[(1S)-1,2-dihydroxyethyl]", FoodAdditiveSearchField.IUPAC_NAME
+        )), hits);
+    }
+
+    @Test
+    void testWholePrefixRangeIsRanked() {
+        // given
+        final var substances = new ArrayList<FoodAdditiveSearchIndex.Substance>();
+        for (int cid = 1; cid <= 5_000; cid++) {
+            substances.add(new FoodAdditiveSearchIndex.Substance(cid, "Additive " + cid, "Gum " + cid, null));
+        }
+        // Sorts after the 5000 synonyms starting with "gum "
+        substances.add(new FoodAdditiveSearchIndex.Substance(9_999, "Gummi", null, null));
+        final var manyGums = new FoodAdditiveSearchIndex(substances);
+
+        // when
+        final var hits = manyGums.search("gum", 3);
+
+        // then
+        assertEquals(List.of(
+            new FoodAdditiveSearchHitDto(9_999, "Gummi", "Gummi", FoodAdditiveSearchField.NAME),
+            new FoodAdditiveSearchHitDto(1, "Additive 1", "Gum 1", FoodAdditiveSearchField.SYNONYM),
+            new FoodAdditiveSearchHitDto(2, "Additive 2", "Gum 2", FoodAdditiveSearchField.SYNONYM)
+        ), hits);
+    }
+
+    @Test
+    void testNoMatch() {
+        // when
+        final var hits = index.search("xyz", 10);
+
+        // then
+        assertTrue(hits.isEmpty());
+        assertTrue(FoodAdditiveSearchIndex.EMPTY.search("acid", 10).isEmpty());
+    }
+}
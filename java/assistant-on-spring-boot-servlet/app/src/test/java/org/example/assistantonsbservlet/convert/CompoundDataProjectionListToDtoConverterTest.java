@@ -0,0 +1,100 @@
+package org.example.assistantonsbservlet.convert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.assistantonsbservlet.api.Edge;
+import org.example.assistantonsbservlet.api.Node;
+import org.example.db.pubchem.graph.model.CompoundDataProjection;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompoundDataProjectionListToDtoConverterTest {
+    private static final String ETHANOL = """
+        {"id": 844424930131969, "label": "Compound", "properties": {"name": "Ethanol", "formula": "C2H6O"}}::vertex""";
+    private static final String WATER = """
+        {"id": 844424930131970, "label": "Compound", "properties": {"name": "Water", "formula": "H2O"}}::vertex""";
+    private static final String CARBON = """
+        {"id": 1125899906842625, "label": "Element", "properties": {"symbol": "C"}}::vertex""";
+    private static final String OXYGEN = """
+        {"id": 1125899906842626, "label": "Element", "properties": {"symbol": "O"}}::vertex""";
+
+    private final CompoundDataProjectionListToDtoConverter converter =
+        new CompoundDataProjectionListToDtoConverter(new ObjectMapper());
+
+    @Test
+    void testDeduplicatesVerticesAndSortsById() {
+        // given
+        final var source = List.of(
+            row(ETHANOL, CARBON, edge(1, 844424930131969L, 1125899906842625L, 2)),
+            row(ETHANOL, OXYGEN, edge(2, 844424930131969L, 1125899906842626L, 1)),
+            row(WATER, OXYGEN, edge(3, 844424930131970L, 1125899906842626L, 1))
+        );
+
+        // when
+        final var response = converter.convert(source);
+
+        // then
+        assertEquals(2, response.totalCompounds());
+        assertEquals(List.of("1125899906842625", "1125899906842626", "844424930131969", "844424930131970"),
+            response.nodes().stream().map(Node::id).toList());
+        assertEquals(new Node("844424930131969", "Compound", Map.of("name", "Ethanol", "formula", "C2H6O")),
+            response.nodes().get(2));
+        assertEquals(List.of(
+            new Edge("1407374883553281", "844424930131969", "1125899906842625", "HAS_ELEMENT", Map.of("count", 2)),
+            new Edge("1407374883553282", "844424930131969", "1125899906842626", "HAS_ELEMENT", Map.of("count", 1)),
+            new Edge("1407374883553283", "844424930131970", "1125899906842626", "HAS_ELEMENT", Map.of("count", 1))
+        ), response.edges());
+    }
+
+    @Test
+    void testRepeatedIdAfterProperties() {
+        // given
+        final var reordered = """
+            {"label": "Element", "properties": {"symbol": "C"}, "id": 1125899906842625}::vertex""";
+        final var source = List.of(
+            row(ETHANOL, CARBON, edge(1, 844424930131969L, 1125899906842625L, 2)),
+            row(ETHANOL, reordered, edge(1, 844424930131969L, 1125899906842625L, 2))
+        );
+
+        // when
+        final var response = converter.convert(source);
+
+        // then
+        assertEquals(2, response.nodes().size());
+        assertEquals(1, response.edges().size());
+    }
+
+    @Test
+    void testEmpty() {
+        // when
+        final var response = converter.convert(List.of());
+
+        // then
+        assertEquals(0, response.totalEdges());
+        assertTrue(response.nodes().isEmpty());
+    }
+
+    @Test
+    void testNotAnObject() {
+        // given
+        final var source = List.of(row("[]", CARBON, edge(1, 844424930131969L, 1125899906842625L, 2)));
+
+        // then
+        assertThrows(UncheckedIOException.class, () -> converter.convert(source));
+    }
+
+    private static CompoundDataProjection row(String compound, String element, String relationship) {
+        return new CompoundDataProjection(2, 2, 3, compound, element, relationship);
+    }
+
+    private static String edge(int sequence, long startId, long endId, int count) {
+        return "{\"id\": " + ((5L << 48) + sequence) + ", \"label\": \"HAS_ELEMENT\", \"end_id\": " + endId
+            + ", \"start_id\": " + startId + ", \"properties\": {\"count\": " + count + "}}::edge";
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.assistantonsbservlet.convert;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.assistantonsbservlet.api.math.model.CalculateMatrixAddReq;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DoubleMatrixJsonDeserializerTest {
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        final var module = new SimpleModule()
+            .addDeserializer(double[].class, new DoubleArrayJsonDeserializer())
+            .addDeserializer(double[][].class, new DoubleMatrixJsonDeserializer());
+        mapper = new ObjectMapper()
+            .registerModule(module)
+            .configure(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, true)
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    }
+
+    @Test
+    void deserializeMatrixAddReq() throws Exception {
+        // given
+        final var json = """
+            {"solveFor": "a+b", "a": [[1, 2.5], [3, 4]], "b": [[-1, "2"], [0.125, 1e3]]}
+            """;
+        // when
+        final var req = mapper.readValue(json, CalculateMatrixAddReq.class);
+        // then
+        assertEquals("a+b", req.solveFor());
+        assertArrayEquals(new double[][]{{1, 2.5}, {3, 4}}, req.a());
+        assertArrayEquals(new double[][]{{-1, 2}, {0.125, 1000}}, req.b());
+    }
+
+    @Test
+    void deserializeLargeMatrix() throws Exception {
+        // given
+        final int size = 64;
+        final var json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            json.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < size; j++) {
+                json.append(j == 0 ? "" : ",").append(i * size + j).append(".5");
+            }
+            json.append(']');
+        }
+        json.append(']');
+        // when
+        final var matrix = mapper.readValue(json.toString(), double[][].class);
+        // then
+        assertEquals(size, matrix.length);
+        assertEquals(size, matrix[size - 1].length);
+        assertEquals(size * size - 0.5, matrix[size - 1][size - 1]);
+    }
+
+    @Test
+    void deserializeSingleValueAsArray() throws Exception {
+        // when
+        final var vector = mapper.readValue("42.5", double[].class);
+        // then
+        assertArrayEquals(new double[]{42.5}, vector);
+    }
+
+    @Test
+    void failOnRaggedRow() {
+        // given
+        final var json = "[[1, 2], [3, 4, 5]]";
+        // when
+        final var exception = assertThrows(
+            MismatchedInputException.class,
+            () -> mapper.readValue(json, double[][].class)
+        );
+        // then
+        assertTrue(exception.getOriginalMessage().contains("Row 1"));
+    }
+
+    @Test
+    void failOnShortRow() {
+        // given
+        final var json = "[[1, 2], [3]]";
+        // then
+        assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, double[][].class));
+    }
+
+    @Test
+    void failOnNonNumericElement() {
+        // given
+        final var json = "[[1, true]]";
+        // then
+        assertThrows(MismatchedInputException.class, () -> mapper.readValue(json, double[][].class));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.assistantonsbservlet.convert;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+    @Test
+    void testAddReportsNewKeysOnly() {
+        // given
+        final var set = new LongHashSet(2);
+
+        // then
+        assertTrue(set.add(844424930131969L));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-1));
+        assertFalse(set.add(844424930131969L));
+        assertFalse(set.add(0));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void testGrowsPastExpectedSize() {
+        // given
+        final var set = new LongHashSet(1);
+        // Ids of two AGE labels, the label in the high 16 bits
+        final long compounds = 3L << 48;
+        final long elements = 4L << 48;
+
+        // when
+        for (long i = 1; i <= 10_000; i++) {
+            set.add(compounds | i);
+            set.add(elements | i);
+        }
+
+        // then
+        assertEquals(20_000, set.size());
+        for (long i = 1; i <= 10_000; i++) {
+            assertFalse(set.add(compounds | i));
+            assertFalse(set.add(elements | i));
+        }
+        assertTrue(set.add(compounds | 10_001));
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.assistantonsbservlet.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+    private final StubDataSource primary = new StubDataSource();
+    private final StubDataSource first = new StubDataSource();
+    private final StubDataSource second = new StubDataSource();
+
+    @Test
+    void testUnprobedReplicasFallBackToPrimary() throws Exception {
+        // given
+        final var router = router(ReplicaSelection.ROUND_ROBIN);
+
+        // when
+        final var connection = router.getConnection();
+
+        // then
+        assertSame(primary, source(connection));
+        assertTrue(connection.isReadOnly());
+        assertEquals(0, first.connections + second.connections);
+    }
+
+    @Test
+    void testRoundRobinOverHealthyReplicas() throws Exception {
+        // given
+        final var router = router(ReplicaSelection.ROUND_ROBIN);
+        router.checkHealth();
+
+        // when
+        final var sources = List.of(
+            source(router.getConnection()),
+            source(router.getConnection()),
+            source(router.getConnection()),
+            source(router.getConnection())
+        );
+
+        // then
+        assertSame(sources.get(0), sources.get(2));
+        assertSame(sources.get(1), sources.get(3));
+        assertTrue(sources.contains(first) && sources.contains(second));
+        assertEquals(0, primary.connections);
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() throws Exception {
+        // given
+        final var router = router(ReplicaSelection.ROUND_ROBIN);
+        second.lagSeconds = 60;
+        router.checkHealth();
+
+        // when
+        final var sources = List.of(source(router.getConnection()), source(router.getConnection()));
+
+        // then
+        assertEquals(List.of(first, first), sources);
+        assertTrue(router.isHealthy(0));
+        assertFalse(router.isHealthy(1));
+    }
+
+    @Test
+    void testFailedReplicaIsSkippedUntilNextProbe() throws Exception {
+        // given
+        final var router = router(ReplicaSelection.ROUND_ROBIN);
+        second.down = true;
+        router.checkHealth();
+        first.down = true;
+
+        // when
+        final var connection = router.getConnection();
+
+        // then
+        assertSame(primary, source(connection));
+        assertFalse(router.isHealthy(0));
+        first.down = false;
+        second.down = false;
+        router.checkHealth();
+        assertTrue(router.isHealthy(0) && router.isHealthy(1));
+        assertNotSame(primary, source(router.getConnection()));
+    }
+
+    @Test
+    void testLeastLatencyPicksFastestReplica() throws Exception {
+        // given
+        final var router = router(ReplicaSelection.LEAST_LATENCY);
+        first.delayMillis = 20;
+        router.checkHealth();
+
+        // when
+        final var sources = List.of(source(router.getConnection()), source(router.getConnection()));
+
+        // then
+        assertEquals(List.of(second, second), sources);
+    }
+
+    private ReplicaRoutingDataSource router(ReplicaSelection selection) {
+        return new ReplicaRoutingDataSource(
+            "test", primary, List.of(first, second), selection, Duration.ofHours(1), Duration.ofSeconds(5)
+        );
+    }
+
+    private static StubDataSource source(Connection connection) throws SQLException {
+        return connection.unwrap(StubDataSource.class);
+    }
+
+    /**
+     * Hands out connections that answer the lag query with {@link #lagSeconds}.
+     */
+    private static final class StubDataSource extends AbstractDataSource {
+        private volatile boolean down;
+        private volatile double lagSeconds;
+        private volatile long delayMillis;
+        private int connections;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("Connection is not available");
+            }
+            sleep(delayMillis);
+            connections++;
+            final boolean[] readOnly = {false};
+            return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "createStatement" -> statement();
+                    case "setReadOnly" -> {
+                        readOnly[0] = (boolean) args[0];
+                        yield null;
+                    }
+                    case "isReadOnly" -> readOnly[0];
+                    case "unwrap" -> this;
+                    default -> null;
+                }
+            );
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        private Statement statement() {
+            return (Statement) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Statement.class},
+                (proxy, method, args) -> "executeQuery".equals(method.getName()) ? resultSet() : null
+            );
+        }
+
+        private ResultSet resultSet() {
+            return (ResultSet) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> true;
+                    case "getDouble" -> lagSeconds;
+                    default -> null;
+                }
+            );
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.BacktestRequestDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.example.assistantonsbservlet.finance.StockSeriesFixtures.flatSeries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BacktesterTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private ForkJoinPool pool;
+    private Backtester backtester;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        final Map<String, StockSeries> universe = Map.of(
+            "UP", flatSeries("UP", START, 100, day -> 100 + day),
+            "DOWN", flatSeries("DOWN", START, 100, day -> 200 - day),
+            "WAVE", flatSeries("WAVE", START, 100, day -> 100 + 10 * Math.sin(day / 4.0)),
+            "NONE", StockSeries.builder("NONE").build()
+        );
+        backtester = new Backtester(pool, 1, 3, universe::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testHoldFollowsPrice() {
+        // given
+        final var request = request(List.of("UP", "DOWN"), "hold", START, START.plusDays(99), 0.0);
+
+        // when
+        final var response = backtester.run(request);
+
+        // then
+        assertEquals(100, response.dates().size());
+        final var up = response.tickers().get(0);
+        final var down = response.tickers().get(1);
+        assertEquals("UP", up.ticker());
+        assertEquals(100, up.bars());
+        assertEquals(1, up.trades());
+        assertEquals(5_000 * 199.0 / 100, up.metrics().finalEquity(), 1e-6);
+        assertEquals(0, up.metrics().maxDrawdown(), 1e-9);
+        assertEquals(5_000 * 101.0 / 200, down.metrics().finalEquity(), 1e-6);
+        assertEquals(up.metrics().finalEquity() + down.metrics().finalEquity(), response.metrics().finalEquity(), 1e-6);
+        assertEquals(response.metrics().finalEquity(), response.equity()[99], 1e-6);
+        assertTrue(down.metrics().maxDrawdown() > 0);
+        assertEquals(0, response.drawdown()[0], 1e-9);
+    }
+
+    @Test
+    void testWarmUpBeforeRangeAndCost() {
+        // given
+        final var from = START.plusDays(60);
+        final var free = request(List.of("WAVE"), "sma-cross:3:10", from, START.plusDays(99), 0.0);
+        final var costly = request(List.of("WAVE"), "sma-cross:3:10", from, START.plusDays(99), 50.0);
+
+        // when
+        final var freeResponse = backtester.run(free);
+        final var costlyResponse = backtester.run(costly);
+
+        // then
+        final var wave = freeResponse.tickers().getFirst();
+        assertEquals(40, wave.bars());
+        assertTrue(wave.trades() > 1);
+        assertEquals(from, freeResponse.dates().getFirst());
+        assertTrue(costlyResponse.metrics().finalEquity() < freeResponse.metrics().finalEquity());
+    }
+
+    @Test
+    void testTickerWithoutBarsStaysInCash() {
+        // given
+        final var request = request(List.of("UP", "NONE"), "rsi:14:30:70", START, START.plusDays(99), 0.0);
+
+        // when
+        final var response = backtester.run(request);
+
+        // then
+        final var none = response.tickers().get(1);
+        assertEquals(0, none.bars());
+        assertEquals(5_000, none.metrics().finalEquity(), 1e-9);
+        assertEquals(0, none.metrics().totalReturn(), 1e-9);
+    }
+
+    @Test
+    void testDaysWithoutBarsCarryEquity() {
+        // given
+        final var request = request(List.of("UP"), "hold", START.minusDays(5), START.plusDays(200), 0.0);
+
+        // when
+        final var response = backtester.run(request);
+
+        // then
+        assertEquals(100, response.dates().size());
+        assertEquals(START, response.dates().getFirst());
+        assertEquals(10_000 * 199.0 / 100, response.metrics().finalEquity(), 1e-6);
+    }
+
+    @Test
+    void testInvalidRequests() {
+        final var to = START.plusDays(10);
+        assertInvalid(request(List.of(), "hold", START, to, 0.0));
+        assertInvalid(request(List.of("UP", "UP"), "hold", START, to, 0.0));
+        assertInvalid(request(List.of("UP", "DOWN", "WAVE", "NONE"), "hold", START, to, 0.0));
+        assertInvalid(request(List.of("UP"), "hold", to, START, 0.0));
+        assertInvalid(request(List.of("UP"), "hold", null, to, 0.0));
+        assertInvalid(request(List.of("UP"), "martingale", START, to, 0.0));
+        assertInvalid(request(List.of("UP"), "sma-cross:50:20", START, to, 0.0));
+        assertInvalid(request(List.of("UP"), "hold", START, to, -1.0));
+    }
+
+    private void assertInvalid(BacktestRequestDto request) {
+        final var exception = assertThrows(AppException.class, () -> backtester.run(request));
+        assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+    }
+
+    private static BacktestRequestDto request(List<String> tickers, String strategy,
+                                              LocalDate from, LocalDate to, Double costBps) {
+        return new BacktestRequestDto(tickers, strategy, from, to, 10_000.0, costBps);
+    }
+}
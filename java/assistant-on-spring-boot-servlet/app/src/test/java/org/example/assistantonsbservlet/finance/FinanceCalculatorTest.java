@@ -152,5 +152,73 @@ class FinanceCalculatorTest {
             // then
             assertEquals(expectedResult, result, 0.0001);
         }
+
+        @Test
+        void calculateCompoundAnnualGrowthRate() {
+            // given
+            final double finalValue = FinanceCalculator.EquityInvestment.compoundInterest(
+                1000, 0.07, FinanceCalculator.Frequency.ANNUAL, 10
+            );
+            // when
+            final double rate = FinanceCalculator.EquityInvestment.compoundAnnualGrowthRate(1000, finalValue, 10);
+            // then
+            assertEquals(0.07, rate, 0.0001);
+        }
+
+        @Test
+        void calculateDrawdown() {
+            // when
+            final double drawdown = FinanceCalculator.EquityInvestment.drawdown(200, 150);
+            // then
+            assertEquals(0.25, drawdown, 0.0001);
+        }
+
+        @Test
+        void calculateSharpeRatio() {
+            // when
+            final double sharpeRatio = FinanceCalculator.EquityInvestment.sharpeRatio(0.001, 0.01, 252);
+            // then
+            assertEquals(1.5875, sharpeRatio, 0.0001);
+            assertEquals(0, FinanceCalculator.EquityInvestment.sharpeRatio(0.001, 0, 252));
+        }
+    }
+
+    @Nested
+    class TechnicalAnalysis {
+        @Test
+        void calculateEmaSmoothing() {
+            // when
+            final double smoothing = FinanceCalculator.TechnicalAnalysis.emaSmoothing(9);
+            // then
+            assertEquals(0.2, smoothing, 0.0001);
+        }
+
+        @Test
+        void calculateRelativeStrengthIndex() {
+            // when
+            final double rsi = FinanceCalculator.TechnicalAnalysis.relativeStrengthIndex(1.5, 0.5);
+            // then
+            assertEquals(75, rsi, 0.0001);
+            assertEquals(100, FinanceCalculator.TechnicalAnalysis.relativeStrengthIndex(1, 0), 0.0001);
+        }
+
+        @Test
+        void calculateTrueRange() {
+            // when
+            final double trueRange = FinanceCalculator.TechnicalAnalysis.trueRange(12, 10, 15);
+            // then
+            assertEquals(5, trueRange, 0.0001);
+        }
+
+        @Test
+        void calculateStandardDeviation() {
+            // given values 2, 4, 4, 4, 5, 5, 7, 9
+            final double sum = 40;
+            final double sumOfSquares = 232;
+            // when
+            final double deviation = FinanceCalculator.TechnicalAnalysis.standardDeviation(sum, sumOfSquares, 8);
+            // then
+            assertEquals(2, deviation, 0.0001);
+        }
     }
 }
@@ -0,0 +1,124 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.db.stockmarket.model.StockBar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.example.assistantonsbservlet.finance.StockSeriesFixtures.series;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicatorEngineTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void testSmaMatchesFullRecomputation() {
+        // given
+        final var series = series("KO", START, 100, IndicatorEngineTest::bar);
+
+        // when
+        final var response = IndicatorEngine.compute(series, IndicatorEngine.parse(List.of("sma:10")), null, null);
+
+        // then
+        final var sma = response.indicators().getFirst();
+        assertEquals("sma(10)", sma.name());
+        assertEquals(9, sma.start());
+        assertEquals(91, sma.values().length);
+        for (int i = 9; i < 100; i++) {
+            double sum = 0;
+            for (int j = i - 9; j <= i; j++) {
+                sum += close(j);
+            }
+            assertEquals(sum / 10, sma.values()[i - 9], 1e-9);
+        }
+    }
+
+    @Test
+    void testIndicatorsAreWarmedUpBeforeRange() {
+        // given
+        final var series = series("KO", START, 100, IndicatorEngineTest::bar);
+        final var indicators = IndicatorEngine.parse(List.of("ema:5", "rsi", "macd", "bollinger", "atr", "vwap:3"));
+
+        // when
+        final var response = IndicatorEngine.compute(series, indicators, START.plusDays(50), START.plusDays(59));
+
+        // then
+        assertEquals(10, response.dateAt().size());
+        assertEquals(START.plusDays(50), response.dateAt().getFirst().toLocalDate());
+        assertEquals(10, response.indicators().size());
+        for (var indicator : response.indicators()) {
+            assertEquals(0, indicator.start(), indicator.name());
+            assertEquals(10, indicator.values().length, indicator.name());
+        }
+        assertEquals("macd(12,26,9).histogram", response.indicators().get(4).name());
+        assertEquals("bollinger(20,2).upper", response.indicators().get(6).name());
+    }
+
+    @Test
+    void testBollingerBandsAndRsi() {
+        // given
+        final var series = series("KO", START, 40, IndicatorEngineTest::bar);
+        final var indicators = IndicatorEngine.parse(List.of("bollinger:4:1", "rsi:2"));
+
+        // when
+        final var response = IndicatorEngine.compute(series, indicators, null, null);
+
+        // then
+        final var middle = response.indicators().get(0).values();
+        final var upper = response.indicators().get(1).values();
+        final var lower = response.indicators().get(2).values();
+        for (int i = 0; i < middle.length; i++) {
+            assertEquals(upper[i] - middle[i], middle[i] - lower[i], 1e-9);
+        }
+        final var rsi = response.indicators().get(3);
+        assertEquals(2, rsi.start());
+        for (double value : rsi.values()) {
+            assertTrue(value >= 0 && value <= 100);
+        }
+    }
+
+    @Test
+    void testShortHistoryHasNoValues() {
+        // given
+        final var series = series("KO", START, 5, IndicatorEngineTest::bar);
+
+        // when
+        final var response = IndicatorEngine.compute(series, IndicatorEngine.parse(List.of("sma:10")), null, null);
+
+        // then
+        assertEquals(5, response.dateAt().size());
+        assertEquals(5, response.indicators().getFirst().start());
+        assertEquals(0, response.indicators().getFirst().values().length);
+    }
+
+    @Test
+    void testInvalidSpecs() {
+        assertInvalid(List.of());
+        assertInvalid(List.of("foo"));
+        assertInvalid(List.of("sma:0"));
+        assertInvalid(List.of("sma:x"));
+        assertInvalid(List.of("macd:26:12"));
+        assertInvalid(List.of("bollinger:20:-1"));
+        assertInvalid(Collections.nCopies(IndicatorEngine.MAX_INDICATORS + 1, "sma"));
+    }
+
+    private static void assertInvalid(List<String> specs) {
+        final var exception = assertThrows(AppException.class, () -> IndicatorEngine.parse(specs));
+        assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+    }
+
+    private static double close(int day) {
+        return 100 + 10 * Math.sin(day / 5.0);
+    }
+
+    private static StockBar bar(int day, LocalDate date) {
+        final double close = close(day);
+        return StockSeriesFixtures.bar(date, close, close + 1, close - 1, close, close, 1_000L + day, 0);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.projection.model.MonteCarloRequestDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.EquityInvestment;
+import org.example.assistantonsbservlet.finance.FinanceCalculator.Frequency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonteCarloSimulatorTest {
+    private ForkJoinPool pool;
+    private MonteCarloSimulator simulator;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        simulator = new MonteCarloSimulator(pool, 1_000, 100_000, 10_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testWithoutVolatilityMatchesCompoundInterest() {
+        // given
+        final var request = request(0.0, 0.0, Frequency.QUARTERLY, 20, 5_000, 1L);
+
+        // when
+        final var response = simulator.run(request);
+
+        // then
+        final double expected = EquityInvestment.compoundInterest(10_000, 0.09, Frequency.QUARTERLY, 20);
+        assertEquals(expected, response.deterministic()[20], 1e-6);
+        assertEquals(expected, response.mean()[20], 1e-6);
+        assertEquals(MonteCarloSimulator.DEFAULT_PERCENTILES.size(), response.bands().size());
+        for (var band : response.bands()) {
+            assertEquals(21, band.values().length);
+            assertEquals(10_000, band.values()[0]);
+            assertEquals(expected, band.values()[20], 1e-6);
+        }
+        assertEquals(0, response.probabilityOfLoss());
+    }
+
+    @Test
+    void testSameSeedSameProjection() {
+        // given
+        final var request = request(0.2, 0.01, Frequency.MONTHLY, 10, 20_000, 42L);
+        final var sequentialPool = new ForkJoinPool(1);
+
+        // when
+        final var first = simulator.run(request);
+        final var sequential = new MonteCarloSimulator(sequentialPool, 1_000, 100_000, 10_000_000).run(request);
+        sequentialPool.shutdown();
+
+        // then
+        assertEquals(42L, first.seed());
+        assertArrayEquals(first.mean(), sequential.mean());
+        for (int i = 0; i < first.bands().size(); i++) {
+            assertArrayEquals(first.bands().get(i).values(), sequential.bands().get(i).values());
+        }
+        assertEquals(first.probabilityOfLoss(), sequential.probabilityOfLoss());
+    }
+
+    @Test
+    void testBandsAreOrderedAroundTheMean() {
+        // given
+        final var request = request(0.2, 0.005, Frequency.ANNUAL, 10, 100_000, 7L);
+
+        // when
+        final var response = simulator.run(request);
+
+        // then
+        for (int year = 1; year <= 10; year++) {
+            for (int i = 1; i < response.bands().size(); i++) {
+                assertTrue(response.bands().get(i - 1).values()[year] < response.bands().get(i).values()[year]);
+            }
+            // the expected value of independent yearly growths is the deterministic compound interest
+            assertEquals(1, response.mean()[year] / response.deterministic()[year], 0.02);
+        }
+        final double median = response.bands().get(2).values()[10];
+        assertTrue(median < response.mean()[10]);
+        assertTrue(response.probabilityOfLoss() > 0 && response.probabilityOfLoss() < 0.5);
+    }
+
+    @Test
+    void testInvalidInput() {
+        final List<MonteCarloRequestDto> requests = List.of(
+            request(0.2, 0.0, Frequency.ANNUAL, 0, 100, null),
+            request(0.2, 0.0, Frequency.ANNUAL, MonteCarloSimulator.MAX_YEARS + 1, 100, null),
+            request(0.2, 0.0, Frequency.ANNUAL, 10, 100_001, null),
+            request(0.2, 0.0, Frequency.DAILY, 50, 1_000, null),
+            request(-0.1, 0.0, Frequency.ANNUAL, 10, 100, null),
+            request(0.2, -0.1, Frequency.ANNUAL, 10, 100, null),
+            new MonteCarloRequestDto(0.0, 0.06, 0.2, null, null, null, 10, 100, null, null),
+            new MonteCarloRequestDto(1.0, -1.0, 0.2, null, null, null, 10, 100, null, null),
+            new MonteCarloRequestDto(1.0, 0.06, 0.2, null, null, null, 10, 100, null, List.of(50.0, 101.0)),
+            new MonteCarloRequestDto(1.0, 0.06, 0.2, null, null, null, 10, 100, null, List.of())
+        );
+        for (var request : requests) {
+            final var exception = assertThrows(AppException.class, () -> simulator.run(request));
+            assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+        }
+    }
+
+    private static MonteCarloRequestDto request(double volatility, double dividendVolatility, Frequency frequency,
+                                                int years, int paths, Long seed) {
+        return new MonteCarloRequestDto(
+            10_000.0, 0.06, volatility, 0.03, dividendVolatility, frequency, years, paths, seed, null
+        );
+    }
+}
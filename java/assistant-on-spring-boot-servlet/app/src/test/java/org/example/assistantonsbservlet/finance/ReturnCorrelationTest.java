@@ -0,0 +1,202 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.CorrelationRequestDto;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.example.assistantonsbservlet.finance.StockSeriesFixtures.flatSeries;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReturnCorrelationTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final double DELTA = 1e-9;
+
+    private ForkJoinPool pool;
+    private ReturnCorrelation returnCorrelation;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        final Map<String, StockSeries> universe = Map.of(
+            "SIN", flatSeries("SIN", START, 100, day -> price(day, 1)),
+            "SIN2", flatSeries("SIN2", START, 100, day -> price(day, 2)),
+            "COS", flatSeries("COS", START, 100, day -> price(day, -1)),
+            "EVEN", flatSeries("EVEN", START, 100, day -> day >= 10 && day % 2 == 0 ? price(day, 1) : Double.NaN),
+            "ZERO", flatSeries("ZERO", START, 100, day -> day == 50 ? 0 : price(day, 1)),
+            "NONE", StockSeries.builder("NONE").build()
+        );
+        returnCorrelation = new ReturnCorrelation(pool, universe::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testScaledPricesAreFullyCorrelated() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "SIN2", "COS"), null, null, null, null);
+
+        // when
+        final var response = returnCorrelation.run(request);
+
+        // then
+        assertEquals(99, response.observations());
+        assertEquals(START.plusDays(1), response.from());
+        assertEquals(START.plusDays(99), response.to());
+        assertEquals(1, response.correlation()[0][1], DELTA);
+        assertEquals(response.covariance()[0][0], response.covariance()[1][1], DELTA);
+        assertEquals(response.correlation()[0][2], response.correlation()[2][0]);
+        assertEquals(response.volatility()[0] * response.volatility()[0], response.covariance()[0][0], DELTA);
+        assertEquals(3, response.components().size());
+        final var first = response.components().getFirst();
+        assertTrue(first.eigenvalue() >= 2);
+        assertEquals(first.eigenvalue() / 3, first.explainedVariance(), DELTA);
+        assertEquals(first.loadings()[0], first.loadings()[1], DELTA);
+        assertTrue(first.loadings()[0] + first.loadings()[1] + first.loadings()[2] > 0);
+    }
+
+    @Test
+    void testMatchesPearsonCorrelation() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "COS"), null, null, null, 0);
+        final double[] sin = returns(1);
+        final double[] cos = returns(-1);
+
+        // when
+        final var response = returnCorrelation.run(request);
+
+        // then
+        assertEquals(pearson(sin, cos), response.correlation()[0][1], DELTA);
+        assertArrayEquals(new double[]{1, 1}, new double[]{response.correlation()[0][0], response.correlation()[1][1]});
+        assertTrue(response.components().isEmpty());
+    }
+
+    @Test
+    void testMergeJoinKeepsCommonDates() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "EVEN"), null, START.plusDays(98), null, 1);
+
+        // when
+        final var response = returnCorrelation.run(request);
+
+        // then
+        assertEquals(44, response.observations());
+        assertEquals(START.plusDays(12), response.from());
+        assertEquals(START.plusDays(98), response.to());
+        assertEquals(1, response.correlation()[0][1], DELTA);
+    }
+
+    @Test
+    void testDatesWithoutPositivePriceAreDropped() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "ZERO"), null, null, null, null);
+
+        // when
+        final var response = returnCorrelation.run(request);
+
+        // then
+        assertEquals(98, response.observations());
+        assertTrue(Double.isFinite(response.volatility()[1]));
+        assertTrue(Double.isFinite(response.covariance()[0][1]));
+        assertEquals(1, response.correlation()[0][1], DELTA);
+    }
+
+    @Test
+    void testWindowKeepsLatestReturns() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "COS"), START, START.plusDays(90), 10, null);
+
+        // when
+        final var response = returnCorrelation.run(request);
+
+        // then
+        assertEquals(10, response.observations());
+        assertEquals(START.plusDays(81), response.from());
+        assertEquals(START.plusDays(90), response.to());
+        assertEquals(2, response.components().size());
+    }
+
+    @Test
+    void testDotProduct() {
+        final double[] vector = {1, 2, 3, 4, 5};
+        assertEquals(1 + 4 + 9 + 16 + 25, ReturnCorrelation.dot(vector, vector));
+        assertEquals(0, ReturnCorrelation.dot(new double[0], new double[0]));
+    }
+
+    @Test
+    void testNoCommonHistory() {
+        // given
+        final var request = new CorrelationRequestDto(List.of("SIN", "NONE"), null, null, null, null);
+
+        // when
+        final var exception = assertThrows(AppException.class, () -> returnCorrelation.run(request));
+
+        // then
+        assertEquals(ErrorCode.ENTITY_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void testInvalidInput() {
+        final List<CorrelationRequestDto> requests = List.of(
+            new CorrelationRequestDto(List.of("SIN"), null, null, null, null),
+            new CorrelationRequestDto(List.of("SIN", "SIN"), null, null, null, null),
+            new CorrelationRequestDto(List.of("SIN", "COS"), START.plusDays(2), START, null, null),
+            new CorrelationRequestDto(List.of("SIN", "COS"), null, null, 1, null),
+            new CorrelationRequestDto(List.of("SIN", "COS"), null, null, null, 3)
+        );
+        for (var request : requests) {
+            final var exception = assertThrows(AppException.class, () -> returnCorrelation.run(request));
+            assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+        }
+    }
+
+    /**
+     * @param phase 1 for a sine around 100, -1 for a cosine, 2 for the sine at twice the price
+     */
+    private static double price(int day, int phase) {
+        return switch (phase) {
+            case 1 -> 100 + 10 * Math.sin(day / 5.0);
+            case 2 -> 2 * price(day, 1);
+            default -> 100 + 10 * Math.cos(day / 3.0) + day * 0.1;
+        };
+    }
+
+    private static double[] returns(int phase) {
+        final double[] returns = new double[99];
+        for (int day = 1; day < 100; day++) {
+            returns[day - 1] = price(day, phase) / price(day - 1, phase) - 1;
+        }
+        return returns;
+    }
+
+    private static double pearson(double[] x, double[] y) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += x[i] / x.length;
+            meanY += y[i] / y.length;
+        }
+        double covariance = 0;
+        double varianceX = 0;
+        double varianceY = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            varianceX += (x[i] - meanX) * (x[i] - meanX);
+            varianceY += (y[i] - meanY) * (y[i] - meanY);
+        }
+        return covariance / Math.sqrt(varianceX * varianceY);
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StockCursorTest {
+    private static final OffsetDateTime DATE_AT = OffsetDateTime.of(1995, 3, 14, 0, 0, 0, 0, ZoneOffset.ofHours(-5));
+
+    @Test
+    void testEncodeAndDecode() {
+        // given
+        final var cursor = new StockCursor("BRK.B", DATE_AT);
+
+        // when
+        final var token = cursor.encode();
+        final var decoded = StockCursor.decode(token, "BRK.B");
+
+        // then
+        assertFalse(token.contains("BRK"));
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void testDecodeRejectsOtherTicker() {
+        // given
+        final var token = new StockCursor("KO", DATE_AT).encode();
+
+        // when
+        final var exception = assertThrows(AppException.class, () -> StockCursor.decode(token, "PEP"));
+
+        // then
+        assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+    }
+
+    @Test
+    void testDecodeRejectsMalformedToken() {
+        assertThrows(AppException.class, () -> StockCursor.decode("not base64!", "KO"));
+        assertThrows(AppException.class, () -> StockCursor.decode("S098eWVzdGVyZGF5", "KO"));
+    }
+
+    @Test
+    void testCountCacheLoadsOncePerTtl() {
+        // given
+        final var cache = new StockCountCache(Duration.ofMinutes(5));
+        final var loads = new AtomicInteger();
+
+        // when
+        final long first = cache.get("KO", _ -> loads.incrementAndGet() * 100L);
+        final long second = cache.get("KO", _ -> loads.incrementAndGet() * 100L);
+
+        // then
+        assertEquals(100, first);
+        assertEquals(100, second);
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.assistantonsbservlet.finance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.assistantonsbservlet.api.finance.stockmarket.model.StockDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockExportFormatTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+    @Test
+    void testCsv() throws IOException {
+        // when
+        final var lines = export(StockExportFormat.CSV, List.of(stock(1), stock(2)));
+
+        // then
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("ticker,date_at,open"));
+        assertEquals("KO,2024-05-01T00:00Z,1.0,2.0,0.5,1.5,1.5,1000,0.0,0.0,0.0", lines[1]);
+        assertTrue(lines[2].startsWith("KO,2024-05-02T00:00Z,2.0"));
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        // when
+        final var lines = export(StockExportFormat.NDJSON, List.of(stock(1), stock(2)));
+
+        // then
+        assertEquals(2, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            final var stock = objectMapper.readValue(lines[i], StockDto.class);
+            assertEquals(stock(i + 1), stock);
+        }
+    }
+
+    @Test
+    void testNdjsonWithoutRows() throws IOException {
+        assertEquals("", exportText(StockExportFormat.NDJSON, List.of()));
+    }
+
+    private String[] export(StockExportFormat format, List<StockDto> stocks) throws IOException {
+        final var text = exportText(format, stocks);
+        assertTrue(text.endsWith("\n"));
+        return text.split("\n");
+    }
+
+    private String exportText(StockExportFormat format, List<StockDto> stocks) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (var writer = format.open(out, objectMapper)) {
+            for (var stock : stocks) {
+                writer.write(stock);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static StockDto stock(int day) {
+        final var dateAt = OffsetDateTime.of(2024, 5, day, 0, 0, 0, 0, ZoneOffset.UTC);
+        return new StockDto("KO", dateAt, day, day + 1, day - 0.5, day + 0.5, day + 0.5, day * 1_000L, 0, 0, 0);
+    }
+}
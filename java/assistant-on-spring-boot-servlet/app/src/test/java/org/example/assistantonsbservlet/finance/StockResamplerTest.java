@@ -0,0 +1,73 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.db.stockmarket.model.StockBar;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.example.assistantonsbservlet.finance.StockSeriesFixtures.series;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockResamplerTest {
+    @Test
+    void testWeeklyBarsStartOnMonday() {
+        // given
+        final var series = series("KO", LocalDate.of(2024, 1, 3), 14, StockResamplerTest::bar);
+
+        // when
+        final var bars = StockResampler.resample(series, StockResolution.WEEKLY, null, null);
+
+        // then
+        assertEquals(3, bars.size());
+        assertEquals(LocalDate.of(2024, 1, 3), bars.get(0).dateAt().toLocalDate());
+        assertEquals(DayOfWeek.MONDAY, bars.get(1).dateAt().getDayOfWeek());
+        assertEquals(DayOfWeek.MONDAY, bars.get(2).dateAt().getDayOfWeek());
+    }
+
+    @Test
+    void testMonthlyBarAggregatesOhlcv() {
+        // given
+        final var series = series("KO", LocalDate.of(2024, 1, 1), 60, StockResamplerTest::bar);
+
+        // when
+        final var bars = StockResampler.resample(series, StockResolution.MONTHLY, null, null);
+
+        // then
+        assertEquals(2, bars.size());
+        final var january = bars.getFirst();
+        assertEquals(LocalDate.of(2024, 1, 1), january.dateAt().toLocalDate());
+        assertEquals(0.0, january.open());
+        assertEquals(31.0, january.high());
+        assertEquals(-1.0, january.low());
+        assertEquals(30.5, january.close());
+        assertEquals(465_000L, january.volume());
+        assertEquals(2.0, january.stockSplits());
+        assertEquals(0.0, bars.get(1).stockSplits());
+    }
+
+    @Test
+    void testRangeAndCoarserResolutions() {
+        // given
+        final var series = series("KO", LocalDate.of(2023, 12, 1), 365, StockResamplerTest::bar);
+
+        // then
+        assertEquals(2, StockResampler.resample(series, StockResolution.YEARLY, null, null).size());
+        assertEquals(5, StockResampler.resample(series, StockResolution.QUARTERLY, null, null).size());
+        final var firstHalf = StockResampler.resample(
+            series, StockResolution.MONTHLY, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 6, 30)
+        );
+        assertEquals(6, firstHalf.size());
+        assertEquals(LocalDate.of(2024, 1, 15), firstHalf.getFirst().dateAt().toLocalDate());
+        assertTrue(StockResampler.resample(series, StockResolution.MONTHLY, LocalDate.of(2030, 1, 1), null).isEmpty());
+    }
+
+    /**
+     * Rises by one a day and splits 2:1 on the 11th day.
+     */
+    private static StockBar bar(int day, LocalDate date) {
+        final double split = day == 10 ? 2 : 0;
+        return StockSeriesFixtures.bar(date, day, day + 1, day - 1, day + 0.5, day + 0.5, day * 1_000L, split);
+    }
+}
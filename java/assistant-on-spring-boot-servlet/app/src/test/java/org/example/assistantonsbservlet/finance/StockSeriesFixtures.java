@@ -0,0 +1,58 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.db.stockmarket.model.StockBar;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Daily {@link StockSeries} of the finance tests, one bar per calendar day from {@code start}.
+ */
+final class StockSeriesFixtures {
+    private StockSeriesFixtures() {
+    }
+
+    /**
+     * @param bar the bar of every day, null when the ticker did not trade that day
+     */
+    static StockSeries series(String ticker, LocalDate start, int days, DailyBar bar) {
+        final var builder = StockSeries.builder(ticker);
+        for (int day = 0; day < days; day++) {
+            final var stockBar = bar.of(day, start.plusDays(day));
+            if (stockBar != null) {
+                builder.add(stockBar);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param price open, high, low and close of every day, NaN when the ticker did not trade that day
+     */
+    static StockSeries flatSeries(String ticker, LocalDate start, int days, IntToDoubleFunction price) {
+        return series(ticker, start, days, (day, date) -> {
+            final double close = price.applyAsDouble(day);
+            return Double.isNaN(close) ? null : bar(date, close, close, close, close, close, 1_000L, 0);
+        });
+    }
+
+    /**
+     * Bar at midnight UTC without dividends and capital gains.
+     */
+    static StockBar bar(LocalDate date, double open, double high, double low, double close, double adjustedClose,
+                        long volume, double stockSplits) {
+        return new StockBar(
+            date.atStartOfDay().atOffset(ZoneOffset.UTC),
+            open, high, low, close, adjustedClose, volume, 0, stockSplits, 0
+        );
+    }
+
+    @FunctionalInterface
+    interface DailyBar {
+        /**
+         * @param day number of days since the start
+         */
+        StockBar of(int day, LocalDate date);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.assistantonsbservlet.finance;
+
+import org.example.db.stockmarket.model.StockBar;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.example.assistantonsbservlet.finance.StockSeriesFixtures.series;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockSeriesTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final ZoneOffset NEW_YORK_WINTER = ZoneOffset.ofHours(-5);
+    private static final ZoneOffset NEW_YORK_SUMMER = ZoneOffset.ofHours(-4);
+
+    @Test
+    void testRangeIsInclusiveAndOldestFirst() {
+        // given
+        final var series = series("KO", START, 400, StockSeriesTest::bar);
+
+        // when
+        final var stocks = series.range(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10));
+
+        // then
+        assertEquals(10, stocks.size());
+        assertEquals(LocalDate.of(2024, 3, 1), stocks.getFirst().dateAt().toLocalDate());
+        assertEquals(LocalDate.of(2024, 3, 10), stocks.getLast().dateAt().toLocalDate());
+        assertEquals("KO", stocks.getFirst().ticker());
+    }
+
+    @Test
+    void testRangeKeepsOffsetOfEachRow() {
+        // given
+        final var series = series("KO", LocalDate.of(2024, 3, 8), 5, StockSeriesTest::bar);
+
+        // when
+        final var stocks = series.range(null, null);
+
+        // then
+        assertEquals(5, stocks.size());
+        assertEquals(NEW_YORK_WINTER, stocks.get(1).dateAt().getOffset());
+        assertEquals(NEW_YORK_SUMMER, stocks.get(3).dateAt().getOffset());
+        assertEquals(OffsetDateTime.of(2024, 3, 11, 0, 0, 0, 0, NEW_YORK_SUMMER), stocks.get(3).dateAt());
+        assertEquals(3.0, stocks.get(3).open());
+        assertEquals(3_000L, stocks.get(3).volume());
+    }
+
+    @Test
+    void testRangeOutsideHistoryIsEmpty() {
+        // given
+        final var series = series("KO", START, 10, StockSeriesTest::bar);
+
+        // then
+        assertTrue(series.range(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31)).isEmpty());
+        assertTrue(series.range(LocalDate.of(2025, 1, 1), null).isEmpty());
+        assertTrue(series.range(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 4)).isEmpty());
+        assertEquals(0, series.indexOnOrAfter(LocalDate.of(2000, 1, 1)));
+        assertEquals(10, series.indexOnOrAfter(LocalDate.of(2030, 1, 1)));
+    }
+
+    @Test
+    void testCacheLoadsOnceAndEvictsLeastRecentlyUsed() {
+        // given
+        final long seriesBytes = series("A", START, 100, StockSeriesTest::bar).sizeInBytes();
+        final var cache = new StockSeriesCache(seriesBytes * 2, Duration.ofHours(1));
+        final var loads = new AtomicInteger();
+
+        // when
+        final var first = cache.get("A", ticker -> {
+            loads.incrementAndGet();
+            return series(ticker, START, 100, StockSeriesTest::bar);
+        });
+        final var cached = cache.get("A", _ -> {
+            throw new IllegalStateException();
+        });
+        cache.get("B", ticker -> series(ticker, START, 100, StockSeriesTest::bar));
+        cache.get("A", _ -> {
+            throw new IllegalStateException();
+        });
+        cache.get("C", ticker -> series(ticker, START, 100, StockSeriesTest::bar));
+
+        // then
+        assertEquals(1, loads.get());
+        assertSame(first, cached);
+        assertTrue(cache.contains("A"));
+        assertFalse(cache.contains("B"));
+        assertTrue(cache.contains("C"));
+        assertTrue(cache.sizeInBytes() <= seriesBytes * 2);
+    }
+
+    @Test
+    void testCacheDoesNotKeepSeriesOverBudget() {
+        // given
+        final var cache = new StockSeriesCache(1, Duration.ofHours(1));
+
+        // when
+        final var series = cache.get("KO", ticker -> series(ticker, START, 10, StockSeriesTest::bar));
+
+        // then
+        assertEquals(10, series.size());
+        assertFalse(cache.contains("KO"));
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    @Test
+    void testCacheReloadsSeriesPastTtl() {
+        // given
+        final var cache = new StockSeriesCache(Long.MAX_VALUE, Duration.ofNanos(1));
+        final var loads = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            cache.get("KO", ticker -> {
+                loads.incrementAndGet();
+                return series(ticker, START, 10, StockSeriesTest::bar);
+            });
+        }
+
+        // then
+        assertEquals(3, loads.get());
+        assertFalse(cache.contains("KO"));
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    @Test
+    void testEvictAllDropsSeriesAndLoadsStartedBefore() {
+        // given
+        final var cache = new StockSeriesCache(Long.MAX_VALUE, Duration.ofHours(1));
+        cache.get("A", ticker -> series(ticker, START, 10, StockSeriesTest::bar));
+
+        // when
+        final var loadedDuringEviction = cache.get("B", ticker -> {
+            cache.evictAll();
+            return series(ticker, START, 10, StockSeriesTest::bar);
+        });
+
+        // then
+        assertEquals(10, loadedDuringEviction.size());
+        assertFalse(cache.contains("A"));
+        assertFalse(cache.contains("B"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    /**
+     * Midnight in New York, which moves to summer time on 2024-03-10.
+     */
+    private static StockBar bar(int day, LocalDate date) {
+        final var offset = date.isBefore(LocalDate.of(2024, 3, 10)) ? NEW_YORK_WINTER : NEW_YORK_SUMMER;
+        return new StockBar(
+            date.atStartOfDay().atOffset(offset), day, day + 1, day - 1, day + 0.5, day + 0.25, day * 1_000L, 0, 0, 0
+        );
+    }
+}
@@ -4440,6 +4440,49 @@ class MathCalcTest {
             }
         }
 
+        static List<Arguments> symmetricEigenvaluesEigenvectorsArgs() {
+            return List.of(
+                Arguments.of(new double[][]{{2, 1}, {1, 2}}, new double[]{3, 1}),
+                Arguments.of(new double[][]{
+                    {4, 1, 2},
+                    {1, 3, 0},
+                    {2, 0, 5},
+                }, new double[]{6.66908, 3.47602, 1.85490}),
+                // correlation matrix of three tickers
+                Arguments.of(new double[][]{
+                    {1, 0.8, 0.3},
+                    {0.8, 1, 0.2},
+                    {0.3, 0.2, 1},
+                }, new double[]{1.93422, 0.87264, 0.19314}),
+                Arguments.of(new double[][]{{7}}, new double[]{7})
+            );
+        }
+
+        @ParameterizedTest
+        @MethodSource("symmetricEigenvaluesEigenvectorsArgs")
+        void testSymmetricEigenvaluesEigenvectors(double[][] matrix, double[] expectedEigenvalues) {
+            // when
+            final var result = MathCalc.LinearAlgebra.symmetricEigenvaluesEigenvectors(matrix);
+            // then
+            assertArrayEquals(expectedEigenvalues, result.getLeft(), DELTA5);
+            final double[][] eigenvectors = result.getRight();
+            for (int i = 0; i < expectedEigenvalues.length; i++) {
+                final double[] eigenvector = eigenvectors[i];
+                assertEquals(1, MathCalc.LinearAlgebra.vectorMagnitude(eigenvector), DELTA9);
+                final double[] scaled = MathCalc.LinearAlgebra.scaleEigenvector(result.getLeft()[i], eigenvector);
+                final double[] matrixVectorProd = MathCalc.LinearAlgebra.multiplyMatrixVector(matrix, eigenvector);
+                assertArrayEquals(matrixVectorProd, scaled, DELTA9);
+            }
+        }
+
+        @Test
+        void testExplainedVarianceRatio() {
+            // when
+            final double[] result = MathCalc.LinearAlgebra.explainedVarianceRatio(new double[]{3, 1});
+            // then
+            assertArrayEquals(new double[]{0.75, 0.25}, result, DELTA9);
+        }
+
         static List<Arguments> matrixTraceArgs() {
             return List.of(
                 // 2x2
@@ -0,0 +1,139 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.assistantonsbservlet.config.LogbookSinkProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpHeaders;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncSamplingSinkTest {
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncSamplingSink sink;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @Test
+    void testWriterDrainsOfferedExchanges() throws Exception {
+        // given
+        sink = new AsyncSamplingSink(properties(8, 1.0, List.of()), meterRegistry);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            sink.write(correlation(), request("/api/v1/substances", HttpHeaders.empty()), response());
+        }
+
+        // then
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter("logbook.sink.exchanges.written") < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, counter("logbook.sink.exchanges.written"));
+        assertEquals(0, counter("logbook.sink.exchanges.dropped"));
+        assertEquals(0, meterRegistry.get("logbook.sink.queue.size").gauge().value());
+    }
+
+    @Test
+    void testFullQueueDropsAndCloseWritesQueuedExchanges() throws Exception {
+        // given
+        sink = new AsyncSamplingSink(properties(2, 1.0, List.of()), meterRegistry);
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var blockingHeaders = Mockito.mock(HttpHeaders.class);
+        Mockito.when(blockingHeaders.entrySet()).thenAnswer(_ -> {
+            writing.countDown();
+            release.await();
+            return HttpHeaders.empty().entrySet();
+        });
+        sink.write(correlation(), request("/api/v1/substances", blockingHeaders), response());
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            sink.write(correlation(), request("/api/v1/substances", HttpHeaders.empty()), response());
+        }
+        final double queued = meterRegistry.get("logbook.sink.queue.size").gauge().value();
+        release.countDown();
+        sink.close();
+
+        // then
+        assertEquals(2, queued);
+        assertEquals(2, counter("logbook.sink.exchanges.dropped"));
+        assertEquals(3, counter("logbook.sink.exchanges.written"));
+        assertEquals(0, meterRegistry.get("logbook.sink.queue.size").gauge().value());
+    }
+
+    @Test
+    void testRouteSampleRate() throws Exception {
+        // given
+        final var routes = List.of(new LogbookSinkProperties.RouteSampleRate("/actuator/**", 0));
+        sink = new AsyncSamplingSink(properties(8, 1.0, routes), meterRegistry);
+
+        // when
+        sink.write(correlation(), request("/actuator/health", HttpHeaders.empty()), response());
+        sink.write(correlation(), request("/api/v1/substances", HttpHeaders.empty()), response());
+        sink.close();
+
+        // then
+        assertEquals(1, counter("logbook.sink.exchanges.sampled.out"));
+        assertEquals(1, counter("logbook.sink.exchanges.written"));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static LogbookSinkProperties properties(int queueCapacity, double sampleRate,
+                                                    List<LogbookSinkProperties.RouteSampleRate> routes) {
+        return new LogbookSinkProperties(true, queueCapacity, 1024, sampleRate, routes);
+    }
+
+    private static Correlation correlation() {
+        final var correlation = Mockito.mock(Correlation.class);
+        Mockito.when(correlation.getId()).thenReturn("c0ffee");
+        Mockito.when(correlation.getDuration()).thenReturn(Duration.ofMillis(3));
+        return correlation;
+    }
+
+    private static HttpRequest request(String path, HttpHeaders headers) throws IOException {
+        final var request = Mockito.mock(HttpRequest.class);
+        Mockito.when(request.getPath()).thenReturn(path);
+        Mockito.when(request.getMethod()).thenReturn("GET");
+        Mockito.when(request.getRequestUri()).thenReturn("http://localhost:8080" + path);
+        Mockito.when(request.getProtocolVersion()).thenReturn("HTTP/1.1");
+        Mockito.when(request.getHeaders()).thenReturn(headers);
+        Mockito.when(request.getBody()).thenReturn(new byte[0]);
+        return request;
+    }
+
+    private static HttpResponse response() throws IOException {
+        final var response = Mockito.mock(HttpResponse.class);
+        Mockito.when(response.getStatus()).thenReturn(200);
+        Mockito.when(response.getHeaders()).thenReturn(HttpHeaders.empty());
+        Mockito.when(response.getBody()).thenReturn(new byte[0]);
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.assistantonsbservlet.config.FormulaTimingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FormulaTimerTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testDisabledRegistersNoTimers() {
+        // given
+        final var formulaTimer = new FormulaTimer(new FormulaTimingProperties(false, 10), meterRegistry);
+
+        // when
+        final int result = formulaTimer.record("math", "sides", () -> 42);
+
+        // then
+        assertEquals(42, result);
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void testTimerPerFormula() {
+        // given
+        final var formulaTimer = new FormulaTimer(new FormulaTimingProperties(true, 10), meterRegistry);
+
+        // when
+        formulaTimer.record("right_triangle", "sides", () -> 1);
+        formulaTimer.record("right_triangle", "sides", () -> 2);
+        formulaTimer.record("right_triangle", "angle", () -> 3);
+        formulaTimer.record("cosine", null, () -> 4);
+
+        // then
+        assertEquals(2, timerCount("right_triangle", "sides"));
+        assertEquals(1, timerCount("right_triangle", "angle"));
+        assertEquals(1, timerCount("cosine", "none"));
+    }
+
+    @Test
+    void testFormulasOverCapAreRecordedAsOther() {
+        // given
+        final var formulaTimer = new FormulaTimer(new FormulaTimingProperties(true, 2), meterRegistry);
+
+        // when
+        formulaTimer.record("matrix", "a+b", () -> 1);
+        formulaTimer.record("matrix", "a*b", () -> 1);
+        formulaTimer.record("matrix", "det(a)", () -> 1);
+        formulaTimer.record("matrix", "inv(a)", () -> 1);
+        formulaTimer.record("matrix", "a+b", () -> 1);
+
+        // then
+        assertEquals(2, timerCount("matrix", "a+b"));
+        assertEquals(1, timerCount("matrix", "a*b"));
+        assertEquals(2, timerCount("matrix", FormulaTimer.OTHER_FORMULA));
+        assertNull(meterRegistry.find(FormulaTimer.METER_NAME).tag("formula", "det(a)").timer());
+    }
+
+    @Test
+    void testFailedCalculationRegistersNoTimer() {
+        // given
+        final var formulaTimer = new FormulaTimer(new FormulaTimingProperties(true, 10), meterRegistry);
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> formulaTimer.record("sine", "garbage", () -> {
+            throw new IllegalArgumentException();
+        }));
+
+        // then
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    private long timerCount(String calculator, String formula) {
+        return meterRegistry.get(FormulaTimer.METER_NAME)
+            .tag("calculator", calculator)
+            .tag("formula", formula)
+            .timer()
+            .count();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.assistantonsbservlet.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class HibernateStatisticsMeterBinderTest {
+    private AutoCloseable mockCloser;
+
+    @Mock
+    private ObjectProvider<EntityManagerFactory> emfProviderMock;
+    @Mock
+    private EntityManagerFactory emfMock;
+    @Mock
+    private SessionFactory sessionFactoryMock;
+    @Mock
+    private Statistics statisticsMock;
+    @Mock
+    private CacheRegionStatistics regionMock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mockCloser = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        Mockito.when(emfProviderMock.orderedStream()).thenReturn(Stream.of(emfMock));
+        Mockito.when(emfMock.unwrap(SessionFactory.class)).thenReturn(sessionFactoryMock);
+        Mockito.when(emfMock.getProperties()).thenReturn(Map.of("hibernate.persistenceUnitName", "pubchem-unit"));
+        Mockito.when(sessionFactoryMock.getStatistics()).thenReturn(statisticsMock);
+        Mockito.when(statisticsMock.isStatisticsEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockCloser.close();
+    }
+
+    @Test
+    void testRegionHitsAndMisses() {
+        // given
+        Mockito.when(statisticsMock.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"substances"});
+        Mockito.when(statisticsMock.getCacheRegionStatistics("substances")).thenReturn(regionMock);
+        Mockito.when(regionMock.getHitCount()).thenReturn(7L);
+        Mockito.when(regionMock.getMissCount()).thenReturn(3L);
+        Mockito.when(regionMock.getPutCount()).thenReturn(3L);
+
+        // when
+        new HibernateStatisticsMeterBinder(emfProviderMock).bindTo(meterRegistry);
+
+        // then
+        final var hits = meterRegistry.get("hibernate.cache.region.requests")
+            .tags("unit", "pubchem-unit", "region", "substances", "result", "hit")
+            .functionCounter();
+        final var misses = meterRegistry.get("hibernate.cache.region.requests")
+            .tags("region", "substances", "result", "miss")
+            .functionCounter();
+        assertEquals(7, hits.count());
+        assertEquals(3, misses.count());
+        assertEquals(3, meterRegistry.get("hibernate.cache.region.puts").functionCounter().count());
+    }
+
+    @Test
+    void testUnitWithoutSecondLevelCache() {
+        // given
+        Mockito.when(statisticsMock.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+
+        // when
+        new HibernateStatisticsMeterBinder(emfProviderMock).bindTo(meterRegistry);
+
+        // then
+        assertTrue(meterRegistry.find("hibernate.cache.region.requests").functionCounters().isEmpty());
+        assertEquals(1, meterRegistry.find("hibernate.flushes").functionCounters().size());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.assistantonsbservlet.observability;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JfrConversionServiceTest {
+    @Test
+    void testConvertDelegates() {
+        // given
+        final var conversionService = new JfrConversionService(new DefaultConversionService());
+
+        // when
+        final Integer result = conversionService.convert("42", Integer.class);
+
+        // then
+        assertEquals(42, result);
+    }
+
+    @Test
+    void testConvertEmitsEvent() throws Exception {
+        // given
+        final var conversionService = new JfrConversionService(new DefaultConversionService());
+        final var file = Files.createTempFile("conversion-", ".jfr");
+
+        // when
+        final List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            recording.enable(ConversionEvent.class);
+            recording.start();
+            conversionService.convert(List.of("1", "2", "3"), String.class);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> "org.example.assistant.Conversion".equals(event.getEventType().getName()))
+                .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // then
+        assertEquals(1, events.size());
+        final var event = events.getFirst();
+        assertEquals(String.class.getName(), event.getString("targetType"));
+        assertEquals(3, event.getInt("sourceItems"));
+    }
+
+    @Test
+    void testSizeOf() {
+        assertEquals(0, JfrConversionService.sizeOf(null));
+        assertEquals(1, JfrConversionService.sizeOf("value"));
+        assertEquals(2, JfrConversionService.sizeOf(List.of(1, 2)));
+        assertEquals(1, JfrConversionService.sizeOf(Map.of("a", 1)));
+        assertEquals(3, JfrConversionService.sizeOf(new double[3]));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.assistantonsbservlet.observability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTest {
+    @Test
+    void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, new MpscRingBuffer<Integer>(1).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+    }
+
+    @Test
+    void testOfferFailsWhenFull() {
+        // given
+        final var buffer = new MpscRingBuffer<Integer>(2);
+
+        // when
+        final boolean first = buffer.offer(1);
+        final boolean second = buffer.offer(2);
+        final boolean third = buffer.offer(3);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(3));
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        // given
+        final int producers = 4;
+        final int perProducer = 100_000;
+        final var buffer = new MpscRingBuffer<Integer>(1024);
+        final var accepted = new AtomicInteger();
+        final var start = new CountDownLatch(1);
+        final var done = new CountDownLatch(producers);
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(producers)) {
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            if (buffer.offer(producer * perProducer + i)) {
+                                accepted.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException _) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            start.countDown();
+            final int[] lastSeen = new int[producers];
+            Arrays.fill(lastSeen, -1);
+            int consumed = 0;
+            while (done.getCount() > 0 || !buffer.isEmpty()) {
+                final var value = buffer.poll();
+                if (value != null) {
+                    final int producer = value / perProducer;
+                    final int sequence = value % perProducer;
+                    // elements of one producer keep their order
+                    assertTrue(sequence > lastSeen[producer]);
+                    lastSeen[producer] = sequence;
+                    consumed++;
+                }
+            }
+
+            // then
+            assertEquals(accepted.get(), consumed);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.assistantonsbservlet.observability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SqlFingerprintTest {
+    @Test
+    void testSameShapeSharesFingerprint() {
+        // given
+        final var first = "SELECT * FROM find_all(0, 10)";
+        final var second = """
+            select *
+              from FIND_ALL(20,10) -- page 3
+            """;
+
+        // when
+        final var firstFingerprint = SqlFingerprint.of(first);
+        final var secondFingerprint = SqlFingerprint.of(second);
+
+        // then
+        assertEquals("select * from find_all(?+)", firstFingerprint.normalizedSql());
+        assertEquals(firstFingerprint, secondFingerprint);
+    }
+
+    @Test
+    void testLiteralsAreReplaced() {
+        // given
+        final var sql = "SELECT f FROM x f WHERE f.id IN (1, 2, 3) AND name = 'O''Brien' /* c */ AND v > 1.5e-3";
+
+        // when
+        final var fingerprint = SqlFingerprint.of(sql);
+
+        // then
+        assertEquals("select f from x f where f.id in (?+) and name = ? and v > ?", fingerprint.normalizedSql());
+    }
+
+    @Test
+    void testDigitsInIdentifiersAreKept() {
+        // given
+        final var sql = "select t1_0.ticker from stock t1_0 where t1_0.ticker=? offset ? rows fetch first ? rows only";
+
+        // when
+        final var fingerprint = SqlFingerprint.of(sql);
+
+        // then
+        assertEquals(sql, fingerprint.normalizedSql());
+        assertNotEquals(SqlFingerprint.of("select 1").id(), fingerprint.id());
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.assistantonsbservlet.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.config.ConcurrencyLimitProperties;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRejectsOverLimit() throws Exception {
+        // given
+        final var limiter = limiter(2, 2, 2);
+        final var started = new CountDownLatch(2);
+        final var release = new CountDownLatch(1);
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> limiter.execute(() -> {
+                    started.countDown();
+                    await(release);
+                    return 1;
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // then
+            final var exception = assertThrows(AppException.class, () -> limiter.execute(() -> 1));
+            assertEquals(ErrorCode.SERVICE_OVERLOADED, exception.getErrorCode());
+            assertEquals(2, limiter.getInFlight());
+            release.countDown();
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, meterRegistry.get(AdaptiveConcurrencyLimiter.REJECTED_METER_NAME).counter().count());
+    }
+
+    @Test
+    void testFailureReleasesSlot() {
+        // given
+        final var limiter = limiter(1, 1, 1);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException();
+        }));
+
+        // then
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.execute(() -> 1));
+    }
+
+    @Test
+    void testFailureShrinksLimit() {
+        // given
+        final var limiter = limiter(20, 5, 100);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+                throw new IllegalStateException("Connection is not available, request timed out");
+            }));
+        }
+
+        // then
+        assertEquals(14, limiter.getLimit());
+        for (int i = 0; i < 50; i++) {
+            limiter.onFailure();
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void testClientErrorKeepsLimit() {
+        // given
+        final var limiter = limiter(20, 5, 100);
+
+        // when
+        assertThrows(AppException.class, () -> limiter.execute(() -> {
+            throw new AppException(ErrorCode.ENTITY_NOT_FOUND);
+        }));
+
+        // then
+        assertEquals(20, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        // given
+        final var limiter = limiter(20, 5, 100);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(MILLIS, limiter.getLimit());
+        }
+
+        // then
+        assertTrue(limiter.getLimit() > 20);
+        final var limitGauge = meterRegistry.get(AdaptiveConcurrencyLimiter.LIMIT_METER_NAME).gauge();
+        assertEquals(limiter.getLimit(), limitGauge.value());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        // given
+        final var limiter = limiter(20, 5, 100);
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(MILLIS, limiter.getLimit());
+        }
+        final int warmLimit = limiter.getLimit();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(20 * MILLIS, limiter.getLimit());
+        }
+
+        // then
+        assertTrue(limiter.getLimit() < warmLimit);
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    @Test
+    void testLimitIsKeptWhenFarBelowIt() {
+        // given
+        final var limiter = limiter(20, 5, 100);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(MILLIS, 1);
+        }
+
+        // then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        final var properties = new ConcurrencyLimitProperties(true, initialLimit, minLimit, maxLimit, 0.2, 1.5, 600);
+        return new AdaptiveConcurrencyLimiter("test", properties, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
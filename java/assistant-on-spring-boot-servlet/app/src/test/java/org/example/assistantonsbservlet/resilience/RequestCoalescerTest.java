@@ -0,0 +1,144 @@
+package org.example.assistantonsbservlet.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.assistantonsbservlet.api.ErrorCode;
+import org.example.assistantonsbservlet.config.CoalescingProperties;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneCall() throws Exception {
+        // given
+        final var coalescer = coalescer(true, Duration.ZERO);
+        final int callers = 8;
+        final var calls = new AtomicInteger();
+        final var leaderStarted = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final List<Future<String>> results = new ArrayList<>();
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            results.add(executor.submit(() -> coalescer.execute("AAPL", () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "quotes";
+            })));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("AAPL", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (meterRegistry.get(RequestCoalescer.COALESCED_METER_NAME).counter().count() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // then
+            for (var result : results) {
+                assertEquals("quotes", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, calls.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testFailureIsNotKept() {
+        // given
+        final var coalescer = coalescer(true, Duration.ofMinutes(1));
+        final var failure = new AppException(ErrorCode.UNKNOWN);
+
+        // when
+        final var thrown = assertThrows(AppException.class, () -> coalescer.execute("key", () -> {
+            throw failure;
+        }));
+        final String result = coalescer.execute("key", () -> "value");
+
+        // then
+        assertSame(failure, thrown);
+        assertEquals("value", result);
+    }
+
+    @Test
+    void testResultIsKeptForTtl() {
+        // given
+        final var coalescer = coalescer(true, Duration.ofMinutes(1));
+
+        // when
+        final String first = coalescer.execute("key", () -> "first");
+        final String second = coalescer.execute("key", () -> "second");
+        final String otherKey = coalescer.execute("other", () -> "third");
+
+        // then
+        assertEquals("first", first);
+        assertEquals("first", second);
+        assertEquals("third", otherKey);
+    }
+
+    @Test
+    void testResultIsDroppedWithoutTtl() {
+        // given
+        final var coalescer = coalescer(true, Duration.ZERO);
+
+        // when
+        coalescer.execute("key", () -> "first");
+        final String second = coalescer.execute("key", () -> "second");
+
+        // then
+        assertEquals("second", second);
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testDisabledCallsThrough() {
+        // given
+        final var coalescer = coalescer(false, Duration.ofMinutes(1));
+
+        // when
+        coalescer.execute("key", () -> "first");
+        final String second = coalescer.execute("key", () -> "second");
+
+        // then
+        assertEquals("second", second);
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    private RequestCoalescer coalescer(boolean enabled, Duration ttl) {
+        return new RequestCoalescer(new CoalescingProperties(enabled, ttl), meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,10 +3,17 @@ package org.example.assistantonsbservlet.svc.chemistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.example.assistantonsbservlet.api.ErrorCode;
 import org.example.assistantonsbservlet.api.chemistry.model.FoodAdditiveSubstanceResponseDto;
 import org.example.assistantonsbservlet.chemistry.PubChemFdaFacade;
 import org.example.assistantonsbservlet.convert.FoodAdditiveSubstanceToDtoListConverter;
+import org.example.assistantonsbservlet.convert.FoodAdditiveSubstanceTupleToDtoConverter;
+import org.example.assistantonsbservlet.exception.AppException;
+import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
 import org.example.db.pubchem.fda.repo.FoodAdditiveSubstanceRepository;
+import org.hibernate.Session;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,7 +29,10 @@ import org.springframework.core.convert.support.DefaultConversionService;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +50,8 @@ class FoodAdditiveSubstanceFacadeTest {
     private EntityManager emMock;
     @Mock
     private EntityTransaction txMock;
+    @Mock
+    private Session sessionMock;
 
     @Mock
     private FoodAdditiveSubstanceRepository repositoryMock;
@@ -50,8 +62,10 @@ class FoodAdditiveSubstanceFacadeTest {
     void setUp() {
         mockCloser = MockitoAnnotations.openMocks(this);
         ((DefaultConversionService) conversionService).addConverter(new FoodAdditiveSubstanceToDtoListConverter());
+        ((DefaultConversionService) conversionService).addConverter(new FoodAdditiveSubstanceTupleToDtoConverter());
 
-        Mockito.when(appContextMock.getBean(
+        // Lenient as input validation fails before the transaction is opened
+        Mockito.lenient().when(appContextMock.getBean(
                 Mockito.eq(FoodAdditiveSubstanceRepository.class), Mockito.any(EntityManager.class)
             ))
             .thenReturn(repositoryMock);
@@ -61,8 +75,9 @@ class FoodAdditiveSubstanceFacadeTest {
         facade = new PubChemFdaFacade(appContextMock);
         facade.setEmf(emfMock);
 
-        Mockito.when(emfMock.createEntityManager()).thenReturn(emMock);
-        Mockito.when(emMock.getTransaction()).thenReturn(txMock);
+        Mockito.lenient().when(emfMock.createEntityManager()).thenReturn(emMock);
+        Mockito.lenient().when(emMock.getTransaction()).thenReturn(txMock);
+        Mockito.lenient().when(emMock.unwrap(Session.class)).thenReturn(sessionMock);
     }
 
     @AfterEach
@@ -82,6 +97,7 @@ class FoodAdditiveSubstanceFacadeTest {
         // then
         Mockito.verify(emfMock, Mockito.only()).createEntityManager();
         Mockito.verify(emMock, Mockito.atMostOnce()).getTransaction();
+        Mockito.verify(sessionMock).setDefaultReadOnly(true);
         Mockito.verify(txMock, Mockito.atMostOnce()).begin();
         Mockito.verify(txMock, Mockito.atMostOnce()).commit();
         Mockito.verify(repositoryMock, Mockito.only()).findAll(0, 50);
@@ -91,4 +107,79 @@ class FoodAdditiveSubstanceFacadeTest {
         assertNotNull(dataList);
         assertTrue(dataList.isEmpty());
     }
+
+    @Test
+    void testGetAllAfterCid() {
+        // given
+        final var substance = new FoodAdditiveSubstance();
+        substance.setCompoundCid(962);
+        substance.setName("Water");
+        Mockito.when(repositoryMock.findAllAfter(100, 50))
+            .thenReturn(List.of(substance));
+
+        // when
+        final var dataList = facade.getAll(3, 50, null, 100);
+
+        // then
+        Mockito.verify(repositoryMock, Mockito.only()).findAllAfter(100, 50);
+        assertEquals(1, dataList.size());
+        assertEquals(962, dataList.getFirst().compoundCid());
+        assertEquals("Water", dataList.getFirst().name());
+    }
+
+    @Test
+    void testGetAllFieldsSelectsCompoundCidFirst() {
+        // given
+        final var tupleMock = Mockito.mock(Tuple.class);
+        final var cidElement = element("compoundCid");
+        final var formulaElement = element("molecularFormula");
+        Mockito.when(tupleMock.getElements()).thenReturn(List.of(cidElement, formulaElement));
+        Mockito.when(tupleMock.get(cidElement)).thenReturn(962);
+        Mockito.when(tupleMock.get(formulaElement)).thenReturn("H2O");
+        Mockito.when(tupleMock.get("compoundCid", Integer.class)).thenReturn(962);
+        Mockito.when(repositoryMock.findFields(List.of("compoundCid", "molecularFormula"), null, 50, 50))
+            .thenReturn(List.of(tupleMock));
+
+        // when
+        final var dataList = facade.getAll(2, 50, List.of("molecularFormula", "compoundCid"), null);
+
+        // then
+        Mockito.verify(repositoryMock, Mockito.only())
+            .findFields(List.of("compoundCid", "molecularFormula"), null, 50, 50);
+        assertEquals(1, dataList.size());
+        assertEquals(962, dataList.getFirst().compoundCid());
+        assertEquals("H2O", dataList.getFirst().molecularFormula());
+        assertNull(dataList.getFirst().synonyms());
+    }
+
+    @Test
+    void testGetAllUnknownField() {
+        // when
+        final var exception = assertThrows(
+            AppException.class, () -> facade.getAll(1, 50, List.of("name", "name; DROP TABLE"), null)
+        );
+
+        // then
+        assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+        Mockito.verifyNoInteractions(repositoryMock);
+    }
+
+    @Test
+    void testSearchLimitOutOfRange() {
+        // when
+        final var exception = assertThrows(
+            AppException.class, () -> facade.search("acid", PubChemFdaFacade.MAX_SEARCH_LIMIT + 1)
+        );
+
+        // then
+        assertEquals(ErrorCode.INVALID_INPUT, exception.getErrorCode());
+        Mockito.verifyNoInteractions(emfMock);
+    }
+
+    private static TupleElement<Object> element(String alias) {
+        @SuppressWarnings("unchecked")
+        final TupleElement<Object> element = Mockito.mock(TupleElement.class);
+        Mockito.when(element.getAlias()).thenReturn(alias);
+        return element;
+    }
 }
@@ -0,0 +1,19 @@
+package org.example.db.pubchem.fda.descriptor;
+
+/**
+ * Substances read in one keyset page, covering the CIDs after {@code afterCid} up to {@code lastCid}.
+ * The ranges of consecutive batches are adjacent, so the recorded ones tell where a run stopped.
+ *
+ * @param cids   ascending
+ * @param smiles the SMILES of each CID
+ */
+record DescriptorBatch(int afterCid, int lastCid, int[] cids, String[] smiles) {
+    static final DescriptorBatch END = new DescriptorBatch(-1, -1, new int[0], new String[0]);
+
+    /**
+     * @return whether this is {@link #END}, sent once every substance is read to stop a worker
+     */
+    boolean isEnd() {
+        return afterCid < 0;
+    }
+}
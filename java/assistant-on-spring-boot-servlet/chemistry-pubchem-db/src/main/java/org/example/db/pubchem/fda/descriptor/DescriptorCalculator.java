@@ -0,0 +1,108 @@
+package org.example.db.pubchem.fda.descriptor;
+
+import org.openscience.cdk.DefaultChemObjectBuilder;
+import org.openscience.cdk.aromaticity.Aromaticity;
+import org.openscience.cdk.aromaticity.ElectronDonation;
+import org.openscience.cdk.exception.CDKException;
+import org.openscience.cdk.graph.Cycles;
+import org.openscience.cdk.interfaces.IAtomContainer;
+import org.openscience.cdk.interfaces.IMolecularFormula;
+import org.openscience.cdk.qsar.IMolecularDescriptor;
+import org.openscience.cdk.qsar.descriptors.molecular.HBondAcceptorCountDescriptor;
+import org.openscience.cdk.qsar.descriptors.molecular.HBondDonorCountDescriptor;
+import org.openscience.cdk.qsar.descriptors.molecular.RotatableBondsCountDescriptor;
+import org.openscience.cdk.qsar.descriptors.molecular.TPSADescriptor;
+import org.openscience.cdk.qsar.descriptors.molecular.XLogPDescriptor;
+import org.openscience.cdk.qsar.result.DoubleResult;
+import org.openscience.cdk.qsar.result.IntegerResult;
+import org.openscience.cdk.smiles.SmilesParser;
+import org.openscience.cdk.tools.manipulator.AtomContainerManipulator;
+import org.openscience.cdk.tools.manipulator.MolecularFormulaManipulator;
+
+import java.util.List;
+
+/**
+ * Computes a set of {@link MolecularDescriptor}s from a SMILES, parsing it once for all of them.
+ * <p>
+ * The SMILES parser and the CDK descriptors keep state between calls, every worker thread owns its calculator.
+ */
+final class DescriptorCalculator {
+    private final List<MolecularDescriptor> descriptors;
+    private final SmilesParser parser = new SmilesParser(DefaultChemObjectBuilder.getInstance());
+    private final Aromaticity aromaticity = new Aromaticity(
+        ElectronDonation.daylight(), Cycles.or(Cycles.all(), Cycles.all(6))
+    );
+    private final IMolecularDescriptor xlogp = descriptor(new XLogPDescriptor());
+    private final IMolecularDescriptor polarArea = descriptor(new TPSADescriptor());
+    private final IMolecularDescriptor hBondDonors = descriptor(new HBondDonorCountDescriptor());
+    private final IMolecularDescriptor hBondAcceptors = descriptor(new HBondAcceptorCountDescriptor());
+    private final IMolecularDescriptor rotatableBonds = descriptor(new RotatableBondsCountDescriptor());
+
+    DescriptorCalculator(List<MolecularDescriptor> descriptors) {
+        this.descriptors = descriptors;
+    }
+
+    /**
+     * A structure CDK fails on with a runtime exception counts as unparsable, one row must not stop the run.
+     *
+     * @return a value per descriptor in the order they were given, null for a descriptor CDK could not compute,
+     *     or null when the SMILES cannot be parsed
+     */
+    Object[] calculate(String smiles) {
+        try {
+            final IAtomContainer molecule = parser.parseSmiles(smiles);
+            AtomContainerManipulator.percieveAtomTypesAndConfigureAtoms(molecule);
+            aromaticity.apply(molecule);
+            final var formula = MolecularFormulaManipulator.getMolecularFormula(molecule);
+            final var values = new Object[descriptors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = value(descriptors.get(i), molecule, formula);
+            }
+            return values;
+            // CHECKSTYLE:OFF: IllegalCatch
+        } catch (CDKException | RuntimeException e) {
+            return null;
+        }
+        // CHECKSTYLE:ON: IllegalCatch
+    }
+
+    private Object value(MolecularDescriptor descriptor, IAtomContainer molecule, IMolecularFormula formula) {
+        return switch (descriptor) {
+            case MOLECULAR_FORMULA -> MolecularFormulaManipulator.getString(formula);
+            case MOLECULAR_WEIGHT ->
+                MolecularFormulaManipulator.getMass(formula, MolecularFormulaManipulator.MolWeight);
+            case EXACT_MASS, MONOISOTOPIC_MASS ->
+                MolecularFormulaManipulator.getMass(formula, MolecularFormulaManipulator.MonoIsotopic);
+            case CHARGE -> AtomContainerManipulator.getTotalFormalCharge(molecule);
+            case HEAVY_ATOM_COUNT -> AtomContainerManipulator.getHeavyAtoms(molecule).size();
+            // One decimal, as PubChem reports them
+            case XLOGP -> roundedDouble(xlogp, molecule);
+            case POLAR_AREA -> roundedDouble(polarArea, molecule);
+            case H_BOND_DONOR_COUNT -> integer(hBondDonors, molecule);
+            case H_BOND_ACCEPTOR_COUNT -> integer(hBondAcceptors, molecule);
+            case ROTATABLE_BOND_COUNT -> integer(rotatableBonds, molecule);
+        };
+    }
+
+    /**
+     * @return null when the descriptor failed, CDK reports it in the value instead of throwing
+     */
+    private static Double roundedDouble(IMolecularDescriptor descriptor, IAtomContainer molecule) {
+        final var value = descriptor.calculate(molecule);
+        if (value.getException() != null) {
+            return null;
+        }
+        final double result = ((DoubleResult) value.getValue()).doubleValue();
+        return Double.isFinite(result) ? Math.round(result * 10) / 10.0 : null;
+    }
+
+    private static Integer integer(IMolecularDescriptor descriptor, IAtomContainer molecule) {
+        final var value = descriptor.calculate(molecule);
+        return value.getException() != null ? null : ((IntegerResult) value.getValue()).intValue();
+    }
+
+    private static IMolecularDescriptor descriptor(IMolecularDescriptor descriptor) {
+        descriptor.initialise(DefaultChemObjectBuilder.getInstance());
+        return descriptor;
+    }
+}
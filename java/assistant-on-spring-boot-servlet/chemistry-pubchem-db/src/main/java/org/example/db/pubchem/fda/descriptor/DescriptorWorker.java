@@ -0,0 +1,127 @@
+package org.example.db.pubchem.fda.descriptor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Computes the descriptors of the batches it takes from the shared queue with its own
+ * {@link DescriptorCalculator} and writes them over its own connection. The updates of a batch go in one
+ * JDBC batch, committed together with the {@code food_additive_descriptor_batch} checkpoint of the batch.
+ * <p>
+ * A descriptor that was already set is kept unless the run overwrites, and a value CDK could not compute
+ * never replaces one.
+ */
+final class DescriptorWorker implements Callable<DescriptorWorker.Counts> {
+    private final Connection connection;
+    private final BlockingQueue<DescriptorBatch> queue;
+    private final List<MolecularDescriptor> descriptors;
+    private final DescriptorCalculator calculator;
+    private final String run;
+    private final String updateSql;
+    private final String checkpointSql;
+
+    DescriptorWorker(Connection connection, BlockingQueue<DescriptorBatch> queue,
+                     List<MolecularDescriptor> descriptors, String schema, String run, boolean overwrite) {
+        this.connection = connection;
+        this.queue = queue;
+        this.descriptors = descriptors;
+        this.calculator = new DescriptorCalculator(descriptors);
+        this.run = run;
+        this.updateSql = updateSql(descriptors, schema, overwrite);
+        this.checkpointSql = "INSERT INTO " + schema + ".food_additive_descriptor_batch (run, after_cid, last_cid, "
+            + "row_count, invalid_count) VALUES (?, ?, ?, ?, ?)";
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            close(connection, e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Counts call() throws SQLException, InterruptedException {
+        long rows = 0;
+        long invalid = 0;
+        try (connection;
+             var update = connection.prepareStatement(updateSql);
+             var checkpoint = connection.prepareStatement(checkpointSql)) {
+            DescriptorBatch batch;
+            while (!(batch = queue.take()).isEnd()) {
+                final int batchInvalid = write(update, checkpoint, batch);
+                rows += batch.cids().length;
+                invalid += batchInvalid;
+            }
+        }
+        return new Counts(rows, invalid);
+    }
+
+    /**
+     * @return number of SMILES that could not be parsed
+     */
+    private int write(PreparedStatement update, PreparedStatement checkpoint, DescriptorBatch batch)
+        throws SQLException {
+        int invalid = 0;
+        try {
+            for (int i = 0; i < batch.cids().length; i++) {
+                final Object[] values = calculator.calculate(batch.smiles()[i]);
+                if (values == null) {
+                    invalid++;
+                    continue;
+                }
+                for (int column = 0; column < values.length; column++) {
+                    if (values[column] == null) {
+                        update.setNull(column + 1, descriptors.get(column).sqlType());
+                    } else {
+                        update.setObject(column + 1, values[column]);
+                    }
+                }
+                update.setInt(values.length + 1, batch.cids()[i]);
+                update.addBatch();
+            }
+            update.executeBatch();
+            checkpoint.setString(1, run);
+            checkpoint.setInt(2, batch.afterCid());
+            checkpoint.setInt(3, batch.lastCid());
+            checkpoint.setInt(4, batch.cids().length);
+            checkpoint.setInt(5, invalid);
+            checkpoint.executeUpdate();
+            connection.commit();
+            return invalid;
+        } catch (SQLException e) {
+            update.clearBatch();
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private static void close(Connection connection, SQLException failure) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static String updateSql(List<MolecularDescriptor> descriptors, String schema, boolean overwrite) {
+        final var set = new StringBuilder();
+        for (var descriptor : descriptors) {
+            final String column = descriptor.column();
+            if (!set.isEmpty()) {
+                set.append(", ");
+            }
+            set.append(column).append(" = ")
+                .append(overwrite ? "COALESCE(?, " + column + ")" : "COALESCE(" + column + ", ?)");
+        }
+        return "UPDATE " + schema + ".food_additive_substance SET " + set + " WHERE compound_cid = ?";
+    }
+
+    /**
+     * @param invalid substances whose SMILES could not be parsed
+     */
+    record Counts(long rows, long invalid) {
+    }
+}
@@ -0,0 +1,265 @@
+package org.example.db.pubchem.fda.descriptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the descriptors of {@code food_additive_substance} that PubChem did not provide, such as {@code xlogp},
+ * {@code polar_area} and the H-bond counts of the compounds added by hand, from their SMILES with CDK.
+ * <p>
+ * One thread reads the substances with a SMILES and a missing descriptor in keyset pages by CID, several
+ * {@link DescriptorWorker}s parse and compute them and write them back, each with its own parser and
+ * connection. The queue holds a few pages, when it is full the reader waits, so memory stays bounded by
+ * (workers + queue capacity) * batch size substances.
+ * <p>
+ * Written pages are recorded in {@code food_additive_descriptor_batch}. Running the command again with the same
+ * descriptors after an interrupted run resumes after the last CID below which every page is written. A run that
+ * completes forgets its checkpoints, so the next one reads every substance again, including those added since
+ * with lower CIDs. {@code --overwrite} recomputes the descriptors that are set too, {@code --restart} forgets
+ * the checkpoints of the run.
+ * <pre>
+ * PGHOST=localhost PGPORT=5432 PGDATABASE=assistant_datahub PGUSER=pubchem PGPASSWORD=... \
+ *   ./gradlew :chemistry-pubchem-db:precomputeDescriptors --args="--workers=4 --descriptors=xlogp,polarArea"
+ * </pre>
+ * Options: {@code --workers}, {@code --batch-size}, {@code --queue-capacity}, {@code --descriptors},
+ * {@code --schema}, {@code --overwrite} and {@code --restart}. Evict the second-level cache of the application
+ * afterwards, {@code DELETE /actuator/pubchemcache}.
+ */
+public final class FoodAdditiveDescriptorPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FoodAdditiveDescriptorPipeline.class);
+    private static final long PROGRESS_BATCHES = 100;
+    private static final long OFFER_TIMEOUT_MILLIS = 500;
+
+    private final List<MolecularDescriptor> descriptors;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final String schema;
+    private final boolean overwrite;
+    private final boolean restart;
+
+    private FoodAdditiveDescriptorPipeline(List<MolecularDescriptor> descriptors, int workers, int batchSize,
+                                           int queueCapacity, String schema, boolean overwrite, boolean restart) {
+        this.descriptors = descriptors;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.schema = schema;
+        this.overwrite = overwrite;
+        this.restart = restart;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<MolecularDescriptor> descriptors = Arrays.asList(MolecularDescriptor.values());
+        int workers = Runtime.getRuntime().availableProcessors();
+        int batchSize = 1_000;
+        int queueCapacity = 2;
+        String schema = "pubchem";
+        boolean overwrite = false;
+        boolean restart = false;
+        for (var arg : args) {
+            final String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--descriptors" -> descriptors = MolecularDescriptor.parse(option[1]);
+                case "--workers" -> workers = Integer.parseInt(option[1]);
+                case "--batch-size" -> batchSize = Integer.parseInt(option[1]);
+                case "--queue-capacity" -> queueCapacity = Integer.parseInt(option[1]);
+                case "--schema" -> schema = option[1];
+                case "--overwrite" -> overwrite = true;
+                case "--restart" -> restart = true;
+                default -> throw new IllegalArgumentException("Usage: [--descriptors=xlogp,polarArea] [--workers=4] "
+                    + "[--batch-size=1000] [--queue-capacity=2] [--schema=pubchem] [--overwrite] [--restart]");
+            }
+        }
+        if (descriptors.isEmpty() || workers < 1 || batchSize < 1 || queueCapacity < 1
+            || !schema.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid options");
+        }
+        new FoodAdditiveDescriptorPipeline(descriptors, workers, batchSize, queueCapacity, schema, overwrite, restart)
+            .run();
+    }
+
+    private void run() throws SQLException, InterruptedException, ExecutionException {
+        final long startedAt = System.nanoTime();
+        final String run = descriptors.stream().map(MolecularDescriptor::fieldName).collect(Collectors.joining(","))
+            + (overwrite ? ":overwrite" : ":missing");
+        final BlockingQueue<DescriptorBatch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final List<Future<DescriptorWorker.Counts>> results = new ArrayList<>(workers);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (executor; var connection = connect()) {
+            try {
+                final int resumeAfter = prepare(connection, run);
+                if (resumeAfter > 0) {
+                    LOGGER.info("Resume {} after CID {}", run, resumeAfter);
+                }
+                for (int worker = 0; worker < workers; worker++) {
+                    results.add(executor.submit(newWorker(queue, run)));
+                }
+                final long batches = read(connection, resumeAfter, queue, results);
+                for (int worker = 0; worker < workers; worker++) {
+                    send(queue, results, DescriptorBatch.END);
+                }
+
+                long rows = 0;
+                long invalid = 0;
+                for (var result : results) {
+                    final var counts = result.get();
+                    rows += counts.rows();
+                    invalid += counts.invalid();
+                }
+                complete(connection, run);
+                final long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+                LOGGER.info("Computed {} for {} substances in {} batches in {} s ({} substances/s), {} invalid SMILES",
+                    run, rows, batches, seconds, rows / seconds, invalid);
+            } catch (SQLException | InterruptedException | ExecutionException | RuntimeException e) {
+                // Workers wait on the queue, stop them before the executor waits for them
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private DescriptorWorker newWorker(BlockingQueue<DescriptorBatch> queue, String run) throws SQLException {
+        return new DescriptorWorker(connect(), queue, descriptors, schema, run, overwrite);
+    }
+
+    /**
+     * Creates the checkpoint table if needed and drops the checkpoints past the resume point, their pages
+     * are read and written again.
+     *
+     * @return the CID to read after, every substance up to it was written by earlier runs
+     */
+    private int prepare(Connection connection, String run) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + schema + ".food_additive_descriptor_batch ("
+                + "run text NOT NULL, after_cid int NOT NULL, last_cid int NOT NULL, row_count int NOT NULL, "
+                + "invalid_count int NOT NULL, written_at timestamptz NOT NULL DEFAULT now(), "
+                + "PRIMARY KEY (run, after_cid))");
+        }
+        try (var delete = connection.prepareStatement(
+            "DELETE FROM " + schema + ".food_additive_descriptor_batch WHERE run = ? AND after_cid >= ?");
+             var select = connection.prepareStatement("SELECT after_cid, last_cid FROM " + schema
+                 + ".food_additive_descriptor_batch WHERE run = ? ORDER BY after_cid")) {
+            int resumeAfter = 0;
+            if (!restart) {
+                select.setString(1, run);
+                try (var resultSet = select.executeQuery()) {
+                    // Pages written by workers out of order leave gaps, only the part before the first one counts
+                    while (resultSet.next() && resultSet.getInt(1) <= resumeAfter) {
+                        resumeAfter = Math.max(resumeAfter, resultSet.getInt(2));
+                    }
+                }
+            }
+            delete.setString(1, run);
+            delete.setInt(2, resumeAfter);
+            delete.executeUpdate();
+            return resumeAfter;
+        }
+    }
+
+    /**
+     * Drops the checkpoints of a run whose every page was written.
+     */
+    private void complete(Connection connection, String run) throws SQLException {
+        try (var delete = connection.prepareStatement(
+            "DELETE FROM " + schema + ".food_additive_descriptor_batch WHERE run = ?")) {
+            delete.setString(1, run);
+            delete.executeUpdate();
+        }
+    }
+
+    /**
+     * @return number of batches sent
+     */
+    private long read(Connection connection, int resumeAfter, BlockingQueue<DescriptorBatch> queue,
+                      List<Future<DescriptorWorker.Counts>> results)
+        throws SQLException, InterruptedException, ExecutionException {
+        final String missing = overwrite ? "" : descriptors.stream()
+            .map(descriptor -> descriptor.column() + " IS NULL")
+            .collect(Collectors.joining(" OR ", " AND (", ")"));
+        long batches = 0;
+        try (var select = connection.prepareStatement("SELECT compound_cid, smiles FROM " + schema
+            + ".food_additive_substance WHERE compound_cid > ? AND smiles IS NOT NULL" + missing
+            + " ORDER BY compound_cid LIMIT ?")) {
+            int afterCid = resumeAfter;
+            DescriptorBatch batch;
+            do {
+                select.setInt(1, afterCid);
+                select.setInt(2, batchSize);
+                batch = page(select, afterCid);
+                if (batch.cids().length > 0) {
+                    send(queue, results, batch);
+                    afterCid = batch.lastCid();
+                    if (++batches % PROGRESS_BATCHES == 0) {
+                        LOGGER.info("Read {} batches up to CID {}", batches, afterCid);
+                    }
+                }
+            } while (batch.cids().length == batchSize);
+        }
+        return batches;
+    }
+
+    private static DescriptorBatch page(PreparedStatement select, int afterCid) throws SQLException {
+        final var cids = new ArrayList<Integer>();
+        final var smiles = new ArrayList<String>();
+        try (var resultSet = select.executeQuery()) {
+            while (resultSet.next()) {
+                cids.add(resultSet.getInt(1));
+                smiles.add(resultSet.getString(2));
+            }
+        }
+        final int lastCid = cids.isEmpty() ? afterCid : cids.getLast();
+        return new DescriptorBatch(afterCid, lastCid, cids.stream().mapToInt(Integer::intValue).toArray(),
+            smiles.toArray(String[]::new));
+    }
+
+    /**
+     * Blocks while the queue is full, failing fast if a worker has died.
+     */
+    private static void send(BlockingQueue<DescriptorBatch> queue, List<Future<DescriptorWorker.Counts>> results,
+                             DescriptorBatch batch) throws InterruptedException, ExecutionException {
+        while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            for (var result : results) {
+                if (result.isDone()) {
+                    result.get();
+                    throw new IllegalStateException("A worker stopped");
+                }
+            }
+        }
+    }
+
+    /**
+     * Connects with the libpq environment variables, as {@code psql} does.
+     */
+    private static Connection connect() throws SQLException {
+        final var url = "jdbc:postgresql://" + env("PGHOST", "localhost") + ":" + env("PGPORT", "5432")
+            + "/" + env("PGDATABASE", "assistant_datahub");
+        final var properties = new Properties();
+        properties.setProperty("user", env("PGUSER", "postgres"));
+        properties.setProperty("password", env("PGPASSWORD", ""));
+        properties.setProperty("ApplicationName", "food-additive-descriptors");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static String env(String name, String defaultValue) {
+        final String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.db.pubchem.fda.descriptor;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columns of {@code food_additive_substance} that {@link DescriptorCalculator} derives from the SMILES,
+ * named after the fields of {@code FoodAdditiveSubstance}.
+ */
+enum MolecularDescriptor {
+    MOLECULAR_FORMULA("molecularFormula", "molecular_formula", Types.VARCHAR),
+    MOLECULAR_WEIGHT("molecularWeight", "molecular_weight", Types.DOUBLE),
+    EXACT_MASS("exactMass", "exact_mass", Types.DOUBLE),
+    MONOISOTOPIC_MASS("monoisotopicMass", "monoisotopic_mass", Types.DOUBLE),
+    CHARGE("charge", "charge", Types.INTEGER),
+    HEAVY_ATOM_COUNT("heavyAtomCount", "heavy_atom_count", Types.INTEGER),
+    XLOGP("xlogp", "xlogp", Types.DOUBLE),
+    POLAR_AREA("polarArea", "polar_area", Types.DOUBLE),
+    H_BOND_DONOR_COUNT("hBondDonorCount", "h_bond_donor_count", Types.INTEGER),
+    H_BOND_ACCEPTOR_COUNT("hBondAcceptorCount", "h_bond_acceptor_count", Types.INTEGER),
+    ROTATABLE_BOND_COUNT("rotatableBondCount", "rotatable_bond_count", Types.INTEGER);
+
+    private final String fieldName;
+    private final String column;
+    private final int sqlType;
+
+    MolecularDescriptor(String fieldName, String column, int sqlType) {
+        this.fieldName = fieldName;
+        this.column = column;
+        this.sqlType = sqlType;
+    }
+
+    String fieldName() {
+        return fieldName;
+    }
+
+    String column() {
+        return column;
+    }
+
+    /**
+     * @return {@link Types} constant to bind a missing value with
+     */
+    int sqlType() {
+        return sqlType;
+    }
+
+    /**
+     * @param fieldNames comma-separated field names, e.g. {@code xlogp,polarArea}
+     * @throws IllegalArgumentException on an unknown name
+     */
+    static List<MolecularDescriptor> parse(String fieldNames) {
+        return Arrays.stream(fieldNames.split(","))
+            .map(String::strip)
+            .filter(name -> !name.isEmpty())
+            .distinct()
+            .map(MolecularDescriptor::ofFieldName)
+            .toList();
+    }
+
+    private static MolecularDescriptor ofFieldName(String fieldName) {
+        return Arrays.stream(values())
+            .filter(descriptor -> descriptor.fieldName.equals(fieldName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown descriptor " + fieldName));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.db.pubchem.fda.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Structural fingerprint of a {@link FoodAdditiveSubstance}, written by the application the first time it
+ * fingerprints the SMILES of a substance. A row is only reused while {@code fingerprinter} and {@code smiles}
+ * still match, otherwise the fingerprint is computed and written again.
+ */
+@Entity
+@Table(name = "food_additive_fingerprint")
+public class FoodAdditiveFingerprint {
+    @Id
+    @Column(name = "compound_cid", nullable = false)
+    private Integer compoundCid;
+
+    @Column(nullable = false)
+    private String fingerprinter;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String smiles;
+
+    @Column(nullable = false)
+    private byte[] bits;
+
+    public Integer getCompoundCid() {
+        return compoundCid;
+    }
+
+    public void setCompoundCid(Integer compoundCid) {
+        this.compoundCid = compoundCid;
+    }
+
+    public String getFingerprinter() {
+        return fingerprinter;
+    }
+
+    public void setFingerprinter(String fingerprinter) {
+        this.fingerprinter = fingerprinter;
+    }
+
+    public String getSmiles() {
+        return smiles;
+    }
+
+    public void setSmiles(String smiles) {
+        this.smiles = smiles;
+    }
+
+    public byte[] getBits() {
+        return bits;
+    }
+
+    public void setBits(byte[] bits) {
+        this.bits = bits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof FoodAdditiveFingerprint that)) {
+            return false;
+        }
+        return Objects.equals(compoundCid, that.compoundCid)
+            && Objects.equals(fingerprinter, that.fingerprinter)
+            && Objects.equals(smiles, that.smiles)
+            && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(compoundCid, fingerprinter, smiles, Arrays.hashCode(bits));
+    }
+}
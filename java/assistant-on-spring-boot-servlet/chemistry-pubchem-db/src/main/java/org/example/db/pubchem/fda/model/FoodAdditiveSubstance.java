@@ -1,18 +1,29 @@
 package org.example.db.pubchem.fda.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.Objects;
 
+/**
+ * Reference data written by Liquibase and the ingestion jobs only, its second-level cache is read-only
+ * and is evicted after they update the table.
+ */
 @Entity
 @Table(name = "food_additive_substance")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = FoodAdditiveSubstance.CACHE_REGION)
 public class FoodAdditiveSubstance {
+    public static final String CACHE_REGION = "pubchem.food-additive-substance";
+
     @Id
     @Column(name = "compound_cid", nullable = false)
     private Integer compoundCid;
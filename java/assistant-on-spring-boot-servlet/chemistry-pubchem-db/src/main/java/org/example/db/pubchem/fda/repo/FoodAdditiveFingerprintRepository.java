@@ -0,0 +1,20 @@
+package org.example.db.pubchem.fda.repo;
+
+import jakarta.persistence.Tuple;
+import org.example.db.pubchem.fda.model.FoodAdditiveFingerprint;
+
+import java.util.List;
+
+public interface FoodAdditiveFingerprintRepository {
+    /**
+     * Substances with a SMILES after {@code afterCid}, ordered by compound CID, each as {@code compoundCid},
+     * {@code name}, {@code smiles} and the {@code bits} of its fingerprint. The bits are null when the substance
+     * has no fingerprint from {@code fingerprinter} for its current SMILES.
+     */
+    List<Tuple> findSmilesWithBits(String fingerprinter, int afterCid, int limit);
+
+    /**
+     * Inserts the fingerprints or replaces the ones of the same compound CIDs.
+     */
+    void saveAll(List<FoodAdditiveFingerprint> fingerprints);
+}
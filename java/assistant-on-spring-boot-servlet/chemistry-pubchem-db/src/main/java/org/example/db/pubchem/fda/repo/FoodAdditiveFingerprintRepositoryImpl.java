@@ -0,0 +1,45 @@
+package org.example.db.pubchem.fda.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.example.db.pubchem.fda.model.FoodAdditiveFingerprint;
+import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+@Lazy
+public class FoodAdditiveFingerprintRepositoryImpl implements FoodAdditiveFingerprintRepository {
+    private final EntityManager em;
+
+    public FoodAdditiveFingerprintRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public List<Tuple> findSmilesWithBits(final String fingerprinter, final int afterCid, final int limit) {
+        return em.createQuery(
+                "SELECT s.compoundCid AS compoundCid, s.name AS name, s.smiles AS smiles, f.bits AS bits"
+                    + " FROM " + FoodAdditiveSubstance.class.getSimpleName() + " s"
+                    + " LEFT JOIN " + FoodAdditiveFingerprint.class.getSimpleName() + " f"
+                    + " ON f.compoundCid = s.compoundCid AND f.fingerprinter = :fingerprinter AND f.smiles = s.smiles"
+                    + " WHERE s.compoundCid > :afterCid AND s.smiles IS NOT NULL"
+                    + " ORDER BY s.compoundCid",
+                Tuple.class
+            )
+            .setParameter("fingerprinter", fingerprinter)
+            .setParameter("afterCid", afterCid)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public void saveAll(final List<FoodAdditiveFingerprint> fingerprints) {
+        fingerprints.forEach(em::merge);
+    }
+}
@@ -1,9 +1,82 @@
 package org.example.db.pubchem.fda.repo;
 
+import jakarta.persistence.Tuple;
 import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
 
 import java.util.List;
 
 public interface FoodAdditiveSubstanceRepository {
+    /**
+     * Query cache region of the pages, the rows themselves are in {@link FoodAdditiveSubstance#CACHE_REGION}.
+     */
+    String PAGE_CACHE_REGION = "pubchem.food-additive-substance.pages";
+
+    /**
+     * Attributes of {@link FoodAdditiveSubstance} that can be projected, in column order.
+     */
+    List<String> FIELDS = List.of(
+        "compoundCid",
+        "name",
+        "synonyms",
+        "molecularWeight",
+        "molecularFormula",
+        "polarArea",
+        "complexity",
+        "xlogp",
+        "heavyAtomCount",
+        "hBondDonorCount",
+        "hBondAcceptorCount",
+        "rotatableBondCount",
+        "inchi",
+        "smiles",
+        "inchiKey",
+        "iupacName",
+        "exactMass",
+        "monoisotopicMass",
+        "charge",
+        "covalentUnitCount",
+        "isotopicAtomCount",
+        "totalAtomStereoCount",
+        "definedAtomStereoCount",
+        "undefinedAtomStereoCount",
+        "totalBondStereoCount",
+        "definedBondStereoCount",
+        "undefinedBondStereoCount",
+        "linkedPubChemLiteratureCount",
+        "linkedPubChemPatentCount",
+        "linkedPubChemPatentFamilyCount",
+        "meshHeadings",
+        "annotationContent",
+        "annotationTypeCount",
+        "linkedBioAssays",
+        "createDate",
+        "dataSource",
+        "dataSourceCategory",
+        "taggedByPubChem"
+    );
+
+    /**
+     * Ordered by compound CID.
+     */
     List<FoodAdditiveSubstance> findAll(int offset, int limit);
+
+    /**
+     * Seeks past {@code afterCid} on the primary key instead of skipping rows, ordered by compound CID.
+     */
+    List<FoodAdditiveSubstance> findAllAfter(int afterCid, int limit);
+
+    /**
+     * Selects only the columns of {@code fields}, each aliased with its attribute name.
+     *
+     * @param fields   attributes from {@link #FIELDS}
+     * @param afterCid seeks past this CID when not null, {@code offset} is then ignored
+     * @throws IllegalArgumentException on an attribute outside {@link #FIELDS}
+     */
+    List<Tuple> findFields(List<String> fields, Integer afterCid, int offset, int limit);
+
+    /**
+     * Seeks past {@code afterCid} like {@link #findAllAfter} but selects only {@code compoundCid}, {@code name},
+     * {@code synonyms} and {@code iupacName}, bypassing the query cache as the whole table is read in batches.
+     */
+    List<Tuple> findSearchTerms(int afterCid, int limit);
 }
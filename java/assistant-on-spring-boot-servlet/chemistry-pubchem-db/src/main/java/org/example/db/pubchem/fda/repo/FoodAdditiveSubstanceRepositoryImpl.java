@@ -1,7 +1,10 @@
 package org.example.db.pubchem.fda.repo;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import org.example.db.pubchem.fda.model.FoodAdditiveSubstance;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
@@ -13,6 +16,9 @@ import java.util.List;
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @Lazy
 public class FoodAdditiveSubstanceRepositoryImpl implements FoodAdditiveSubstanceRepository {
+    private static final String ENTITY_NAME = FoodAdditiveSubstance.class.getSimpleName();
+    private static final String ORDER_BY = " ORDER BY f.compoundCid";
+
     private final EntityManager em;
 
     public FoodAdditiveSubstanceRepositoryImpl(EntityManager em) {
@@ -21,12 +27,67 @@ public class FoodAdditiveSubstanceRepositoryImpl implements FoodAdditiveSubstanc
 
     @Override
     public List<FoodAdditiveSubstance> findAll(final int offset, final int limit) {
-        return em.createQuery(
-                "SELECT f FROM " + FoodAdditiveSubstance.class.getSimpleName() + " f",
+        final var query = em.createQuery("SELECT f FROM " + ENTITY_NAME + " f" + ORDER_BY, FoodAdditiveSubstance.class)
+            .setFirstResult(offset);
+        return cacheable(query, limit).getResultList();
+    }
+
+    @Override
+    public List<FoodAdditiveSubstance> findAllAfter(final int afterCid, final int limit) {
+        final var query = em.createQuery(
+                "SELECT f FROM " + ENTITY_NAME + " f WHERE f.compoundCid > :afterCid" + ORDER_BY,
                 FoodAdditiveSubstance.class
             )
-            .setFirstResult(offset)
+            .setParameter("afterCid", afterCid);
+        return cacheable(query, limit).getResultList();
+    }
+
+    @Override
+    public List<Tuple> findFields(final List<String> fields, final Integer afterCid, final int offset,
+                                  final int limit) {
+        final var select = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            final var field = fields.get(i);
+            // Attribute names are concatenated into the query, only the known ones are accepted
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field " + field);
+            }
+            select.append(i > 0 ? ", " : "").append("f.").append(field).append(" AS ").append(field);
+        }
+        select.append(" FROM ").append(ENTITY_NAME).append(" f");
+        final TypedQuery<Tuple> query;
+        if (afterCid != null) {
+            select.append(" WHERE f.compoundCid > :afterCid").append(ORDER_BY);
+            query = em.createQuery(select.toString(), Tuple.class)
+                .setParameter("afterCid", afterCid);
+        } else {
+            select.append(ORDER_BY);
+            query = em.createQuery(select.toString(), Tuple.class)
+                .setFirstResult(offset);
+        }
+        return cacheable(query, limit).getResultList();
+    }
+
+    @Override
+    public List<Tuple> findSearchTerms(final int afterCid, final int limit) {
+        return em.createQuery(
+                "SELECT f.compoundCid AS compoundCid, f.name AS name, f.synonyms AS synonyms,"
+                    + " f.iupacName AS iupacName FROM " + ENTITY_NAME + " f WHERE f.compoundCid > :afterCid"
+                    + ORDER_BY,
+                Tuple.class
+            )
+            .setParameter("afterCid", afterCid)
             .setMaxResults(limit)
             .getResultList();
     }
+
+    /**
+     * Only used when the unit runs with a query cache.
+     */
+    private static <T> TypedQuery<T> cacheable(TypedQuery<T> query, int limit) {
+        return query
+            .setMaxResults(limit)
+            .setHint(HibernateHints.HINT_CACHEABLE, true)
+            .setHint(HibernateHints.HINT_CACHE_REGION, PAGE_CACHE_REGION);
+    }
 }
@@ -0,0 +1,60 @@
+package org.example.db.pubchem.fda.descriptor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DescriptorCalculatorTest {
+    @Test
+    void testEthanol() {
+        // given
+        final var calculator = new DescriptorCalculator(MolecularDescriptor.parse(
+            "molecularFormula,molecularWeight,heavyAtomCount,hBondDonorCount,hBondAcceptorCount,polarArea,charge"
+        ));
+
+        // when
+        final var values = calculator.calculate("CCO");
+
+        // then
+        assertEquals("C2H6O", values[0]);
+        assertEquals(46.07, (Double) values[1], 0.01);
+        assertEquals(3, values[2]);
+        assertEquals(1, values[3]);
+        assertEquals(1, values[4]);
+        assertEquals(20.2, values[5]);
+        assertEquals(0, values[6]);
+    }
+
+    @Test
+    void testInvalidSmiles() {
+        // given
+        final var calculator = new DescriptorCalculator(List.of(MolecularDescriptor.XLOGP));
+
+        // then
+        assertNull(calculator.calculate("C1CC"));
+    }
+
+    @Test
+    void testRuntimeFailureCountsAsInvalid() {
+        // given
+        final var calculator = new DescriptorCalculator(List.of(MolecularDescriptor.XLOGP));
+
+        // then
+        assertNull(calculator.calculate(null));
+        assertEquals(1, calculator.calculate("CCO").length);
+    }
+
+    @Test
+    void testParseDescriptors() {
+        // then
+        assertEquals(
+            List.of(MolecularDescriptor.XLOGP, MolecularDescriptor.POLAR_AREA),
+            MolecularDescriptor.parse("xlogp, polarArea,xlogp")
+        );
+        assertThrows(IllegalArgumentException.class, () -> MolecularDescriptor.parse("xlogp,boilingPoint"));
+    }
+}
@@ -47,13 +47,15 @@ class FoodAdditiveSubstanceRepositoryImplTest {
             .thenReturn(additiveSubstanceTypedQuery);
         Mockito.when(additiveSubstanceTypedQuery.setMaxResults(Mockito.anyInt()))
             .thenReturn(additiveSubstanceTypedQuery);
+        Mockito.when(additiveSubstanceTypedQuery.setHint(Mockito.anyString(), Mockito.any()))
+            .thenReturn(additiveSubstanceTypedQuery);
 
         // when
         final var dataList = repository.findAll(0, 50);
 
         // then
         Mockito.verify(emMock, Mockito.only()).createQuery(
-            "SELECT f FROM " + FoodAdditiveSubstance.class.getSimpleName() + " f",
+            "SELECT f FROM " + FoodAdditiveSubstance.class.getSimpleName() + " f ORDER BY f.compoundCid",
             FoodAdditiveSubstance.class
         );
         assertNotNull(dataList);
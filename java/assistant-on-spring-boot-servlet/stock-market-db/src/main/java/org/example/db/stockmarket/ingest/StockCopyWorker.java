@@ -0,0 +1,114 @@
+package org.example.db.stockmarket.ingest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+
+/**
+ * Loads the batches of one partition over its own connection. Every batch is copied into a session
+ * temporary staging table, merged into {@code stock} and recorded in {@code stock_ingest_batch}
+ * in one transaction, so a batch is either fully loaded and checkpointed or not at all.
+ * <p>
+ * Within a batch the latest line of a (ticker, date_at) wins. A ticker always goes to the same partition
+ * and the batches of a partition are applied in order, so the same holds across batches.
+ * A row that did not change is not rewritten, which keeps a reload of the same file cheap.
+ */
+final class StockCopyWorker implements Callable<Long> {
+    private static final String STAGING_TABLE = "stock_staging";
+
+    private final Connection connection;
+    private final BlockingQueue<StockIngestBatch> queue;
+    private final String source;
+    private final String mergeSql;
+    private final String checkpointSql;
+    private final String copySql;
+
+    StockCopyWorker(Connection connection, BlockingQueue<StockIngestBatch> queue, String schema, String source) {
+        this.connection = connection;
+        this.queue = queue;
+        this.source = source;
+        final String columns = String.join(", ", StockCsvParser.COLUMNS);
+        this.copySql = "COPY " + STAGING_TABLE + " (" + columns + ", line_number) FROM STDIN WITH (FORMAT csv)";
+        this.mergeSql = mergeSql(schema, columns);
+        this.checkpointSql = "INSERT INTO " + schema + ".stock_ingest_batch (source, partition_no, sequence_no, "
+            + "row_count) VALUES (?, ?, ?, ?)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE " + STAGING_TABLE + " (LIKE " + schema + ".stock, "
+                + "line_number bigint NOT NULL) ON COMMIT DELETE ROWS");
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            close(connection, e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return number of rows loaded
+     */
+    @Override
+    public Long call() throws SQLException, IOException, InterruptedException {
+        final CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        long rows = 0;
+        try (connection) {
+            StockIngestBatch batch;
+            while (!(batch = queue.take()).isEnd()) {
+                load(copyManager, batch);
+                rows += batch.rows();
+            }
+        }
+        return rows;
+    }
+
+    private void load(CopyManager copyManager, StockIngestBatch batch) throws SQLException, IOException {
+        try {
+            copyManager.copyIn(copySql, new StringReader(batch.csv()));
+            try (var merge = connection.createStatement();
+                 var checkpoint = connection.prepareStatement(checkpointSql)) {
+                merge.executeUpdate(mergeSql);
+                checkpoint.setString(1, source);
+                checkpoint.setInt(2, batch.partition());
+                checkpoint.setLong(3, batch.sequence());
+                checkpoint.setInt(4, batch.rows());
+                checkpoint.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private static void close(Connection connection, SQLException failure) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static String mergeSql(String schema, String columns) {
+        final var update = new StringBuilder();
+        final var changed = new StringBuilder();
+        final var excluded = new StringBuilder();
+        // Every column after the (ticker, date_at) key
+        for (int i = 2; i < StockCsvParser.COLUMNS.length; i++) {
+            final String column = StockCsvParser.COLUMNS[i];
+            final String separator = i > 2 ? ", " : "";
+            update.append(separator).append(column).append(" = EXCLUDED.").append(column);
+            changed.append(separator).append("s.").append(column);
+            excluded.append(separator).append("EXCLUDED.").append(column);
+        }
+        return "INSERT INTO " + schema + ".stock AS s (" + columns + ") "
+            + "SELECT DISTINCT ON (ticker, date_at) " + columns + " FROM " + STAGING_TABLE + " "
+            + "ORDER BY ticker, date_at, line_number DESC "
+            + "ON CONFLICT (ticker, date_at) DO UPDATE SET " + update + " "
+            + "WHERE (" + changed + ") IS DISTINCT FROM (" + excluded + ")";
+    }
+}
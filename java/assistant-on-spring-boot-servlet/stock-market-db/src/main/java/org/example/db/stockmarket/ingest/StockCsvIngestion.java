@@ -0,0 +1,310 @@
+package org.example.db.stockmarket.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk loads a stock history CSV into {@code stock} over several parallel {@code COPY} connections.
+ * <p>
+ * One thread parses the file and routes every row by ticker to a partition, each partition is loaded
+ * by its own {@link StockCopyWorker}. The queue of a worker holds a few batches, when it is full
+ * the parser waits, so memory stays bounded by workers * (queue capacity + 1) * batch size rows.
+ * <p>
+ * Loaded batches are recorded in {@code stock_ingest_batch}. Running the command again over the same, unchanged
+ * file with the same settings skips them, so an interrupted load resumes where it stopped.
+ * <pre>
+ * PGHOST=localhost PGPORT=5432 PGDATABASE=assistant_datahub PGUSER=stock_market PGPASSWORD=... \
+ *   ./gradlew :stock-market-db:ingestStocks --args="stock_history.csv --workers=4 --batch-size=50000"
+ * </pre>
+ * Options: {@code --workers}, {@code --batch-size}, {@code --queue-capacity}, {@code --schema}
+ * and {@code --restart} to forget the checkpoints of the file.
+ */
+public final class StockCsvIngestion {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockCsvIngestion.class);
+    private static final long PROGRESS_LINES = 1_000_000;
+    private static final long OFFER_TIMEOUT_MILLIS = 500;
+    private static final int FINGERPRINT_BYTES = 1 << 20;
+
+    private final Path file;
+    private final int workers;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final String schema;
+    private final boolean restart;
+
+    private StockCsvIngestion(Path file, int workers, int batchSize, int queueCapacity,
+                              String schema, boolean restart) {
+        this.file = file;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.schema = schema;
+        this.restart = restart;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: <csv file> [--workers=4] [--batch-size=50000] "
+                + "[--queue-capacity=2] [--schema=stock_market] [--restart]");
+        }
+        int workers = 4;
+        int batchSize = 50_000;
+        int queueCapacity = 2;
+        String schema = "stock_market";
+        boolean restart = false;
+        for (int i = 1; i < args.length; i++) {
+            final String[] option = args[i].split("=", 2);
+            switch (option[0]) {
+                case "--workers" -> workers = Integer.parseInt(option[1]);
+                case "--batch-size" -> batchSize = Integer.parseInt(option[1]);
+                case "--queue-capacity" -> queueCapacity = Integer.parseInt(option[1]);
+                case "--schema" -> schema = option[1];
+                case "--restart" -> restart = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (workers < 1 || batchSize < 1 || queueCapacity < 1 || !schema.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid options");
+        }
+        new StockCsvIngestion(Path.of(args[0]), workers, batchSize, queueCapacity, schema, restart).run();
+    }
+
+    private void run() throws IOException, SQLException, InterruptedException, ExecutionException {
+        final long startedAt = System.nanoTime();
+        // Batches are only cut at the same rows again for the same file and settings
+        final String source = file.getFileName() + ":" + fingerprint(file) + ":" + workers + ":" + batchSize;
+        final Set<Long> loaded = prepare(source);
+        if (!loaded.isEmpty()) {
+            LOGGER.info("Resume {}, skip {} loaded batches", source, loaded.size());
+        }
+
+        final List<BlockingQueue<StockIngestBatch>> queues = new ArrayList<>(workers);
+        final List<Future<Long>> results = new ArrayList<>(workers);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (executor; var parser = new StockCsvParser(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            try {
+                for (int partition = 0; partition < workers; partition++) {
+                    startWorker(executor, queues, results, source);
+                }
+                final var partitioner = new Partitioner(queues, results, loaded);
+                StockCsvRow row;
+                while ((row = parser.next()) != null) {
+                    partitioner.add(row);
+                    if (parser.lineNumber() % PROGRESS_LINES == 0) {
+                        LOGGER.info("Read {} lines, skipped {}", parser.lineNumber(), parser.rejected());
+                    }
+                }
+                partitioner.finish();
+
+                long rows = 0;
+                for (var result : results) {
+                    rows += result.get();
+                }
+                final long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+                LOGGER.info("Loaded {} rows in {} s ({} rows/s), skipped {} invalid lines and {} loaded batches",
+                    rows, seconds, rows / seconds, parser.rejected(), partitioner.skipped);
+            } catch (SQLException | InterruptedException | ExecutionException | RuntimeException e) {
+                // Workers wait on their queues, stop them before the executor waits for them
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    private void startWorker(ExecutorService executor, List<BlockingQueue<StockIngestBatch>> queues,
+                             List<Future<Long>> results, String source) throws SQLException {
+        final BlockingQueue<StockIngestBatch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final var worker = new StockCopyWorker(connect(), queue, schema, source);
+        queues.add(queue);
+        results.add(executor.submit(worker));
+    }
+
+    /**
+     * Creates the checkpoint table if needed.
+     *
+     * @return keys of the batches of the source loaded by earlier runs
+     */
+    private Set<Long> prepare(String source) throws SQLException {
+        final Set<Long> loaded = new HashSet<>();
+        try (var connection = connect(); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + schema + ".stock_ingest_batch ("
+                + "source text NOT NULL, partition_no int NOT NULL, sequence_no bigint NOT NULL, "
+                + "row_count int NOT NULL, loaded_at timestamptz NOT NULL DEFAULT now(), "
+                + "PRIMARY KEY (source, partition_no, sequence_no))");
+            try (var delete = connection.prepareStatement(
+                "DELETE FROM " + schema + ".stock_ingest_batch WHERE source = ?");
+                 var select = connection.prepareStatement(
+                     "SELECT partition_no, sequence_no FROM " + schema + ".stock_ingest_batch WHERE source = ?")) {
+                if (restart) {
+                    delete.setString(1, source);
+                    delete.executeUpdate();
+                }
+                select.setString(1, source);
+                try (var resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        loaded.add(batchKey(resultSet.getInt(1), resultSet.getLong(2)));
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Tells files apart without reading all of them: the size, the modification time and a SHA-256 of
+     * the first and last {@link #FINGERPRINT_BYTES}. A file with the same name that was rewritten, appended to
+     * or replaced by another one never resumes from the checkpoints of the previous one.
+     */
+    private static String fingerprint(Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final var buffer = ByteBuffer.allocate((int) Math.min(size, FINGERPRINT_BYTES));
+            digest(channel, 0, buffer, digest);
+            if (size > FINGERPRINT_BYTES) {
+                digest(channel, size - FINGERPRINT_BYTES, buffer, digest);
+            }
+            final long modifiedAt = Files.getLastModifiedTime(file).toMillis();
+            return size + ":" + modifiedAt + ":" + HexFormat.of().formatHex(digest.digest(), 0, 8);
+        }
+    }
+
+    private static void digest(FileChannel channel, long position, ByteBuffer buffer, MessageDigest digest)
+        throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        digest.update(buffer);
+    }
+
+    private long batchKey(int partition, long sequence) {
+        return sequence * workers + partition;
+    }
+
+    /**
+     * Connects with the libpq environment variables, as {@code psql} does.
+     */
+    private static Connection connect() throws SQLException {
+        final var url = "jdbc:postgresql://" + env("PGHOST", "localhost") + ":" + env("PGPORT", "5432")
+            + "/" + env("PGDATABASE", "assistant_datahub");
+        final var properties = new Properties();
+        properties.setProperty("user", env("PGUSER", "postgres"));
+        properties.setProperty("password", env("PGPASSWORD", ""));
+        properties.setProperty("ApplicationName", "stock-csv-ingestion");
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static String env(String name, String defaultValue) {
+        final String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    /**
+     * Cuts the rows of every partition into batches and hands them to the workers.
+     */
+    private final class Partitioner {
+        private final List<BlockingQueue<StockIngestBatch>> queues;
+        private final List<Future<Long>> results;
+        private final Set<Long> loaded;
+        private final StringBuilder[] buffers;
+        private final int[] rows;
+        private final long[] sequences;
+        private long skipped;
+
+        Partitioner(List<BlockingQueue<StockIngestBatch>> queues, List<Future<Long>> results, Set<Long> loaded) {
+            this.queues = queues;
+            this.results = results;
+            this.loaded = loaded;
+            this.buffers = new StringBuilder[workers];
+            this.rows = new int[workers];
+            this.sequences = new long[workers];
+            for (int partition = 0; partition < workers; partition++) {
+                buffers[partition] = newBuffer();
+            }
+        }
+
+        void add(StockCsvRow row) throws InterruptedException, ExecutionException {
+            final int partition = Math.floorMod(row.ticker().hashCode(), workers);
+            buffers[partition].append(row.csv()).append(',').append(row.lineNumber()).append('\n');
+            if (++rows[partition] == batchSize) {
+                flush(partition);
+            }
+        }
+
+        void finish() throws InterruptedException, ExecutionException {
+            for (int partition = 0; partition < workers; partition++) {
+                if (rows[partition] > 0) {
+                    flush(partition);
+                }
+                send(partition, StockIngestBatch.END);
+            }
+        }
+
+        private void flush(int partition) throws InterruptedException, ExecutionException {
+            final long sequence = sequences[partition]++;
+            if (loaded.contains(batchKey(partition, sequence))) {
+                skipped++;
+                buffers[partition].setLength(0);
+            } else {
+                send(partition, new StockIngestBatch(partition, sequence, rows[partition],
+                    buffers[partition].toString()));
+                buffers[partition] = newBuffer();
+            }
+            rows[partition] = 0;
+        }
+
+        /**
+         * Blocks while the queue is full, failing fast if its worker has died.
+         */
+        private void send(int partition, StockIngestBatch batch) throws InterruptedException, ExecutionException {
+            final var queue = queues.get(partition);
+            while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                final var result = results.get(partition);
+                if (result.isDone()) {
+                    result.get();
+                    throw new IllegalStateException("Worker " + partition + " stopped");
+                }
+            }
+        }
+
+        private StringBuilder newBuffer() {
+            // About 100 characters per row
+            return new StringBuilder(Math.min(batchSize, 100_000) * 100);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.db.stockmarket.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a stock history CSV one line at a time, so memory does not grow with the file.
+ * <p>
+ * The header may use either the table column names or the names of the yfinance export
+ * ({@code Date, Ticker, Open, ..., Adj Close, ..., Capital Gains}), in any order.
+ * Rows with a wrong number of fields, an unparsable date, a missing price or volume or a value that is not
+ * a finite decimal number are skipped and counted. Every accepted row is rewritten as a canonical CSV line
+ * in {@link #COLUMNS} order, with its numbers written back the way Java reads them so PostgreSQL reads
+ * the same values.
+ */
+final class StockCsvParser implements Closeable {
+    static final String[] COLUMNS = {
+        "ticker", "date_at", "open", "high", "low", "close", "adjusted_close",
+        "volume", "dividends", "stock_splits", "capital_gains"
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockCsvParser.class);
+    private static final int LOGGED_REJECTS = 100;
+    private static final int TICKER = 0;
+    private static final int DATE_AT = 1;
+    private static final int VOLUME = 7;
+    private static final int DIVIDENDS = 8;
+    private static final Map<String, String> EXPORT_NAMES = Map.of(
+        "date", "date_at",
+        "adj_close", "adjusted_close"
+    );
+
+    private final BufferedReader reader;
+    private final int[] fieldOfColumn = new int[COLUMNS.length];
+    private final String[] fields;
+    private final StringBuilder line = new StringBuilder();
+    private long lineNumber;
+    private long rejected;
+
+    StockCsvParser(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        final String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV has no header");
+        }
+        lineNumber = 1;
+        final String[] names = header.split(",", -1);
+        Arrays.fill(fieldOfColumn, -1);
+        for (int i = 0; i < names.length; i++) {
+            final int column = columnIndex(names[i]);
+            if (column >= 0) {
+                fieldOfColumn[column] = i;
+            }
+        }
+        for (int column = 0; column < COLUMNS.length; column++) {
+            if (fieldOfColumn[column] < 0) {
+                throw new IllegalArgumentException("CSV header has no " + COLUMNS[column] + " column: " + header);
+            }
+        }
+        this.fields = new String[names.length];
+    }
+
+    /**
+     * @return the next valid row, {@code null} at the end of the file
+     */
+    StockCsvRow next() {
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                final var row = parse(text);
+                if (row != null) {
+                    return row;
+                }
+                reject(text);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private StockCsvRow parse(String text) {
+        if (!split(text)) {
+            return null;
+        }
+        final String ticker = field(TICKER);
+        if (ticker.isEmpty() || ticker.indexOf('"') >= 0) {
+            return null;
+        }
+        final OffsetDateTime dateAt = parseDateAt(field(DATE_AT));
+        if (dateAt == null) {
+            return null;
+        }
+        line.setLength(0);
+        line.append(ticker).append(',').append(dateAt);
+        for (int column = DATE_AT + 1; column < COLUMNS.length; column++) {
+            final String value = column == VOLUME
+                ? parseVolume(field(column))
+                : parseNumber(field(column), column >= DIVIDENDS);
+            if (value == null) {
+                return null;
+            }
+            line.append(',').append(value);
+        }
+        return new StockCsvRow(ticker, lineNumber, line.toString());
+    }
+
+    private boolean split(String text) {
+        int start = 0;
+        int count = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == ',') {
+                if (count == fields.length) {
+                    return false;
+                }
+                fields[count++] = text.substring(start, i);
+                start = i + 1;
+            }
+        }
+        return count == fields.length;
+    }
+
+    private String field(int column) {
+        final String value = fields[fieldOfColumn[column]].trim();
+        return value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"'
+            ? value.substring(1, value.length() - 1)
+            : value;
+    }
+
+    private void reject(String text) {
+        rejected++;
+        if (rejected <= LOGGED_REJECTS) {
+            LOGGER.warn("Skip line {}: {}", lineNumber, text);
+        }
+    }
+
+    /**
+     * Accepts ISO dates with an optional offset and the {@code yyyy-MM-dd HH:mm:ssXXX} format written by pandas.
+     * A value without an offset is taken as UTC.
+     */
+    private static OffsetDateTime parseDateAt(String value) {
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay().atOffset(ZoneOffset.UTC);
+            }
+            final String iso = value.replace(' ', 'T');
+            return hasOffset(iso) ? OffsetDateTime.parse(iso) : LocalDateTime.parse(iso).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasOffset(String iso) {
+        final char last = iso.charAt(iso.length() - 1);
+        return last == 'Z' || iso.lastIndexOf('+') > 0 || iso.lastIndexOf('-') > iso.indexOf('T');
+    }
+
+    /**
+     * Only decimal numbers are accepted, not what else {@link Double#parseDouble(String)} reads,
+     * e.g. {@code 1.5d}, {@code 0x1p3} or {@code Infinity}, which PostgreSQL rejects.
+     *
+     * @param emptyIsZero whether an empty field means none, as for dividends, splits and capital gains
+     * @return the value as {@link Double#toString(double)} writes it, {@code null} if it is missing or invalid
+     */
+    private static String parseNumber(String value, boolean emptyIsZero) {
+        if (value.isEmpty()) {
+            return emptyIsZero ? "0" : null;
+        }
+        final BigDecimal number = parseDecimal(value);
+        if (number == null) {
+            return null;
+        }
+        final double doubleValue = number.doubleValue();
+        return Double.isFinite(doubleValue) ? Double.toString(doubleValue) : null;
+    }
+
+    /**
+     * pandas writes an integer column as {@code 1234.0} once it holds a missing value.
+     */
+    private static String parseVolume(String value) {
+        final BigDecimal number = parseDecimal(value);
+        if (number == null || number.signum() < 0) {
+            return null;
+        }
+        try {
+            return Long.toString(number.longValueExact());
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int columnIndex(String name) {
+        final String normalized = name.trim().replace("\"", "").toLowerCase(Locale.ROOT).replace(' ', '_');
+        final String column = EXPORT_NAMES.getOrDefault(normalized, normalized);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMNS[i].equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
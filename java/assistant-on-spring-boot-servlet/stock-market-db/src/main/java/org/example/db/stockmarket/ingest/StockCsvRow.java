@@ -0,0 +1,8 @@
+package org.example.db.stockmarket.ingest;
+
+/**
+ * @param lineNumber line of the row in the file, the latest line wins when a (ticker, date_at) repeats
+ * @param csv        validated row in {@link StockCsvParser#COLUMNS} order, without a line break
+ */
+record StockCsvRow(String ticker, long lineNumber, String csv) {
+}
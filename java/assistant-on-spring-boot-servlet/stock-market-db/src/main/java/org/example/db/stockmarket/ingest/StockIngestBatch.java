@@ -0,0 +1,18 @@
+package org.example.db.stockmarket.ingest;
+
+/**
+ * Rows of one partition sent to one {@code COPY}. Batches are cut at the same rows on every run
+ * over the same file and settings, so a batch is identified by its partition and sequence number.
+ *
+ * @param csv rows with their line number appended, one per line
+ */
+record StockIngestBatch(int partition, long sequence, int rows, String csv) {
+    static final StockIngestBatch END = new StockIngestBatch(-1, -1, 0, "");
+
+    /**
+     * @return whether this is {@link #END}, sent once the file is read to stop the worker
+     */
+    boolean isEnd() {
+        return partition < 0;
+    }
+}
@@ -15,16 +15,99 @@ import java.util.Objects;
 @Entity(name = "stock")
 @Table(name = "stock")
 @NamedQuery(
-    name = Stock.FIND_BY_TICKER_NQ,
+    name = Stock.COUNT_BY_TICKER_NQ,
     query = """
-        SELECT COUNT(s.id) OVER () AS totalCount, s
+        SELECT COUNT(s)
+        FROM stock s
+        WHERE s.id.ticker = :ticker
+        """
+)
+@NamedQuery(
+    name = Stock.FIND_BARS_BY_TICKER_NQ,
+    query = """
+        SELECT new org.example.db.stockmarket.model.StockBar(
+            s.id.dateAt,
+            CAST(s.open AS Double),
+            CAST(s.high AS Double),
+            CAST(s.low AS Double),
+            CAST(s.close AS Double),
+            CAST(s.adjustedClose AS Double),
+            s.volume,
+            CAST(s.dividends AS Double),
+            CAST(s.stockSplits AS Double),
+            CAST(s.capitalGains AS Double)
+        )
+        FROM stock s
+        WHERE s.id.ticker = :ticker
+        ORDER BY s.id.dateAt ASC
+        """
+)
+@NamedQuery(
+    name = Stock.FIND_LATEST_BARS_BY_TICKER_NQ,
+    query = """
+        SELECT new org.example.db.stockmarket.model.StockBar(
+            s.id.dateAt,
+            CAST(s.open AS Double),
+            CAST(s.high AS Double),
+            CAST(s.low AS Double),
+            CAST(s.close AS Double),
+            CAST(s.adjustedClose AS Double),
+            s.volume,
+            CAST(s.dividends AS Double),
+            CAST(s.stockSplits AS Double),
+            CAST(s.capitalGains AS Double)
+        )
         FROM stock s
         WHERE s.id.ticker = :ticker
         ORDER BY s.id.dateAt DESC
         """
 )
+@NamedQuery(
+    name = Stock.FIND_BARS_BY_TICKER_BEFORE_NQ,
+    query = """
+        SELECT new org.example.db.stockmarket.model.StockBar(
+            s.id.dateAt,
+            CAST(s.open AS Double),
+            CAST(s.high AS Double),
+            CAST(s.low AS Double),
+            CAST(s.close AS Double),
+            CAST(s.adjustedClose AS Double),
+            s.volume,
+            CAST(s.dividends AS Double),
+            CAST(s.stockSplits AS Double),
+            CAST(s.capitalGains AS Double)
+        )
+        FROM stock s
+        WHERE s.id.ticker = :ticker AND s.id.dateAt < :dateAt
+        ORDER BY s.id.dateAt DESC
+        """
+)
+@NamedQuery(
+    name = Stock.FIND_BARS_BY_TICKER_AFTER_NQ,
+    query = """
+        SELECT new org.example.db.stockmarket.model.StockBar(
+            s.id.dateAt,
+            CAST(s.open AS Double),
+            CAST(s.high AS Double),
+            CAST(s.low AS Double),
+            CAST(s.close AS Double),
+            CAST(s.adjustedClose AS Double),
+            s.volume,
+            CAST(s.dividends AS Double),
+            CAST(s.stockSplits AS Double),
+            CAST(s.capitalGains AS Double)
+        )
+        FROM stock s
+        WHERE s.id.ticker = :ticker AND s.id.dateAt > :dateAt
+        ORDER BY s.id.dateAt ASC
+        """
+)
 public class Stock implements Serializable {
-    public static final String FIND_BY_TICKER_NQ = "findByTickerNQ";
+    public static final String COUNT_BY_TICKER_NQ = "countByTickerNQ";
+    public static final String FIND_BARS_BY_TICKER_NQ = "findBarsByTickerNQ";
+    public static final String FIND_LATEST_BARS_BY_TICKER_NQ = "findLatestBarsByTickerNQ";
+    public static final String FIND_BARS_BY_TICKER_BEFORE_NQ = "findBarsByTickerBeforeNQ";
+    public static final String FIND_BARS_BY_TICKER_AFTER_NQ = "findBarsByTickerAfterNQ";
 
     @Embeddable
     public static class StockId implements Serializable {
@@ -0,0 +1,21 @@
+package org.example.db.stockmarket.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One row of {@link Stock} read with its numeric columns cast to {@code double} in SQL,
+ * so no {@link java.math.BigDecimal} and no managed entity is created for it.
+ */
+public record StockBar(
+    OffsetDateTime dateAt,
+    double open,
+    double high,
+    double low,
+    double close,
+    double adjustedClose,
+    long volume,
+    double dividends,
+    double stockSplits,
+    double capitalGains
+) {
+}
@@ -1,9 +1,43 @@
 package org.example.db.stockmarket.repo;
 
-import jakarta.persistence.Tuple;
+import org.example.db.stockmarket.model.StockBar;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface StockRepository {
-    List<Tuple> findByTicker(String ticker, int offset, int limit);
+    long countByTicker(String ticker);
+
+    /**
+     * Read-only: the rows are projected into {@link StockBar}s, no entity is created, put into the persistence
+     * context or snapshotted for dirty checking.
+     *
+     * @return up to {@code limit} rows of the ticker after skipping {@code offset}, newest first
+     */
+    List<StockBar> findBarsByTicker(String ticker, int offset, int limit);
+
+    /**
+     * Read-only, see {@link #findBarsByTicker}. Seeks on the (ticker, date_at) primary key
+     * instead of skipping rows.
+     *
+     * @param before exclusive upper bound of {@code date_at}, {@code null} for the latest rows
+     * @return up to {@code limit} rows of the ticker, newest first
+     */
+    List<StockBar> findBarsByTickerBefore(String ticker, OffsetDateTime before, int limit);
+
+    /**
+     * Read-only variant that seeks forward on the (ticker, date_at) primary key, see {@link #findBarsByTicker}.
+     *
+     * @param after exclusive lower bound of {@code date_at}, {@code null} for the oldest rows
+     * @return up to {@code limit} rows of the ticker, oldest first
+     */
+    List<StockBar> findBarsByTickerAfter(String ticker, OffsetDateTime after, int limit);
+
+    /**
+     * The stream reads from an open cursor and must be consumed and closed inside the transaction.
+     *
+     * @return every row of the ticker, oldest first
+     */
+    Stream<StockBar> streamBarsByTicker(String ticker, int fetchSize);
 }
@@ -1,19 +1,26 @@
 package org.example.db.stockmarket.repo;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import org.example.db.stockmarket.model.Stock;
+import org.example.db.stockmarket.model.StockBar;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
 @Lazy
 public class StockRepositoryImpl implements StockRepository {
+    // Hibernate hint names, the module only depends on the Jakarta Persistence API
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
     private final EntityManager em;
 
     public StockRepositoryImpl(EntityManager em) {
@@ -21,15 +28,63 @@ public class StockRepositoryImpl implements StockRepository {
     }
 
     @Override
-    public List<Tuple> findByTicker(String ticker, int offset, int limit) {
-        return searchForTickerWithTotalCount(Stock.FIND_BY_TICKER_NQ, ticker, offset, limit);
+    public long countByTicker(String ticker) {
+        return em.createNamedQuery(Stock.COUNT_BY_TICKER_NQ, Long.class)
+            .setParameter("ticker", ticker)
+            .getSingleResult();
     }
 
-    private List<Tuple> searchForTickerWithTotalCount(String namedQuery, String ticker, int offset, int limit) {
-        final var query = em.createNamedQuery(namedQuery, Tuple.class)
+    @Override
+    public List<StockBar> findBarsByTicker(String ticker, int offset, int limit) {
+        return em.createNamedQuery(Stock.FIND_LATEST_BARS_BY_TICKER_NQ, StockBar.class)
             .setParameter("ticker", ticker)
             .setFirstResult(offset)
-            .setMaxResults(limit);
-        return query.getResultList();
+            .setMaxResults(limit)
+            .setHint(FETCH_SIZE_HINT, limit)
+            .setHint(READ_ONLY_HINT, true)
+            .getResultList();
+    }
+
+    @Override
+    public List<StockBar> findBarsByTickerBefore(String ticker, OffsetDateTime before, int limit) {
+        final TypedQuery<StockBar> query;
+        if (before == null) {
+            query = em.createNamedQuery(Stock.FIND_LATEST_BARS_BY_TICKER_NQ, StockBar.class);
+        } else {
+            query = em.createNamedQuery(Stock.FIND_BARS_BY_TICKER_BEFORE_NQ, StockBar.class)
+                .setParameter("dateAt", before);
+        }
+        return query
+            .setParameter("ticker", ticker)
+            .setMaxResults(limit)
+            .setHint(FETCH_SIZE_HINT, limit)
+            .setHint(READ_ONLY_HINT, true)
+            .getResultList();
+    }
+
+    @Override
+    public List<StockBar> findBarsByTickerAfter(String ticker, OffsetDateTime after, int limit) {
+        final TypedQuery<StockBar> query;
+        if (after == null) {
+            query = em.createNamedQuery(Stock.FIND_BARS_BY_TICKER_NQ, StockBar.class);
+        } else {
+            query = em.createNamedQuery(Stock.FIND_BARS_BY_TICKER_AFTER_NQ, StockBar.class)
+                .setParameter("dateAt", after);
+        }
+        return query
+            .setParameter("ticker", ticker)
+            .setMaxResults(limit)
+            .setHint(FETCH_SIZE_HINT, limit)
+            .setHint(READ_ONLY_HINT, true)
+            .getResultList();
+    }
+
+    @Override
+    public Stream<StockBar> streamBarsByTicker(String ticker, int fetchSize) {
+        return em.createNamedQuery(Stock.FIND_BARS_BY_TICKER_NQ, StockBar.class)
+            .setParameter("ticker", ticker)
+            .setHint(FETCH_SIZE_HINT, fetchSize)
+            .setHint(READ_ONLY_HINT, true)
+            .getResultStream();
     }
 }
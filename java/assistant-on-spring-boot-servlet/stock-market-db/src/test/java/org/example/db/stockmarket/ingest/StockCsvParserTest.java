@@ -0,0 +1,107 @@
+package org.example.db.stockmarket.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StockCsvParserTest {
+    private static final String EXPORT_HEADER =
+        "Date,Ticker,Open,High,Low,Close,Adj Close,Volume,Dividends,Stock Splits,Capital Gains\n";
+
+    @Test
+    void testExportRowIsRewrittenInColumnOrder() throws IOException {
+        // given
+        final var csv = EXPORT_HEADER
+            + "2024-01-02 00:00:00-05:00,KO,59.5,60,59,\"59.8\",1e1,1234.0,0.46,,0\n";
+
+        // when
+        try (var parser = parser(csv)) {
+            final var row = parser.next();
+
+            // then
+            assertEquals("KO", row.ticker());
+            assertEquals(2, row.lineNumber());
+            assertEquals("KO,2024-01-02T00:00-05:00,59.5,60.0,59.0,59.8,10.0,1234,0.46,0,0.0", row.csv());
+            assertNull(parser.next());
+            assertEquals(0, parser.rejected());
+        }
+    }
+
+    @Test
+    void testTableColumnsInAnyOrder() throws IOException {
+        // given
+        final var csv = "volume,ticker,date_at,open,high,low,close,adjusted_close,dividends,stock_splits,"
+            + "capital_gains\n"
+            + "100,KO,2024-01-02,+1.50,2,1,1.5,1.5,0,0,0\n";
+
+        // when
+        try (var parser = parser(csv)) {
+            final var row = parser.next();
+
+            // then
+            assertEquals("KO,2024-01-02T00:00Z,1.5,2.0,1.0,1.5,1.5,100,0.0,0.0,0.0", row.csv());
+        }
+    }
+
+    @Test
+    void testRejectsNumbersOnlyJavaReads() throws IOException {
+        // given
+        final var csv = EXPORT_HEADER
+            + "2024-01-02,KO,1.5d,1,1,1,1,1,0,0,0\n"
+            + "2024-01-03,KO,0x1p3,1,1,1,1,1,0,0,0\n"
+            + "2024-01-04,KO,1,Infinity,1,1,1,1,0,0,0\n"
+            + "2024-01-05,KO,1,1,NaN,1,1,1,0,0,0\n"
+            + "2024-01-06,KO,1,1,1,1e400,1,1,0,0,0\n"
+            + "2024-01-07,KO,1,1,1,1,1,1,1f,0,0\n"
+            + "2024-01-08,KO,1,1,1,1,1,1,0,0,0\n";
+
+        // when
+        try (var parser = parser(csv)) {
+            final var row = parser.next();
+
+            // then
+            assertEquals(8, row.lineNumber());
+            assertNull(parser.next());
+            assertEquals(6, parser.rejected());
+        }
+    }
+
+    @Test
+    void testRejectsMissingPricesAndInvalidVolumes() throws IOException {
+        // given
+        final var csv = EXPORT_HEADER
+            + "2024-01-02,KO,,1,1,1,1,1,0,0,0\n"
+            + "2024-01-03,KO,1,1,1,1,,1,0,0,0\n"
+            + "2024-01-04,KO,1,1,1,1,1,,0,0,0\n"
+            + "2024-01-05,KO,1,1,1,1,1,1.5,0,0,0\n"
+            + "2024-01-06,KO,1,1,1,1,1,-1,0,0,0\n"
+            + "2024-01-07,KO,1,1,1,1,1,1e19,0,0,0\n"
+            + "not-a-date,KO,1,1,1,1,1,1,0,0,0\n"
+            + "2024-01-09,,1,1,1,1,1,1,0,0,0\n"
+            + "2024-01-10,KO,1,1,1,1,1,1,0,0\n";
+
+        // when
+        try (var parser = parser(csv)) {
+            // then
+            assertNull(parser.next());
+            assertEquals(9, parser.rejected());
+            assertEquals(10, parser.lineNumber());
+        }
+    }
+
+    @Test
+    void testHeaderWithoutColumn() {
+        assertThrows(IllegalArgumentException.class, () -> parser("Date,Ticker,Open\n"));
+        assertThrows(IllegalArgumentException.class, () -> parser(""));
+    }
+
+    private static StockCsvParser parser(String csv) throws IOException {
+        return new StockCsvParser(new BufferedReader(new StringReader(csv)));
+    }
+}